@@ -28,4 +28,13 @@ public class AsyncConfig {
     
     @NotBlank(message = "Thread name prefix cannot be blank")
     private String threadNamePrefix = "cqrs-async-";
+
+    /**
+     * Whether to run each task on its own virtual thread instead of the pool; requires Java 21 or later,
+     * older runtimes keep the pool.
+     */
+    private boolean virtualThreads = false;
+
+    @Positive(message = "Max concurrency must be positive")
+    private int maxConcurrency = 1000;
 }
\ No newline at end of file
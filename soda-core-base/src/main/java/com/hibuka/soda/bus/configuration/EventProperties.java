@@ -7,6 +7,9 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Event bus configuration properties.
  *
@@ -40,6 +43,12 @@ public class EventProperties {
     @NotNull(message = "Serialization configuration cannot be null")
     private SerializationProperties serialization = new SerializationProperties();
 
+    /**
+     * Concurrent handler fan-out configuration.
+     */
+    @NotNull(message = "Fan-out configuration cannot be null")
+    private FanOutProperties fanOut = new FanOutProperties();
+
     public String getBusType() {
         return busType;
     }
@@ -72,6 +81,14 @@ public class EventProperties {
         this.serialization = serialization;
     }
 
+    public FanOutProperties getFanOut() {
+        return fanOut;
+    }
+
+    public void setFanOut(FanOutProperties fanOut) {
+        this.fanOut = fanOut;
+    }
+
     /**
      * Spring event bus configuration.
      */
@@ -207,7 +224,8 @@ public class EventProperties {
                 private long pollTimeout = 1000;
 
                 /**
-                 * Acknowledge timeout in milliseconds.
+                 * Acknowledge timeout in milliseconds; entries left unacknowledged for longer may be reclaimed
+                 * by another consumer.
                  */
                 @Positive(message = "Acknowledge timeout must be positive")
                 private long acknowledgeTimeout = 30000;
@@ -234,6 +252,13 @@ public class EventProperties {
                  */
                 @NotBlank(message = "Dead letter stream name cannot be blank")
                 private String deadLetterStream = "soda-events-dead-letter";
+
+                /**
+                 * ID of the codec used to encode stream payloads: json, smile, cbor, avro,
+                 * or the ID of an application-provided EventCodec.
+                 */
+                @NotBlank(message = "Codec cannot be blank")
+                private String codec = "json";
                 
                 /**
                  * Idempotency configuration for event processing.
@@ -241,6 +266,108 @@ public class EventProperties {
                 @NotNull(message = "Idempotency configuration cannot be null")
                 private IdempotencyProperties idempotency = new IdempotencyProperties();
 
+                /**
+                 * Batched (pipelined) publishing configuration.
+                 */
+                @NotNull(message = "Batch publish configuration cannot be null")
+                private BatchPublishProperties batchPublish = new BatchPublishProperties();
+
+                /**
+                 * Stream retention and trimming configuration.
+                 */
+                @NotNull(message = "Retention configuration cannot be null")
+                private RetentionProperties retention = new RetentionProperties();
+
+                /**
+                 * Payload compression configuration.
+                 */
+                @NotNull(message = "Compression configuration cannot be null")
+                private CompressionProperties compression = new CompressionProperties();
+
+                /**
+                 * Compact event type registry configuration.
+                 */
+                @NotNull(message = "Type registry configuration cannot be null")
+                private TypeRegistryProperties typeRegistry = new TypeRegistryProperties();
+
+                /**
+                 * Partitioned stream configuration.
+                 */
+                @NotNull(message = "Partition configuration cannot be null")
+                private PartitionProperties partition = new PartitionProperties();
+
+                /**
+                 * Per-event-type stream routing configuration.
+                 */
+                @NotNull(message = "Routing configuration cannot be null")
+                private RoutingProperties routing = new RoutingProperties();
+
+                /**
+                 * Transactional outbox configuration.
+                 */
+                @NotNull(message = "Outbox configuration cannot be null")
+                private OutboxProperties outbox = new OutboxProperties();
+
+                /**
+                 * Local disk spool configuration.
+                 */
+                @NotNull(message = "Spool configuration cannot be null")
+                private SpoolProperties spool = new SpoolProperties();
+
+                /**
+                 * Batch consumption configuration.
+                 */
+                @NotNull(message = "Batch consume configuration cannot be null")
+                private BatchConsumeProperties batchConsume = new BatchConsumeProperties();
+
+                /**
+                 * Handler worker pool configuration.
+                 */
+                @NotNull(message = "Worker pool configuration cannot be null")
+                private WorkerPoolProperties workerPool = new WorkerPoolProperties();
+
+                /**
+                 * Virtual thread handler execution configuration.
+                 */
+                @NotNull(message = "Virtual thread configuration cannot be null")
+                private VirtualThreadProperties virtualThreads = new VirtualThreadProperties();
+
+                /**
+                 * Retry scheduling configuration.
+                 */
+                @NotNull(message = "Retry configuration cannot be null")
+                private RetryProperties retry = new RetryProperties();
+
+                /**
+                 * Pending entry reclaim configuration.
+                 */
+                @NotNull(message = "Reclaim configuration cannot be null")
+                private ReclaimProperties reclaim = new ReclaimProperties();
+
+                /**
+                 * Adaptive poll configuration.
+                 */
+                @NotNull(message = "Adaptive poll configuration cannot be null")
+                private AdaptivePollProperties adaptivePoll = new AdaptivePollProperties();
+
+                /**
+                 * Consumer scaling configuration.
+                 */
+                @NotNull(message = "Scaling configuration cannot be null")
+                private ScalingProperties scaling = new ScalingProperties();
+
+                /**
+                 * Per-handler consumer group configuration.
+                 */
+                @NotNull(message = "Handler group configuration cannot be null")
+                private HandlerGroupProperties handlerGroups = new HandlerGroupProperties();
+
+                /**
+                 * Dead letter replay configuration.
+                 */
+                @NotNull(message = "Dead letter replay configuration cannot be null")
+                private DeadLetterReplayProperties deadLetterReplay = new DeadLetterReplayProperties();
+
             public int getConcurrency() {
                 return concurrency;
             }
@@ -264,6 +391,150 @@ public class EventProperties {
             public void setIdempotency(IdempotencyProperties idempotency) {
                 this.idempotency = idempotency;
             }
+
+            public BatchPublishProperties getBatchPublish() {
+                return batchPublish;
+            }
+
+            public void setBatchPublish(BatchPublishProperties batchPublish) {
+                this.batchPublish = batchPublish;
+            }
+
+            public RetentionProperties getRetention() {
+                return retention;
+            }
+
+            public void setRetention(RetentionProperties retention) {
+                this.retention = retention;
+            }
+
+            public CompressionProperties getCompression() {
+                return compression;
+            }
+
+            public void setCompression(CompressionProperties compression) {
+                this.compression = compression;
+            }
+
+            public TypeRegistryProperties getTypeRegistry() {
+                return typeRegistry;
+            }
+
+            public void setTypeRegistry(TypeRegistryProperties typeRegistry) {
+                this.typeRegistry = typeRegistry;
+            }
+
+            public PartitionProperties getPartition() {
+                return partition;
+            }
+
+            public void setPartition(PartitionProperties partition) {
+                this.partition = partition;
+            }
+
+            public RoutingProperties getRouting() {
+                return routing;
+            }
+
+            public void setRouting(RoutingProperties routing) {
+                this.routing = routing;
+            }
+
+            public OutboxProperties getOutbox() {
+                return outbox;
+            }
+
+            public void setOutbox(OutboxProperties outbox) {
+                this.outbox = outbox;
+            }
+
+            public SpoolProperties getSpool() {
+                return spool;
+            }
+
+            public void setSpool(SpoolProperties spool) {
+                this.spool = spool;
+            }
+
+            public BatchConsumeProperties getBatchConsume() {
+                return batchConsume;
+            }
+
+            public void setBatchConsume(BatchConsumeProperties batchConsume) {
+                this.batchConsume = batchConsume;
+            }
+
+            public WorkerPoolProperties getWorkerPool() {
+                return workerPool;
+            }
+
+            public void setWorkerPool(WorkerPoolProperties workerPool) {
+                this.workerPool = workerPool;
+            }
+
+            public VirtualThreadProperties getVirtualThreads() {
+                return virtualThreads;
+            }
+
+            public void setVirtualThreads(VirtualThreadProperties virtualThreads) {
+                this.virtualThreads = virtualThreads;
+            }
+
+            public RetryProperties getRetry() {
+                return retry;
+            }
+
+            public void setRetry(RetryProperties retry) {
+                this.retry = retry;
+            }
+
+            public ReclaimProperties getReclaim() {
+                return reclaim;
+            }
+
+            public void setReclaim(ReclaimProperties reclaim) {
+                this.reclaim = reclaim;
+            }
+
+            public AdaptivePollProperties getAdaptivePoll() {
+                return adaptivePoll;
+            }
+
+            public void setAdaptivePoll(AdaptivePollProperties adaptivePoll) {
+                this.adaptivePoll = adaptivePoll;
+            }
+
+            public ScalingProperties getScaling() {
+                return scaling;
+            }
+
+            public void setScaling(ScalingProperties scaling) {
+                this.scaling = scaling;
+            }
+
+            public HandlerGroupProperties getHandlerGroups() {
+                return handlerGroups;
+            }
+
+            public void setHandlerGroups(HandlerGroupProperties handlerGroups) {
+                this.handlerGroups = handlerGroups;
+            }
+
+            public DeadLetterReplayProperties getDeadLetterReplay() {
+                return deadLetterReplay;
+            }
+
+            public void setDeadLetterReplay(DeadLetterReplayProperties deadLetterReplay) {
+                this.deadLetterReplay = deadLetterReplay;
+            }
+
+            public String getCodec() {
+                return codec;
+            }
+
+            public void setCodec(String codec) {
+                this.codec = codec;
+            }
             
             /**
                  * Idempotency configuration properties.
@@ -325,102 +596,1242 @@ public class EventProperties {
                 }
             }
 
-            public String getGroupName() {
-                return groupName;
-            }
+            /**
+             * Batched publishing configuration.
+             * When enabled, published events are queued and flushed as one pipelined XADD sequence
+             * once either the batch is full or the linger time has elapsed. The queue is bounded, and the
+             * overflow policy decides what happens to publishes while it is full.
+             */
+            public static class BatchPublishProperties {
+                /**
+                 * Whether to enable batched publishing.
+                 */
+                private boolean enabled = false;
 
-            public void setGroupName(String groupName) {
-                this.groupName = groupName;
-            }
+                /**
+                 * Maximum number of entries flushed in one pipeline.
+                 */
+                @Positive(message = "Maximum batch size must be positive")
+                private int maxBatchSize = 100;
 
-            public String getConsumerName() {
-                return consumerName;
-            }
+                /**
+                 * Maximum time in milliseconds to wait for more entries before flushing a partial batch.
+                 */
+                @PositiveOrZero(message = "Linger time must be positive or zero")
+                private long lingerMs = 5;
 
-            public void setConsumerName(String consumerName) {
-                this.consumerName = consumerName;
-            }
+                /**
+                 * Maximum number of entries waiting to be flushed.
+                 */
+                @Positive(message = "Queue capacity must be positive")
+                private int queueCapacity = 10000;
 
-            public long getMaxlen() {
-                return maxlen;
-            }
+                /**
+                 * What to do with a publish while the queue is full: BLOCK, CALLER_RUNS, DROP_OLDEST or SPILL.
+                 */
+                @NotNull(message = "Overflow policy cannot be null")
+                private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
 
-            public void setMaxlen(long maxlen) {
-                this.maxlen = maxlen;
-            }
+                /**
+                 * Maximum time in milliseconds a publish waits for queue space under the BLOCK policy.
+                 */
+                @PositiveOrZero(message = "Block timeout must be positive or zero")
+                private long blockTimeoutMs = 1000;
 
-            public long getPollTimeout() {
-                return pollTimeout;
-            }
+                public boolean isEnabled() {
+                    return enabled;
+                }
 
-            public void setPollTimeout(long pollTimeout) {
-                this.pollTimeout = pollTimeout;
-            }
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
 
-            public long getAcknowledgeTimeout() {
-                return acknowledgeTimeout;
-            }
+                public int getMaxBatchSize() {
+                    return maxBatchSize;
+                }
 
-            public void setAcknowledgeTimeout(long acknowledgeTimeout) {
-                this.acknowledgeTimeout = acknowledgeTimeout;
-            }
+                public void setMaxBatchSize(int maxBatchSize) {
+                    this.maxBatchSize = maxBatchSize;
+                }
 
-            public int getMaxRetries() {
-                return maxRetries;
-            }
+                public long getLingerMs() {
+                    return lingerMs;
+                }
 
-            public void setMaxRetries(int maxRetries) {
-                this.maxRetries = maxRetries;
-            }
+                public void setLingerMs(long lingerMs) {
+                    this.lingerMs = lingerMs;
+                }
 
-            public long getInitialRetryDelay() {
-                return initialRetryDelay;
-            }
+                public int getQueueCapacity() {
+                    return queueCapacity;
+                }
 
-            public void setInitialRetryDelay(long initialRetryDelay) {
-                this.initialRetryDelay = initialRetryDelay;
-            }
+                public void setQueueCapacity(int queueCapacity) {
+                    this.queueCapacity = queueCapacity;
+                }
 
-            public boolean isExponentialBackoff() {
-                return exponentialBackoff;
-            }
+                public OverflowPolicy getOverflowPolicy() {
+                    return overflowPolicy;
+                }
 
-            public void setExponentialBackoff(boolean exponentialBackoff) {
-                this.exponentialBackoff = exponentialBackoff;
-            }
+                public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+                    this.overflowPolicy = overflowPolicy;
+                }
 
-            public String getDeadLetterStream() {
-                return deadLetterStream;
-            }
+                public long getBlockTimeoutMs() {
+                    return blockTimeoutMs;
+                }
 
-            public void setDeadLetterStream(String deadLetterStream) {
-                this.deadLetterStream = deadLetterStream;
+                public void setBlockTimeoutMs(long blockTimeoutMs) {
+                    this.blockTimeoutMs = blockTimeoutMs;
+                }
+
+                /**
+                 * Overflow policies of the publish queue.
+                 */
+                public enum OverflowPolicy {
+                    /**
+                     * Wait up to the block timeout for space, then reject the publish (default behavior).
+                     */
+                    BLOCK,
+                    /**
+                     * Write the entry on the publishing thread, bypassing the queue.
+                     */
+                    CALLER_RUNS,
+                    /**
+                     * Discard the oldest queued entry to make room.
+                     */
+                    DROP_OLDEST,
+                    /**
+                     * Hand the entry to the configured spill handler, replayed once the queue drains.
+                     */
+                    SPILL
+                }
             }
-        }
-    }
 
-    /**
-         * Serialization configuration for JSON processing.
-         */
-        public static class SerializationProperties {
             /**
-             * Circular reference handling strategy: IGNORE, ERROR, RETAIN.
+             * Stream retention configuration.
+             * Append-time trimming is cheap but blind to consumer progress; the background trimmer
+             * only removes entries every consumer group has received and acknowledged.
              */
-            @NotNull(message = "Circular reference handling strategy cannot be null")
-            private CircularReferenceHandler circularReferenceHandler = CircularReferenceHandler.IGNORE;
+            public static class RetentionProperties {
+                /**
+                 * Trim strategy applied on every XADD: NONE, MAXLEN (approximate, bounded by maxlen)
+                 * or MINID (approximate, bounded by max-age).
+                 */
+                @NotNull(message = "Append trim strategy cannot be null")
+                private AppendTrimStrategy appendTrimStrategy = AppendTrimStrategy.NONE;
 
-            /**
-             * Whether to fail on self references during serialization.
-             */
-            private boolean failOnSelfReferences = false;
+                /**
+                 * Maximum age in milliseconds of entries kept by the MINID append strategy.
+                 */
+                @Positive(message = "Maximum age must be positive")
+                private long maxAge = 86400000;
 
-        public CircularReferenceHandler getCircularReferenceHandler() {
-            return circularReferenceHandler;
-        }
+                /**
+                 * Whether to run the lag-aware background trimmer, which removes consumed entries beyond maxlen.
+                 */
+                private boolean backgroundTrimEnabled = true;
 
-        public void setCircularReferenceHandler(CircularReferenceHandler circularReferenceHandler) {
-            this.circularReferenceHandler = circularReferenceHandler;
-        }
+                /**
+                 * Interval between background trim runs in milliseconds.
+                 */
+                @Positive(message = "Background trim interval must be positive")
+                private long backgroundTrimInterval = 60000;
+
+                public AppendTrimStrategy getAppendTrimStrategy() {
+                    return appendTrimStrategy;
+                }
+
+                public void setAppendTrimStrategy(AppendTrimStrategy appendTrimStrategy) {
+                    this.appendTrimStrategy = appendTrimStrategy;
+                }
+
+                public long getMaxAge() {
+                    return maxAge;
+                }
+
+                public void setMaxAge(long maxAge) {
+                    this.maxAge = maxAge;
+                }
+
+                public boolean isBackgroundTrimEnabled() {
+                    return backgroundTrimEnabled;
+                }
+
+                public void setBackgroundTrimEnabled(boolean backgroundTrimEnabled) {
+                    this.backgroundTrimEnabled = backgroundTrimEnabled;
+                }
+
+                public long getBackgroundTrimInterval() {
+                    return backgroundTrimInterval;
+                }
+
+                public void setBackgroundTrimInterval(long backgroundTrimInterval) {
+                    this.backgroundTrimInterval = backgroundTrimInterval;
+                }
+
+                /**
+                 * Append-time trim strategies.
+                 */
+                public enum AppendTrimStrategy {
+                    /**
+                     * Do not trim on append (default behavior).
+                     */
+                    NONE,
+                    /**
+                     * Trim to approximately maxlen entries.
+                     */
+                    MAXLEN,
+                    /**
+                     * Trim entries older than max-age.
+                     */
+                    MINID
+                }
+            }
+
+            /**
+             * Payload compression configuration.
+             * Only event payloads at or above the threshold are compressed; smaller payloads rarely shrink enough
+             * to pay for the CPU time.
+             */
+            public static class CompressionProperties {
+                /**
+                 * Compression algorithm: NONE, LZ4 or ZSTD.
+                 */
+                @NotNull(message = "Compression algorithm cannot be null")
+                private CompressionAlgorithm algorithm = CompressionAlgorithm.NONE;
+
+                /**
+                 * Minimum encoded payload size in bytes before compression is applied.
+                 */
+                @PositiveOrZero(message = "Compression threshold must be positive or zero")
+                private int threshold = 1024;
+
+                /**
+                 * Zstandard compression level, 1 (fastest) to 22 (smallest).
+                 */
+                @Positive(message = "Zstd level must be positive")
+                private int zstdLevel = 3;
+
+                public CompressionAlgorithm getAlgorithm() {
+                    return algorithm;
+                }
+
+                public void setAlgorithm(CompressionAlgorithm algorithm) {
+                    this.algorithm = algorithm;
+                }
+
+                public int getThreshold() {
+                    return threshold;
+                }
+
+                public void setThreshold(int threshold) {
+                    this.threshold = threshold;
+                }
+
+                public int getZstdLevel() {
+                    return zstdLevel;
+                }
+
+                public void setZstdLevel(int zstdLevel) {
+                    this.zstdLevel = zstdLevel;
+                }
+
+                /**
+                 * Compression algorithms.
+                 */
+                public enum CompressionAlgorithm {
+                    /**
+                     * Do not compress (default behavior).
+                     */
+                    NONE,
+                    /**
+                     * LZ4, requires lz4-java.
+                     */
+                    LZ4,
+                    /**
+                     * Zstandard, requires zstd-jni.
+                     */
+                    ZSTD
+                }
+            }
+
+            /**
+             * Compact event type registry configuration.
+             * When enabled, entries carry a small integer type ID from a registry shared through Redis instead of
+             * the fully qualified class name. Consumers understand both forms, so enable it only after every
+             * consumer has been upgraded.
+             */
+            public static class TypeRegistryProperties {
+                /**
+                 * Whether to write integer type IDs instead of class names.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Prefix of the Redis keys holding the registry.
+                 */
+                @NotBlank(message = "Type registry key prefix cannot be blank")
+                private String keyPrefix = "soda:event-types";
+
+                /**
+                 * Time in milliseconds an ID missing from the registry is not looked up again.
+                 */
+                @PositiveOrZero(message = "Unknown type ID TTL must be positive or zero")
+                private long unknownIdTtl = 10000;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public String getKeyPrefix() {
+                    return keyPrefix;
+                }
+
+                public void setKeyPrefix(String keyPrefix) {
+                    this.keyPrefix = keyPrefix;
+                }
+
+                public long getUnknownIdTtl() {
+                    return unknownIdTtl;
+                }
+
+                public void setUnknownIdTtl(long unknownIdTtl) {
+                    this.unknownIdTtl = unknownIdTtl;
+                }
+            }
+
+            /**
+             * Partitioned stream configuration.
+             * With more than one partition, events are spread over that many stream keys by the hash of their
+             * partition key, and each partition is consumed by exactly one instance at a time, which holds a
+             * lease on it. Events sharing a partition key are therefore delivered in publish order.
+             */
+            public static class PartitionProperties {
+                /**
+                 * Number of partition streams, 1 keeps the single stream key.
+                 */
+                @Positive(message = "Partition count must be positive")
+                private int count = 1;
+
+                /**
+                 * Time to live of a partition lease in milliseconds; a partition whose owner stops renewing
+                 * is taken over after this long.
+                 */
+                @Positive(message = "Partition lease TTL must be positive")
+                private long leaseTtl = 30000;
+
+                /**
+                 * Interval between lease renewals and rebalancing in milliseconds, must be well below the lease TTL.
+                 */
+                @Positive(message = "Partition rebalance interval must be positive")
+                private long rebalanceInterval = 10000;
+
+                public int getCount() {
+                    return count;
+                }
+
+                public void setCount(int count) {
+                    this.count = count;
+                }
+
+                public long getLeaseTtl() {
+                    return leaseTtl;
+                }
+
+                public void setLeaseTtl(long leaseTtl) {
+                    this.leaseTtl = leaseTtl;
+                }
+
+                public long getRebalanceInterval() {
+                    return rebalanceInterval;
+                }
+
+                public void setRebalanceInterval(long rebalanceInterval) {
+                    this.rebalanceInterval = rebalanceInterval;
+                }
+            }
+
+            /**
+             * Per-event-type stream routing configuration.
+             * When enabled, every event type (or group of types) is published to its own stream,
+             * {@code <stream key>:<route>}, and a node only reads the streams of types it has handlers for.
+             * Publishers and consumers must agree on the setting and on the route mapping.
+             */
+            public static class RoutingProperties {
+                /**
+                 * Whether to route event types to separate streams.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Route names by event class name or package prefix; the longest matching prefix wins.
+                 * Types without a match are routed by their fully qualified class name.
+                 */
+                @NotNull(message = "Routes cannot be null")
+                private Map<String, String> routes = new LinkedHashMap<>();
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public Map<String, String> getRoutes() {
+                    return routes;
+                }
+
+                public void setRoutes(Map<String, String> routes) {
+                    this.routes = routes;
+                }
+            }
+
+            /**
+             * Transactional outbox configuration.
+             * When enabled, events published inside a transaction are written to an outbox table in the same
+             * transaction instead of being sent after commit, and a relay moves them to the streams in batches.
+             * Requires spring-jdbc and a DataSource.
+             */
+            public static class OutboxProperties {
+                /**
+                 * Whether to publish transactional events through the outbox table.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Name of the outbox table.
+                 */
+                @NotBlank(message = "Outbox table name cannot be blank")
+                private String tableName = "soda_event_outbox";
+
+                /**
+                 * Whether to create the outbox table on startup if it does not exist.
+                 */
+                private boolean initializeSchema = false;
+
+                /**
+                 * Maximum number of rows the relay moves per round trip.
+                 */
+                @Positive(message = "Outbox batch size must be positive")
+                private int batchSize = 500;
+
+                /**
+                 * Number of relay shards; rows are sharded by stream key, so order within a stream is kept.
+                 * Must be the same on every instance.
+                 */
+                @Positive(message = "Outbox parallelism must be positive")
+                private int parallelism = 1;
+
+                /**
+                 * Delay between relay polls of an empty shard in milliseconds.
+                 */
+                @Positive(message = "Outbox poll interval must be positive")
+                private long pollInterval = 200;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public String getTableName() {
+                    return tableName;
+                }
+
+                public void setTableName(String tableName) {
+                    this.tableName = tableName;
+                }
+
+                public boolean isInitializeSchema() {
+                    return initializeSchema;
+                }
+
+                public void setInitializeSchema(boolean initializeSchema) {
+                    this.initializeSchema = initializeSchema;
+                }
+
+                public int getBatchSize() {
+                    return batchSize;
+                }
+
+                public void setBatchSize(int batchSize) {
+                    this.batchSize = batchSize;
+                }
+
+                public int getParallelism() {
+                    return parallelism;
+                }
+
+                public void setParallelism(int parallelism) {
+                    this.parallelism = parallelism;
+                }
+
+                public long getPollInterval() {
+                    return pollInterval;
+                }
+
+                public void setPollInterval(long pollInterval) {
+                    this.pollInterval = pollInterval;
+                }
+            }
+
+            /**
+             * Local disk spool configuration.
+             * When enabled, entries that cannot be appended because Redis is unavailable, or that overflow the
+             * batch publish queue under the SPILL policy, are written to a memory-mapped file and replayed in order
+             * once Redis accepts writes again.
+             */
+            public static class SpoolProperties {
+                /**
+                 * Whether to spool failed publishes to local disk.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Directory holding the spool files; one file per topic and consumer name, so instances on
+                 * the same host need distinct consumer names.
+                 */
+                @NotBlank(message = "Spool directory cannot be blank")
+                private String directory = System.getProperty("java.io.tmpdir") + "/soda-event-spool";
+
+                /**
+                 * Size of the spool file in bytes, mapped into memory as a whole.
+                 */
+                @Positive(message = "Spool size must be positive")
+                private long maxBytes = 64L * 1024 * 1024;
+
+                /**
+                 * Maximum number of spooled entries appended per pipelined round trip during replay.
+                 */
+                @Positive(message = "Spool replay batch size must be positive")
+                private int replayBatchSize = 500;
+
+                /**
+                 * Delay between replay attempts while the spool is not empty, in milliseconds.
+                 */
+                @Positive(message = "Spool replay interval must be positive")
+                private long replayInterval = 1000;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public String getDirectory() {
+                    return directory;
+                }
+
+                public void setDirectory(String directory) {
+                    this.directory = directory;
+                }
+
+                public long getMaxBytes() {
+                    return maxBytes;
+                }
+
+                public void setMaxBytes(long maxBytes) {
+                    this.maxBytes = maxBytes;
+                }
+
+                public int getReplayBatchSize() {
+                    return replayBatchSize;
+                }
+
+                public void setReplayBatchSize(int replayBatchSize) {
+                    this.replayBatchSize = replayBatchSize;
+                }
+
+                public long getReplayInterval() {
+                    return replayInterval;
+                }
+
+                public void setReplayInterval(long replayInterval) {
+                    this.replayInterval = replayInterval;
+                }
+            }
+
+            /**
+             * Scaling the number of consumers of each stream with the group's lag.
+             * When enabled, the lag is sampled at every interval and consumers are added at once up to the lag
+             * divided by target-lag-per-consumer, or removed one per interval, within the bounds; concurrency is
+             * the starting point. Partitioned streams are not scaled, they keep one consumer per owned partition.
+             */
+            public static class ScalingProperties {
+                /**
+                 * Whether to scale consumers with the lag.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Smallest number of consumers per stream.
+                 */
+                @Positive(message = "Minimum consumers must be positive")
+                private int minConsumers = 1;
+
+                /**
+                 * Largest number of consumers per stream.
+                 */
+                @Positive(message = "Maximum consumers must be positive")
+                private int maxConsumers = 8;
+
+                /**
+                 * Lag in entries one consumer is expected to handle.
+                 */
+                @Positive(message = "Target lag per consumer must be positive")
+                private long targetLagPerConsumer = 1000;
+
+                /**
+                 * Interval in milliseconds at which the lag is sampled.
+                 */
+                @Positive(message = "Scaling interval must be positive")
+                private long interval = 5000;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getMinConsumers() {
+                    return minConsumers;
+                }
+
+                public void setMinConsumers(int minConsumers) {
+                    this.minConsumers = minConsumers;
+                }
+
+                public int getMaxConsumers() {
+                    return maxConsumers;
+                }
+
+                public void setMaxConsumers(int maxConsumers) {
+                    this.maxConsumers = maxConsumers;
+                }
+
+                public long getTargetLagPerConsumer() {
+                    return targetLagPerConsumer;
+                }
+
+                public void setTargetLagPerConsumer(long targetLagPerConsumer) {
+                    this.targetLagPerConsumer = targetLagPerConsumer;
+                }
+
+                public long getInterval() {
+                    return interval;
+                }
+
+                public void setInterval(long interval) {
+                    this.interval = interval;
+                }
+            }
+
+            /**
+             * One consumer group per event handler instead of one group shared by all handlers.
+             * When enabled, every handler reads the stream of its event type in a group named after the shared
+             * group name and the handler's class, so each handler keeps its own position, pending entries, lag,
+             * retries and dead letters. A failing or slow handler then no longer holds back the others, and no
+             * per-handler idempotency records are needed. Switching an existing deployment creates the new groups
+             * at the end of the stream, so entries not yet handled by the shared group are not seen by them.
+             */
+            public static class HandlerGroupProperties {
+                /**
+                 * Whether each handler consumes in its own consumer group.
+                 */
+                private boolean enabled = false;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+            }
+
+            /**
+             * Replaying entries of the dead letter stream back to the streams they failed on.
+             * A replay reads the dead letter stream in pages, appends the matching entries in pipelined batches
+             * and records the last entry it has passed after every batch, so an interrupted replay resumes where it
+             * stopped.
+             */
+            public static class DeadLetterReplayProperties {
+                /**
+                 * Number of dead letter entries read per XRANGE call.
+                 */
+                @Positive(message = "Dead letter replay page size must be positive")
+                private int pageSize = 1000;
+
+                /**
+                 * Maximum number of entries appended per pipeline.
+                 */
+                @Positive(message = "Dead letter replay batch size must be positive")
+                private int batchSize = 200;
+
+                /**
+                 * Maximum number of entries replayed per second, 0 for no limit.
+                 */
+                @PositiveOrZero(message = "Dead letter replay rate must not be negative")
+                private int maxRatePerSecond = 1000;
+
+                public int getPageSize() {
+                    return pageSize;
+                }
+
+                public void setPageSize(int pageSize) {
+                    this.pageSize = pageSize;
+                }
+
+                public int getBatchSize() {
+                    return batchSize;
+                }
+
+                public void setBatchSize(int batchSize) {
+                    this.batchSize = batchSize;
+                }
+
+                public int getMaxRatePerSecond() {
+                    return maxRatePerSecond;
+                }
+
+                public void setMaxRatePerSecond(int maxRatePerSecond) {
+                    this.maxRatePerSecond = maxRatePerSecond;
+                }
+            }
+
+            /**
+             * Adaptive read sizing.
+             * When enabled, each consumer starts from batch-size and poll-timeout and adjusts them after every read:
+             * the batch size grows while reads come back full and shrinks when idle, and the block timeout grows
+             * while reads come back empty and drops to its minimum as soon as records arrive.
+             */
+            public static class AdaptivePollProperties {
+                /**
+                 * Whether to adapt batch size and block timeout to the load.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Smallest batch size.
+                 */
+                @Positive(message = "Minimum batch size must be positive")
+                private int minBatchSize = 10;
+
+                /**
+                 * Largest batch size.
+                 */
+                @Positive(message = "Maximum batch size must be positive")
+                private int maxBatchSize = 1000;
+
+                /**
+                 * Shortest block timeout in milliseconds.
+                 */
+                @Positive(message = "Minimum poll timeout must be positive")
+                private long minPollTimeout = 100;
+
+                /**
+                 * Longest block timeout in milliseconds.
+                 */
+                @Positive(message = "Maximum poll timeout must be positive")
+                private long maxPollTimeout = 5000;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getMinBatchSize() {
+                    return minBatchSize;
+                }
+
+                public void setMinBatchSize(int minBatchSize) {
+                    this.minBatchSize = minBatchSize;
+                }
+
+                public int getMaxBatchSize() {
+                    return maxBatchSize;
+                }
+
+                public void setMaxBatchSize(int maxBatchSize) {
+                    this.maxBatchSize = maxBatchSize;
+                }
+
+                public long getMinPollTimeout() {
+                    return minPollTimeout;
+                }
+
+                public void setMinPollTimeout(long minPollTimeout) {
+                    this.minPollTimeout = minPollTimeout;
+                }
+
+                public long getMaxPollTimeout() {
+                    return maxPollTimeout;
+                }
+
+                public void setMaxPollTimeout(long maxPollTimeout) {
+                    this.maxPollTimeout = maxPollTimeout;
+                }
+            }
+
+            /**
+             * Batch consumption configuration.
+             * When enabled, each read of up to batch-size records is processed as a whole: idempotency states are
+             * looked up and recorded in one pipeline each, and the records that may be acknowledged are acknowledged
+             * with a single XACK per stream.
+             */
+            public static class BatchConsumeProperties {
+                /**
+                 * Whether to consume records in batches instead of one by one.
+                 */
+                private boolean enabled = false;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+            }
+
+            /**
+             * Handler worker pool configuration.
+             * When enabled, consumer threads only poll Redis and hand records to a pool of workers. Records with the
+             * same partition key (the {@code @PartitionKey} member, or the event ID without one) always run on the
+             * same worker, in stream order. The pool size is independent of the number of consumers.
+             */
+            public static class WorkerPoolProperties {
+                /**
+                 * Whether to run handlers on the worker pool instead of the consumer threads.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Number of workers.
+                 */
+                @Positive(message = "Worker pool size must be positive")
+                private int size = Runtime.getRuntime().availableProcessors();
+
+                /**
+                 * Maximum number of records handed to the workers and not yet finished; consumers stop reading
+                 * while it is reached.
+                 */
+                @Positive(message = "Maximum in-flight records must be positive")
+                private int maxInFlight = 1000;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getSize() {
+                    return size;
+                }
+
+                public void setSize(int size) {
+                    this.size = size;
+                }
+
+                public int getMaxInFlight() {
+                    return maxInFlight;
+                }
+
+                public void setMaxInFlight(int maxInFlight) {
+                    this.maxInFlight = maxInFlight;
+                }
+            }
+
+            /**
+             * Running each stream message on its own virtual thread. Needs Java 21 or later; older runtimes keep
+             * handling messages on the consumer threads. Records are not ordered by key, the worker pool takes
+             * precedence when both are enabled.
+             */
+            public static class VirtualThreadProperties {
+                /**
+                 * Whether to run handlers on virtual threads.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Maximum number of messages handled at once; consumers stop reading while it is reached.
+                 */
+                @Positive(message = "Maximum concurrency must be positive")
+                private int maxConcurrency = 1000;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getMaxConcurrency() {
+                    return maxConcurrency;
+                }
+
+                public void setMaxConcurrency(int maxConcurrency) {
+                    this.maxConcurrency = maxConcurrency;
+                }
+            }
+
+            /**
+             * Retry scheduling of failed messages.
+             * By default a failed message is retried on the consumer thread after sleeping for the backoff delay.
+             * With delayed retries the message is acknowledged and parked in a Redis sorted set scored by its due
+             * time instead, and a scheduler hands it back to the handlers once due, so consumers keep reading.
+             * Delays of both modes are capped and jittered, and can be overridden per event type.
+             */
+            public static class RetryProperties {
+                /**
+                 * Whether to park failed messages in Redis until their retry is due instead of sleeping.
+                 */
+                private boolean delayed = false;
+
+                /**
+                 * Interval in milliseconds at which due retries are looked up.
+                 */
+                @Positive(message = "Retry poll interval must be positive")
+                private long pollInterval = 200;
+
+                /**
+                 * Maximum number of due retries taken per lookup.
+                 */
+                @Positive(message = "Retry batch size must be positive")
+                private int batchSize = 100;
+
+                /**
+                 * Time in milliseconds a taken retry stays invisible to other instances; a retry not finished
+                 * by then is taken again.
+                 */
+                @Positive(message = "Retry lease timeout must be positive")
+                private long leaseTimeout = 60000;
+
+                /**
+                 * Upper bound of a single retry delay in milliseconds.
+                 */
+                @Positive(message = "Maximum retry delay must be positive")
+                private long maxDelay = 300000;
+
+                /**
+                 * Fraction of each delay that is randomized, from 0 (fixed delays) to 1 (anywhere between zero
+                 * and the full delay), so that messages failing together are not retried together.
+                 */
+                @PositiveOrZero(message = "Retry jitter must be positive or zero")
+                private double jitter = 0.0;
+
+                /**
+                 * Retry policies by event class name or package prefix; the longest matching prefix wins.
+                 * Settings left empty in a policy fall back to the stream settings.
+                 */
+                @NotNull(message = "Retry policies cannot be null")
+                private Map<String, RetryPolicyProperties> policies = new LinkedHashMap<>();
+
+                public boolean isDelayed() {
+                    return delayed;
+                }
+
+                public void setDelayed(boolean delayed) {
+                    this.delayed = delayed;
+                }
+
+                public long getPollInterval() {
+                    return pollInterval;
+                }
+
+                public void setPollInterval(long pollInterval) {
+                    this.pollInterval = pollInterval;
+                }
+
+                public int getBatchSize() {
+                    return batchSize;
+                }
+
+                public void setBatchSize(int batchSize) {
+                    this.batchSize = batchSize;
+                }
+
+                public long getLeaseTimeout() {
+                    return leaseTimeout;
+                }
+
+                public void setLeaseTimeout(long leaseTimeout) {
+                    this.leaseTimeout = leaseTimeout;
+                }
+
+                public long getMaxDelay() {
+                    return maxDelay;
+                }
+
+                public void setMaxDelay(long maxDelay) {
+                    this.maxDelay = maxDelay;
+                }
+
+                public double getJitter() {
+                    return jitter;
+                }
+
+                public void setJitter(double jitter) {
+                    this.jitter = jitter;
+                }
+
+                public Map<String, RetryPolicyProperties> getPolicies() {
+                    return policies;
+                }
+
+                public void setPolicies(Map<String, RetryPolicyProperties> policies) {
+                    this.policies = policies;
+                }
+            }
+
+            /**
+             * Taking over entries left unacknowledged in the pending entries list.
+             * Entries idle for longer than the acknowledge timeout, for instance because their consumer crashed,
+             * are claimed by this instance and handled again; entries delivered as often as the delivery limit
+             * are moved to the dead letter stream instead.
+             */
+            public static class ReclaimProperties {
+                /**
+                 * Whether to reclaim idle pending entries.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Interval in milliseconds at which pending entries are inspected.
+                 */
+                @Positive(message = "Reclaim interval must be positive")
+                private long interval = 10000;
+
+                /**
+                 * Maximum number of pending entries inspected per stream and run.
+                 */
+                @Positive(message = "Reclaim batch size must be positive")
+                private int batchSize = 100;
+
+                /**
+                 * Number of deliveries after which an idle entry is dead-lettered instead of handled again.
+                 */
+                @Positive(message = "Maximum deliveries must be positive")
+                private int maxDeliveries = 5;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public long getInterval() {
+                    return interval;
+                }
+
+                public void setInterval(long interval) {
+                    this.interval = interval;
+                }
+
+                public int getBatchSize() {
+                    return batchSize;
+                }
+
+                public void setBatchSize(int batchSize) {
+                    this.batchSize = batchSize;
+                }
+
+                public int getMaxDeliveries() {
+                    return maxDeliveries;
+                }
+
+                public void setMaxDeliveries(int maxDeliveries) {
+                    this.maxDeliveries = maxDeliveries;
+                }
+            }
+
+            /**
+             * Retry settings of the event types matching one policy key.
+             */
+            public static class RetryPolicyProperties {
+                /**
+                 * Maximum number of retries.
+                 */
+                private Integer maxRetries;
+
+                /**
+                 * Initial retry delay in milliseconds.
+                 */
+                private Long initialRetryDelay;
+
+                /**
+                 * Whether to double the delay on every retry.
+                 */
+                private Boolean exponentialBackoff;
+
+                /**
+                 * Upper bound of a single retry delay in milliseconds.
+                 */
+                private Long maxDelay;
+
+                /**
+                 * Fraction of each delay that is randomized.
+                 */
+                private Double jitter;
+
+                public Integer getMaxRetries() {
+                    return maxRetries;
+                }
+
+                public void setMaxRetries(Integer maxRetries) {
+                    this.maxRetries = maxRetries;
+                }
+
+                public Long getInitialRetryDelay() {
+                    return initialRetryDelay;
+                }
+
+                public void setInitialRetryDelay(Long initialRetryDelay) {
+                    this.initialRetryDelay = initialRetryDelay;
+                }
+
+                public Boolean getExponentialBackoff() {
+                    return exponentialBackoff;
+                }
+
+                public void setExponentialBackoff(Boolean exponentialBackoff) {
+                    this.exponentialBackoff = exponentialBackoff;
+                }
+
+                public Long getMaxDelay() {
+                    return maxDelay;
+                }
+
+                public void setMaxDelay(Long maxDelay) {
+                    this.maxDelay = maxDelay;
+                }
+
+                public Double getJitter() {
+                    return jitter;
+                }
+
+                public void setJitter(Double jitter) {
+                    this.jitter = jitter;
+                }
+            }
+
+            public String getGroupName() {
+                return groupName;
+            }
+
+            public void setGroupName(String groupName) {
+                this.groupName = groupName;
+            }
+
+            public String getConsumerName() {
+                return consumerName;
+            }
+
+            public void setConsumerName(String consumerName) {
+                this.consumerName = consumerName;
+            }
+
+            public long getMaxlen() {
+                return maxlen;
+            }
+
+            public void setMaxlen(long maxlen) {
+                this.maxlen = maxlen;
+            }
+
+            public long getPollTimeout() {
+                return pollTimeout;
+            }
+
+            public void setPollTimeout(long pollTimeout) {
+                this.pollTimeout = pollTimeout;
+            }
+
+            public long getAcknowledgeTimeout() {
+                return acknowledgeTimeout;
+            }
+
+            public void setAcknowledgeTimeout(long acknowledgeTimeout) {
+                this.acknowledgeTimeout = acknowledgeTimeout;
+            }
+
+            public int getMaxRetries() {
+                return maxRetries;
+            }
+
+            public void setMaxRetries(int maxRetries) {
+                this.maxRetries = maxRetries;
+            }
+
+            public long getInitialRetryDelay() {
+                return initialRetryDelay;
+            }
+
+            public void setInitialRetryDelay(long initialRetryDelay) {
+                this.initialRetryDelay = initialRetryDelay;
+            }
+
+            public boolean isExponentialBackoff() {
+                return exponentialBackoff;
+            }
+
+            public void setExponentialBackoff(boolean exponentialBackoff) {
+                this.exponentialBackoff = exponentialBackoff;
+            }
+
+            public String getDeadLetterStream() {
+                return deadLetterStream;
+            }
+
+            public void setDeadLetterStream(String deadLetterStream) {
+                this.deadLetterStream = deadLetterStream;
+            }
+        }
+    }
+
+    /**
+         * Serialization configuration for JSON processing.
+         */
+        public static class SerializationProperties {
+            /**
+             * Circular reference handling strategy: IGNORE, ERROR, RETAIN.
+             */
+            @NotNull(message = "Circular reference handling strategy cannot be null")
+            private CircularReferenceHandler circularReferenceHandler = CircularReferenceHandler.IGNORE;
+
+            /**
+             * Whether to fail on self references during serialization.
+             */
+            private boolean failOnSelfReferences = false;
+
+        public CircularReferenceHandler getCircularReferenceHandler() {
+            return circularReferenceHandler;
+        }
+
+        public void setCircularReferenceHandler(CircularReferenceHandler circularReferenceHandler) {
+            this.circularReferenceHandler = circularReferenceHandler;
+        }
 
         public boolean isFailOnSelfReferences() {
             return failOnSelfReferences;
@@ -448,4 +1859,69 @@ public class EventProperties {
             RETAIN
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Concurrent fan-out of the handlers of one event, used by the simple and the Redis event bus.
+     * When enabled, the handlers of an event with more than one handler run at the same time on a shared pool
+     * and are all waited for, so the event takes as long as its slowest handler instead of the sum of them.
+     * Handlers must then not depend on each other's side effects or order, and run outside the publisher's
+     * transaction.
+     */
+    public static class FanOutProperties {
+        /**
+         * Whether to run the handlers of one event concurrently.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of threads running handlers.
+         */
+        @Positive(message = "Fan-out parallelism must be positive")
+        private int parallelism = 8;
+
+        /**
+         * Number of handlers that may wait for a thread before the publishing thread runs them itself.
+         */
+        @Positive(message = "Fan-out queue capacity must be positive")
+        private int queueCapacity = 1000;
+
+        /**
+         * Time in milliseconds each handler may take before it is interrupted and counted as failed, 0 for no limit.
+         * Without a limit, a handler that never returns blocks its publisher for good.
+         */
+        @PositiveOrZero(message = "Handler timeout must be zero or positive")
+        private long handlerTimeout = 30000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getHandlerTimeout() {
+            return handlerTimeout;
+        }
+
+        public void setHandlerTimeout(long handlerTimeout) {
+            this.handlerTimeout = handlerTimeout;
+        }
+    }
+}
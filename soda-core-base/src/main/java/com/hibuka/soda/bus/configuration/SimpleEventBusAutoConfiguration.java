@@ -1,11 +1,13 @@
 package com.hibuka.soda.bus.configuration;
 
+import com.hibuka.soda.bus.impl.HandlerFanOut;
 import com.hibuka.soda.bus.impl.SimpleEventBus;
 import com.hibuka.soda.cqrs.event.EventBus;
 import com.hibuka.soda.cqrs.event.EventHandler;
 import com.hibuka.soda.domain.event.DomainEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -35,13 +37,15 @@ public class SimpleEventBusAutoConfiguration {
      * Default event bus implementation with no external dependencies.
      *
      * @param eventHandlers the event handlers
+     * @param handlerFanOut the concurrent handler fan-out, present when soda.event.fan-out.enabled=true
      * @return the simple event bus
      */
     @Bean
     @ConditionalOnMissingBean
-    public EventBus simpleEventBus(List<EventHandler<? extends DomainEvent>> eventHandlers) {
+    public EventBus simpleEventBus(List<EventHandler<? extends DomainEvent>> eventHandlers,
+                                   ObjectProvider<HandlerFanOut> handlerFanOut) {
         logger.info("[SimpleEventBusAutoConfiguration] Creating SimpleEventBus instance with {} event handlers", eventHandlers.size());
-        SimpleEventBus eventBus = new SimpleEventBus(eventHandlers);
+        SimpleEventBus eventBus = new SimpleEventBus(eventHandlers, handlerFanOut.getIfAvailable());
         logger.info("[SimpleEventBusAutoConfiguration] SimpleEventBus instance created: {}", eventBus);
         return eventBus;
     }
@@ -5,15 +5,19 @@ import com.hibuka.soda.cqrs.command.CommandBus;
 import com.hibuka.soda.cqrs.command.CommandHandler;
 import com.hibuka.soda.cqrs.query.QueryBus;
 import com.hibuka.soda.cqrs.query.QueryHandler;
+import com.hibuka.soda.bus.impl.HandlerFanOut;
 import com.hibuka.soda.bus.impl.SimpleCommandBus;
 import com.hibuka.soda.bus.impl.SimpleQueryBus;
 import com.hibuka.soda.cqrs.event.EventBus;
 import com.hibuka.soda.bus.interceptor.CqrsAroundHandler;
 import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.context.ContextPropagatingTaskDecorator;
+import com.hibuka.soda.util.VirtualThreadExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,14 +50,25 @@ public class SpringBusAutoConfiguration {
         return new SimpleQueryBus(queryHandlers);
     }
 
+    // Declared as an Executor, so the destroy method is inferred from the returned instance: close() or shutdown()
     @Bean("cqrsAsyncExecutor")
     @ConditionalOnMissingBean(name = "cqrsAsyncExecutor")
     public Executor cqrsAsyncExecutor(AsyncConfig asyncConfig) {
+        if (asyncConfig.isVirtualThreads()) {
+            if (VirtualThreadExecutor.isSupported()) {
+                logger.info("[BusAutoConfiguration] cqrsAsyncExecutor uses virtual threads: maxConcurrency={}", asyncConfig.getMaxConcurrency());
+                return new VirtualThreadExecutor(asyncConfig.getThreadNamePrefix(), asyncConfig.getMaxConcurrency(),
+                        new ContextPropagatingTaskDecorator());
+            }
+            logger.warn("[BusAutoConfiguration] Virtual threads are not supported on Java {}, falling back to the thread pool",
+                    Runtime.version().feature());
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(asyncConfig.getCorePoolSize());
         executor.setMaxPoolSize(asyncConfig.getMaxPoolSize());
         executor.setQueueCapacity(asyncConfig.getQueueCapacity());
         executor.setThreadNamePrefix(asyncConfig.getThreadNamePrefix());
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
         
         // 配置线程存活时间，避免空闲线程长时间占用资源
         executor.setKeepAliveSeconds(60);
@@ -100,6 +115,16 @@ public class SpringBusAutoConfiguration {
         return new CqrsAroundHandler(eventBus, eventProperties);
     }
 
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "soda.event.fan-out.enabled", havingValue = "true")
+    public HandlerFanOut handlerFanOut(EventProperties eventProperties) {
+        EventProperties.FanOutProperties fanOut = eventProperties.getFanOut();
+        logger.info("[BusAutoConfiguration] Event handlers fan out concurrently: parallelism={}, handlerTimeout={}ms",
+                fanOut.getParallelism(), fanOut.getHandlerTimeout());
+        return new HandlerFanOut(fanOut.getParallelism(), fanOut.getQueueCapacity(), fanOut.getHandlerTimeout());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public EventProperties eventProperties() {
@@ -0,0 +1,236 @@
+package com.hibuka.soda.bus.impl;
+
+import com.hibuka.soda.context.ContextPropagatingTaskDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the handlers of one event concurrently and waits for all of them.
+ * Each handler runs on a bounded pool with the command and domain event context of the publishing thread, and
+ * the caller gets one outcome per handler once every handler has finished or run out of time. A handler that
+ * is still running when its timeout expires is interrupted and reported as timed out; the timeout counts from
+ * submission, so time spent queued counts too. When the pool and its queue are full, the publishing thread
+ * runs the handler itself, which slows the publisher down instead of dropping work.
+ * <p>
+ * Handlers that run on the pool do not take part in the publisher's transaction or see any other resource
+ * bound to the publishing thread; a handler that must join the publisher's transaction cannot be fanned out.
+ * A handler that publishes again from a pool thread has the nested handlers run one after another on its own
+ * thread, since waiting on the pool it occupies could exhaust it.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class HandlerFanOut {
+    private static final Logger logger = LoggerFactory.getLogger(HandlerFanOut.class);
+    // Set while a thread runs a handler for a fan-out, so nested fan-outs do not wait on the pool
+    private static final ThreadLocal<Boolean> RUNNING_HANDLER = new ThreadLocal<>();
+
+    private final ThreadPoolExecutor executor;
+    private final TaskDecorator taskDecorator = new ContextPropagatingTaskDecorator();
+    private final long handlerTimeout;
+
+    /**
+     * Constructor for HandlerFanOut, starting the handler pool.
+     *
+     * @param parallelism Number of handler threads
+     * @param queueCapacity Number of handlers that may wait for a thread
+     * @param handlerTimeout Time in milliseconds each handler may take, 0 to wait indefinitely
+     */
+    public HandlerFanOut(int parallelism, int queueCapacity, long handlerTimeout) {
+        int threads = Math.max(1, parallelism);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.handlerTimeout = Math.max(0, handlerTimeout);
+        if (this.handlerTimeout == 0) {
+            logger.warn("[HandlerFanOut] No handler timeout configured, a handler that never returns blocks its publisher and a handler thread for good");
+        }
+        logger.info("[HandlerFanOut] Created with parallelism={}, queueCapacity={}, handlerTimeout={}ms",
+                threads, queueCapacity, this.handlerTimeout);
+    }
+
+    /**
+     * Invokes every handler concurrently and waits until each has finished or timed out.
+     * Called from a handler that is itself running for a fan-out, the handlers run one after another on the
+     * calling thread, without a timeout.
+     *
+     * @param handlers Handlers to invoke
+     * @param invocation Invocation of one handler
+     * @param <H> Handler type
+     * @return Outcome of each handler, in the order of the handlers
+     */
+    public <H> List<Outcome<H>> invokeAll(List<H> handlers, Invocation<H> invocation) {
+        if (Boolean.TRUE.equals(RUNNING_HANDLER.get())) {
+            return invokeInline(handlers, invocation);
+        }
+        List<Future<?>> futures = new ArrayList<>(handlers.size());
+        List<Long> deadlines = new ArrayList<>(handlers.size());
+        for (H handler : handlers) {
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                RUNNING_HANDLER.set(Boolean.TRUE);
+                try {
+                    invocation.invoke(handler);
+                } finally {
+                    RUNNING_HANDLER.remove();
+                }
+                return null;
+            });
+            deadlines.add(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(handlerTimeout));
+            try {
+                executor.execute(taskDecorator.decorate(task));
+            } catch (RejectedExecutionException e) {
+                // Run undecorated, the publishing thread already has the context and must keep it afterwards
+                task.run();
+            }
+            futures.add(task);
+        }
+
+        List<Outcome<H>> outcomes = new ArrayList<>(handlers.size());
+        boolean interrupted = false;
+        for (int i = 0; i < handlers.size(); i++) {
+            Future<?> future = futures.get(i);
+            try {
+                if (interrupted) {
+                    future.cancel(true);
+                    outcomes.add(new Outcome<>(handlers.get(i), new InterruptedException("Interrupted while waiting for handlers"), false));
+                } else if (handlerTimeout == 0) {
+                    future.get();
+                    outcomes.add(new Outcome<>(handlers.get(i), null, false));
+                } else {
+                    future.get(Math.max(0, deadlines.get(i) - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    outcomes.add(new Outcome<>(handlers.get(i), null, false));
+                }
+            } catch (ExecutionException e) {
+                outcomes.add(new Outcome<>(handlers.get(i), e.getCause(), false));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                outcomes.add(new Outcome<>(handlers.get(i),
+                        new TimeoutException("Handler did not finish within " + handlerTimeout + "ms"), true));
+            } catch (InterruptedException e) {
+                interrupted = true;
+                future.cancel(true);
+                outcomes.add(new Outcome<>(handlers.get(i), e, false));
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return outcomes;
+    }
+
+    private static <H> List<Outcome<H>> invokeInline(List<H> handlers, Invocation<H> invocation) {
+        logger.debug("[HandlerFanOut] Nested fan-out of {} handlers runs on the calling handler thread", handlers.size());
+        List<Outcome<H>> outcomes = new ArrayList<>(handlers.size());
+        for (H handler : handlers) {
+            try {
+                invocation.invoke(handler);
+                outcomes.add(new Outcome<>(handler, null, false));
+            } catch (Exception e) {
+                outcomes.add(new Outcome<>(handler, e, false));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Gets the number of handlers running right now.
+     *
+     * @return Active handler threads
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Stops the handler pool, waiting for running handlers to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(handlerTimeout > 0 ? handlerTimeout : 30000, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        logger.info("[HandlerFanOut] Stopped");
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "soda-handler-fanout-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Invocation of one handler.
+     *
+     * @param <H> Handler type
+     */
+    @FunctionalInterface
+    public interface Invocation<H> {
+        /**
+         * Invokes the handler.
+         *
+         * @param handler Handler to invoke
+         * @throws Exception if the handler fails
+         */
+        void invoke(H handler) throws Exception;
+    }
+
+    /**
+     * Result of invoking one handler.
+     *
+     * @param <H> Handler type
+     */
+    public static final class Outcome<H> {
+        private final H handler;
+        private final Throwable failure;
+        private final boolean timedOut;
+
+        private Outcome(H handler, Throwable failure, boolean timedOut) {
+            this.handler = handler;
+            this.failure = failure;
+            this.timedOut = timedOut;
+        }
+
+        public H getHandler() {
+            return handler;
+        }
+
+        /**
+         * Gets the failure of the handler.
+         *
+         * @return Exception thrown by the handler, a TimeoutException if it timed out, null if it succeeded
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        public boolean isSuccess() {
+            return failure == null;
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+    }
+}
@@ -2,12 +2,16 @@ package com.hibuka.soda.bus.impl;
 
 import com.hibuka.soda.cqrs.event.EventHandler;
 import com.hibuka.soda.domain.event.DomainEvent;
+import com.hibuka.soda.foundation.error.BaseErrorCode;
 import com.hibuka.soda.foundation.error.BaseException;
 import com.hibuka.soda.cqrs.event.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.GenericTypeResolver;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,6 +26,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class SimpleEventBus implements EventBus {
     private static final Logger logger = LoggerFactory.getLogger(SimpleEventBus.class);
     private final Map<Class<? extends DomainEvent>, List<EventHandler>> handlers = new ConcurrentHashMap<>();
+    private final HandlerFanOut fanOut;
     
     /**
      * Constructor for SimpleEventBus.
@@ -29,7 +34,18 @@ public class SimpleEventBus implements EventBus {
      * @param eventHandlers List of event handlers to register
      */
     public SimpleEventBus(List<EventHandler<? extends DomainEvent>> eventHandlers) {
-        logger.info("[SimpleEventBus] Constructor called, handlers size: {}", eventHandlers.size());
+        this(eventHandlers, null);
+    }
+    
+    /**
+     * Constructor for SimpleEventBus with concurrent handler fan-out.
+     *
+     * @param eventHandlers List of event handlers to register
+     * @param fanOut Runs the handlers of an event concurrently, null to run them one after another
+     */
+    public SimpleEventBus(List<EventHandler<? extends DomainEvent>> eventHandlers, HandlerFanOut fanOut) {
+        logger.info("[SimpleEventBus] Constructor called, handlers size: {}, fanOut: {}", eventHandlers.size(), fanOut != null);
+        this.fanOut = fanOut;
         registerEventHandlers(eventHandlers);
     }
     
@@ -54,15 +70,85 @@ public class SimpleEventBus implements EventBus {
     
     @Override
     public void publish(DomainEvent event) throws BaseException {
-        // Get all handlers for the event type and all its supertypes
-        Class<?> eventType = event.getClass();
+        invokeHandlers(event, resolveHandlers(event.getClass()));
+    }
+    
+    @Override
+    public void publishAll(Collection<? extends DomainEvent> events) throws BaseException {
+        // Resolve the handler chain once per event class instead of once per event
+        Map<Class<?>, List<EventHandler>> resolved = new HashMap<>();
+        RuntimeException failure = null;
+        for (DomainEvent event : events) {
+            try {
+                invokeHandlers(event, resolved.computeIfAbsent(event.getClass(), this::resolveHandlers));
+            } catch (RuntimeException e) {
+                // A failing event does not keep the events after it from their handlers
+                logger.error("[SimpleEventBus] Handling failed for event {}, eventId: {}", event.getClass().getName(),
+                        event.getEventId(), e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    /**
+     * Invokes the handlers of an event, concurrently when fan-out is enabled and there is more than one.
+     * One after another, the first failing handler stops the rest; concurrently, every handler runs and the
+     * first failure in handler order is thrown once all have finished.
+     *
+     * @param event the event to handle
+     * @param eventHandlers handlers of the event, in invocation order
+     */
+    private void invokeHandlers(DomainEvent event, List<EventHandler> eventHandlers) {
+        if (fanOut == null || eventHandlers.size() < 2) {
+            for (EventHandler handler : eventHandlers) {
+                handler.handle(event);
+            }
+            return;
+        }
+        BaseException failure = null;
+        for (HandlerFanOut.Outcome<EventHandler> outcome : fanOut.invokeAll(eventHandlers, handler -> handler.handle(event))) {
+            if (outcome.isSuccess()) {
+                continue;
+            }
+            logger.error("[SimpleEventBus] Handler {} failed for event {}", outcome.getHandler().getClass().getName(),
+                    event.getClass().getName(), outcome.getFailure());
+            if (failure == null) {
+                failure = toBaseException(outcome);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private static BaseException toBaseException(HandlerFanOut.Outcome<EventHandler> outcome) {
+        Throwable cause = outcome.getFailure();
+        if (cause instanceof BaseException) {
+            return (BaseException) cause;
+        }
+        int code = outcome.isTimedOut() ? BaseErrorCode.TIMEOUT_ERROR.getCode() : BaseErrorCode.SYSTEM_ERROR.getCode();
+        return new BaseException(code, "Handler " + outcome.getHandler().getClass().getName() + " failed: " + cause.getMessage(), cause);
+    }
+    
+    /**
+     * Resolves all handlers for an event type and all its supertypes, in invocation order.
+     *
+     * @param type the concrete event type
+     * @return handlers to invoke for events of the given type
+     */
+    private List<EventHandler> resolveHandlers(Class<?> type) {
+        List<EventHandler> resolved = new ArrayList<>();
+        Class<?> eventType = type;
         while (eventType != null) {
             // Get handlers for the current type
             List<EventHandler> eventHandlers = handlers.get(eventType);
             if (eventHandlers != null && !eventHandlers.isEmpty()) {
-                for (EventHandler handler : eventHandlers) {
-                    handler.handle(event);
-                }
+                resolved.addAll(eventHandlers);
             }
             
             // Check all interfaces implemented by this class
@@ -70,9 +156,7 @@ public class SimpleEventBus implements EventBus {
                 if (DomainEvent.class.isAssignableFrom(interfaceType)) {
                     List<EventHandler> interfaceHandlers = handlers.get(interfaceType);
                     if (interfaceHandlers != null && !interfaceHandlers.isEmpty()) {
-                        for (EventHandler handler : interfaceHandlers) {
-                            handler.handle(event);
-                        }
+                        resolved.addAll(interfaceHandlers);
                     }
                 }
             }
@@ -80,6 +164,7 @@ public class SimpleEventBus implements EventBus {
             // Move to the superclass
             eventType = eventType.getSuperclass();
         }
+        return resolved;
     }
     
     @Override
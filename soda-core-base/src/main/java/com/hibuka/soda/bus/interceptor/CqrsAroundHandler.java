@@ -15,6 +15,9 @@ import org.aspectj.lang.annotation.Aspect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * CQRS aspect, uniformly intercepts command, query, and event handlers, records link logs and automatically publishes domain events.
  *
@@ -171,15 +174,19 @@ public class CqrsAroundHandler {
             // 如果命令执行后产生了领域事件，发布事件
             if (result instanceof DomainEvents) {
                 boolean streamEnabled = isStreamEnabled();
+                List<AbstractDomainEvent> toPublish = new ArrayList<>();
                 for (AbstractDomainEvent event : ((DomainEvents) result).getDomainEvents()) {
                     sycBaseInfo((BaseCommand) args[0], event);
                     if (streamEnabled) {
                         logger.info("[CqrsAroundHandler] Stream enabled, skip local immediate publish (DomainEvents path), will rely on repository aspect. eventId: {}, eventType: {}", event.getEventId(), event.getEventType());
                     } else {
                         logger.info("[CqrsAroundHandler] Publishing event via EventBus (DomainEvents path), eventId: {}, eventType: {}", event.getEventId(), event.getEventType());
-                        eventBus.publish(event);
+                        toPublish.add(event);
                     }
                 }
+                if (!toPublish.isEmpty()) {
+                    eventBus.publishAll(toPublish);
+                }
             }
             // 如果结果本身就是一个DomainEvent，直接发布
             else if (result instanceof DomainEvent) {
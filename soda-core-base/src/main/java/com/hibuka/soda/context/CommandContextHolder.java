@@ -38,6 +38,15 @@ public class CommandContextHolder {
         return context;
     }
 
+    /**
+     * Gets the command context set on the current thread, without falling back to the provider.
+     *
+     * @return command context, or null if not set
+     */
+    static CommandContext peekContext() {
+        return contextHolder.get();
+    }
+
     /**
      * Clears the command context for the current thread.
      */
@@ -0,0 +1,41 @@
+package com.hibuka.soda.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Task decorator that carries the command context and the domain event context of the submitting thread
+ * over to the thread running the task, and puts back the context that thread had before once the task is done.
+ * Pooled threads therefore never see the context of an earlier task, and a task run on the submitting thread,
+ * as the caller-runs rejection policy does, leaves the caller's context in place.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        CommandContext commandContext = CommandContextHolder.getContext();
+        DomainEventContext.Snapshot eventContext = DomainEventContext.capture();
+        return () -> {
+            CommandContext previousCommandContext = CommandContextHolder.peekContext();
+            DomainEventContext.Snapshot previousEventContext = DomainEventContext.capture();
+            if (commandContext != null) {
+                CommandContextHolder.setContext(commandContext);
+            } else {
+                CommandContextHolder.clearContext();
+            }
+            eventContext.restore();
+            try {
+                runnable.run();
+            } finally {
+                if (previousCommandContext != null) {
+                    CommandContextHolder.setContext(previousCommandContext);
+                } else {
+                    CommandContextHolder.clearContext();
+                }
+                previousEventContext.restore();
+            }
+        };
+    }
+}
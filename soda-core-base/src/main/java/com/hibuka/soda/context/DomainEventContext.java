@@ -133,4 +133,60 @@ public class DomainEventContext {
         callerUidHolder.remove();
         hopCountHolder.remove();
     }
+
+    /**
+     * Captures the context of the current thread, to be restored on another thread.
+     *
+     * @return snapshot of the current context
+     */
+    public static Snapshot capture() {
+        return new Snapshot(requestIdHolder.get(), jtiHolder.get(), userNameHolder.get(),
+                authoritiesHolder.get(), callerUidHolder.get(), hopCountHolder.get());
+    }
+
+    /**
+     * Immutable copy of a thread's domain event context.
+     */
+    public static final class Snapshot {
+        private final String requestId;
+        private final String jti;
+        private final String userName;
+        private final String authorities;
+        private final String callerUid;
+        private final Integer hopCount;
+
+        private Snapshot(String requestId, String jti, String userName, String authorities, String callerUid, Integer hopCount) {
+            this.requestId = requestId;
+            this.jti = jti;
+            this.userName = userName;
+            this.authorities = authorities;
+            this.callerUid = callerUid;
+            this.hopCount = hopCount;
+        }
+
+        /**
+         * Replaces the context of the current thread with this snapshot.
+         */
+        public void restore() {
+            clear();
+            if (requestId != null) {
+                requestIdHolder.set(requestId);
+            }
+            if (jti != null) {
+                jtiHolder.set(jti);
+            }
+            if (userName != null) {
+                userNameHolder.set(userName);
+            }
+            if (authorities != null) {
+                authoritiesHolder.set(authorities);
+            }
+            if (callerUid != null) {
+                callerUidHolder.set(callerUid);
+            }
+            if (hopCount != null) {
+                hopCountHolder.set(hopCount);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.hibuka.soda.cqrs.event;
+
+import com.hibuka.soda.domain.event.DomainEvent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Event bus extension for brokers with a non-blocking client. Publishing returns as soon as the
+ * event has been handed to the client, and the future is completed when the broker acknowledges it.
+ *
+ * @param <R> type of the receipt returned by the broker, for example a stream record ID
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ **/
+public interface AsyncEventBus<R> extends EventBus {
+    /**
+     * Publishes a domain event without blocking the calling thread.
+     * Inside an active transaction the event is sent after commit, and the future fails if the
+     * transaction rolls back.
+     * @param event the domain event to publish
+     * @return a future completed with the broker receipt, or completed exceptionally if publishing fails
+     */
+    CompletableFuture<R> publishAsync(DomainEvent event);
+}
@@ -4,6 +4,8 @@ package com.hibuka.soda.cqrs.event;
 import com.hibuka.soda.foundation.error.BaseException;
 import com.hibuka.soda.domain.event.DomainEvent;
 
+import java.util.Collection;
+
 /**
  * Event bus interface, responsible for publishing and subscribing to domain events, implementing event-driven mechanism, supporting asynchronous processing and decoupling of domain events.
  *
@@ -18,6 +20,41 @@ public interface EventBus {
      */
     void publish(DomainEvent event) throws BaseException;
 
+    /**
+     * Publishes a collection of domain events, preserving their order.
+     * The default implementation publishes them one by one; implementations backed by a remote
+     * broker should override it to send the whole collection in a single round trip.
+     * An event that fails does not keep the events after it from being published; the first failure
+     * is thrown once every event has been attempted.
+     * @param events the domain events to publish
+     * @throws BaseException if event publishing fails
+     */
+    default void publishAll(Collection<? extends DomainEvent> events) throws BaseException {
+        RuntimeException failure = null;
+        for (DomainEvent event : events) {
+            try {
+                publish(event);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Whether published events are written within the caller's active transaction, as with a transactional outbox.
+     * Callers that defer the events of a transaction must then publish them before it commits: writes made while
+     * the transaction completes are no longer part of it.
+     * @return true if events are stored in the active transaction, false if they are sent to the broker
+     */
+    default boolean isTransactional() {
+        return false;
+    }
+
     /**
      * Subscribes to a domain event type.
      * @param eventType the event type to subscribe to
@@ -0,0 +1,40 @@
+package com.hibuka.soda.cqrs.event;
+
+import com.hibuka.soda.domain.event.DomainEvent;
+import com.hibuka.soda.foundation.error.BaseException;
+
+/**
+ * Event handler that only reads part of an event, declared as a lightweight view type.
+ * Buses that publish in-process hand the full event to {@link #handle(DomainEvent)}, which maps it with
+ * {@link #toView(DomainEvent)}. Buses that read serialized events, such as the Redis stream bus, bind the view
+ * straight from the payload instead and skip building the event when no other handler needs it. The view can be
+ * a record or final class holding the fields of interest (unknown fields are skipped), a Jackson JsonNode, or
+ * byte[] for the raw payload as written by the entry's codec.
+ *
+ * @param <T> Event type the handler is registered for
+ * @param <V> View type
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface EventViewHandler<T extends DomainEvent, V> extends EventHandler<T> {
+    /**
+     * Handles the view of an event.
+     *
+     * @param view the view of the event
+     * @throws BaseException if event handling fails
+     */
+    void handleView(V view) throws BaseException;
+
+    /**
+     * Maps a full event to the view, used when the event was published in-process or could not be bound as a view.
+     *
+     * @param event the domain event
+     * @return the view of the event
+     */
+    V toView(T event);
+
+    @Override
+    default void handle(T event) throws BaseException {
+        handleView(toView(event));
+    }
+}
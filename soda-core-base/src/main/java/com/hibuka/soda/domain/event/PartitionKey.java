@@ -0,0 +1,21 @@
+package com.hibuka.soda.domain.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the field or no-argument method of a domain event that holds its partition key, typically the
+ * aggregate ID. Partitioned event buses route events with equal keys to the same partition, so they are
+ * consumed in publish order. Events without a partition key are spread by their event ID.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PartitionKey {
+}
@@ -15,6 +15,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Aspect
@@ -50,16 +51,12 @@ public class RepositoryEventAspect {
                 enrichEventsWithContext(events);
 
                 if (TransactionSynchronizationManager.isSynchronizationActive()) {
-                    log.info("Transaction synchronization is active, registering afterCommit callback for {} events", events.size());
-                    TransactionSynchronizationManager.registerSynchronization(
-                            new TransactionSynchronization() {
-                                @Override
-                                public void afterCommit() {
-                                    log.info("Transaction committed, publishing {} events", events.size());
-                                    publishEvents(events);
-                                }
-                            }
-                    );
+                    // All repository calls of one transaction share a single flush, before commit for
+                    // transactional buses and after commit otherwise
+                    EventFlushSynchronization flush = currentFlushSynchronization();
+                    flush.events.addAll(events);
+                    log.info("Transaction synchronization is active, queued {} events for transaction flush, pending={}",
+                            events.size(), flush.events.size());
                 } else {
                     log.info("No transaction synchronization active, publishing {} events immediately", events.size());
                     publishEvents(events);
@@ -112,15 +109,64 @@ public class RepositoryEventAspect {
         }
     }
 
+    /**
+     * Finds the flush synchronization registered for the current transaction, registering one if needed.
+     * Synchronizations are scoped to the transaction (and suspended with it), so events raised in a
+     * REQUIRES_NEW transaction are flushed when that inner transaction commits.
+     *
+     * @return the flush synchronization of the current transaction
+     */
+    private EventFlushSynchronization currentFlushSynchronization() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof EventFlushSynchronization
+                    && ((EventFlushSynchronization) synchronization).owner == this) {
+                return (EventFlushSynchronization) synchronization;
+            }
+        }
+        EventFlushSynchronization flush = new EventFlushSynchronization(this);
+        TransactionSynchronizationManager.registerSynchronization(flush);
+        return flush;
+    }
+
     private void publishEvents(List<AbstractDomainEvent> events) {
         log.info("Publishing {} domain events via {}, thread={}",
                 events.size(), eventBus.getClass().getName(), Thread.currentThread().getName());
-        for (AbstractDomainEvent event : events) {
-            try {
-                log.info("Publishing event: eventId={}, eventType={}", event.getEventId(), event.getEventType());
-                eventBus.publish(event);
-            } catch (Exception e) {
-                log.error("Failed to publish domain event: {}", event, e);
+        try {
+            eventBus.publishAll(events);
+        } catch (Exception e) {
+            log.error("Failed to publish {} domain events: {}", events.size(), events, e);
+        }
+    }
+
+    /**
+     * Collects the domain events of one transaction and publishes them together.
+     * Buses that store events in the transaction, such as an outbox, get them in beforeCommit so the events
+     * commit or roll back with the business data, and a failure to store them rolls the transaction back.
+     * Other buses get them after commit, so nothing is sent for a transaction that rolls back.
+     */
+    private static class EventFlushSynchronization implements TransactionSynchronization {
+        private final RepositoryEventAspect owner;
+        private final List<AbstractDomainEvent> events = new ArrayList<>();
+
+        private EventFlushSynchronization(RepositoryEventAspect owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!events.isEmpty() && owner.eventBus.isTransactional()) {
+                log.info("Transaction committing, storing {} events with it", events.size());
+                List<AbstractDomainEvent> flushed = new ArrayList<>(events);
+                events.clear();
+                owner.eventBus.publishAll(flushed);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!events.isEmpty()) {
+                log.info("Transaction committed, publishing {} events", events.size());
+                owner.publishEvents(new ArrayList<>(events));
             }
         }
     }
@@ -0,0 +1,147 @@
+package com.hibuka.soda.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executor that runs every task on a new virtual thread, with a cap on the number of tasks running at once.
+ * Virtual threads need Java 21 or later; the library is compiled for Java 17, so they are created through
+ * reflection and {@link #isSupported()} tells whether the running JVM has them. When the cap is reached,
+ * {@link #execute(Runnable)} blocks the submitting thread until a task finishes. As a Spring bean it is
+ * closed on context shutdown, waiting up to {@value #CLOSE_TIMEOUT_MS}ms for running tasks.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class VirtualThreadExecutor implements Executor, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+    private static final Method OF_VIRTUAL = findOfVirtual();
+    private static final long CLOSE_TIMEOUT_MS = 60000;
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final TaskDecorator taskDecorator;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    /**
+     * Constructor for VirtualThreadExecutor.
+     *
+     * @param threadNamePrefix Prefix of the virtual thread names, followed by a counter
+     * @param maxConcurrency Maximum number of tasks running at once
+     * @param taskDecorator Decorator applied to every task on the submitting thread, may be null
+     * @throws IllegalStateException if the running JVM has no virtual threads
+     */
+    public VirtualThreadExecutor(String threadNamePrefix, int maxConcurrency, TaskDecorator taskDecorator) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, running on " + Runtime.version());
+        }
+        this.threadFactory = virtualThreadFactory(threadNamePrefix);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency);
+        this.taskDecorator = taskDecorator;
+        logger.info("[VirtualThreadExecutor] Created with maxConcurrency={}, threadNamePrefix={}", this.maxConcurrency, threadNamePrefix);
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return true on Java 21 or later
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!running.get()) {
+            throw new RejectedExecutionException("Virtual thread executor is shut down");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a free slot", e);
+        }
+        Runnable decorated = taskDecorator != null ? taskDecorator.decorate(task) : task;
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    decorated.run();
+                } finally {
+                    permits.release();
+                }
+            }).start();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of tasks currently running.
+     *
+     * @return Running tasks
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Stops accepting tasks and waits for the running ones to finish.
+     *
+     * @param timeoutMs Maximum time to wait, in milliseconds
+     * @return true if every task finished in time
+     */
+    public boolean shutdown(long timeoutMs) {
+        running.set(false);
+        try {
+            if (permits.tryAcquire(maxConcurrency, timeoutMs, TimeUnit.MILLISECONDS)) {
+                permits.release(maxConcurrency);
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.warn("[VirtualThreadExecutor] {} tasks still running after shutdown timeout", getActiveCount());
+        return false;
+    }
+
+    /**
+     * Stops accepting tasks and waits up to {@value #CLOSE_TIMEOUT_MS}ms for the running ones to finish,
+     * the same as the thread pool executor it replaces.
+     */
+    @Override
+    public void close() {
+        shutdown(CLOSE_TIMEOUT_MS);
+    }
+
+    private static Method findOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory()
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread factory", e);
+        }
+    }
+}
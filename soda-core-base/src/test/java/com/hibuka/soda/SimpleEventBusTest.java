@@ -1,12 +1,17 @@
 package com.hibuka.soda;
 
+import com.hibuka.soda.bus.impl.HandlerFanOut;
 import com.hibuka.soda.bus.impl.SimpleEventBus;
 import com.hibuka.soda.cqrs.event.EventHandler;
 import com.hibuka.soda.domain.event.DomainEvent;
+import com.hibuka.soda.foundation.error.BaseErrorCode;
+import com.hibuka.soda.foundation.error.BaseException;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 class SimpleEventBusTest {
@@ -158,4 +163,129 @@ class SimpleEventBusTest {
         assertEquals("message-2", handledEvents.get(1).getMessage());
         assertEquals("message-3", handledEvents.get(2).getMessage());
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testPublishAllPreservesOrderAcrossTypes() {
+        // Arrange
+        TestEventHandler handler = new TestEventHandler();
+        List<EventHandler<? extends DomainEvent>> handlers = List.of(handler);
+        SimpleEventBus bus = new SimpleEventBus(handlers);
+        
+        // Act
+        bus.publishAll(List.of(new TestEvent("message-1"), new TestEvent2("message-2"), new TestEvent("message-3")));
+        
+        // Assert
+        List<TestEvent> handledEvents = handler.getHandledEvents();
+        assertEquals(3, handledEvents.size());
+        assertEquals("message-1", handledEvents.get(0).getMessage());
+        assertEquals("message-2", handledEvents.get(1).getMessage());
+        assertTrue(handledEvents.get(1) instanceof TestEvent2);
+        assertEquals("message-3", handledEvents.get(2).getMessage());
+    }
+    
+    @Test
+    void testPublishAllContinuesAfterFailingEvent() {
+        // Arrange
+        TestEventHandler recording = new TestEventHandler();
+        EventHandler<TestEvent> failing = event -> {
+            if ("message-1".equals(event.getMessage())) {
+                throw new BaseException(BaseErrorCode.SYSTEM_ERROR.getCode(), "handler failure");
+            }
+        };
+        SimpleEventBus bus = new SimpleEventBus(List.of(new WaitingHandler(failing), recording));
+
+        // Act
+        BaseException failure = assertThrows(BaseException.class,
+                () -> bus.publishAll(List.of(new TestEvent("message-1"), new TestEvent("message-2"))));
+
+        // Assert - the first event's failure is reported, the second event still reached its handlers
+        assertEquals("handler failure", failure.getMessage());
+        List<TestEvent> handledEvents = recording.getHandledEvents();
+        assertEquals(1, handledEvents.size());
+        assertEquals("message-2", handledEvents.get(0).getMessage());
+    }
+
+    @Test
+    void testFanOutRunsHandlersConcurrently() {
+        // Arrange - each handler waits for the other, which only completes if both run at the same time
+        CountDownLatch started = new CountDownLatch(2);
+        EventHandler<TestEvent> waiting = event -> {
+            started.countDown();
+            try {
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        TestEventHandler recording = new TestEventHandler();
+        HandlerFanOut fanOut = new HandlerFanOut(4, 10, 10000);
+        SimpleEventBus bus = new SimpleEventBus(List.of(new WaitingHandler(waiting), new WaitingHandler(waiting), recording), fanOut);
+        
+        // Act
+        bus.publish(new TestEvent("fan-out"));
+        fanOut.shutdown();
+        
+        // Assert
+        assertEquals(0, started.getCount());
+        assertEquals(1, recording.getHandledEvents().size());
+    }
+    
+    @Test
+    void testFanOutTimeoutFailsPublishAfterOtherHandlersRan() {
+        // Arrange
+        EventHandler<TestEvent> slow = event -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        TestEventHandler recording = new TestEventHandler();
+        HandlerFanOut fanOut = new HandlerFanOut(4, 10, 100);
+        SimpleEventBus bus = new SimpleEventBus(List.of(new WaitingHandler(slow), recording), fanOut);
+        
+        // Act
+        BaseException failure = assertThrows(BaseException.class, () -> bus.publish(new TestEvent("timeout")));
+        fanOut.shutdown();
+        
+        // Assert
+        assertEquals(BaseErrorCode.TIMEOUT_ERROR.getCode(), failure.getCode());
+        assertEquals(1, recording.getHandledEvents().size());
+    }
+    
+    @Test
+    void testNestedFanOutRunsOnHandlerThread() {
+        // Arrange - a single handler thread, which a nested fan-out waiting on the pool would never get back
+        HandlerFanOut fanOut = new HandlerFanOut(1, 10, 1000);
+        Thread[] outerThread = new Thread[1];
+        List<Thread> nestedThreads = new ArrayList<>();
+        List<HandlerFanOut.Outcome<String>> nested = new ArrayList<>();
+
+        // Act
+        List<HandlerFanOut.Outcome<String>> outcomes = fanOut.invokeAll(List.of("outer"), outer -> {
+            outerThread[0] = Thread.currentThread();
+            nested.addAll(fanOut.invokeAll(List.of("nested-1", "nested-2"), handler -> nestedThreads.add(Thread.currentThread())));
+        });
+        fanOut.shutdown();
+
+        // Assert
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals(2, nested.size());
+        assertTrue(nested.stream().allMatch(HandlerFanOut.Outcome::isSuccess));
+        assertEquals(List.of(outerThread[0], outerThread[0]), nestedThreads);
+    }
+
+    // Delegating handler with a concrete class, so its event type can be resolved
+    static class WaitingHandler implements EventHandler<TestEvent> {
+        private final EventHandler<TestEvent> delegate;
+        
+        WaitingHandler(EventHandler<TestEvent> delegate) {
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public void handle(TestEvent event) {
+            delegate.handle(event);
+        }
+    }
+}
@@ -42,6 +42,56 @@ public class ContextPropagationTest {
         }
     }
 
+    @Test
+    public void testTaskDecoratorCarriesContextToAnotherThread() throws Exception {
+        DomainEventContext.setRequestId("req-67890");
+        DomainEventContext.setCallerUid("777777");
+        String[] seen = new String[3];
+        try {
+            Runnable task = new ContextPropagatingTaskDecorator().decorate(() -> {
+                seen[0] = DomainEventContext.getRequestId();
+                seen[1] = DomainEventContext.getCallerUid();
+            });
+            Thread thread = new Thread(() -> {
+                task.run();
+                seen[2] = DomainEventContext.getRequestId();
+            });
+            thread.start();
+            thread.join();
+        } finally {
+            DomainEventContext.clear();
+        }
+
+        Assertions.assertEquals("req-67890", seen[0], "RequestId should be propagated");
+        Assertions.assertEquals("777777", seen[1], "CallerUid should be propagated");
+        Assertions.assertNull(seen[2], "Context should be cleared after the task");
+    }
+
+    @Test
+    public void testTaskRunOnSubmittingThreadKeepsCallerContext() {
+        CommandContext callerCommandContext = new CommandContext();
+        CommandContextHolder.setContext(callerCommandContext);
+        DomainEventContext.setRequestId("req-caller");
+        String[] seen = new String[1];
+        try {
+            Runnable task = new ContextPropagatingTaskDecorator().decorate(() -> {
+                seen[0] = DomainEventContext.getRequestId();
+                // The task changes the context it runs with
+                DomainEventContext.setRequestId("req-task");
+                CommandContextHolder.clearContext();
+            });
+            // Caller-runs rejection runs the decorated task on the submitting thread
+            task.run();
+
+            Assertions.assertEquals("req-caller", seen[0], "RequestId should be propagated");
+            Assertions.assertEquals("req-caller", DomainEventContext.getRequestId(), "Caller's RequestId should be kept");
+            Assertions.assertSame(callerCommandContext, CommandContextHolder.getContext(), "Caller's command context should be kept");
+        } finally {
+            CommandContextHolder.clearContext();
+            DomainEventContext.clear();
+        }
+    }
+
     // --- Mock Classes ---
     
     public static class TestAggregate extends AbstractAggregateRoot {
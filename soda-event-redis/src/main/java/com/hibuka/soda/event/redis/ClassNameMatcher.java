@@ -0,0 +1,65 @@
+package com.hibuka.soda.event.redis;
+
+import java.util.Map;
+
+/**
+ * Looks up the value configured for a class by the longest matching class name or package prefix.
+ * A key matches a class name that equals it or starts with it at a name boundary: a key ending in a dot,
+ * or followed by a package or nested class separator, so that {@code com.acme.order} does not match
+ * {@code com.acme.orders.Shipped} and a key naming an outer class covers its nested classes.
+ *
+ * @param <V> Type of the configured values
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class ClassNameMatcher<V> {
+    private final Map<String, V> entries;
+
+    /**
+     * Constructor for ClassNameMatcher.
+     *
+     * @param entries Values by class name or package prefix
+     */
+    public ClassNameMatcher(Map<String, V> entries) {
+        this.entries = Map.copyOf(entries);
+    }
+
+    /**
+     * Whether no value is configured.
+     *
+     * @return true if there are no entries
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Gets the value of the longest key matching a class name.
+     *
+     * @param className Fully qualified class name
+     * @param defaultValue Value returned when no key matches
+     * @return Matched value, or the default value
+     */
+    public V match(String className, V defaultValue) {
+        V value = defaultValue;
+        int matched = -1;
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            String prefix = entry.getKey();
+            if (prefix.length() > matched && matches(className, prefix)) {
+                value = entry.getValue();
+                matched = prefix.length();
+            }
+        }
+        return value;
+    }
+
+    private static boolean matches(String className, String prefix) {
+        return className.equals(prefix)
+                || (className.startsWith(prefix) && (prefix.endsWith(".") || isNameBoundary(className.charAt(prefix.length()))));
+    }
+
+    // Package separator, or nested class separator
+    private static boolean isNameBoundary(char c) {
+        return c == '.' || c == '$';
+    }
+}
@@ -3,12 +3,22 @@ package com.hibuka.soda.event.redis;
 import com.hibuka.soda.cqrs.event.EventBus;
 import com.hibuka.soda.cqrs.event.EventHandler;
 import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.bus.impl.HandlerFanOut;
 import com.hibuka.soda.domain.event.DomainEvent;
+import com.hibuka.soda.event.redis.codec.EventCodec;
+import com.hibuka.soda.event.redis.outbox.JdbcOutboxStore;
+import com.hibuka.soda.event.redis.outbox.OutboxStore;
+import com.hibuka.soda.event.redis.publish.MappedFileSpool;
+import com.hibuka.soda.event.redis.publish.PublishSpillHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -18,6 +28,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -29,7 +40,11 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Redis event bus auto-configuration class.
@@ -127,6 +142,10 @@ public class RedisEventBusAutoConfiguration {
      * @param applicationEventPublisher Spring's application event publisher
      * @param redisConnectionFactory Redis connection factory
      * @param eventHandlers List of event handlers to register
+     * @param eventCodecs Application-provided stream payload codecs
+     * @param outboxStores Outbox store, present when the transactional outbox is enabled
+     * @param spillHandlers Spill handler for failed publishes and the SPILL publish overflow policy
+     * @param handlerFanOuts Concurrent handler fan-out, present when soda.event.fan-out.enabled=true
      * @return Redis Stream event bus instance
      */
     @Bean
@@ -135,7 +154,12 @@ public class RedisEventBusAutoConfiguration {
     public EventBus redisStreamEventBus(@Qualifier("sodaRedisEventBusTemplate") RedisTemplate<String, Object> sodaRedisEventBusTemplate,
                                        ApplicationEventPublisher applicationEventPublisher,
                                        RedisConnectionFactory redisConnectionFactory,
-                                       List<EventHandler<? extends DomainEvent>> eventHandlers) {
+                                       List<EventHandler<? extends DomainEvent>> eventHandlers,
+                                       ObjectProvider<EventCodec> eventCodecs,
+                                       ObjectProvider<OutboxStore> outboxStores,
+                                       ObjectProvider<PublishSpillHandler> spillHandlers,
+                                       ObjectProvider<HandlerFanOut> handlerFanOuts,
+                                       RedisStreamMetrics sodaRedisStreamMetrics) {
         logger.info("[RedisEventBusAutoConfiguration] Creating RedisStreamEventBus (Stream mode)");
         // Get configuration from properties
         String topicName = eventProperties.getRedis().getTopic();
@@ -165,6 +189,7 @@ public class RedisEventBusAutoConfiguration {
         .consumerName(consumerName)
         .maxlen(maxlen)
         .pollTimeout(pollTimeout)
+        .acknowledgeTimeout(eventProperties.getRedis().getStream().getAcknowledgeTimeout())
         .batchSize(batchSize)
         .concurrency(concurrency)
         .maxRetries(maxRetries)
@@ -172,12 +197,115 @@ public class RedisEventBusAutoConfiguration {
         .exponentialBackoff(exponentialBackoff)
         .deadLetterStream(deadLetterStream)
         .idempotencyProperties(eventProperties.getRedis().getStream().getIdempotency())
+        .batchPublishProperties(eventProperties.getRedis().getStream().getBatchPublish())
+        .retentionProperties(eventProperties.getRedis().getStream().getRetention())
+        .compressionProperties(eventProperties.getRedis().getStream().getCompression())
+        .typeRegistryProperties(eventProperties.getRedis().getStream().getTypeRegistry())
+        .partitionProperties(eventProperties.getRedis().getStream().getPartition())
+        .routingProperties(eventProperties.getRedis().getStream().getRouting())
+        .outboxProperties(eventProperties.getRedis().getStream().getOutbox())
+        .outboxStore(outboxStores.getIfAvailable())
+        .spoolProperties(eventProperties.getRedis().getStream().getSpool())
+        .batchConsumeProperties(eventProperties.getRedis().getStream().getBatchConsume())
+        .workerPoolProperties(eventProperties.getRedis().getStream().getWorkerPool())
+        .virtualThreadProperties(eventProperties.getRedis().getStream().getVirtualThreads())
+        .retryProperties(eventProperties.getRedis().getStream().getRetry())
+        .reclaimProperties(eventProperties.getRedis().getStream().getReclaim())
+        .adaptivePollProperties(eventProperties.getRedis().getStream().getAdaptivePoll())
+        .scalingProperties(eventProperties.getRedis().getStream().getScaling())
+        .handlerGroupProperties(eventProperties.getRedis().getStream().getHandlerGroups())
+        .deadLetterReplayProperties(eventProperties.getRedis().getStream().getDeadLetterReplay())
+        .spillHandler(spillHandlers.getIfAvailable())
+        .handlerFanOut(handlerFanOuts.getIfAvailable())
+        .codec(eventProperties.getRedis().getStream().getCodec())
+        .codecs(eventCodecs.orderedStream().collect(Collectors.toList()))
+        .metrics(sodaRedisStreamMetrics)
         .build();
         
         logger.info("[RedisEventBusAutoConfiguration] Created RedisStreamEventBus (Stream mode)");
         return redisStreamEventBus;
     }
     
+    /**
+     * Creates the local disk spool for the configured stream.
+     * The file is named after the topic and the consumer name, so instances sharing a host and a directory
+     * each keep their own spool; a restarted instance with the same consumer name replays what it left.
+     *
+     * @return Memory-mapped spool, closed when the context shuts down
+     * @throws IOException if the spool file cannot be opened
+     */
+    @Bean
+    @ConditionalOnMissingBean(PublishSpillHandler.class)
+    @ConditionalOnProperty(name = "soda.event.redis.stream.spool.enabled", havingValue = "true")
+    public MappedFileSpool sodaEventPublishSpool() throws IOException {
+        EventProperties.RedisProperties.StreamProperties.SpoolProperties spool = eventProperties.getRedis().getStream().getSpool();
+        String instance = eventProperties.getRedis().getTopic() + "-" + eventProperties.getRedis().getStream().getConsumerName();
+        String fileName = instance.replaceAll("[^A-Za-z0-9._-]", "_") + ".spool";
+        MappedFileSpool mappedFileSpool = new MappedFileSpool(Paths.get(spool.getDirectory(), fileName), spool.getMaxBytes());
+        logger.info("[RedisEventBusAutoConfiguration] Created publish spool at {}", mappedFileSpool.getFile());
+        return mappedFileSpool;
+    }
+    
+    /**
+     * Creates the metrics registry shared by the event bus and its components.
+     *
+     * @return Metrics registry
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisStreamMetrics sodaRedisStreamMetrics() {
+        return new RedisStreamMetrics();
+    }
+    
+    /**
+     * Micrometer configuration, loaded when Micrometer is on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MetricsConfiguration {
+        
+        /**
+         * Creates the binder of the event bus metrics, which Spring Boot applies to every MeterRegistry.
+         *
+         * @param sodaRedisStreamMetrics Metrics registry of the event bus
+         * @param eventProperties Event properties from application.yml
+         * @return Meter binder tagging every meter with the topic
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisStreamMeterBinder sodaRedisStreamMeterBinder(RedisStreamMetrics sodaRedisStreamMetrics, EventProperties eventProperties) {
+            return new RedisStreamMeterBinder(sodaRedisStreamMetrics, Tags.of("topic", eventProperties.getRedis().getTopic()));
+        }
+    }
+    
+    /**
+     * Transactional outbox configuration, loaded when spring-jdbc is present and the outbox is enabled.
+     */
+    @Configuration
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(name = "soda.event.redis.stream.outbox.enabled", havingValue = "true")
+    static class OutboxConfiguration {
+        
+        /**
+         * Creates the JDBC outbox store on the application DataSource.
+         *
+         * @param dataSource DataSource of the business transactions
+         * @param eventProperties Event properties from application.yml
+         * @return Outbox store
+         */
+        @Bean
+        @ConditionalOnMissingBean(OutboxStore.class)
+        public OutboxStore sodaEventOutboxStore(DataSource dataSource, EventProperties eventProperties) {
+            EventProperties.RedisProperties.StreamProperties.OutboxProperties outbox = eventProperties.getRedis().getStream().getOutbox();
+            JdbcOutboxStore store = new JdbcOutboxStore(dataSource, outbox.getTableName());
+            if (outbox.isInitializeSchema()) {
+                store.initializeSchema();
+            }
+            logger.info("[RedisEventBusAutoConfiguration] Created JDBC outbox store on table {}", outbox.getTableName());
+            return store;
+        }
+    }
+    
     /**
      * Configures circular reference handling based on properties.
      * 
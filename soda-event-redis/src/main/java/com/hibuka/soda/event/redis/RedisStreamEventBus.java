@@ -1,32 +1,77 @@
 package com.hibuka.soda.event.redis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
 import com.hibuka.soda.bus.configuration.EventProperties;
-import com.hibuka.soda.cqrs.event.EventBus;
+import com.hibuka.soda.bus.impl.HandlerFanOut;
+import com.hibuka.soda.cqrs.event.AsyncEventBus;
 import com.hibuka.soda.cqrs.event.EventHandler;
+import com.hibuka.soda.cqrs.event.EventViewHandler;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
 import com.hibuka.soda.domain.event.DomainEvent;
 import com.hibuka.soda.context.CommandContext;
 import com.hibuka.soda.context.CommandContextHolder;
+import com.hibuka.soda.context.ContextPropagatingTaskDecorator;
+import com.hibuka.soda.event.redis.codec.EventCodec;
+import com.hibuka.soda.event.redis.codec.EventCodecRegistry;
+import com.hibuka.soda.event.redis.codec.JacksonEventCodec;
+import com.hibuka.soda.event.redis.codec.PayloadCompressor;
+import com.hibuka.soda.event.redis.codec.PayloadCompressorRegistry;
+import com.hibuka.soda.event.redis.outbox.OutboxRelay;
+import com.hibuka.soda.event.redis.outbox.OutboxStore;
+import com.hibuka.soda.event.redis.partition.StreamPartitioner;
+import com.hibuka.soda.event.redis.partition.StreamRouter;
+import com.hibuka.soda.event.redis.consume.AdaptivePollController;
+import com.hibuka.soda.event.redis.consume.BatchStreamSubscription;
+import com.hibuka.soda.event.redis.consume.ConsumerGroup;
+import com.hibuka.soda.event.redis.consume.ConsumerScalingPolicy;
+import com.hibuka.soda.event.redis.consume.KeyedWorkerPool;
+import com.hibuka.soda.event.redis.consume.PendingEntryReclaimer;
+import com.hibuka.soda.event.redis.consume.PendingEntryRecovery;
+import com.hibuka.soda.event.redis.consume.RetryPolicies;
+import com.hibuka.soda.event.redis.consume.RetryPolicy;
+import com.hibuka.soda.event.redis.consume.StreamBatchListener;
+import com.hibuka.soda.event.redis.consume.StreamConsumerCoordinator;
+import com.hibuka.soda.event.redis.publish.AsyncStreamWriter;
+import com.hibuka.soda.event.redis.publish.BatchingStreamPublisher;
+import com.hibuka.soda.event.redis.publish.PipelinedStreamWriter;
+import com.hibuka.soda.event.redis.publish.PublishSpillHandler;
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+import com.hibuka.soda.event.redis.service.DeadLetterReplayService;
+import com.hibuka.soda.event.redis.service.EventTypeRegistry;
+import com.hibuka.soda.event.redis.service.DelayedRetryService;
 import com.hibuka.soda.event.redis.service.IdempotencyService;
+import com.hibuka.soda.event.redis.service.PartitionAssignmentService;
+import com.hibuka.soda.event.redis.service.StreamLagService;
+import com.hibuka.soda.event.redis.service.StreamRetentionService;
+import com.hibuka.soda.event.redis.service.impl.RedisDeadLetterReplayServiceImpl;
+import com.hibuka.soda.event.redis.service.impl.RedisDelayedRetryServiceImpl;
+import com.hibuka.soda.event.redis.service.impl.RedisEventTypeRegistryImpl;
 import com.hibuka.soda.event.redis.service.impl.RedisIdempotencyServiceImpl;
+import com.hibuka.soda.event.redis.service.impl.RedisPartitionAssignmentServiceImpl;
+import com.hibuka.soda.event.redis.service.impl.RedisStreamLagServiceImpl;
+import com.hibuka.soda.event.redis.service.impl.RedisStreamRetentionServiceImpl;
 import com.hibuka.soda.foundation.error.BaseErrorCode;
 import com.hibuka.soda.foundation.error.BaseException;
+import com.hibuka.soda.util.VirtualThreadExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.StreamOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.connection.stream.StreamRecords;
 import org.springframework.data.redis.stream.StreamListener;
@@ -35,14 +80,30 @@ import org.springframework.data.redis.stream.Subscription;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Redis event bus implementation using Redis Stream mechanism.
@@ -51,9 +112,33 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @author kangzeng.ckz
  * @since 2025/12/12
  */
-public class RedisStreamEventBus implements EventBus, InitializingBean {
+public class RedisStreamEventBus implements AsyncEventBus<RecordId>, InitializingBean, DisposableBean {
     private static final Logger logger = LoggerFactory.getLogger(RedisStreamEventBus.class);
     
+    /**
+     * Version of the stream entry layout written by this bus. Version 2 adds the header fields below,
+     * entries without a schemaVersion field are version 1 (payload, type and context only).
+     */
+    static final String WIRE_FORMAT_VERSION = "2";
+    static final String HEADER_SCHEMA_VERSION = "schemaVersion";
+    static final String HEADER_EVENT_ID = "eventId";
+    static final String HEADER_OCCURRED_ON = "occurredOn";
+    static final String HEADER_REQUEST_ID = "requestId";
+    static final String HEADER_PARTITION_KEY = "partitionKey";
+    
+    /**
+     * Fields added to messages parked for a delayed retry: the number of failed attempts so far
+     * and the ID of the stream entry the message was first read from.
+     */
+    static final String HEADER_RETRY_ATTEMPT = "retryAttempt";
+    static final String HEADER_RETRY_OF = "retryOf";
+    
+    /**
+     * Field naming the handler's consumer group on messages parked for a retry or dead-lettered by it,
+     * absent for the shared group.
+     */
+    static final String HEADER_CONSUMER_GROUP = "consumerGroup";
+    
     private final RedisTemplate<String, Object> redisTemplate;
     private final StringRedisTemplate streamRedisTemplate;
     private final ApplicationEventPublisher applicationEventPublisher;
@@ -63,6 +148,7 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
     private final String consumerName;
     private final long maxlen;
     private final long pollTimeout;
+    private final long acknowledgeTimeout;
     private final int batchSize;
     private final int concurrency;
     private final String deadLetterStream;
@@ -70,15 +156,63 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
     private final long initialRetryDelay;
     private final boolean exponentialBackoff;
     private final EventProperties.RedisProperties.StreamProperties.IdempotencyProperties idempotencyProperties;
+    private final EventProperties.RedisProperties.StreamProperties.BatchPublishProperties batchPublishProperties;
+    private final EventProperties.RedisProperties.StreamProperties.RetentionProperties retentionProperties;
+    private final EventProperties.RedisProperties.StreamProperties.CompressionProperties compressionProperties;
+    private final EventProperties.RedisProperties.StreamProperties.PartitionProperties partitionProperties;
+    private final EventProperties.RedisProperties.StreamProperties.RoutingProperties routingProperties;
+    private final EventProperties.RedisProperties.StreamProperties.OutboxProperties outboxProperties;
+    private final EventProperties.RedisProperties.StreamProperties.SpoolProperties spoolProperties;
+    private final EventProperties.RedisProperties.StreamProperties.BatchConsumeProperties batchConsumeProperties;
+    private final EventProperties.RedisProperties.StreamProperties.WorkerPoolProperties workerPoolProperties;
+    private final EventProperties.RedisProperties.StreamProperties.VirtualThreadProperties virtualThreadProperties;
+    private final EventProperties.RedisProperties.StreamProperties.RetryProperties retryProperties;
+    private final EventProperties.RedisProperties.StreamProperties.ReclaimProperties reclaimProperties;
+    private final EventProperties.RedisProperties.StreamProperties.AdaptivePollProperties adaptivePollProperties;
+    private final EventProperties.RedisProperties.StreamProperties.ScalingProperties scalingProperties;
+    private final EventProperties.RedisProperties.StreamProperties.HandlerGroupProperties handlerGroupProperties;
     private final List<EventHandler<? extends DomainEvent>> eventHandlers;
     
     private final Map<Class<? extends DomainEvent>, List<EventHandler>> handlers = new ConcurrentHashMap<>();
     private final Map<String, Class<? extends DomainEvent>> eventTypeToClassMap = new ConcurrentHashMap<>();
+    private final ConsumerGroup sharedGroup;
+    private final Map<String, ConsumerGroup> handlerGroups = new ConcurrentHashMap<>();
+    private final Map<EventHandler<?>, Class<?>> viewTypes = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private volatile Class<? extends DomainEvent>[] eventClassesByTypeId = (Class<? extends DomainEvent>[]) new Class<?>[0];
     private final ObjectMapper objectMapper;
+    private final EventCodecRegistry codecRegistry;
+    private final EventCodec codec;
+    private final EventCodec contextCodec;
+    private final PayloadCompressorRegistry compressorRegistry;
+    private final PayloadCompressor compressor;
+    private final EventTypeRegistry typeRegistry;
+    private final boolean compactTypes;
     private final IdempotencyService idempotencyService;
+    private final RetryPolicies retryPolicies;
+    private final DelayedRetryService retryService;
+    private final RedisStreamMetrics metrics;
+    private final StreamRetentionService retentionService;
+    private final PipelinedStreamWriter streamWriter;
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final AsyncStreamWriter asyncWriter;
+    private final BatchingStreamPublisher batchPublisher;
+    private final PublishSpillHandler spillHandler;
+    private final HandlerFanOut handlerFanOut;
+    private final StreamRouter router;
+    private final StreamPartitioner partitioner;
+    private final String partitionOwnerId;
+    private final OutboxStore outboxStore;
+    private final OutboxRelay outboxRelay;
+    private final PartitionAssignmentService outboxAssignment;
     
-    private StreamMessageListenerContainer<?, ?> container;
-    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile StreamMessageListenerContainer<?, ?> container;
+    private volatile KeyedWorkerPool workerPool;
+    private volatile VirtualThreadExecutor virtualThreadExecutor;
+    private final StreamConsumerCoordinator consumers;
+    private final PendingEntryRecovery pendingEntryRecovery;
+    private final StreamTaskScheduler scheduler = new StreamTaskScheduler();
+    private final Set<String> publishedStreams = ConcurrentHashMap.newKeySet();
     private final AtomicBoolean initialized = new AtomicBoolean(false);
 
     /**
@@ -97,6 +231,7 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
         this.consumerName = builder.consumerName;
         this.maxlen = builder.maxlen;
         this.pollTimeout = builder.pollTimeout;
+        this.acknowledgeTimeout = builder.acknowledgeTimeout;
         this.batchSize = builder.batchSize;
         this.concurrency = builder.concurrency;
         this.maxRetries = builder.maxRetries;
@@ -104,15 +239,128 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
         this.exponentialBackoff = builder.exponentialBackoff;
         this.deadLetterStream = builder.deadLetterStream;
         this.idempotencyProperties = builder.idempotencyProperties;
+        this.batchPublishProperties = builder.batchPublishProperties;
+        this.retentionProperties = builder.retentionProperties;
+        this.compressionProperties = builder.compressionProperties;
+        this.partitionProperties = builder.partitionProperties;
+        this.routingProperties = builder.routingProperties;
+        this.outboxProperties = builder.outboxProperties;
+        this.spoolProperties = builder.spoolProperties;
+        this.batchConsumeProperties = builder.batchConsumeProperties;
+        this.workerPoolProperties = builder.workerPoolProperties;
+        this.virtualThreadProperties = builder.virtualThreadProperties;
+        this.retryProperties = builder.retryProperties;
+        this.reclaimProperties = builder.reclaimProperties;
+        this.adaptivePollProperties = builder.adaptivePollProperties;
+        this.scalingProperties = builder.scalingProperties;
+        this.handlerGroupProperties = builder.handlerGroupProperties;
         this.eventHandlers = builder.eventHandlers;
+        this.metrics = builder.metrics;
         
         // Use the optimized shared ObjectMapper
         this.objectMapper = builder.objectMapper;
         
+        // Resolve payload codecs; schema-driven codecs cannot carry the context's attribute map
+        this.codecRegistry = new EventCodecRegistry(objectMapper, builder.codecs);
+        this.codec = codecRegistry.get(builder.codec);
+        this.contextCodec = codec.supportsDynamicTypes() ? codec : codecRegistry.get(JacksonEventCodec.JSON);
+        logger.info("[RedisStreamEventBus] Using event codec: {}, context codec: {}", codec.id(), contextCodec.id());
+        prepareCodec(contextCodec, CommandContext.class);
+        
+        // Every available compressor is kept for reading, the configured one is used for writing
+        this.compressorRegistry = new PayloadCompressorRegistry(compressionProperties.getZstdLevel());
+        this.compressor = compressionProperties.getAlgorithm() == EventProperties.RedisProperties.StreamProperties.CompressionProperties.CompressionAlgorithm.NONE
+                ? null
+                : compressorRegistry.get(compressionProperties.getAlgorithm().name().toLowerCase(Locale.ROOT));
+        metrics.registerGauge("compression.ratio", () -> {
+            long input = metrics.getCounter("compression.input-bytes");
+            return input == 0 ? 1.0 : (double) metrics.getCounter("compression.output-bytes") / input;
+        });
+        
         // Initialize idempotency service
-        this.idempotencyService = new RedisIdempotencyServiceImpl(redisTemplate, idempotencyProperties);
+        // PROCESSING statuses expire with the acknowledge timeout, after which the entry is reclaimed
+        this.idempotencyService = new RedisIdempotencyServiceImpl(redisTemplate, idempotencyProperties, acknowledgeTimeout);
+        
+        // Failed messages are retried after the delay of their type's policy, parked in Redis when delayed
+        this.retryPolicies = new RetryPolicies(maxRetries, initialRetryDelay, exponentialBackoff, retryProperties);
+        this.retryService = retryProperties.isDelayed()
+                ? new RedisDelayedRetryServiceImpl(streamRedisTemplate, streamKey + ":" + groupName)
+                : null;
+        if (retryService != null) {
+            metrics.registerGauge("consume.retry-scheduled", retryService::size);
+        }
+        
+        // Type IDs are always readable; they are only written once compact types are enabled
+        this.typeRegistry = new RedisEventTypeRegistryImpl(streamRedisTemplate, builder.typeRegistryProperties.getKeyPrefix(),
+                builder.typeRegistryProperties.getUnknownIdTtl());
+        this.compactTypes = builder.typeRegistryProperties.isEnabled();
+        
+        // Initialize retention service, its append options are applied to every XADD
+        this.retentionService = new RedisStreamRetentionServiceImpl(streamRedisTemplate, retentionProperties, maxlen, metrics);
+        
+        // Initialize pipelined writer and, when enabled, the batching publisher in front of it
+        this.streamWriter = new PipelinedStreamWriter(streamRedisTemplate, retentionService::appendOptions);
+        this.deadLetterReplayService = new RedisDeadLetterReplayServiceImpl(streamRedisTemplate, streamWriter, typeRegistry,
+                deadLetterStream, builder.deadLetterReplayProperties, metrics);
+        this.asyncWriter = redisConnectionFactory instanceof ReactiveRedisConnectionFactory
+                ? new AsyncStreamWriter((ReactiveRedisConnectionFactory) redisConnectionFactory, retentionService::appendOptions)
+                : null;
+        this.batchPublisher = batchPublishProperties.isEnabled()
+                ? new BatchingStreamPublisher(streamWriter, batchPublishProperties.getMaxBatchSize(), batchPublishProperties.getLingerMs(),
+                        batchPublishProperties.getQueueCapacity(), batchPublishProperties.getOverflowPolicy(),
+                        batchPublishProperties.getBlockTimeoutMs(), builder.spillHandler, metrics)
+                : null;
+        if (batchPublisher != null) {
+            metrics.registerGauge("publish.batch-queue-depth", batchPublisher::getQueueDepth);
+        }
+        
+        // Entries that cannot be appended are spilled and replayed in order, by the batch publisher when enabled
+        this.spillHandler = builder.spillHandler;
+        this.handlerFanOut = builder.handlerFanOut;
+        if (spillHandler != null) {
+            metrics.registerGauge("publish.spill-depth", spillHandler::size);
+            metrics.registerGauge("publish.spill-replay-rate", () -> {
+                long nanos = metrics.getCounter("publish.spill-replay-nanos");
+                return nanos == 0 ? 0.0 : metrics.getCounter("publish.spill-replayed") * 1_000_000_000.0 / nanos;
+            });
+        }
+        
+        // Events go to the stream of their type's route, then to the partition of their key
+        this.router = new StreamRouter(streamKey, routingProperties.isEnabled(), routingProperties.getRoutes());
+        this.partitioner = new StreamPartitioner(partitionProperties.getCount());
+        this.partitionOwnerId = consumerName + "@" + UUID.randomUUID();
+        
+        // Consumers of unpartitioned streams follow the group's lag when scaling is enabled
+        ConsumerScalingPolicy scalingPolicy = new ConsumerScalingPolicy(scalingProperties.getMinConsumers(),
+                scalingProperties.getMaxConsumers(), scalingProperties.getTargetLagPerConsumer());
+        StreamLagService lagService = new RedisStreamLagServiceImpl(streamRedisTemplate, groupName,
+                (int) Math.min(Integer.MAX_VALUE, scalingProperties.getTargetLagPerConsumer() * scalingPolicy.getMaxConsumers()));
+        this.consumers = new StreamConsumerCoordinator(streamRedisTemplate, consumerName, concurrency,
+                scalingProperties.isEnabled() ? scalingPolicy : null, lagService, partitioner, partitionOwnerId,
+                partitionProperties.getLeaseTtl(), this::groupsOf, pollControllerFactory(), this::receive, metrics);
+        
+        // Entries left pending by a crashed or skipping consumer are taken over once idle for the acknowledge timeout
+        this.pendingEntryRecovery = new PendingEntryRecovery(streamRedisTemplate, consumerName, acknowledgeTimeout,
+                reclaimProperties.getBatchSize(), reclaimProperties.getMaxDeliveries(), this::consumerGroups,
+                consumers::streamKeysOf, ReclaimListener::new, metrics);
+        
+        // Transactional events go to the outbox; its shards are relayed by whichever instance holds them
+        this.outboxStore = outboxProperties.isEnabled() ? builder.outboxStore : null;
+        if (outboxProperties.isEnabled() && outboxStore == null) {
+            throw new IllegalStateException("Outbox is enabled but no OutboxStore was provided");
+        }
+        if (outboxStore != null) {
+            this.outboxRelay = new OutboxRelay(outboxStore, streamWriter, outboxProperties.getBatchSize(), outboxProperties.getParallelism(),
+                    outboxProperties.getPollInterval(), streamKey + ":outbox-relay", metrics);
+            this.outboxAssignment = new RedisPartitionAssignmentServiceImpl(streamRedisTemplate, streamKey + ":outbox-relay",
+                    outboxRelay.getShardKeys(), partitionOwnerId, partitionProperties.getLeaseTtl(), outboxRelay);
+        } else {
+            this.outboxRelay = null;
+            this.outboxAssignment = null;
+        }
         
-        // Register event handlers
+        // Register event handlers, each gets its own consumer group when handler groups are enabled
+        this.sharedGroup = ConsumerGroup.shared(groupName);
         logger.info("[RedisStreamEventBus] Registering {} event handlers, instance: {}", eventHandlers.size(), this.hashCode());
         registerEventHandlers(eventHandlers);
         logger.info("[RedisStreamEventBus] Constructor completed, instance: {}", this.hashCode());
@@ -136,6 +384,7 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
         private String consumerName = "soda-event-consumer";
         private long maxlen = 10000;
         private long pollTimeout = 100;
+        private long acknowledgeTimeout = 30000;
         private int batchSize = 10;
         private int concurrency = 2;
         private int maxRetries = 3;
@@ -143,6 +392,46 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
         private boolean exponentialBackoff = true;
         private String deadLetterStream = "soda-dead-letter-stream";
         private EventProperties.RedisProperties.StreamProperties.IdempotencyProperties idempotencyProperties;
+        private EventProperties.RedisProperties.StreamProperties.BatchPublishProperties batchPublishProperties =
+                new EventProperties.RedisProperties.StreamProperties.BatchPublishProperties();
+        private EventProperties.RedisProperties.StreamProperties.RetentionProperties retentionProperties =
+                new EventProperties.RedisProperties.StreamProperties.RetentionProperties();
+        private EventProperties.RedisProperties.StreamProperties.CompressionProperties compressionProperties =
+                new EventProperties.RedisProperties.StreamProperties.CompressionProperties();
+        private EventProperties.RedisProperties.StreamProperties.TypeRegistryProperties typeRegistryProperties =
+                new EventProperties.RedisProperties.StreamProperties.TypeRegistryProperties();
+        private EventProperties.RedisProperties.StreamProperties.PartitionProperties partitionProperties =
+                new EventProperties.RedisProperties.StreamProperties.PartitionProperties();
+        private EventProperties.RedisProperties.StreamProperties.RoutingProperties routingProperties =
+                new EventProperties.RedisProperties.StreamProperties.RoutingProperties();
+        private EventProperties.RedisProperties.StreamProperties.OutboxProperties outboxProperties =
+                new EventProperties.RedisProperties.StreamProperties.OutboxProperties();
+        private OutboxStore outboxStore;
+        private EventProperties.RedisProperties.StreamProperties.SpoolProperties spoolProperties =
+                new EventProperties.RedisProperties.StreamProperties.SpoolProperties();
+        private EventProperties.RedisProperties.StreamProperties.BatchConsumeProperties batchConsumeProperties =
+                new EventProperties.RedisProperties.StreamProperties.BatchConsumeProperties();
+        private EventProperties.RedisProperties.StreamProperties.WorkerPoolProperties workerPoolProperties =
+                new EventProperties.RedisProperties.StreamProperties.WorkerPoolProperties();
+        private EventProperties.RedisProperties.StreamProperties.VirtualThreadProperties virtualThreadProperties =
+                new EventProperties.RedisProperties.StreamProperties.VirtualThreadProperties();
+        private EventProperties.RedisProperties.StreamProperties.RetryProperties retryProperties =
+                new EventProperties.RedisProperties.StreamProperties.RetryProperties();
+        private EventProperties.RedisProperties.StreamProperties.ReclaimProperties reclaimProperties =
+                new EventProperties.RedisProperties.StreamProperties.ReclaimProperties();
+        private EventProperties.RedisProperties.StreamProperties.AdaptivePollProperties adaptivePollProperties =
+                new EventProperties.RedisProperties.StreamProperties.AdaptivePollProperties();
+        private EventProperties.RedisProperties.StreamProperties.ScalingProperties scalingProperties =
+                new EventProperties.RedisProperties.StreamProperties.ScalingProperties();
+        private EventProperties.RedisProperties.StreamProperties.HandlerGroupProperties handlerGroupProperties =
+                new EventProperties.RedisProperties.StreamProperties.HandlerGroupProperties();
+        private EventProperties.RedisProperties.StreamProperties.DeadLetterReplayProperties deadLetterReplayProperties =
+                new EventProperties.RedisProperties.StreamProperties.DeadLetterReplayProperties();
+        private PublishSpillHandler spillHandler;
+        private HandlerFanOut handlerFanOut;
+        private String codec = JacksonEventCodec.JSON;
+        private List<EventCodec> codecs = new ArrayList<>();
+        private RedisStreamMetrics metrics = new RedisStreamMetrics();
         
         /**
          * Constructor for Builder with required parameters.
@@ -212,6 +501,17 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
             return this;
         }
         
+        /**
+         * Sets the time after which an unacknowledged entry may be reclaimed, in milliseconds.
+         *
+         * @param acknowledgeTimeout Acknowledge timeout in milliseconds
+         * @return this Builder for method chaining
+         */
+        public Builder acknowledgeTimeout(long acknowledgeTimeout) {
+            this.acknowledgeTimeout = acknowledgeTimeout;
+            return this;
+        }
+        
         /**
          * Sets the batch size for pulling messages.
          *
@@ -289,6 +589,260 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
             return this;
         }
         
+        /**
+         * Sets the batched publishing properties.
+         *
+         * @param batchPublishProperties Batched publishing configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder batchPublishProperties(EventProperties.RedisProperties.StreamProperties.BatchPublishProperties batchPublishProperties) {
+            this.batchPublishProperties = batchPublishProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the stream retention properties.
+         *
+         * @param retentionProperties Retention configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder retentionProperties(EventProperties.RedisProperties.StreamProperties.RetentionProperties retentionProperties) {
+            this.retentionProperties = retentionProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the payload compression properties.
+         *
+         * @param compressionProperties Compression configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder compressionProperties(EventProperties.RedisProperties.StreamProperties.CompressionProperties compressionProperties) {
+            this.compressionProperties = compressionProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the event type registry properties.
+         *
+         * @param typeRegistryProperties Type registry configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder typeRegistryProperties(EventProperties.RedisProperties.StreamProperties.TypeRegistryProperties typeRegistryProperties) {
+            this.typeRegistryProperties = typeRegistryProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the partitioned stream properties.
+         *
+         * @param partitionProperties Partition configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder partitionProperties(EventProperties.RedisProperties.StreamProperties.PartitionProperties partitionProperties) {
+            this.partitionProperties = partitionProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the per-event-type stream routing properties.
+         *
+         * @param routingProperties Routing configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder routingProperties(EventProperties.RedisProperties.StreamProperties.RoutingProperties routingProperties) {
+            this.routingProperties = routingProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the transactional outbox properties.
+         *
+         * @param outboxProperties Outbox configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder outboxProperties(EventProperties.RedisProperties.StreamProperties.OutboxProperties outboxProperties) {
+            this.outboxProperties = outboxProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the outbox store, required when the outbox is enabled.
+         *
+         * @param outboxStore Outbox store
+         * @return this Builder for method chaining
+         */
+        public Builder outboxStore(OutboxStore outboxStore) {
+            this.outboxStore = outboxStore;
+            return this;
+        }
+        
+        /**
+         * Sets the spool configuration properties.
+         *
+         * @param spoolProperties Spool configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder spoolProperties(EventProperties.RedisProperties.StreamProperties.SpoolProperties spoolProperties) {
+            this.spoolProperties = spoolProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the batch consumption configuration properties.
+         *
+         * @param batchConsumeProperties Batch consumption configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder batchConsumeProperties(EventProperties.RedisProperties.StreamProperties.BatchConsumeProperties batchConsumeProperties) {
+            this.batchConsumeProperties = batchConsumeProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the handler worker pool configuration properties.
+         *
+         * @param workerPoolProperties Worker pool configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder workerPoolProperties(EventProperties.RedisProperties.StreamProperties.WorkerPoolProperties workerPoolProperties) {
+            this.workerPoolProperties = workerPoolProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the virtual thread handler execution configuration properties.
+         *
+         * @param virtualThreadProperties Virtual thread configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder virtualThreadProperties(EventProperties.RedisProperties.StreamProperties.VirtualThreadProperties virtualThreadProperties) {
+            this.virtualThreadProperties = virtualThreadProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the retry scheduling configuration properties.
+         *
+         * @param retryProperties Retry configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder retryProperties(EventProperties.RedisProperties.StreamProperties.RetryProperties retryProperties) {
+            this.retryProperties = retryProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the pending entry reclaim configuration properties.
+         *
+         * @param reclaimProperties Reclaim configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder reclaimProperties(EventProperties.RedisProperties.StreamProperties.ReclaimProperties reclaimProperties) {
+            this.reclaimProperties = reclaimProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the adaptive poll configuration properties.
+         *
+         * @param adaptivePollProperties Adaptive poll configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder adaptivePollProperties(EventProperties.RedisProperties.StreamProperties.AdaptivePollProperties adaptivePollProperties) {
+            this.adaptivePollProperties = adaptivePollProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the consumer scaling configuration properties.
+         *
+         * @param scalingProperties Scaling configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder scalingProperties(EventProperties.RedisProperties.StreamProperties.ScalingProperties scalingProperties) {
+            this.scalingProperties = scalingProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the per-handler consumer group configuration properties.
+         *
+         * @param handlerGroupProperties Handler group configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder handlerGroupProperties(EventProperties.RedisProperties.StreamProperties.HandlerGroupProperties handlerGroupProperties) {
+            this.handlerGroupProperties = handlerGroupProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the dead letter replay configuration properties.
+         *
+         * @param deadLetterReplayProperties Dead letter replay configuration properties
+         * @return this Builder for method chaining
+         */
+        public Builder deadLetterReplayProperties(EventProperties.RedisProperties.StreamProperties.DeadLetterReplayProperties deadLetterReplayProperties) {
+            this.deadLetterReplayProperties = deadLetterReplayProperties;
+            return this;
+        }
+        
+        /**
+         * Sets the spill handler that keeps entries which cannot be appended, required when the batch publish
+         * overflow policy is SPILL.
+         *
+         * @param spillHandler Spill handler
+         * @return this Builder for method chaining
+         */
+        public Builder spillHandler(PublishSpillHandler spillHandler) {
+            this.spillHandler = spillHandler;
+            return this;
+        }
+        
+        /**
+         * Sets the fan-out that runs the local handlers of one event concurrently.
+         *
+         * @param handlerFanOut Handler fan-out, null to run handlers one after another
+         * @return this Builder for method chaining
+         */
+        public Builder handlerFanOut(HandlerFanOut handlerFanOut) {
+            this.handlerFanOut = handlerFanOut;
+            return this;
+        }
+        
+        /**
+         * Sets the ID of the codec used to encode stream payloads.
+         *
+         * @param codec Codec ID
+         * @return this Builder for method chaining
+         */
+        public Builder codec(String codec) {
+            this.codec = codec;
+            return this;
+        }
+        
+        /**
+         * Sets additional application-provided codecs.
+         *
+         * @param codecs Additional codecs
+         * @return this Builder for method chaining
+         */
+        public Builder codecs(List<EventCodec> codecs) {
+            this.codecs = codecs;
+            return this;
+        }
+        
+        /**
+         * Sets the metrics registry the bus and its components record into.
+         *
+         * @param metrics Metrics registry, typically the shared bean bound to Micrometer
+         * @return this Builder for method chaining
+         */
+        public Builder metrics(RedisStreamMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+        
         /**
          * Builds and returns a new RedisStreamEventBus instance.
          *
@@ -335,149 +889,693 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
             // Set up stream listener container
             configureStreamListener();
             
+            if (batchPublisher != null) {
+                batchPublisher.start();
+            } else if (spillHandler != null) {
+                scheduler.scheduleMaintenance("spill replay", this::replaySpilled, spoolProperties.getReplayInterval());
+            }
+            
+            if (outboxRelay != null) {
+                outboxRelay.start();
+                outboxAssignment.rebalance();
+                scheduler.scheduleMaintenance("outbox shard rebalancing", outboxAssignment::rebalance,
+                        partitionProperties.getRebalanceInterval());
+            }
+            
+            if (retryService != null) {
+                scheduler.scheduleRecovery("delayed retries", this::fireDueRetries, retryProperties.getPollInterval());
+            }
+            
+            if (reclaimProperties.isEnabled()) {
+                scheduler.scheduleRecovery("reclaim of entries idle over " + acknowledgeTimeout + "ms", pendingEntryRecovery,
+                        reclaimProperties.getInterval());
+            }
+            
+            if (retentionProperties.isBackgroundTrimEnabled()) {
+                scheduler.scheduleMaintenance("background stream trimming", this::trimStreams,
+                        retentionProperties.getBackgroundTrimInterval());
+            }
+            
             logger.info("[RedisStreamEventBus] Initialized Redis Stream event bus");
         }
     }
     
-    /**
-     * Creates the stream and consumer group if they don't exist.
-     */
-    private void createStreamAndGroup() {
-        try {
-            // Check if stream exists, create if not
-            Boolean exists = streamRedisTemplate.hasKey(streamKey);
-            if (exists == null || !exists) {
-                logger.info("[RedisStreamEventBus] Creating stream: {}", streamKey);
-                // Create stream with initial entry to ensure it exists
-                Map<String, String> initialEntry = new HashMap<>();
-                initialEntry.put("type", "INIT");
-                streamRedisTemplate.opsForStream().add(streamKey, initialEntry);
-                logger.info("[RedisStreamEventBus] Stream created: {}", streamKey);
-            }
-            
-            // Create consumer group
-            try {
-                streamRedisTemplate.opsForStream().createGroup(streamKey, groupName);
-                logger.info("[RedisStreamEventBus] Consumer group created: {}", groupName);
-            } catch (Exception e) {
-                // Group likely already exists, log and continue
-                logger.info("[RedisStreamEventBus] Consumer group likely already exists: {}", groupName);
-            }
-        } catch (Exception e) {
-            logger.error("[RedisStreamEventBus] Error creating stream or consumer group: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to initialize Redis Stream event bus", e);
+    @Override
+    public void destroy() {
+        logger.info("[RedisStreamEventBus] Shutting down Redis Stream event bus");
+        scheduler.shutdown();
+        consumers.stop();
+        if (container != null) {
+            container.stop();
+        }
+        if (workerPool != null) {
+            workerPool.shutdown(5000);
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown(5000);
         }
+        // Handlers drained above may have published, so the publishers stop only now and flush what they hold
+        if (outboxRelay != null) {
+            outboxRelay.stop();
+            outboxAssignment.releaseAll();
+        }
+        if (batchPublisher != null) {
+            batchPublisher.stop();
+        }
+        if (asyncWriter != null) {
+            asyncWriter.close();
+        }
+        consumers.releasePartitions();
     }
     
     /**
-     * Configures the stream listener container for message consumption.
+     * Handles entries taken over from other consumers of a group: idle ones are handled again like newly read
+     * entries, ones past the delivery limit go to the dead letter queue.
      */
-    private void configureStreamListener() {
-        logger.info("[RedisStreamEventBus] Configuring stream listener...");
-        // Create container options with String serializers to match RedisTemplate's String keys and JSON values
-        @SuppressWarnings("rawtypes")
-        StreamMessageListenerContainer.StreamMessageListenerContainerOptions options = 
-                StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
-                        .pollTimeout(Duration.ofMillis(pollTimeout))
-                        .batchSize(batchSize)
-                        .keySerializer(new StringRedisSerializer()) // For Stream Key
-                        .hashKeySerializer(new StringRedisSerializer()) // For Map Keys
-                        .hashValueSerializer(new StringRedisSerializer()) // For Map Values (read as JSON String)
-                        .errorHandler(throwable -> {
-                            // Handle Redis connection and other exceptions gracefully
-                            logger.warn("[RedisStreamEventBus] Stream listener error, will retry: {}", throwable.getMessage());
-                            // Don't rethrow - let container continue running
-                        })
-                        .build();
+    private class ReclaimListener implements PendingEntryReclaimer.Listener {
+        private final ConsumerGroup group;
         
-        // Create container with String types
-        @SuppressWarnings({"rawtypes", "unchecked"})
-        StreamMessageListenerContainer container = StreamMessageListenerContainer.create(redisConnectionFactory, options);
-        this.container = container;
+        ReclaimListener(ConsumerGroup group) {
+            this.group = group;
+        }
         
-        // Create stream listener that handles raw MapRecord with explicit type
-        StreamListener<String, MapRecord<String, String, String>> listener = new StreamListener<>() {
-            @Override
-            public void onMessage(MapRecord<String, String, String> message) {
-                logger.info("[RedisStreamEventBus] Raw onMessage received: {}", message.getId());
-                try {
-                    handleStreamMessageWithRetry(message);
-                } catch (Exception e) {
-                    logger.error("[RedisStreamEventBus] Error handling stream message: {}", e.getMessage(), e);
+        @Override
+        public void onReclaimed(MapRecord<String, String, byte[]> message) {
+            try {
+                if (isDispatching()) {
+                    dispatch(orderingKeyOf(message), () -> handleStreamMessageWithRetry(message, group));
+                } else {
+                    handleStreamMessageWithRetry(message, group);
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
-        };
-        
-        // Start concurrency loop to create multiple consumers
-        ReadOffset offset = ReadOffset.lastConsumed();
-        StreamOffset<String> streamOffset = StreamOffset.create(streamKey, offset);
-        
-        for (int i = 0; i < concurrency; i++) {
-            String currentConsumerName = concurrency > 1 ? consumerName + "-" + i : consumerName;
-            Consumer consumer = Consumer.from(groupName, currentConsumerName);
-            
-            // Use manual ACK by calling receive() instead of receiveAutoAck()
-            @SuppressWarnings({"rawtypes", "unchecked"})
-            Subscription sub = container.receive(consumer, streamOffset, listener);
-            this.subscriptions.add(sub);
-            logger.info("[RedisStreamEventBus] Created consumer subscription: {}", currentConsumerName);
         }
         
-        // Start the container
-        container.start();
-        logger.info("[RedisStreamEventBus] Stream listener container started with options: pollTimeout={}, batchSize={}, concurrency={}", 
-                   pollTimeout, batchSize, concurrency);
+        @Override
+        public void onDeliveryLimitReached(MapRecord<String, String, byte[]> message, long deliveryCount) {
+            logger.error("[RedisStreamEventBus] Entry delivered {} times without acknowledgement, moving to dead letter queue: ID={}, group={}",
+                    deliveryCount, message.getId(), group);
+            moveToDeadLetterQueue(message, "Delivery limit exceeded after " + deliveryCount + " deliveries", group);
+            streamRedisTemplate.opsForStream().acknowledge(message.getStream(), group.getName(), message.getId());
+        }
     }
     
     /**
-     * Handles a stream message with retry logic, dead letter queue functionality, and idempotency checks.
-     *
-     * @param message The stream message to handle
+     * Trims every stream this bus publishes to or consumes from, never past the slowest consumer group.
      */
-    private void handleStreamMessageWithRetry(MapRecord<String, String, String> message) {
+    private void trimStreams() {
+        Set<String> keys = new LinkedHashSet<>(streamKeys());
+        keys.addAll(publishedStreams);
+        for (String key : keys) {
+            retentionService.trim(key);
+        }
+    }
+    
+    /**
+     * Gets the stream keys this bus consumes from: every partition of the configured stream, or with
+     * routing enabled, of the streams of the event types that have handlers registered.
+     *
+     * @return Stream keys
+     */
+    public List<String> streamKeys() {
+        List<String> keys = new ArrayList<>();
+        for (String baseKey : consumedBaseKeys()) {
+            keys.addAll(partitioner.streamKeys(baseKey));
+        }
+        return keys;
+    }
+    
+    /**
+     * Gets the stream keys this bus consumes from, before partitioning.
+     *
+     * @return Base stream keys
+     */
+    private Set<String> consumedBaseKeys() {
+        if (!router.isEnabled()) {
+            return Set.of(streamKey);
+        }
+        Set<String> baseKeys = new LinkedHashSet<>();
+        for (Class<? extends DomainEvent> eventType : handlers.keySet()) {
+            baseKeys.add(router.streamKeyFor(eventType));
+        }
+        return baseKeys;
+    }
+    
+    /**
+     * Gets the consumer groups this bus reads in: the shared group, or with handler groups enabled,
+     * the group of every registered handler.
+     *
+     * @return Consumer groups
+     */
+    private Collection<ConsumerGroup> consumerGroups() {
+        return handlerGroupProperties.isEnabled() ? handlerGroups.values() : List.of(sharedGroup);
+    }
+    
+    /**
+     * Gets the consumer groups that read a stream.
+     *
+     * @param baseKey Stream key before partitioning
+     * @return The shared group, or the groups of the handlers whose event type is routed to the stream
+     */
+    private List<ConsumerGroup> groupsOf(String baseKey) {
+        if (!handlerGroupProperties.isEnabled()) {
+            return List.of(sharedGroup);
+        }
+        List<ConsumerGroup> groups = new ArrayList<>();
+        for (ConsumerGroup group : handlerGroups.values()) {
+            if (router.streamKeyFor(group.getEventType()).equals(baseKey)) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+    
+    /**
+     * Gets the metrics recorded by this bus.
+     *
+     * @return Metrics registry
+     */
+    public RedisStreamMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Gets the service replaying entries of the dead letter stream to the streams they failed on.
+     *
+     * @return Dead letter replay service
+     */
+    public DeadLetterReplayService getDeadLetterReplayService() {
+        return deadLetterReplayService;
+    }
+    
+    /**
+     * Creates the streams and consumer groups if they don't exist.
+     */
+    private void createStreamAndGroup() {
+        for (String baseKey : consumedBaseKeys()) {
+            createStreamsAndGroups(partitioner.streamKeys(baseKey), groupsOf(baseKey));
+        }
+    }
+    
+    /**
+     * Creates the given streams and consumer groups on them if they don't exist.
+     *
+     * @param streamKeys Stream keys
+     * @param groups Consumer groups to create on every stream
+     */
+    private void createStreamsAndGroups(List<String> streamKeys, List<ConsumerGroup> groups) {
+        try {
+            for (String streamKey : streamKeys) {
+                // Check if stream exists, create if not
+                Boolean exists = streamRedisTemplate.hasKey(streamKey);
+                if (exists == null || !exists) {
+                    logger.info("[RedisStreamEventBus] Creating stream: {}", streamKey);
+                    // Create stream with initial entry to ensure it exists
+                    Map<String, String> initialEntry = new HashMap<>();
+                    initialEntry.put("type", "INIT");
+                    streamRedisTemplate.opsForStream().add(streamKey, initialEntry);
+                    logger.info("[RedisStreamEventBus] Stream created: {}", streamKey);
+                }
+                
+                // Create consumer groups
+                for (ConsumerGroup group : groups) {
+                    try {
+                        streamRedisTemplate.opsForStream().createGroup(streamKey, group.getName());
+                        logger.info("[RedisStreamEventBus] Consumer group created: {}", group);
+                    } catch (Exception e) {
+                        // Group likely already exists, log and continue
+                        logger.info("[RedisStreamEventBus] Consumer group likely already exists: {}", group);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("[RedisStreamEventBus] Error creating stream or consumer group: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to initialize Redis Stream event bus", e);
+        }
+    }
+    
+    /**
+     * Configures the stream listener container for message consumption.
+     */
+    private void configureStreamListener() {
+        logger.info("[RedisStreamEventBus] Configuring stream listener...");
+        // Create container options with String serializers to match RedisTemplate's String keys and JSON values
+        @SuppressWarnings("rawtypes")
+        StreamMessageListenerContainer.StreamMessageListenerContainerOptions options = 
+                StreamMessageListenerContainer.StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofMillis(pollTimeout))
+                        .batchSize(batchSize)
+                        .keySerializer(new StringRedisSerializer()) // For Stream Key
+                        .hashKeySerializer(new StringRedisSerializer()) // For Map Keys
+                        .hashValueSerializer(RedisSerializer.byteArray()) // For Map Values (raw codec bytes)
+                        .errorHandler(throwable -> {
+                            // Handle Redis connection and other exceptions gracefully
+                            logger.warn("[RedisStreamEventBus] Stream listener error, will retry: {}", throwable.getMessage());
+                            // Don't rethrow - let container continue running
+                        })
+                        .build();
+        
+        // Create container with String types
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        StreamMessageListenerContainer container = StreamMessageListenerContainer.create(redisConnectionFactory, options);
+        this.container = container;
+        
+        // Handlers run on the worker pool or on virtual threads when enabled, the consumer thread then only polls
+        if (workerPoolProperties.isEnabled()) {
+            KeyedWorkerPool pool = new KeyedWorkerPool(workerPoolProperties.getSize(), workerPoolProperties.getMaxInFlight(), "soda-stream-worker");
+            metrics.registerGauge("consume.in-flight", pool::getInFlight);
+            this.workerPool = pool;
+            if (virtualThreadProperties.isEnabled()) {
+                logger.warn("[RedisStreamEventBus] Both worker pool and virtual threads are enabled, using the worker pool to keep per-key order");
+            }
+        } else if (virtualThreadProperties.isEnabled()) {
+            if (VirtualThreadExecutor.isSupported()) {
+                VirtualThreadExecutor executor = new VirtualThreadExecutor("soda-stream-vthread-",
+                        virtualThreadProperties.getMaxConcurrency(), new ContextPropagatingTaskDecorator());
+                metrics.registerGauge("consume.in-flight", executor::getActiveCount);
+                this.virtualThreadExecutor = executor;
+            } else {
+                logger.warn("[RedisStreamEventBus] Virtual threads are not supported on Java {}, handling messages on the consumer threads",
+                        Runtime.version().feature());
+            }
+        }
+        
+        // Effective read sizing, averaged over the streams read by this instance
+        metrics.registerGauge("consume.poll-batch-size", () -> consumers.getPollControllers().stream()
+                .mapToInt(AdaptivePollController::getBatchSize).average().orElse(batchSize));
+        metrics.registerGauge("consume.poll-timeout", () -> consumers.getPollControllers().stream()
+                .mapToLong(AdaptivePollController::getPollTimeout).average().orElse(pollTimeout));
+        
+        for (String baseKey : consumedBaseKeys()) {
+            consumers.consume(baseKey);
+        }
+        
+        // Start the container
+        container.start();
+        logger.info("[RedisStreamEventBus] Stream listener container started with options: pollTimeout={}, batchSize={}, concurrency={}, streams={}", 
+                   pollTimeout, batchSize, concurrency, consumers.getConsumedStreams());
+        
+        if (partitioner.isPartitioned()) {
+            scheduler.scheduleMaintenance("partition rebalancing", consumers::rebalancePartitions, partitionProperties.getRebalanceInterval());
+        } else if (scalingProperties.isEnabled()) {
+            scheduler.scheduleMaintenance("consumer scaling", consumers::scaleConsumers, scalingProperties.getInterval());
+            logger.info("[RedisStreamEventBus] Scaling consumers between {} and {} per stream",
+                    scalingProperties.getMinConsumers(), consumers.getMaxConsumers());
+        }
+    }
+    
+    /**
+     * Creates the listener that handles the entries read by the consumers of a group one by one.
+     *
+     * @param group Consumer group the entries are read in
+     * @return Stream listener
+     */
+    private StreamListener<String, MapRecord<String, String, byte[]>> listenerFor(ConsumerGroup group) {
+        return message -> {
+            logger.info("[RedisStreamEventBus] Raw onMessage received: {}, group={}", message.getId(), group);
+            try {
+                if (isDispatching()) {
+                    dispatch(orderingKeyOf(message), () -> handleStreamMessageWithRetry(message, group));
+                } else {
+                    handleStreamMessageWithRetry(message, group);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("[RedisStreamEventBus] Interrupted while handing message to workers: {}", message.getId());
+            } catch (Exception e) {
+                logger.error("[RedisStreamEventBus] Error handling stream message: {}", e.getMessage(), e);
+            }
+        };
+    }
+    
+    /**
+     * Subscribes a consumer of a group to a stream, reading new entries. In batch mode each read is handled as a
+     * whole by {@link #handleStreamBatch(List, ConsumerGroup)}, otherwise entries are handled one by one. Consumers
+     * with a poll controller read on their own, the others through the listener container.
+     *
+     * @param group Consumer group
+     * @param consumer Consumer name
+     * @param key Stream key
+     * @param pollController Read sizing of the consumer, or null to read with the container's options
+     * @return Subscription of the consumer
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Subscription receive(ConsumerGroup group, String consumer, String key, AdaptivePollController pollController) {
+        StreamListener<String, MapRecord<String, String, byte[]>> streamListener = listenerFor(group);
+        if (pollController != null) {
+            StreamBatchListener listener = batchConsumeProperties.isEnabled()
+                    ? messages -> handleStreamBatch(messages, group)
+                    : messages -> messages.forEach(streamListener::onMessage);
+            return new BatchStreamSubscription(streamRedisTemplate, Consumer.from(group.getName(), consumer), key, pollController, listener).start();
+        }
+        // Use manual ACK by calling receive() instead of receiveAutoAck()
+        return ((StreamMessageListenerContainer) container).receive(Consumer.from(group.getName(), consumer),
+                StreamOffset.create(key, ReadOffset.lastConsumed()), streamListener);
+    }
+    
+    /**
+     * Creates the factory of the read sizing of each consumer. The container reads with fixed options, so batch
+     * mode and adaptive polling need consumers reading on their own.
+     *
+     * @return Poll controller factory, or null when consumers read through the listener container
+     */
+    private Supplier<AdaptivePollController> pollControllerFactory() {
+        if (adaptivePollProperties.isEnabled()) {
+            return () -> new AdaptivePollController(adaptivePollProperties.getMinBatchSize(), adaptivePollProperties.getMaxBatchSize(),
+                    adaptivePollProperties.getMinPollTimeout(), adaptivePollProperties.getMaxPollTimeout(), batchSize, pollTimeout);
+        }
+        if (batchConsumeProperties.isEnabled()) {
+            return () -> AdaptivePollController.fixed(batchSize, pollTimeout);
+        }
+        return null;
+    }
+    
+    /**
+     * Encoded event of one stream entry, decompressed once and decoded only as far as its handlers need:
+     * to the full event for plain handlers, to a view per view type for {@link EventViewHandler}s.
+     * Shared by the handlers of the entry, which may run concurrently.
+     */
+    private final class EventPayload {
+        private final byte[] data;
+        private final String codecId;
+        private final String compressionId;
+        private final Class<? extends DomainEvent> eventClass;
+        private final String headerEventId;
+        private final Map<Class<?>, Object> views = new HashMap<>();
+        private byte[] decompressed;
+        private DomainEvent event;
+        private boolean decoded;
+        
+        EventPayload(byte[] data, String codecId, String compressionId, Class<? extends DomainEvent> eventClass, String headerEventId) {
+            this.data = data;
+            this.codecId = codecId;
+            this.compressionId = compressionId;
+            this.eventClass = eventClass;
+            this.headerEventId = headerEventId;
+        }
+        
+        /**
+         * Gets the event as written by the entry's codec, decompressed if needed.
+         */
+        synchronized byte[] payload() {
+            if (decompressed == null) {
+                decompressed = decompress(data, compressionId);
+            }
+            return decompressed;
+        }
+        
+        /**
+         * Gets the full event, decoding it on first use.
+         *
+         * @return The event, or null if it cannot be deserialized
+         */
+        synchronized DomainEvent event() {
+            if (!decoded) {
+                decoded = true;
+                try {
+                    event = deserializeDomainEvent(payload(), codecId, null, eventClass);
+                } catch (Exception e) {
+                    logger.error("[RedisStreamEventBus] Error decompressing event: {}", e.getMessage(), e);
+                }
+            }
+            return event;
+        }
+        
+        /**
+         * Gets the event ID from the entry header, only decoding the event for entries written without one.
+         */
+        String eventId() {
+            if (headerEventId != null) {
+                return headerEventId;
+            }
+            DomainEvent domainEvent = event();
+            return domainEvent != null ? domainEvent.getEventId() : null;
+        }
+        
+        /**
+         * Binds a view of the event, once per view type.
+         *
+         * @param viewType View type declared by a handler
+         * @return The view, or null if the entry's codec cannot bind it
+         */
+        synchronized Object view(Class<?> viewType) {
+            Object view = views.get(viewType);
+            if (view == null && !views.containsKey(viewType)) {
+                view = bindView(this, viewType);
+                views.put(viewType, view);
+            }
+            return view;
+        }
+    }
+    
+    /**
+     * Handles a stream message with retry logic, dead letter queue functionality, and idempotency checks.
+     *
+     * @param message The stream message to handle
+     * @param group Consumer group the message was read in
+     */
+    private void handleStreamMessageWithRetry(MapRecord<String, String, byte[]> message, ConsumerGroup group) {
         logger.info("[RedisStreamEventBus] Received stream message: ID={}, Stream={}", message.getId(), message.getStream());
+        if (isForeignEntry(message, group)) {
+            streamRedisTemplate.opsForStream().acknowledge(message.getStream(), group.getName(), message.getId());
+            return;
+        }
+        
+        // Extract eventId directly from message for idempotency check, without full deserialization
+        String eventId = group.idempotencyKeyOf(extractEventIdFromMessage(message));
+        IdempotencyService.ProcessingStatus status = idempotencyProperties.isEnabled() && eventId != null
+                ? idempotencyService.getStatus(eventId)
+                : null;
+        if (processMessageWithRetry(message, eventId, status, null, group)) {
+            streamRedisTemplate.opsForStream().acknowledge(message.getStream(), group.getName(), message.getId());
+        }
+    }
+    
+    /**
+     * Checks from the type header alone whether an entry is of a type a handler's group does not handle.
+     * Such entries share the stream with the handler's type and are acknowledged without any further work.
+     *
+     * @param message The stream message
+     * @param group Consumer group the message was read in
+     * @return true if the group is a handler's group and the entry is of another known or unknown type
+     */
+    private boolean isForeignEntry(MapRecord<String, String, byte[]> message, ConsumerGroup group) {
+        if (group.isShared()) {
+            return false;
+        }
+        String eventType = text(message.getValue().get("type"));
+        return eventType != null && !group.handles(resolveEventClass(eventType));
+    }
+    
+    /**
+     * Handles the records of one read as a batch. Idempotency states are read and the events claimed before,
+     * and success states written after the batch in one pipeline each, and the records to acknowledge are
+     * acknowledged with one XACK per stream once the whole batch has been handled.
+     *
+     * @param messages Records of one read, in stream order
+     * @param group Consumer group the records were read in
+     */
+    void handleStreamBatch(List<MapRecord<String, String, byte[]>> messages, ConsumerGroup group) {
+        logger.info("[RedisStreamEventBus] Received batch of {} stream messages, Stream={}", messages.size(), messages.get(0).getStream());
+        long start = System.nanoTime();
+        
+        // Records of types the group does not handle are acknowledged with the rest, without being processed
+        boolean[] foreign = new boolean[messages.size()];
+        List<String> eventIds = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            foreign[i] = isForeignEntry(messages.get(i), group);
+            eventIds.add(foreign[i] ? null : group.idempotencyKeyOf(extractEventIdFromMessage(messages.get(i))));
+        }
+        IdempotencyService.ProcessingStatus[] statuses = new IdempotencyService.ProcessingStatus[messages.size()];
+        if (idempotencyProperties.isEnabled()) {
+            // Claims every event that is neither processed nor being processed in one pipeline, instead of one
+            // beginProcessing round trip per event; a second record of a claimed event waits like any other
+            Map<String, IdempotencyService.ProcessingStatus> known = idempotencyService.getStatuses(eventIds);
+            Set<String> claimed = new LinkedHashSet<>();
+            for (int i = 0; i < messages.size(); i++) {
+                String eventId = eventIds.get(i);
+                if (eventId == null) {
+                    continue;
+                }
+                statuses[i] = known.get(eventId);
+                if (isClaimable(statuses[i]) && !claimed.add(eventId)) {
+                    statuses[i] = IdempotencyService.ProcessingStatus.PROCESSING;
+                }
+            }
+            idempotencyService.markAsProcessing(claimed);
+        }
+        
+        List<String> succeededEventIds = Collections.synchronizedList(new ArrayList<>(messages.size()));
+        boolean[] acknowledge = foreign.clone();
+        if (isDispatching()) {
+            // Records of different keys run in parallel, the batch is acknowledged once all of them are done
+            List<CompletableFuture<Void>> futures = new ArrayList<>(messages.size());
+            try {
+                for (int i = 0; i < messages.size(); i++) {
+                    if (foreign[i]) {
+                        continue;
+                    }
+                    int index = i;
+                    String eventId = eventIds.get(i);
+                    futures.add(dispatch(orderingKeyOf(messages.get(i)), () -> acknowledge[index] = processMessageWithRetry(
+                            messages.get(index), eventId, statuses[index], succeededEventIds, group)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("[RedisStreamEventBus] Interrupted while handing batch to workers, {} of {} submitted", futures.size(), messages.size());
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (Exception e) {
+                logger.error("[RedisStreamEventBus] Error in worker handling batch: {}", e.getMessage(), e);
+            }
+        } else {
+            for (int i = 0; i < messages.size(); i++) {
+                if (foreign[i]) {
+                    continue;
+                }
+                acknowledge[i] = processMessageWithRetry(messages.get(i), eventIds.get(i), statuses[i], succeededEventIds, group);
+            }
+        }
         
+        Map<String, List<RecordId>> acknowledged = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            if (acknowledge[i]) {
+                acknowledged.computeIfAbsent(messages.get(i).getStream(), key -> new ArrayList<>()).add(messages.get(i).getId());
+            }
+        }
+        
+        if (!succeededEventIds.isEmpty()) {
+            idempotencyService.markAsSuccess(succeededEventIds);
+        }
+        for (Map.Entry<String, List<RecordId>> ids : acknowledged.entrySet()) {
+            streamRedisTemplate.opsForStream().acknowledge(ids.getKey(), group.getName(), ids.getValue().toArray(new RecordId[0]));
+            metrics.increment("consume.acks");
+            metrics.add("consume.acknowledged", ids.getValue().size());
+        }
+        metrics.increment("consume.batches");
+        metrics.add("consume.batch-records", messages.size());
+        metrics.add("consume.batch-nanos", System.nanoTime() - start);
+    }
+    
+    /**
+     * Checks whether an event may be processed given its idempotency status.
+     *
+     * @param status Idempotency status of the event, null if none
+     * @return true unless the event is processed or being processed
+     */
+    private static boolean isClaimable(IdempotencyService.ProcessingStatus status) {
+        return status != IdempotencyService.ProcessingStatus.SUCCESS && status != IdempotencyService.ProcessingStatus.PROCESSING;
+    }
+    
+    /**
+     * Checks whether handlers run off the consumer thread, on the worker pool or on virtual threads.
+     *
+     * @return true if {@link #dispatch(String, Runnable)} is to be used
+     */
+    private boolean isDispatching() {
+        return workerPool != null || virtualThreadExecutor != null;
+    }
+    
+    /**
+     * Hands a handler task to the worker pool, or to a virtual thread when no pool is configured,
+     * waiting while the in-flight bound is reached.
+     *
+     * @param key Ordering key, only honoured by the worker pool
+     * @param task Task to run
+     * @return Future completed once the task has run
+     * @throws InterruptedException if interrupted while waiting for a free slot
+     */
+    private CompletableFuture<Void> dispatch(String key, Runnable task) throws InterruptedException {
+        KeyedWorkerPool pool = workerPool;
+        if (pool != null) {
+            return pool.submit(key, task);
+        }
+        try {
+            return CompletableFuture.runAsync(task, virtualThreadExecutor);
+        } catch (RejectedExecutionException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                throw (InterruptedException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Gets the key that orders a message on the worker pool: its partition key header, or its event ID.
+     *
+     * @param message Stream message
+     * @return Ordering key, null if the message carries neither
+     */
+    private static String orderingKeyOf(MapRecord<String, String, byte[]> message) {
+        String partitionKey = text(message.getValue().get(HEADER_PARTITION_KEY));
+        return partitionKey != null ? partitionKey : text(message.getValue().get(HEADER_EVENT_ID));
+    }
+    
+    /**
+     * Processes a stream message with retries, moving it to the dead letter queue once they are exhausted.
+     *
+     * @param message The stream message to handle
+     * @param eventId Idempotency key of the event in the group, see {@link ConsumerGroup#idempotencyKeyOf(String)}; may be null
+     * @param status Known idempotency status of the event, null if none or idempotency is disabled
+     * @param succeededEventIds Collects the IDs of successfully processed events to mark them in one go;
+     *                          null to mark each event as soon as it succeeds. When set, the event has already
+     *                          been marked as processing together with the rest of its batch
+     * @param group Consumer group the message was read in
+     * @return true if the message should be acknowledged
+     */
+    private boolean processMessageWithRetry(MapRecord<String, String, byte[]> message, String eventId,
+                                            IdempotencyService.ProcessingStatus status, List<String> succeededEventIds,
+                                            ConsumerGroup group) {
         boolean processed = false;
-        String eventId = null;
+        boolean acknowledge = false;
+        // Set once the message has been moved to the dead letter queue or handed to a delayed retry
+        boolean settled = false;
         
         try {
-            // Extract eventId directly from message for idempotency check, without full deserialization
-            eventId = extractEventIdFromMessage(message);
-            
             // Idempotency check: if enabled and event has ID, check if it's already processed
             if (idempotencyProperties.isEnabled() && eventId != null) {
-                IdempotencyService.ProcessingStatus status = idempotencyService.getStatus(eventId);
                 if (status == IdempotencyService.ProcessingStatus.SUCCESS) {
                     logger.info("[RedisStreamEventBus] Event already processed successfully, skipping: eventId={}, messageId={}", 
                                eventId, message.getId());
                     // Acknowledge the message immediately since it's already processed
-                    streamRedisTemplate.opsForStream().acknowledge(streamKey, groupName, message.getId());
-                    return;
+                    return true;
                 } else if (status == IdempotencyService.ProcessingStatus.PROCESSING) {
                     logger.info("[RedisStreamEventBus] Event currently processing, skipping: eventId={}, messageId={}", 
                                eventId, message.getId());
-                    // Don't acknowledge yet, let the processing instance handle it
-                    return;
+                    // Don't acknowledge yet, let the processing instance handle it. If that instance crashed,
+                    // the status expires with the acknowledge timeout and the reclaimed entry is processed again
+                    return false;
                 }
             }
             
-            for (int retryCount = 0; retryCount <= maxRetries; retryCount++) {
+            RetryPolicy retryPolicy = retryPolicyOf(message);
+            int retryLimit = retryPolicy.getMaxRetries();
+            boolean batched = succeededEventIds != null;
+            // The first attempt of a batched event was claimed with the rest of the batch
+            boolean claimed = batched;
+            for (int retryCount = retryAttemptOf(message); retryCount <= retryLimit; retryCount++) {
                 try {
                     // Begin processing with idempotency check
                     boolean canProcess = true;
-                    if (idempotencyProperties.isEnabled() && eventId != null) {
+                    if (idempotencyProperties.isEnabled() && eventId != null && !claimed) {
                         canProcess = idempotencyService.beginProcessing(eventId);
                     }
+                    claimed = false;
                     
                     if (canProcess) {
-                        processed = handleStreamMessageInternal(message);
+                        processed = handleStreamMessageInternal(message, group, batched);
                         if (processed) {
                             // Mark as success if idempotency is enabled
                             if (idempotencyProperties.isEnabled() && eventId != null) {
-                                idempotencyService.markAsSuccess(eventId, new HashMap<>());
+                                if (succeededEventIds != null) {
+                                    succeededEventIds.add(eventId);
+                                } else {
+                                    idempotencyService.markAsSuccess(eventId, new HashMap<>());
+                                }
                             }
-                            // Acknowledge the message using RedisTemplate
-                            streamRedisTemplate.opsForStream().acknowledge(streamKey, groupName, message.getId());
+                            acknowledge = true;
                             logger.info("[RedisStreamEventBus] Successfully processed message after {} retries: ID={}", retryCount, message.getId());
                             break;
                         } else {
@@ -490,7 +1588,7 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
                         logger.info("[RedisStreamEventBus] Cannot process event due to idempotency check: eventId={}, messageId={}", 
                                    eventId, message.getId());
                         // Acknowledge if we can't process due to idempotency
-                        streamRedisTemplate.opsForStream().acknowledge(streamKey, groupName, message.getId());
+                        acknowledge = true;
                         break;
                     }
                 } catch (Exception e) {
@@ -499,10 +1597,15 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
                         idempotencyService.markAsFailed(eventId, e.getMessage());
                     }
                     
-                    if (retryCount < maxRetries) {
-                        long delay = calculateRetryDelay(retryCount);
+                    if (retryCount < retryLimit && retryService != null) {
+                        // Acknowledged once parked; if parking failed it stays pending and is delivered again
+                        acknowledge = scheduleRetry(message, retryCount + 1, retryPolicy.delayOf(retryCount), e, group);
+                        settled = true;
+                        break;
+                    } else if (retryCount < retryLimit) {
+                        long delay = retryPolicy.delayOf(retryCount);
                         logger.warn("[RedisStreamEventBus] Failed to process message, retrying in {}ms (attempt {}/{}): ID={}, Error: {}", 
-                                   delay, retryCount + 1, maxRetries + 1, message.getId(), e.getMessage());
+                                   delay, retryCount + 1, retryLimit + 1, message.getId(), e.getMessage());
                         try {
                             Thread.sleep(delay);
                         } catch (InterruptedException ie) {
@@ -512,9 +1615,10 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
                         }
                     } else {
                         logger.error("[RedisStreamEventBus] Maximum retries exceeded, moving to dead letter queue: ID={}", message.getId());
-                        moveToDeadLetterQueue(message, "Max retries exceeded");
+                        moveToDeadLetterQueue(message, "Max retries exceeded", group);
                         // Acknowledge the original message after moving to dead letter queue
-                        streamRedisTemplate.opsForStream().acknowledge(streamKey, groupName, message.getId());
+                        acknowledge = true;
+                        settled = true;
                         break;
                     }
                 }
@@ -523,38 +1627,46 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
             logger.error("[RedisStreamEventBus] Error in message handling flow: {}", e.getMessage(), e);
         }
         
-        if (!processed) {
+        if (!processed && !settled) {
             logger.error("[RedisStreamEventBus] Message processing failed without exception, moving to dead letter queue: ID={}", message.getId());
-            moveToDeadLetterQueue(message, "Processing failed without exception");
+            moveToDeadLetterQueue(message, "Processing failed without exception", group);
             // Acknowledge the original message after moving to dead letter queue
-            streamRedisTemplate.opsForStream().acknowledge(streamKey, groupName, message.getId());
+            acknowledge = true;
         }
+        return acknowledge;
     }
     
     /**
      * Extracts the eventId from a stream message without full deserialization.
-     * This is optimized for idempotency checks, avoiding the need to fully deserialize events.
+     * Entries written in wire format version 2 carry the eventId as a header field, so no parsing is needed;
+     * older entries fall back to reading the JSON tree.
      *
      * @param message The stream message to extract eventId from
      * @return eventId if extracted successfully, null otherwise
      */
-    private String extractEventIdFromMessage(MapRecord<String, String, String> message) {
+    String extractEventIdFromMessage(MapRecord<String, String, byte[]> message) {
+        String headerEventId = text(message.getValue().get(HEADER_EVENT_ID));
+        if (headerEventId != null) {
+            return headerEventId;
+        }
         try {
             // Get the serialized event from the message
-            String serializedEvent = message.getValue().get("event");
+            byte[] serializedEvent = message.getValue().get("event");
             if (serializedEvent == null) {
                 return null;
             }
             
-            logger.debug("[RedisStreamEventBus] Extracting eventId from serialized event: {}", serializedEvent);
+            if (!JacksonEventCodec.JSON.equals(codecIdOf(message)) || message.getValue().containsKey("compression")) {
+                // Binary or compressed payloads cannot be read as a JSON tree, decode the event instead
+                DomainEvent event = extractEventFromMessage(message);
+                return event == null ? null : event.getEventId();
+            }
             
-            // Create a simple ObjectMapper for parsing
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            logger.debug("[RedisStreamEventBus] Extracting eventId from serialized event ({} bytes)", serializedEvent.length);
             
             try {
-                // Parse the JSON to get eventId directly
-                JsonNode rootNode = mapper.readTree(serializedEvent);
+                // Parse the JSON to get eventId directly, the tree model ignores the default typing of the shared mapper
+                JsonNode rootNode = objectMapper.readTree(serializedEvent);
                 
                 // Handle both array format [eventType, eventData] and direct object format
                 JsonNode eventDataNode = rootNode;
@@ -601,55 +1713,93 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
      * @param message The stream message to extract event from
      * @return DomainEvent if extracted successfully, null otherwise
      */
-    private DomainEvent extractEventFromMessage(MapRecord<String, String, String> message) {
+    private DomainEvent extractEventFromMessage(MapRecord<String, String, byte[]> message) {
         try {
             // Get the serialized event and type from the message
-            String serializedEvent = message.getValue().get("event");
-            String eventType = message.getValue().get("type");
+            byte[] serializedEvent = message.getValue().get("event");
+            String eventType = text(message.getValue().get("type"));
             
             if (serializedEvent == null || eventType == null) {
                 return null;
             }
             
-            // Get the event class from the type map
-            Class<? extends DomainEvent> eventClass = eventTypeToClassMap.get(eventType);
-            
-            // Fallback: handle quoted event types (e.g., when RedisTemplate adds quotes)
-            if (eventClass == null) {
-                // Try removing quotes if present
-                String unquotedEventType = eventType;
-                if ((eventType.startsWith("\"") && eventType.endsWith("\"")) || 
-                    (eventType.startsWith("'") && eventType.endsWith("'"))) {
-                    unquotedEventType = eventType.substring(1, eventType.length() - 1);
-                    eventClass = eventTypeToClassMap.get(unquotedEventType);
-                }
-            }
-            
+            // Get the event class from the type header
+            Class<? extends DomainEvent> eventClass = resolveEventClass(eventType);
             if (eventClass == null) {
                 return null;
             }
             
             // Deserialize the event from JSON string
-            return deserializeDomainEvent(serializedEvent, eventClass);
+            return deserializeDomainEvent(serializedEvent, codecIdOf(message), text(message.getValue().get("compression")), eventClass);
         } catch (Exception e) {
             logger.error("[RedisStreamEventBus] Error extracting event from message: {}", e.getMessage(), e);
             return null;
         }
     }
     
+    /**
+     * Resolves the event class named by an entry's type header.
+     * Integer type IDs are resolved through an array indexed by ID; class names go through the type map.
+     *
+     * @param eventType Type header value, a type ID or a class name
+     * @return Subscribed event class, or null if no handler is registered for the type
+     */
+    private Class<? extends DomainEvent> resolveEventClass(String eventType) {
+        if (!eventType.isEmpty() && Character.isDigit(eventType.charAt(0))) {
+            int typeId = Integer.parseInt(eventType);
+            Class<? extends DomainEvent>[] classes = eventClassesByTypeId;
+            if (typeId < classes.length && classes[typeId] != null) {
+                return classes[typeId];
+            }
+            String className = typeRegistry.nameOf(typeId);
+            Class<? extends DomainEvent> eventClass = className == null ? null : eventTypeToClassMap.get(className);
+            if (eventClass != null) {
+                cacheEventClass(typeId, eventClass);
+            }
+            return eventClass;
+        }
+        
+        Class<? extends DomainEvent> eventClass = eventTypeToClassMap.get(eventType);
+        
+        // Fallback: handle quoted event types (e.g., when RedisTemplate adds quotes)
+        if (eventClass == null) {
+            if ((eventType.startsWith("\"") && eventType.endsWith("\"")) || 
+                (eventType.startsWith("'") && eventType.endsWith("'"))) {
+                String unquotedEventType = eventType.substring(1, eventType.length() - 1);
+                logger.debug("[RedisStreamEventBus] Trying unquoted event type: {}", unquotedEventType);
+                eventClass = eventTypeToClassMap.get(unquotedEventType);
+            }
+        }
+        return eventClass;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private synchronized void cacheEventClass(int typeId, Class<? extends DomainEvent> eventClass) {
+        Class<? extends DomainEvent>[] classes = eventClassesByTypeId;
+        Class<? extends DomainEvent>[] updated = (Class<? extends DomainEvent>[]) new Class<?>[Math.max(classes.length, typeId + 1)];
+        System.arraycopy(classes, 0, updated, 0, classes.length);
+        updated[typeId] = eventClass;
+        eventClassesByTypeId = updated;
+    }
+    
     /**
      * Internal method to handle stream message processing without retry logic.
      *
      * @param message The stream message to handle
+     * @param group Consumer group the message was read in
+     * @param batched Whether the message is handled as part of a batch whose success states are written together
      * @return true if processing was successful, false otherwise
      * @throws Exception if an error occurs during processing
      */
-    private boolean handleStreamMessageInternal(MapRecord<String, String, String> message) throws Exception {
+    private boolean handleStreamMessageInternal(MapRecord<String, String, byte[]> message, ConsumerGroup group,
+                                                boolean batched) throws Exception {
         // Deserialize context
-        String contextJson = message.getValue().get("context");
+        byte[] contextJson = message.getValue().get("context");
         if (contextJson != null) {
             try {
-                CommandContext context = objectMapper.readValue(contextJson, CommandContext.class);
+                String contextCodecId = text(message.getValue().get("contextCodec"));
+                CommandContext context = codecRegistry.get(contextCodecId != null ? contextCodecId : codecIdOf(message))
+                        .decode(contextJson, CommandContext.class);
                 CommandContextHolder.setContext(context);
             } catch (Exception e) {
                 logger.warn("[RedisStreamEventBus] Failed to deserialize context", e);
@@ -658,8 +1808,8 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
 
         try {
             // Get the serialized event and type from the message
-            String serializedEvent = message.getValue().get("event");
-            String eventType = message.getValue().get("type");
+            byte[] serializedEvent = message.getValue().get("event");
+            String eventType = text(message.getValue().get("type"));
             
             if (serializedEvent == null) {
                 logger.error("[RedisStreamEventBus] Missing 'event' field in stream message");
@@ -671,42 +1821,41 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
                 return false;
             }
             
-            // Get the event class from the type map
-            Class<? extends DomainEvent> eventClass = eventTypeToClassMap.get(eventType);
-            
-            // Fallback: handle quoted event types (e.g., when RedisTemplate adds quotes)
-            if (eventClass == null) {
-                // Try removing quotes if present
-                String unquotedEventType = eventType;
-                if ((eventType.startsWith("\"") && eventType.endsWith("\"")) || 
-                    (eventType.startsWith("'") && eventType.endsWith("'"))) {
-                    unquotedEventType = eventType.substring(1, eventType.length() - 1);
-                    logger.debug("[RedisStreamEventBus] Trying unquoted event type: {}", unquotedEventType);
-                    eventClass = eventTypeToClassMap.get(unquotedEventType);
-                }
-            }
-            
+            // Get the event class from the type header
+            Class<? extends DomainEvent> eventClass = resolveEventClass(eventType);
             if (eventClass == null) {
                 logger.error("[RedisStreamEventBus] No registered handler for event type: {}", eventType);
                 return false;
             }
             List<EventHandler> localHandlers = handlers.get(eventClass);
-            int handlerCount = localHandlers == null ? 0 : localHandlers.size();
+            int handlerCount = localHandlers == null ? 0
+                    : group.isShared() ? localHandlers.size()
+                    : group.handles(eventClass) && localHandlers.contains(group.getHandler()) ? 1 : 0;
             logger.info("[RedisStreamEventBus] Resolved event class: {}, handlers registered: {}", eventClass.getName(), handlerCount);
+            if (handlerCount == 0) {
+                // Routed on the type header alone, nothing to deserialize for
+                logger.info("[RedisStreamEventBus] No handlers left for event type {}, acknowledging without deserialization", eventType);
+                return true;
+            }
             
-            // Deserialize the event from JSON string using the comprehensive deserializeDomainEvent method
-            logger.debug("[RedisStreamEventBus] Deserializing event from JSON: {}", serializedEvent);
+            // Deserialize the event with the codec recorded in the entry, unless every handler only reads a view of it
+            String codecId = codecIdOf(message);
+            logger.debug("[RedisStreamEventBus] Deserializing event with codec: {}, {} bytes", codecId, serializedEvent.length);
             
-            DomainEvent event = deserializeDomainEvent(serializedEvent, eventClass);
+            EventPayload payload = new EventPayload(serializedEvent, codecId, text(message.getValue().get("compression")),
+                    eventClass, text(message.getValue().get(HEADER_EVENT_ID)));
+            boolean viewsOnly = group.isShared()
+                    ? localHandlers.stream().allMatch(viewTypes::containsKey)
+                    : viewTypes.containsKey(group.getHandler());
             
-            if (event != null) {
+            if (viewsOnly || payload.event() != null) {
                 // Publish to local handlers - this ensures idempotency checks are applied
-                publishToLocalHandlers(event);
+                publishToLocalHandlers(payload, group, batched);
                 
                 // Do NOT publish to Spring application event publisher to avoid duplicate processing
                 // applicationEventPublisher.publishEvent(event); // Removed to avoid duplicate processing
                 
-                logger.info("[RedisStreamEventBus] Successfully processed event: {}", event.getClass().getName());
+                logger.info("[RedisStreamEventBus] Successfully processed event: {}", eventClass.getName());
             } else {
                 // This is expected behavior if the event has been handled locally
                 logger.info("[RedisStreamEventBus] Event deserialization returned null, which is expected for domain events handled locally. Acknowledging message.");
@@ -721,16 +1870,117 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
     }
     
     /**
-     * Calculates the retry delay based on the retry count and exponential backoff setting.
+     * Gets the retry policy of a message's event type.
      *
-     * @param retryCount The current retry count (0-based)
-     * @return The calculated delay in milliseconds
+     * @param message The stream message
+     * @return Policy of the type, the default policy if the type is unknown
      */
-    private long calculateRetryDelay(int retryCount) {
-        if (exponentialBackoff) {
-            return (long) (initialRetryDelay * Math.pow(2, retryCount));
+    private RetryPolicy retryPolicyOf(MapRecord<String, String, byte[]> message) {
+        String eventType = text(message.getValue().get("type"));
+        return retryPolicies.policyFor(eventType == null ? null : resolveEventClass(eventType));
+    }
+    
+    /**
+     * Gets the number of attempts a message has already failed, recorded when it was parked for a delayed retry.
+     *
+     * @param message The stream message
+     * @return Failed attempts, 0 for a message read from the stream
+     */
+    private static int retryAttemptOf(MapRecord<String, String, byte[]> message) {
+        String attempt = text(message.getValue().get(HEADER_RETRY_ATTEMPT));
+        return attempt == null ? 0 : Integer.parseInt(attempt);
+    }
+    
+    /**
+     * Parks a failed message until its retry is due.
+     *
+     * @param message The failed message
+     * @param attempt Number of attempts failed so far
+     * @param delay Delay before the retry in milliseconds
+     * @param cause Failure of the last attempt
+     * @param group Consumer group the message failed in, recorded so that only that group retries it
+     * @return true if the message was parked, false if it stays pending
+     */
+    private boolean scheduleRetry(MapRecord<String, String, byte[]> message, int attempt, long delay, Exception cause,
+                                  ConsumerGroup group) {
+        String originalId = text(message.getValue().get(HEADER_RETRY_OF));
+        if (originalId == null) {
+            originalId = message.getId().getValue();
+        }
+        Map<String, byte[]> fields = new LinkedHashMap<>(message.getValue());
+        fields.put(HEADER_RETRY_ATTEMPT, bytes(String.valueOf(attempt)));
+        fields.put(HEADER_RETRY_OF, bytes(originalId));
+        String retryKey = message.getStream() + "|" + originalId;
+        if (!group.isShared()) {
+            fields.put(HEADER_CONSUMER_GROUP, bytes(group.getName()));
+            retryKey = retryKey + "|" + group.getName();
+        }
+        try {
+            retryService.schedule(retryKey + "|" + attempt,
+                    new StreamEntry(message.getStream(), fields), System.currentTimeMillis() + delay);
+            metrics.increment("consume.retry-scheduled-total");
+            logger.warn("[RedisStreamEventBus] Failed to process message, retry {} due in {}ms: ID={}, Error: {}",
+                    attempt, delay, originalId, cause.getMessage());
+            return true;
+        } catch (Exception e) {
+            logger.error("[RedisStreamEventBus] Failed to schedule retry, leaving message pending: ID={}, Error: {}",
+                    originalId, e.getMessage(), e);
+            return false;
+        }
+    }
+    
+    /**
+     * Takes the parked messages whose retry is due and handles them again, on the worker pool or virtual
+     * threads when enabled. A retry is removed once handled; one that fails again is parked anew for its
+     * next attempt, or moved to the dead letter queue once its retries are exhausted.
+     */
+    private void fireDueRetries() {
+        try {
+            Map<String, StreamEntry> due = retryService.claimDue(retryProperties.getBatchSize(), retryProperties.getLeaseTimeout());
+            for (Map.Entry<String, StreamEntry> retry : due.entrySet()) {
+                StreamEntry entry = retry.getValue();
+                MapRecord<String, String, byte[]> message = StreamRecords.newRecord()
+                        .in(entry.getStreamKey())
+                        .withId(RecordId.of(text(entry.getFields().get(HEADER_RETRY_OF))))
+                        .ofMap(entry.getFields());
+                if (isDispatching()) {
+                    dispatch(orderingKeyOf(message), () -> runRetry(retry.getKey(), message));
+                } else {
+                    runRetry(retry.getKey(), message);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("[RedisStreamEventBus] Error firing due retries: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Handles a parked message whose retry is due.
+     *
+     * @param retryId ID of the retry
+     * @param message The parked message
+     */
+    private void runRetry(String retryId, MapRecord<String, String, byte[]> message) {
+        metrics.increment("consume.retry-fired");
+        String groupOfRetry = text(message.getValue().get(HEADER_CONSUMER_GROUP));
+        ConsumerGroup group = groupOfRetry == null ? sharedGroup : handlerGroups.get(groupOfRetry);
+        if (group == null) {
+            // The handler is gone or handler groups were disabled, keep the message for a replay
+            logger.warn("[RedisStreamEventBus] Consumer group {} of retry no longer exists, moving to dead letter queue: ID={}",
+                    groupOfRetry, message.getId());
+            moveToDeadLetterQueue(message, "Consumer group " + groupOfRetry + " no longer exists", sharedGroup);
+            retryService.complete(retryId);
+            return;
+        }
+        String eventId = group.idempotencyKeyOf(extractEventIdFromMessage(message));
+        IdempotencyService.ProcessingStatus status = idempotencyProperties.isEnabled() && eventId != null
+                ? idempotencyService.getStatus(eventId)
+                : null;
+        if (processMessageWithRetry(message, eventId, status, null, group)) {
+            retryService.complete(retryId);
         }
-        return initialRetryDelay;
     }
     
     /**
@@ -738,22 +1988,23 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
      *
      * @param message The message to move
      * @param reason The reason for moving to dead letter queue
+     * @param group Consumer group the message failed in, recorded on the entry unless it is the shared group
      */
-    private void moveToDeadLetterQueue(MapRecord<String, String, String> message, String reason) {
+    private void moveToDeadLetterQueue(MapRecord<String, String, byte[]> message, String reason, ConsumerGroup group) {
         try {
             // Use a more efficient capacity calculation based on message size + additional fields
-            Map<String, String> deadLetterEntry = new HashMap<>(message.getValue().size() + 4);
+            Map<String, byte[]> deadLetterEntry = new HashMap<>(message.getValue().size() + 4);
             deadLetterEntry.putAll(message.getValue());
-            deadLetterEntry.put("deadLetterReason", reason);
-            deadLetterEntry.put("deadLetterTimestamp", String.valueOf(System.currentTimeMillis()));
-            deadLetterEntry.put("originalStream", message.getStream());
-            deadLetterEntry.put("originalId", message.getId().getValue());
-            
-            // Add dead letter entry
-            streamRedisTemplate.opsForStream().add(
-                StreamRecords.newRecord().in(deadLetterStream)
-                    .ofMap(deadLetterEntry)
-            );
+            deadLetterEntry.put("deadLetterReason", bytes(reason));
+            deadLetterEntry.put("deadLetterTimestamp", bytes(String.valueOf(System.currentTimeMillis())));
+            deadLetterEntry.put("originalStream", bytes(message.getStream()));
+            deadLetterEntry.put("originalId", bytes(message.getId().getValue()));
+            if (!group.isShared()) {
+                deadLetterEntry.put(HEADER_CONSUMER_GROUP, bytes(group.getName()));
+            }
+            
+            // Add dead letter entry, copied byte for byte and never trimmed on append
+            streamWriter.writeOne(new StreamEntry(deadLetterStream, deadLetterEntry), RedisStreamCommands.XAddOptions.none());
             logger.info("[RedisStreamEventBus] Moved message to dead letter queue: ID={}, DeadLetterStream={}", 
                        message.getId(), deadLetterStream);
         } catch (Exception e) {
@@ -763,18 +2014,22 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
     }
     
     /**
-     * Deserializes a JSON string to a DomainEvent.
+     * Deserializes an encoded payload to a DomainEvent.
      *
-     * @param json The JSON string to deserialize
+     * @param data The encoded event
+     * @param codecId ID of the codec that wrote the entry, null for entries written before codec IDs were recorded
+     * @param compressionId ID of the compressor applied to the payload, null if it is not compressed
      * @param eventClass The specific DomainEvent class to deserialize to
      * @return The deserialized DomainEvent, or null if deserialization is not possible
      */
-    private DomainEvent deserializeDomainEvent(String json, Class<? extends DomainEvent> eventClass) {
+    private DomainEvent deserializeDomainEvent(byte[] data, String codecId, String compressionId, Class<? extends DomainEvent> eventClass) {
         try {
-            // Use the shared optimized ObjectMapper for deserialization
-            // Since we now store plain JSON strings in Redis (not wrapped in arrays),
-            // direct deserialization should work in most cases.
-            return objectMapper.readValue(json, eventClass);
+            data = decompress(data, compressionId);
+            long start = System.nanoTime();
+            DomainEvent event = codecRegistry.get(codecId).decode(data, eventClass);
+            metrics.add("codec.decode-nanos", System.nanoTime() - start);
+            metrics.increment("codec.decoded-events");
+            return event;
         } catch (InvalidDefinitionException e) {
             // Expected case: Domain events often don't have default constructors
             logger.warn("[RedisStreamEventBus] Cannot deserialize {} due to missing constructor. This is normal if the event has been handled locally.", eventClass.getName());
@@ -785,147 +2040,787 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
         }
     }
     
+    /**
+     * Decompresses an encoded payload with the compressor recorded in its entry.
+     *
+     * @param data The payload as stored
+     * @param compressionId ID of the compressor applied to the payload, null if it is not compressed
+     * @return The encoded event
+     */
+    private byte[] decompress(byte[] data, String compressionId) {
+        if (compressionId == null) {
+            return data;
+        }
+        long start = System.nanoTime();
+        byte[] decompressed = compressorRegistry.get(compressionId).decompress(data);
+        metrics.add("compression.decompress-nanos", System.nanoTime() - start);
+        return decompressed;
+    }
+    
+    /**
+     * Binds a handler's view straight from an encoded event, without building the event itself.
+     * byte[] views get the payload as written by the entry's codec; other views are bound by Jackson codecs,
+     * which only read the fields the view declares.
+     *
+     * @param payload Encoded event
+     * @param viewType View type declared by the handler
+     * @return The view, or null if the entry's codec cannot bind views or binding fails
+     */
+    private Object bindView(EventPayload payload, Class<?> viewType) {
+        if (viewType == byte[].class) {
+            return payload.payload();
+        }
+        EventCodec entryCodec = codecRegistry.get(payload.codecId);
+        if (!(entryCodec instanceof JacksonEventCodec)) {
+            return null;
+        }
+        try {
+            long start = System.nanoTime();
+            Object view = ((JacksonEventCodec) entryCodec).decodeView(payload.payload(), viewType);
+            metrics.add("codec.view-decode-nanos", System.nanoTime() - start);
+            metrics.increment("codec.decoded-views");
+            return view;
+        } catch (Exception e) {
+            logger.warn("[RedisStreamEventBus] Cannot bind view {} of {}: {}", viewType.getName(), payload.eventClass.getName(), e.getMessage());
+            return null;
+        }
+    }
+    
     /**
      * Publishes event to local handlers with idempotency check.
      * This ensures each event is processed only once, even if it's received multiple times.
+     * A handler's group only invokes its own handler, its progress is tracked by the group alone.
+     * The statuses of the handlers are read in one round trip. The caller marks the event itself as processed;
+     * for batched events the handlers' success states are only written when another handler failed, since
+     * otherwise the event's success state, written with the rest of the batch, covers them.
      *
-     * @param event Domain event to publish
+     * @param payload Encoded event to publish
+     * @param group Consumer group the event was read in
+     * @param batched Whether the event is handled as part of a batch whose success states are written together
      */
-    private void publishToLocalHandlers(DomainEvent event) throws Exception {
-        List<EventHandler> eventHandlers = handlers.get(event.getClass());
-        if (eventHandlers != null && event != null) {
+    private void publishToLocalHandlers(EventPayload payload, ConsumerGroup group, boolean batched) throws Exception {
+        if (!group.isShared()) {
+            logger.info("[RedisStreamEventBus] Invoking local handler of group {}, eventId={}, eventType={}",
+                    group, payload.eventId(), payload.eventClass.getName());
+            handleLocally(group.getHandler(), payload);
+            return;
+        }
+        List<EventHandler> eventHandlers = handlers.get(payload.eventClass);
+        if (eventHandlers != null) {
+            String eventId = payload.eventId();
             logger.info("[RedisStreamEventBus] Preparing to publish to local handlers, eventType={}, eventId={}, handlers={}", 
-                    event.getClass().getName(), event.getEventId(), eventHandlers.size());
-            
-            String eventId = event.getEventId();
+                    payload.eventClass.getName(), eventId, eventHandlers.size());
             
             // DomainEventContext 中没有 setStreamConsumer 方法，删除该行代码
             // Flag to track if any handler failed
             boolean anyHandlerFailed = false;
+            boolean tracked = idempotencyProperties.isEnabled() && eventId != null;
+            Map<String, IdempotencyService.ProcessingStatus> handlerStatuses = Collections.emptyMap();
+            if (tracked) {
+                List<String> handlerEventIds = new ArrayList<>(eventHandlers.size());
+                for (EventHandler handler : eventHandlers) {
+                    handlerEventIds.add(handlerEventIdOf(eventId, handler));
+                }
+                handlerStatuses = idempotencyService.getStatuses(handlerEventIds);
+            }
+            List<String> succeededHandlerIds = tracked && batched ? Collections.synchronizedList(new ArrayList<>()) : null;
+            Map<String, IdempotencyService.ProcessingStatus> statuses = handlerStatuses;
             
-            for (EventHandler handler : eventHandlers) {
-                String handlerName = handler.getClass().getName();
-                // Generate a unique ID for this specific handler execution
-                String handlerEventId = eventId + "::" + handlerName;
-                
-                try {
-                    // Check if this specific handler has already successfully processed this event
-                    if (idempotencyProperties.isEnabled() && eventId != null) {
-                        IdempotencyService.ProcessingStatus handlerStatus = idempotencyService.getStatus(handlerEventId);
-                        if (handlerStatus == IdempotencyService.ProcessingStatus.SUCCESS) {
-                            logger.info("[RedisStreamEventBus] Event already processed by handler {}, skipping: eventId={}", 
-                                    handlerName, eventId);
-                            continue;
-                        }
+            if (handlerFanOut != null && eventHandlers.size() > 1) {
+                // Independent handlers run at the same time and are all joined before the message is acknowledged
+                for (HandlerFanOut.Outcome<EventHandler> outcome : handlerFanOut.invokeAll(eventHandlers,
+                        handler -> invokeLocalHandler(handler, payload, eventId, statuses, succeededHandlerIds))) {
+                    if (outcome.isSuccess()) {
+                        continue;
                     }
-                    
-                    logger.info("[RedisStreamEventBus] Invoking local handler: {}, eventId={}, eventType={}", 
-                            handlerName, eventId, event.getClass().getName());
-                    handler.handle(event);
-                    
-                    // Mark this specific handler as successful
-                    if (idempotencyProperties.isEnabled() && eventId != null) {
-                        idempotencyService.markAsSuccess(handlerEventId, new HashMap<>());
+                    anyHandlerFailed = true;
+                    if (outcome.isTimedOut()) {
+                        String handlerName = outcome.getHandler().getClass().getName();
+                        metrics.increment("consume.handler-timeouts");
+                        logger.error("[RedisStreamEventBus] Local handler timed out: {}, eventId={}", handlerName, eventId);
+                        if (tracked) {
+                            idempotencyService.markAsFailed(handlerEventIdOf(eventId, outcome.getHandler()), outcome.getFailure().getMessage());
+                        }
                     }
-                } catch (Exception e) {
-                    logger.error("[RedisStreamEventBus] Error handling event by local handler: {}", 
-                            handlerName, e);
-                    // Mark as failed if idempotency is enabled - for this specific handler
-                    if (idempotencyProperties.isEnabled() && eventId != null) {
-                        idempotencyService.markAsFailed(handlerEventId, e.getMessage());
+                }
+            } else {
+                for (EventHandler handler : eventHandlers) {
+                    try {
+                        invokeLocalHandler(handler, payload, eventId, statuses, succeededHandlerIds);
+                    } catch (Exception e) {
+                        // Don't rethrow immediately, continue to other handlers but mark as failed
+                        anyHandlerFailed = true;
                     }
-                    // Don't rethrow immediately, continue to other handlers but mark as failed
-                    anyHandlerFailed = true;
                 }
             }
             // DomainEventContext 中没有 setStreamConsumer 方法，删除该行代码
             
             if (anyHandlerFailed) {
+                // Successfully executed handlers won't run again due to idempotency check
+                if (succeededHandlerIds != null && !succeededHandlerIds.isEmpty()) {
+                    idempotencyService.markAsSuccess(succeededHandlerIds);
+                }
                 // If any handler failed, throw exception to trigger Redis Stream retry
-                // But successfully executed handlers won't run again due to idempotency check
                 throw new RuntimeException("One or more handlers failed to process event " + eventId);
             }
+            logger.info("[RedisStreamEventBus] Completed publish to local handlers, eventId={}", eventId);
+        }
+    }
+    
+    /**
+     * Invokes one local handler unless it already processed the event, recording its outcome per handler
+     * so that a redelivery only runs the handlers that did not succeed.
+     *
+     * @param handler Handler to invoke
+     * @param payload Encoded event to handle
+     * @param eventId ID of the event
+     * @param handlerStatuses Idempotency statuses of the event's handlers, by {@link #handlerEventIdOf(String, EventHandler)}
+     * @param succeededHandlerIds Collects the handler IDs that succeeded, to be marked only if another handler fails;
+     *                            null to mark each handler as soon as it succeeds
+     * @throws Exception if the handler fails
+     */
+    private void invokeLocalHandler(EventHandler handler, EventPayload payload, String eventId,
+                                    Map<String, IdempotencyService.ProcessingStatus> handlerStatuses,
+                                    List<String> succeededHandlerIds) throws Exception {
+        String handlerName = handler.getClass().getName();
+        // Generate a unique ID for this specific handler execution
+        String handlerEventId = handlerEventIdOf(eventId, handler);
+        
+        try {
+            // Check if this specific handler has already successfully processed this event
+            if (idempotencyProperties.isEnabled() && eventId != null) {
+                IdempotencyService.ProcessingStatus handlerStatus = handlerStatuses.get(handlerEventId);
+                if (handlerStatus == IdempotencyService.ProcessingStatus.SUCCESS) {
+                    logger.info("[RedisStreamEventBus] Event already processed by handler {}, skipping: eventId={}", 
+                            handlerName, eventId);
+                    return;
+                }
+            }
+            
+            logger.info("[RedisStreamEventBus] Invoking local handler: {}, eventId={}, eventType={}", 
+                    handlerName, eventId, payload.eventClass.getName());
+            handleLocally(handler, payload);
             
-            // Mark as success if idempotency is enabled - for the overall event
-            // Only if ALL handlers succeeded
+            // Mark this specific handler as successful
             if (idempotencyProperties.isEnabled() && eventId != null) {
-                idempotencyService.markAsSuccess(eventId, new HashMap<>());
+                if (succeededHandlerIds != null) {
+                    succeededHandlerIds.add(handlerEventId);
+                } else {
+                    idempotencyService.markAsSuccess(handlerEventId, new HashMap<>());
+                }
             }
-            logger.info("[RedisStreamEventBus] Completed publish to local handlers, eventId={}", eventId);
+        } catch (Exception e) {
+            logger.error("[RedisStreamEventBus] Error handling event by local handler: {}", 
+                    handlerName, e);
+            // Mark as failed if idempotency is enabled - for this specific handler
+            if (idempotencyProperties.isEnabled() && eventId != null) {
+                idempotencyService.markAsFailed(handlerEventId, e.getMessage());
+            }
+            throw e;
         }
     }
     
+    /**
+     * Gets the idempotency ID of one handler's execution of an event.
+     *
+     * @param eventId ID of the event
+     * @param handler Handler of the event
+     * @return Handler execution ID
+     */
+    private static String handlerEventIdOf(String eventId, EventHandler handler) {
+        return eventId + "::" + handler.getClass().getName();
+    }
+    
+    /**
+     * Hands an event to one handler, as its view for view handlers and as the full event otherwise.
+     * A view handler whose view cannot be bound falls back to mapping the full event.
+     *
+     * @param handler Handler to invoke
+     * @param payload Encoded event
+     * @throws Exception if the handler fails
+     */
+    @SuppressWarnings("unchecked")
+    private void handleLocally(EventHandler<?> handler, EventPayload payload) throws Exception {
+        Class<?> viewType = viewTypes.get(handler);
+        if (viewType != null) {
+            Object view = payload.view(viewType);
+            if (view != null) {
+                ((EventViewHandler<DomainEvent, Object>) handler).handleView(view);
+                return;
+            }
+            metrics.increment("codec.view-fallbacks");
+        }
+        DomainEvent event = payload.event();
+        if (event == null) {
+            logger.warn("[RedisStreamEventBus] Event {} cannot be deserialized for handler {}, skipping",
+                    payload.eventClass.getName(), handler.getClass().getName());
+            return;
+        }
+        ((EventHandler<DomainEvent>) handler).handle(event);
+    }
+    
+    /**
+     * Publishes a domain event.
+     * Outside a transaction the call returns once Redis has appended or spilled the event, also when
+     * batched publishing is enabled, and a failed append is thrown. Inside an active transaction the event
+     * is stored in the outbox, or sent after commit without waiting; a failure after commit is only logged,
+     * callers that need it use {@link #publishAsync(DomainEvent)}.
+     *
+     * @param event Domain event to publish
+     * @throws BaseException if the event could not be published
+     */
     @Override
     public void publish(DomainEvent event) throws BaseException {
         try {
             // Capture context
             final CommandContext context = CommandContextHolder.getContext();
             
-            // Define the publish action
-            Runnable publishAction = () -> {
-                try {
-                    logger.info("[RedisStreamEventBus] Publishing event: {} to stream: {}, eventId: {}", 
-                               event.getClass().getName(), streamKey, event.getEventId());
-                    
-                    // Create stream entry with field-value pairs
-                    Map<String, String> entry = new HashMap<>(3);
-                    
-                    // Serialize event
-                    String eventJson = objectMapper.writeValueAsString(event);
-                    entry.put("event", eventJson);
-                    entry.put("type", event.getClass().getName());
-                    
-                    // Serialize context if available
-                    if (context != null) {
-                        try {
-                            String contextJson = objectMapper.writeValueAsString(context);
-                            entry.put("context", contextJson);
-                        } catch (Exception e) {
-                            logger.warn("[RedisStreamEventBus] Failed to serialize context", e);
-                        }
-                    }
-                    
-                    logger.debug("[RedisStreamEventBus] Stream entry created: {}", entry);
-                    
-                    StreamOperations<String, String, String> streamOps = streamRedisTemplate.opsForStream();
-                    Object recordId = streamOps.add(streamKey, entry);
-                    
-                    logger.info("[RedisStreamEventBus] Event published to stream: {}, recordId: {}, eventId: {}", 
-                               event.getClass().getName(), recordId, event.getEventId());
-                } catch (Exception e) {
-                    logger.error("[RedisStreamEventBus] Error publishing event in action: {}", e.getMessage(), e);
-                    throw new RuntimeException("Failed to publish event to Redis Stream", e);
-                }
-            };
-
             // Check if transaction is active
+            if (outboxStore != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                // Stored with the business data, so the event survives a crash right after commit
+                outboxStore.append(List.of(toStreamEntry(event, context)));
+                logger.info("[RedisStreamEventBus] Transaction active, stored event in outbox: {}", event.getEventId());
+                return;
+            }
+            
             if (TransactionSynchronizationManager.isActualTransactionActive()) {
                 logger.info("[RedisStreamEventBus] Transaction active, registering synchronization for event: {}", event.getEventId());
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        try {
-                            publishAction.run();
-                        } catch (Exception e) {
-                            logger.error("[RedisStreamEventBus] Error publishing event after commit: {}", e.getMessage(), e);
-                        }
+                // Sent without waiting for the reply, so the committing thread does not park on Redis I/O
+                runAfterCommit(() -> {
+                    try {
+                        logPublishOutcome(event, submitEntry(toStreamEntry(event, context)));
+                    } catch (Exception e) {
+                        logger.error("[RedisStreamEventBus] Error publishing event in action: {}", e.getMessage(), e);
                     }
-                });
-            } else {
-                publishAction.run();
+                }, null);
+                return;
             }
             
+            StreamEntry entry = toStreamEntry(event, context);
+            logger.info("[RedisStreamEventBus] Publishing event: {} to stream: {}, eventId: {}", 
+                       event.getClass().getName(), entry.getStreamKey(), event.getEventId());
+            
+            // Queued for the next pipelined flush when batching is enabled; the caller waits for that flush
+            RecordId recordId = batchPublisher != null ? awaitAppend(batchPublisher.submit(entry)) : writeOrSpill(entry);
+            logger.info("[RedisStreamEventBus] Event published to stream: {}, recordId: {}, eventId: {}", 
+                       event.getClass().getName(), recordId, event.getEventId());
         } catch (Exception e) {
             logger.error("[RedisStreamEventBus] Error publishing event: {}", e.getMessage(), e);
             throw new BaseException(BaseErrorCode.SYSTEM_ERROR.getCode(), "Failed to publish event to Redis Stream", e);
         }
     }
     
+    /**
+     * Publishes domain events in order, with the same delivery guarantees as {@link #publish(DomainEvent)}.
+     * With batched publishing every event is queued before the call waits, and the first failure is thrown
+     * once all of them have been appended or rejected.
+     *
+     * @param events Domain events to publish
+     * @throws BaseException if any event could not be published
+     */
+    @Override
+    public void publishAll(Collection<? extends DomainEvent> events) throws BaseException {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        try {
+            // Capture context and the events as they are now
+            final CommandContext context = CommandContextHolder.getContext();
+            final List<DomainEvent> pending = new ArrayList<>(events);
+            
+            if (outboxStore != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                outboxStore.append(buildStreamEntries(pending, context));
+                logger.info("[RedisStreamEventBus] Transaction active, stored {} events in outbox", pending.size());
+                return;
+            }
+            
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                logger.info("[RedisStreamEventBus] Transaction active, registering synchronization for {} events", pending.size());
+                runAfterCommit(() -> {
+                    try {
+                        // Sent without waiting for the replies; the driver keeps them in order on the connection
+                        List<StreamEntry> entries = buildStreamEntries(pending, context);
+                        for (int i = 0; i < entries.size(); i++) {
+                            logPublishOutcome(pending.get(i), submitEntry(entries.get(i)));
+                        }
+                    } catch (Exception e) {
+                        logger.error("[RedisStreamEventBus] Error publishing events in action: {}", e.getMessage(), e);
+                    }
+                }, null);
+                return;
+            }
+            
+            List<StreamEntry> entries = buildStreamEntries(pending, context);
+            if (batchPublisher != null) {
+                // Everything is queued before waiting, so the events share as few flushes as possible
+                List<CompletableFuture<RecordId>> futures = new ArrayList<>(entries.size());
+                for (StreamEntry entry : entries) {
+                    futures.add(batchPublisher.submit(entry));
+                }
+                List<RecordId> recordIds = new ArrayList<>(futures.size());
+                Exception failure = null;
+                for (CompletableFuture<RecordId> future : futures) {
+                    try {
+                        recordIds.add(awaitAppend(future));
+                    } catch (Exception e) {
+                        failure = failure == null ? e : failure;
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                logger.info("[RedisStreamEventBus] Published {} events through the batch publisher, recordIds: {}", 
+                           entries.size(), recordIds);
+                return;
+            }
+            
+            // All events share one pipelined round trip
+            List<RecordId> recordIds = writeOrSpill(entries);
+            logger.info("[RedisStreamEventBus] Published {} events in one pipeline, recordIds: {}", 
+                       entries.size(), recordIds);
+        } catch (Exception e) {
+            logger.error("[RedisStreamEventBus] Error publishing events: {}", e.getMessage(), e);
+            throw new BaseException(BaseErrorCode.SYSTEM_ERROR.getCode(), "Failed to publish events to Redis Stream", e);
+        }
+    }
+    
+    /**
+     * Publishes a domain event without blocking the calling thread.
+     * Entries go through the batching publisher when it is enabled, otherwise through the reactive
+     * stream commands of the connection factory. Inside an active transaction the event is sent after
+     * commit, and the future fails if the transaction rolls back. With the outbox enabled the event is
+     * stored in the transaction instead, and the future completes with null once it commits.
+     *
+     * @param event Domain event to publish
+     * @return Future completed with the record ID assigned by Redis
+     */
+    @Override
+    public CompletableFuture<RecordId> publishAsync(DomainEvent event) {
+        final StreamEntry entry;
+        try {
+            entry = toStreamEntry(event, CommandContextHolder.getContext());
+        } catch (Exception e) {
+            logger.error("[RedisStreamEventBus] Error serializing event: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(
+                    new BaseException(BaseErrorCode.SYSTEM_ERROR.getCode(), "Failed to serialize event for Redis Stream", e));
+        }
+        
+        if (outboxStore != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The record ID is only known once the relay has run, the future completes with null on commit
+            CompletableFuture<RecordId> future = new CompletableFuture<>();
+            try {
+                outboxStore.append(List.of(entry));
+            } catch (Exception e) {
+                logger.error("[RedisStreamEventBus] Error storing event in outbox: {}", e.getMessage(), e);
+                return CompletableFuture.failedFuture(
+                        new BaseException(BaseErrorCode.SYSTEM_ERROR.getCode(), "Failed to store event in outbox", e));
+            }
+            runAfterCommit(
+                () -> future.complete(null),
+                () -> future.completeExceptionally(new IllegalStateException("Transaction did not commit, event not published: " + event.getEventId()))
+            );
+            return future;
+        }
+        
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            CompletableFuture<RecordId> future = new CompletableFuture<>();
+            runAfterCommit(
+                () -> submitEntry(entry).whenComplete((recordId, ex) -> {
+                    if (ex != null) {
+                        future.completeExceptionally(ex);
+                    } else {
+                        future.complete(recordId);
+                    }
+                }),
+                () -> future.completeExceptionally(new IllegalStateException("Transaction did not commit, event not published: " + event.getEventId()))
+            );
+            return future;
+        }
+        return submitEntry(entry);
+    }
+    
+    /**
+     * Stores events in the active transaction when the outbox is enabled, so callers that defer the events
+     * of a transaction hand them over before commit.
+     *
+     * @return true if an outbox store is configured
+     */
+    @Override
+    public boolean isTransactional() {
+        return outboxStore != null;
+    }
+    
+    /**
+     * Runs an action once the current transaction has committed.
+     * The action is bound to afterCompletion rather than afterCommit: callers such as the repository
+     * event aspect publish from their own afterCommit callback when the outbox is disabled, and
+     * synchronizations registered at that point only receive afterCompletion.
+     *
+     * @param action Action to run after a successful commit
+     * @param onRollback Action to run if the transaction did not commit, may be null
+     */
+    private void runAfterCommit(Runnable action, Runnable onRollback) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    try {
+                        action.run();
+                    } catch (Exception e) {
+                        logger.error("[RedisStreamEventBus] Error publishing event after commit: {}", e.getMessage(), e);
+                    }
+                } else if (onRollback != null) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Submits a prepared entry without blocking: to the batching publisher when enabled, otherwise
+     * through the async writer. Falls back to a blocking append when the connection factory is not reactive.
+     *
+     * @param entry Entry to append
+     * @return Future completed with the record ID assigned by Redis
+     */
+    private CompletableFuture<RecordId> submitEntry(StreamEntry entry) {
+        if (batchPublisher != null) {
+            return batchPublisher.submit(entry);
+        }
+        if (asyncWriter != null && (spillHandler == null || spillHandler.size() == 0)) {
+            CompletableFuture<RecordId> future = asyncWriter.write(entry);
+            return spillHandler == null ? future : future.exceptionallyCompose(ex -> {
+                try {
+                    return CompletableFuture.completedFuture(spill(List.of(entry), ex).get(0));
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            });
+        }
+        try {
+            return CompletableFuture.completedFuture(writeOrSpill(entry));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Appends an entry, or spills it when Redis rejects the append or earlier entries are still spilled.
+     *
+     * @param entry Entry to append
+     * @return Record ID assigned by Redis, null if the entry was spilled
+     * @throws IOException if the entry could not be spilled
+     */
+    private RecordId writeOrSpill(StreamEntry entry) throws IOException {
+        return writeOrSpill(List.of(entry)).get(0);
+    }
+    
+    /**
+     * Appends entries in one pipeline, or spills them when Redis rejects the append or earlier entries are
+     * still spilled, so spilled entries are never overtaken.
+     *
+     * @param entries Entries to append, in order
+     * @return Record IDs assigned by Redis, null for spilled entries
+     * @throws IOException if the entries could not be spilled
+     */
+    private List<RecordId> writeOrSpill(List<StreamEntry> entries) throws IOException {
+        if (spillHandler == null) {
+            return entries.size() == 1 ? List.of(streamWriter.writeOne(entries.get(0))) : streamWriter.write(entries);
+        }
+        if (spillHandler.size() > 0) {
+            return spill(entries, null);
+        }
+        try {
+            return entries.size() == 1 ? List.of(streamWriter.writeOne(entries.get(0))) : streamWriter.write(entries);
+        } catch (Exception e) {
+            return spill(entries, e);
+        }
+    }
+    
+    /**
+     * Spills entries that were not appended.
+     *
+     * @param entries Entries to spill, in order
+     * @param cause Append failure, null if the entries are spilled to stay behind earlier spilled entries
+     * @return One null record ID per entry
+     * @throws IOException if the entries could not be spilled
+     */
+    private List<RecordId> spill(List<StreamEntry> entries, Throwable cause) throws IOException {
+        if (cause != null) {
+            logger.warn("[RedisStreamEventBus] Append failed, spilling {} entries: {}", entries.size(), cause.getMessage());
+        }
+        for (StreamEntry entry : entries) {
+            spillHandler.spill(entry);
+        }
+        metrics.add("publish.spilled", entries.size());
+        return Arrays.asList(new RecordId[entries.size()]);
+    }
+    
+    /**
+     * Replays spilled entries in order, one pipelined batch at a time, until the spill is empty or Redis
+     * rejects the append. Used when batched publishing is disabled; the batch publisher replays its own spill.
+     */
+    private void replaySpilled() {
+        try {
+            while (spillHandler.size() > 0) {
+                List<StreamEntry> entries = spillHandler.peek(spoolProperties.getReplayBatchSize());
+                if (entries.isEmpty()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                streamWriter.write(entries);
+                spillHandler.remove(entries.size());
+                metrics.add("publish.spill-replayed", entries.size());
+                metrics.add("publish.spill-replay-nanos", System.nanoTime() - start);
+                logger.debug("[RedisStreamEventBus] Replayed {} spilled entries", entries.size());
+            }
+        } catch (Exception e) {
+            metrics.increment("publish.spill-replay-errors");
+            logger.warn("[RedisStreamEventBus] Error replaying spilled entries, will retry: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Waits for an append submitted to the batching publisher.
+     *
+     * @param future Future of the append
+     * @return Record ID assigned by Redis, null if the entry was spilled
+     * @throws Exception the append failure, or InterruptedException if interrupted while waiting
+     */
+    private RecordId awaitAppend(CompletableFuture<RecordId> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+    
+    /**
+     * Logs the outcome of a non-blocking publish once Redis has replied.
+     *
+     * @param event Published domain event
+     * @param future Future of the append
+     */
+    private void logPublishOutcome(DomainEvent event, CompletableFuture<RecordId> future) {
+        future.whenComplete((recordId, ex) -> {
+            if (ex != null) {
+                logger.error("[RedisStreamEventBus] Error publishing event: eventId={}, error={}", 
+                           event.getEventId(), ex.getMessage(), ex);
+            } else {
+                logger.info("[RedisStreamEventBus] Event published to stream: {}, recordId: {}, eventId: {}", 
+                           event.getClass().getName(), recordId, event.getEventId());
+            }
+        });
+    }
+    
+    /**
+     * Builds the stream entries for a list of events, in order.
+     *
+     * @param events Domain events to serialize
+     * @param context Command context captured on the publishing thread, may be null
+     * @return Stream entries
+     * @throws Exception if an event cannot be serialized
+     */
+    private List<StreamEntry> buildStreamEntries(List<DomainEvent> events, CommandContext context) throws Exception {
+        List<StreamEntry> entries = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            entries.add(toStreamEntry(event, context));
+        }
+        return entries;
+    }
+    
+    /**
+     * Builds the stream entry for an event, addressed to the stream of its route and partition.
+     *
+     * @param event Domain event to serialize
+     * @param context Command context captured on the publishing thread, may be null
+     * @return Stream entry
+     * @throws Exception if the event cannot be serialized
+     */
+    private StreamEntry toStreamEntry(DomainEvent event, CommandContext context) throws Exception {
+        String key = partitioner.streamKeyFor(router.streamKeyFor(event.getClass()), event);
+        if (router.isEnabled()) {
+            // Routed streams may have no consumer on this node, remember them for trimming
+            publishedStreams.add(key);
+        }
+        return new StreamEntry(key, buildStreamEntry(event, context));
+    }
+    
+    /**
+     * Builds the stream entry field-value pairs for an event.
+     *
+     * @param event Domain event to serialize
+     * @param context Command context captured on the publishing thread, may be null
+     * @return Field-value pairs of the stream entry
+     * @throws Exception if the event cannot be serialized
+     */
+    Map<String, byte[]> buildStreamEntry(DomainEvent event, CommandContext context) throws Exception {
+        // Create stream entry with field-value pairs
+        Map<String, byte[]> entry = new HashMap<>(16);
+        
+        // Serialize event
+        long start = System.nanoTime();
+        byte[] payload = codec.encode(event);
+        metrics.add("codec.encode-nanos", System.nanoTime() - start);
+        metrics.add("codec.encoded-bytes", payload.length);
+        metrics.increment("codec.encoded-events");
+        entry.put("type", bytes(compactTypes
+                ? String.valueOf(typeRegistry.idOf(event.getClass()))
+                : event.getClass().getName()));
+        entry.put("codec", bytes(codec.id()));
+        
+        // Header fields, readable without decoding the payload
+        entry.put(HEADER_SCHEMA_VERSION, bytes(WIRE_FORMAT_VERSION));
+        if (event.getEventId() != null) {
+            entry.put(HEADER_EVENT_ID, bytes(event.getEventId()));
+        }
+        if (event.getOccurredOn() != null) {
+            entry.put(HEADER_OCCURRED_ON, bytes(event.getOccurredOn().toString()));
+        }
+        String requestId = event instanceof AbstractDomainEvent ? ((AbstractDomainEvent) event).getRequestId() : null;
+        if (requestId == null && context != null) {
+            requestId = context.getRequestId();
+        }
+        if (requestId != null) {
+            entry.put(HEADER_REQUEST_ID, bytes(requestId));
+        }
+        String partitionKey = partitioner.partitionKeyOf(event);
+        if (partitionKey != null && !partitionKey.equals(event.getEventId())) {
+            // Keeps records of one aggregate in order on the consumer's worker pool
+            entry.put(HEADER_PARTITION_KEY, bytes(partitionKey));
+        }
+        
+        // Compress large payloads, flagged in the compression field
+        if (compressor != null && payload.length >= compressionProperties.getThreshold()) {
+            long compressStart = System.nanoTime();
+            byte[] compressed = compressor.compress(payload);
+            metrics.add("compression.compress-nanos", System.nanoTime() - compressStart);
+            if (compressed.length < payload.length) {
+                metrics.add("compression.input-bytes", payload.length);
+                metrics.add("compression.output-bytes", compressed.length);
+                metrics.increment("compression.compressed-events");
+                payload = compressed;
+                entry.put("compression", bytes(compressor.id()));
+            } else {
+                metrics.increment("compression.incompressible-events");
+            }
+        }
+        entry.put("event", payload);
+        
+        // Serialize context if available
+        if (context != null) {
+            try {
+                entry.put("context", contextCodec.encode(context));
+                if (contextCodec != codec) {
+                    entry.put("contextCodec", bytes(contextCodec.id()));
+                }
+            } catch (Exception e) {
+                logger.warn("[RedisStreamEventBus] Failed to serialize context", e);
+            }
+        }
+        
+        logger.debug("[RedisStreamEventBus] Stream entry created: type={}, codec={}, {} bytes", 
+                    event.getClass().getName(), codec.id(), payload.length);
+        return entry;
+    }
+    
+    /**
+     * Gets the ID of the codec that wrote a stream entry.
+     *
+     * @param message Stream message
+     * @return Codec ID, JSON for entries written before codec IDs were recorded
+     */
+    private static String codecIdOf(MapRecord<String, String, byte[]> message) {
+        String codecId = text(message.getValue().get("codec"));
+        return codecId != null ? codecId : JacksonEventCodec.JSON;
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String text(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+    
     @Override
     public void subscribe(Class<? extends DomainEvent> eventType, EventHandler handler) throws BaseException {
         handlers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(handler);
         eventTypeToClassMap.put(eventType.getName(), eventType);
+        prepareCodec(codec, eventType);
+        registerViewType(handler);
+        ConsumerGroup group = handlerGroupProperties.isEnabled() ? addHandlerGroup(eventType, handler) : null;
         logger.info("[RedisStreamEventBus] Subscribed handler for event: {}", eventType.getName());
+        if (container != null) {
+            // Handlers added after startup may need a stream this node does not read yet, or a group of their own
+            String baseKey = router.streamKeyFor(eventType);
+            if (!consumers.isConsuming(baseKey)) {
+                createStreamsAndGroups(partitioner.streamKeys(baseKey), groupsOf(baseKey));
+                consumers.consume(baseKey);
+            } else if (group != null) {
+                createStreamsAndGroups(partitioner.streamKeys(baseKey), List.of(group));
+                consumers.consume(baseKey, group);
+            }
+        }
+    }
+    
+    /**
+     * Records the view type of a view handler, so that its events are bound as views instead of full events.
+     * Handlers whose view type cannot be resolved from their class get the full event.
+     *
+     * @param handler Event handler
+     */
+    private void registerViewType(EventHandler<?> handler) {
+        if (!(handler instanceof EventViewHandler)) {
+            return;
+        }
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(ClassUtils.getUserClass(handler), EventViewHandler.class);
+        if (typeArguments == null || typeArguments[1] == null) {
+            logger.warn("[RedisStreamEventBus] Cannot resolve the view type of handler {}, it gets full events", handler.getClass().getName());
+            return;
+        }
+        viewTypes.put(handler, typeArguments[1]);
+        if (typeArguments[1] != byte[].class && codec instanceof JacksonEventCodec) {
+            prepareCodec(codec, typeArguments[1]);
+        }
+    }
+    
+    /**
+     * Builds a codec's reader and writer for a type when its handler is registered, so that the first
+     * message of the type is not slowed down by serializer construction.
+     *
+     * @param eventCodec Codec to prepare
+     * @param type Type the codec will encode and decode
+     */
+    private void prepareCodec(EventCodec eventCodec, Class<?> type) {
+        long start = System.nanoTime();
+        try {
+            eventCodec.prepare(type);
+        } catch (Exception e) {
+            // Not fatal, the codec reports the problem again when the first message of the type is handled
+            logger.warn("[RedisStreamEventBus] Codec {} cannot prepare type {}: {}", eventCodec.id(), type.getName(), e.getMessage());
+        }
+        metrics.add("codec.prepare-nanos", System.nanoTime() - start);
+    }
+    
+    /**
+     * Adds the consumer group of a handler, suffixed when another handler of the same class already has one.
+     *
+     * @param eventType Event type the handler is registered for
+     * @param handler Event handler
+     * @return The handler's group
+     */
+    private synchronized ConsumerGroup addHandlerGroup(Class<? extends DomainEvent> eventType, EventHandler<?> handler) {
+        ConsumerGroup group = ConsumerGroup.forHandler(groupName, handler, eventType, 0);
+        for (int index = 1; handlerGroups.containsKey(group.getName()); index++) {
+            group = ConsumerGroup.forHandler(groupName, handler, eventType, index);
+        }
+        handlerGroups.put(group.getName(), group);
+        logger.info("[RedisStreamEventBus] Handler {} consumes in group {}", ConsumerGroup.handlerNameOf(handler), group);
+        return group;
     }
     
     @Override
@@ -933,8 +2828,18 @@ public class RedisStreamEventBus implements EventBus, InitializingBean {
         List<EventHandler> eventHandlers = handlers.get(eventType);
         if (eventHandlers != null) {
             eventHandlers.remove(handler);
+            if (handlers.values().stream().noneMatch(list -> list.contains(handler))) {
+                viewTypes.remove(handler);
+            }
             logger.info("[RedisStreamEventBus] Unsubscribed handler for event: {}", eventType.getName());
         }
+        if (handlerGroupProperties.isEnabled()) {
+            for (ConsumerGroup group : handlerGroups.values()) {
+                if (group.getHandler() == handler && handlerGroups.remove(group.getName(), group)) {
+                    consumers.stopConsumers(group);
+                }
+            }
+        }
     }
     
     /**
@@ -0,0 +1,57 @@
+package com.hibuka.soda.event.redis;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the metrics of the Redis Stream event bus to a Micrometer registry.
+ * Every counter becomes a function counter and every gauge a gauge named {@code soda.event.redis.<name>},
+ * including the ones that only appear later, such as the counters of a feature that is first used after startup.
+ * Values are read from {@link RedisStreamMetrics} when the registry publishes, nothing is recorded twice.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisStreamMeterBinder implements MeterBinder {
+    /**
+     * Prefix of the meter names.
+     */
+    public static final String PREFIX = "soda.event.redis.";
+
+    private final RedisStreamMetrics metrics;
+    private final Iterable<Tag> tags;
+
+    /**
+     * Constructor for RedisStreamMeterBinder.
+     *
+     * @param metrics Metrics of the event bus
+     * @param tags Tags added to every meter, for example the topic
+     */
+    public RedisStreamMeterBinder(RedisStreamMetrics metrics, Iterable<Tag> tags) {
+        this.metrics = metrics;
+        this.tags = tags;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.addListener(new RedisStreamMetrics.Listener() {
+            @Override
+            public void counterAdded(String name) {
+                // Registering an existing meter again returns it, so a repeated name is harmless
+                FunctionCounter.builder(PREFIX + name, metrics, m -> m.getCounter(name))
+                        .tags(tags)
+                        .register(registry);
+            }
+
+            @Override
+            public void gaugeAdded(String name) {
+                Gauge.builder(PREFIX + name, metrics, m -> m.getGauge(name))
+                        .tags(tags)
+                        .register(registry);
+            }
+        });
+    }
+}
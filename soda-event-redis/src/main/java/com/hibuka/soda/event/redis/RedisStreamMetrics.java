@@ -0,0 +1,136 @@
+package com.hibuka.soda.event.redis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight metrics registry for the Redis Stream event bus.
+ * Components record counters and register gauges under dotted names; {@link #snapshot()} returns
+ * the current values so they can be logged, and {@link #addListener(Listener)} reports every counter and
+ * gauge as it appears so an external metrics system can register it.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisStreamMetrics {
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Callback told about every counter and gauge, so they can be registered with an external metrics system.
+     * A metric created while the listener is being added may be reported twice.
+     */
+    public interface Listener {
+        /**
+         * Called when a counter is first recorded.
+         *
+         * @param name Counter name
+         */
+        void counterAdded(String name);
+
+        /**
+         * Called when a gauge is first registered.
+         *
+         * @param name Gauge name
+         */
+        void gaugeAdded(String name);
+    }
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name Counter name
+     */
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Adds a delta to a counter.
+     *
+     * @param name Counter name
+     * @param delta Value to add
+     */
+    public void add(String name, long delta) {
+        LongAdder adder = counters.get(name);
+        if (adder == null) {
+            LongAdder created = new LongAdder();
+            adder = counters.putIfAbsent(name, created);
+            if (adder == null) {
+                adder = created;
+                listeners.forEach(listener -> listener.counterAdded(name));
+            }
+        }
+        adder.add(delta);
+    }
+
+    /**
+     * Gets the current value of a counter.
+     *
+     * @param name Counter name
+     * @return Counter value, 0 if the counter has never been recorded
+     */
+    public long getCounter(String name) {
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Registers a gauge whose value is read on every snapshot.
+     *
+     * @param name Gauge name
+     * @param supplier Supplier of the current value
+     */
+    public void registerGauge(String name, Supplier<? extends Number> supplier) {
+        if (gauges.put(name, supplier) == null) {
+            listeners.forEach(listener -> listener.gaugeAdded(name));
+        }
+    }
+
+    /**
+     * Gets the current value of a gauge.
+     *
+     * @param name Gauge name
+     * @return Gauge value, NaN if the gauge is not registered or has no value
+     */
+    public double getGauge(String name) {
+        Supplier<? extends Number> supplier = gauges.get(name);
+        Number value = supplier == null ? null : supplier.get();
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * Adds a listener, and tells it about the counters and gauges that already exist.
+     *
+     * @param listener Listener to add
+     */
+    public void addListener(Listener listener) {
+        // Added first, so a metric created meanwhile is reported at least once
+        listeners.add(listener);
+        counters.keySet().forEach(listener::counterAdded);
+        gauges.keySet().forEach(listener::gaugeAdded);
+    }
+
+    /**
+     * Takes a snapshot of all counters and gauges.
+     *
+     * @return Metric values keyed by name, sorted by name
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> snapshot = new TreeMap<>();
+        counters.forEach((name, adder) -> snapshot.put(name, adder.sum()));
+        gauges.forEach((name, supplier) -> {
+            Number value = supplier.get();
+            if (value != null) {
+                snapshot.put(name, value);
+            }
+        });
+        return snapshot;
+    }
+}
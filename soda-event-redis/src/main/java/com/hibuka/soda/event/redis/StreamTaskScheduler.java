@@ -0,0 +1,85 @@
+package com.hibuka.soda.event.redis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the periodic background tasks of a stream event bus on two single-threaded executors, each created on
+ * first use. Maintenance tasks such as trimming, spill replay and rebalancing run on one; delayed retries and
+ * reclaimed entries, which run handlers, run on the other so that slow handlers do not hold up maintenance.
+ * A task that throws is logged and runs again at its next interval.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class StreamTaskScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(StreamTaskScheduler.class);
+
+    private ScheduledExecutorService maintenanceExecutor;
+    private ScheduledExecutorService recoveryExecutor;
+
+    /**
+     * Schedules a maintenance task.
+     *
+     * @param name Task name used in logs
+     * @param task Task to run
+     * @param interval Delay between the end of a run and the start of the next in milliseconds
+     */
+    public synchronized void scheduleMaintenance(String name, Runnable task, long interval) {
+        if (maintenanceExecutor == null) {
+            maintenanceExecutor = newExecutor("soda-stream-maintenance");
+        }
+        schedule(maintenanceExecutor, name, task, interval);
+    }
+
+    /**
+     * Schedules a task that runs handlers again, such as delayed retries or reclaimed entries.
+     *
+     * @param name Task name used in logs
+     * @param task Task to run
+     * @param interval Delay between the end of a run and the start of the next in milliseconds
+     */
+    public synchronized void scheduleRecovery(String name, Runnable task, long interval) {
+        if (recoveryExecutor == null) {
+            recoveryExecutor = newExecutor("soda-stream-recovery");
+        }
+        schedule(recoveryExecutor, name, task, interval);
+    }
+
+    /**
+     * Stops both executors, interrupting tasks in progress. Retries and reclaimed entries not finished stay
+     * parked or pending and are taken again later.
+     */
+    public synchronized void shutdown() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+        }
+        if (recoveryExecutor != null) {
+            recoveryExecutor.shutdownNow();
+        }
+    }
+
+    private static void schedule(ScheduledExecutorService executor, String name, Runnable task, long interval) {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                // An exception would cancel the task's later runs
+                logger.warn("[StreamTaskScheduler] Error running task {}: {}", name, e.getMessage(), e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("[StreamTaskScheduler] Scheduled {} every {}ms", name, interval);
+    }
+
+    private static ScheduledExecutorService newExecutor(String threadName) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
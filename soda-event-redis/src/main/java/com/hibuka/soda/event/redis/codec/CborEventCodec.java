@@ -0,0 +1,26 @@
+package com.hibuka.soda.event.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Binary JSON codec using the CBOR format. Requires jackson-dataformat-cbor on the classpath.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class CborEventCodec extends JacksonEventCodec {
+    /**
+     * Codec ID.
+     */
+    public static final String ID = "cbor";
+
+    /**
+     * Constructor for CborEventCodec.
+     *
+     * @param objectMapper Event bus ObjectMapper whose configuration is reused
+     */
+    public CborEventCodec(ObjectMapper objectMapper) {
+        super(ID, objectMapper.copyWith(new CBORFactory()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.hibuka.soda.event.redis.codec;
+
+import java.io.IOException;
+
+/**
+ * SPI for encoding stream entry payloads (the event and its command context).
+ * Every entry records the ID of the codec that wrote it, so consumers pick the matching codec
+ * per entry and producers can switch codecs without breaking consumers still reading older entries.
+ * Additional codecs can be contributed as Spring beans.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface EventCodec {
+    /**
+     * Gets the ID written into the codec field of every entry this codec encodes.
+     *
+     * @return Codec ID, unique among registered codecs
+     */
+    String id();
+
+    /**
+     * Encodes a value.
+     *
+     * @param value Value to encode
+     * @return Encoded bytes
+     * @throws IOException if the value cannot be encoded
+     */
+    byte[] encode(Object value) throws IOException;
+
+    /**
+     * Decodes a value.
+     *
+     * @param data Encoded bytes
+     * @param type Expected type
+     * @param <T> Expected type
+     * @return Decoded value
+     * @throws IOException if the bytes cannot be decoded
+     */
+    <T> T decode(byte[] data, Class<T> type) throws IOException;
+
+    /**
+     * Prepares the codec for a type before its first value is encoded or decoded, so that the cost of
+     * building serializers for the type is not paid by the first message. Codecs without per-type state
+     * need not implement it.
+     *
+     * @param type Type that will be encoded and decoded
+     * @throws IOException if the codec cannot handle the type
+     */
+    default void prepare(Class<?> type) throws IOException {
+    }
+
+    /**
+     * Whether the codec can carry values whose runtime types are only known at encode time,
+     * such as the attribute map of a command context. Schema-driven codecs return false, and
+     * the command context is then written with the JSON codec instead.
+     *
+     * @return true if dynamically typed values are supported
+     */
+    default boolean supportsDynamicTypes() {
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hibuka.soda.event.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the event codecs known to an event bus, keyed by codec ID.
+ * JSON is always registered; Smile, CBOR and Avro are registered when their Jackson dataformat
+ * module is on the classpath. Additional codecs override built-in codecs with the same ID.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class EventCodecRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(EventCodecRegistry.class);
+
+    private final Map<String, EventCodec> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for EventCodecRegistry.
+     *
+     * @param objectMapper Event bus ObjectMapper, shared by the Jackson based codecs
+     * @param additionalCodecs Application-provided codecs, may be empty
+     */
+    public EventCodecRegistry(ObjectMapper objectMapper, Collection<EventCodec> additionalCodecs) {
+        ClassLoader classLoader = EventCodecRegistry.class.getClassLoader();
+        register(new JacksonEventCodec(JacksonEventCodec.JSON, objectMapper));
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory", classLoader)) {
+            register(new SmileEventCodec(objectMapper));
+        }
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.cbor.CBORFactory", classLoader)) {
+            register(new CborEventCodec(objectMapper));
+        }
+        if (ClassUtils.isPresent("com.fasterxml.jackson.dataformat.avro.AvroMapper", classLoader)) {
+            register(new AvroEventCodec());
+        }
+        for (EventCodec codec : additionalCodecs) {
+            register(codec);
+        }
+        logger.info("[EventCodecRegistry] Registered event codecs: {}", codecs.keySet());
+    }
+
+    /**
+     * Registers a codec, replacing any codec with the same ID.
+     *
+     * @param codec Codec to register
+     */
+    public void register(EventCodec codec) {
+        codecs.put(codec.id(), codec);
+    }
+
+    /**
+     * Gets a codec by ID.
+     *
+     * @param id Codec ID, null for entries written before codec IDs were recorded
+     * @return Codec
+     * @throws IllegalArgumentException if no codec is registered under the ID
+     */
+    public EventCodec get(String id) {
+        EventCodec codec = codecs.get(id == null ? JacksonEventCodec.JSON : id);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown event codec: " + id + ", registered codecs: " + codecs.keySet());
+        }
+        return codec;
+    }
+
+    /**
+     * Gets the IDs of all registered codecs.
+     *
+     * @return Codec IDs
+     */
+    public Set<String> ids() {
+        return codecs.keySet();
+    }
+}
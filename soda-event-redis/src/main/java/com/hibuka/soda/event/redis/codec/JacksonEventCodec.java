@@ -0,0 +1,103 @@
+package com.hibuka.soda.event.redis.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event codec backed by a Jackson ObjectMapper. The JSON codec uses the event bus ObjectMapper
+ * as is; binary Jackson formats reuse its configuration on top of a different JsonFactory.
+ * An ObjectReader and ObjectWriter is built once per class, with its root serializer and deserializer
+ * already resolved, instead of looking them up through the ObjectMapper on every call.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class JacksonEventCodec implements EventCodec {
+    /**
+     * ID of the JSON codec, also assumed for entries written without a codec field.
+     */
+    public static final String JSON = "json";
+
+    private final String id;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for JacksonEventCodec.
+     *
+     * @param id Codec ID
+     * @param objectMapper ObjectMapper used for encoding and decoding
+     */
+    public JacksonEventCodec(String id, ObjectMapper objectMapper) {
+        this.id = id;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return writerFor(value.getClass()).writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return readerFor(type).readValue(data);
+    }
+
+    /**
+     * Decodes only the fields of an encoded event that a view type declares, skipping the others without
+     * building them. The root of the event is read as an object of the view type, so views are records, final
+     * classes or JsonNode; nested values are read with the same type handling as the event.
+     *
+     * @param data Encoded event
+     * @param viewType View type
+     * @param <V> View type
+     * @return View of the event
+     * @throws IOException if the bytes cannot be bound to the view
+     */
+    public <V> V decodeView(byte[] data, Class<V> viewType) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(data)) {
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                // Event written as a [type, value] pair, skip to the value
+                parser.nextToken();
+                parser.nextToken();
+            }
+            return readerFor(viewType).readValue(parser);
+        }
+    }
+
+    @Override
+    public void prepare(Class<?> type) {
+        writerFor(type);
+        readerFor(type);
+    }
+
+    private ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    private ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * Gets the ObjectMapper behind this codec.
+     *
+     * @return ObjectMapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+}
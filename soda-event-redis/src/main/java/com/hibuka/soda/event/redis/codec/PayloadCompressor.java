@@ -0,0 +1,33 @@
+package com.hibuka.soda.event.redis.codec;
+
+/**
+ * Compresses encoded event payloads. The ID is written into the compression field of every
+ * compressed entry, so consumers decompress with the matching compressor regardless of their own settings.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface PayloadCompressor {
+    /**
+     * Gets the ID written into the compression field of compressed entries.
+     *
+     * @return Compressor ID
+     */
+    String id();
+
+    /**
+     * Compresses a payload.
+     *
+     * @param data Uncompressed bytes
+     * @return Compressed bytes
+     */
+    byte[] compress(byte[] data);
+
+    /**
+     * Decompresses a payload produced by {@link #compress(byte[])}.
+     *
+     * @param data Compressed bytes
+     * @return Uncompressed bytes
+     */
+    byte[] decompress(byte[] data);
+}
@@ -0,0 +1,62 @@
+package com.hibuka.soda.event.redis.codec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the payload compressors available on the classpath, keyed by compressor ID.
+ * Every available compressor is registered so that entries compressed by other nodes can be read
+ * even when this node does not compress.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class PayloadCompressorRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadCompressorRegistry.class);
+
+    private final Map<String, PayloadCompressor> compressors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for PayloadCompressorRegistry.
+     *
+     * @param zstdLevel Zstandard compression level
+     */
+    public PayloadCompressorRegistry(int zstdLevel) {
+        ClassLoader classLoader = PayloadCompressorRegistry.class.getClassLoader();
+        if (ClassUtils.isPresent("net.jpountz.lz4.LZ4Factory", classLoader)) {
+            register(new Lz4PayloadCompressor());
+        }
+        if (ClassUtils.isPresent("com.github.luben.zstd.Zstd", classLoader)) {
+            register(new ZstdPayloadCompressor(zstdLevel));
+        }
+        logger.info("[PayloadCompressorRegistry] Registered payload compressors: {}", compressors.keySet());
+    }
+
+    /**
+     * Registers a compressor, replacing any compressor with the same ID.
+     *
+     * @param compressor Compressor to register
+     */
+    public void register(PayloadCompressor compressor) {
+        compressors.put(compressor.id(), compressor);
+    }
+
+    /**
+     * Gets a compressor by ID.
+     *
+     * @param id Compressor ID
+     * @return Compressor
+     * @throws IllegalArgumentException if no compressor is registered under the ID
+     */
+    public PayloadCompressor get(String id) {
+        PayloadCompressor compressor = compressors.get(id);
+        if (compressor == null) {
+            throw new IllegalArgumentException("Unknown payload compressor: " + id + ", registered compressors: " + compressors.keySet());
+        }
+        return compressor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.hibuka.soda.event.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Binary JSON codec using the Smile format. Requires jackson-dataformat-smile on the classpath.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class SmileEventCodec extends JacksonEventCodec {
+    /**
+     * Codec ID.
+     */
+    public static final String ID = "smile";
+
+    /**
+     * Constructor for SmileEventCodec.
+     *
+     * @param objectMapper Event bus ObjectMapper whose configuration is reused
+     */
+    public SmileEventCodec(ObjectMapper objectMapper) {
+        super(ID, objectMapper.copyWith(new SmileFactory()));
+    }
+}
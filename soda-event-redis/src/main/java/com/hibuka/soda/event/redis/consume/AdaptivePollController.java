@@ -0,0 +1,104 @@
+package com.hibuka.soda.event.redis.consume;
+
+/**
+ * Adjusts the COUNT and BLOCK arguments of a consumer's reads to the load it sees.
+ * A read that fills the whole batch means a backlog is waiting, so the batch size doubles to save round trips;
+ * a read that returns nothing means the stream is idle, so the block timeout doubles to poll Redis less often
+ * and the batch size halves again. Any read that returns records sets the block timeout back to its minimum,
+ * which keeps shutdown and error handling responsive while records flow. Both values stay within their bounds.
+ * Only the reader thread calls {@link #onRead(int)}; the current values may be read from any thread.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class AdaptivePollController {
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long minPollTimeout;
+    private final long maxPollTimeout;
+    private volatile int batchSize;
+    private volatile long pollTimeout;
+
+    /**
+     * Constructor for AdaptivePollController.
+     *
+     * @param minBatchSize Smallest batch size
+     * @param maxBatchSize Largest batch size
+     * @param minPollTimeout Shortest block timeout in milliseconds
+     * @param maxPollTimeout Longest block timeout in milliseconds
+     * @param batchSize Initial batch size, clamped to the bounds
+     * @param pollTimeout Initial block timeout in milliseconds, clamped to the bounds
+     */
+    public AdaptivePollController(int minBatchSize, int maxBatchSize, long minPollTimeout, long maxPollTimeout,
+                                  int batchSize, long pollTimeout) {
+        this.minBatchSize = Math.max(1, minBatchSize);
+        this.maxBatchSize = Math.max(this.minBatchSize, maxBatchSize);
+        this.minPollTimeout = Math.max(1, minPollTimeout);
+        this.maxPollTimeout = Math.max(this.minPollTimeout, maxPollTimeout);
+        this.batchSize = clamp(batchSize, this.minBatchSize, this.maxBatchSize);
+        this.pollTimeout = clamp(pollTimeout, this.minPollTimeout, this.maxPollTimeout);
+    }
+
+    /**
+     * Creates a controller that keeps its values fixed.
+     *
+     * @param batchSize Batch size
+     * @param pollTimeout Block timeout in milliseconds
+     * @return Controller whose bounds are the given values
+     */
+    public static AdaptivePollController fixed(int batchSize, long pollTimeout) {
+        return new AdaptivePollController(batchSize, batchSize, pollTimeout, pollTimeout, batchSize, pollTimeout);
+    }
+
+    /**
+     * Adapts the values to the outcome of a read.
+     *
+     * @param records Number of records the read returned
+     */
+    public void onRead(int records) {
+        if (records >= batchSize) {
+            batchSize = (int) Math.min(maxBatchSize, batchSize * 2L);
+            pollTimeout = minPollTimeout;
+        } else if (records > 0) {
+            pollTimeout = minPollTimeout;
+        } else {
+            pollTimeout = Math.min(maxPollTimeout, pollTimeout * 2);
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        }
+    }
+
+    /**
+     * Gets the batch size for the next read.
+     *
+     * @return Maximum number of records to read
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the block timeout for the next read.
+     *
+     * @return Block timeout in milliseconds
+     */
+    public long getPollTimeout() {
+        return pollTimeout;
+    }
+
+    /**
+     * Gets the longest block timeout, the longest a read can take to return.
+     *
+     * @return Longest block timeout in milliseconds
+     */
+    public long getMaxPollTimeout() {
+        return maxPollTimeout;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.min(max, Math.max(min, value));
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.min(max, Math.max(min, value));
+    }
+}
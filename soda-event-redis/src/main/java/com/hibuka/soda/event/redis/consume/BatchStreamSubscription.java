@@ -0,0 +1,149 @@
+package com.hibuka.soda.event.redis.consume;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.stream.Subscription;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Consumer group subscription that hands each XREADGROUP reply to a {@link StreamBatchListener} as a whole.
+ * The listener container dispatches records one by one, which leaves no point at which the records of a read
+ * can be acknowledged together; this subscription reads on its own thread so the listener can process a batch
+ * and acknowledge it with a single XACK. Records are read with {@code >}, so unacknowledged records stay in the
+ * pending entries list exactly as with the container. The COUNT and BLOCK arguments of every read come from an
+ * {@link AdaptivePollController}, which is also why the bus uses this subscription instead of the container when
+ * adaptive polling is enabled.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class BatchStreamSubscription implements Subscription {
+    private static final Logger logger = LoggerFactory.getLogger(BatchStreamSubscription.class);
+
+    private final StringRedisTemplate streamRedisTemplate;
+    private final Consumer consumer;
+    private final String streamKey;
+    private final AdaptivePollController pollController;
+    private final StreamBatchListener listener;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private Thread reader;
+
+    /**
+     * Constructor for BatchStreamSubscription.
+     *
+     * @param streamRedisTemplate String template used for stream operations
+     * @param consumer Consumer group and consumer name to read as
+     * @param streamKey Stream to read
+     * @param pollController Controller providing the batch size and block timeout of each read
+     * @param listener Listener receiving each non-empty read
+     */
+    public BatchStreamSubscription(StringRedisTemplate streamRedisTemplate, Consumer consumer, String streamKey,
+                                   AdaptivePollController pollController, StreamBatchListener listener) {
+        this.streamRedisTemplate = streamRedisTemplate;
+        this.consumer = consumer;
+        this.streamKey = streamKey;
+        this.pollController = pollController;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts the reader thread.
+     *
+     * @return this subscription
+     */
+    public BatchStreamSubscription start() {
+        if (running.compareAndSet(false, true)) {
+            reader = new Thread(this::runLoop, "soda-stream-batch-consumer");
+            reader.setDaemon(true);
+            reader.start();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isActive() {
+        return running.get() && reader != null && reader.isAlive();
+    }
+
+    @Override
+    public boolean await(Duration timeout) throws InterruptedException {
+        return started.await(timeout.toMillis(), TimeUnit.MILLISECONDS) && isActive();
+    }
+
+    /**
+     * Stops reading and waits for the reader thread to leave its blocking read; a batch in progress is
+     * finished first.
+     */
+    @Override
+    public void cancel() {
+        if (running.compareAndSet(true, false) && reader != null && reader != Thread.currentThread()) {
+            try {
+                reader.join(pollController.getMaxPollTimeout() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runLoop() {
+        started.countDown();
+        logger.info("[BatchStreamSubscription] Reading stream {} as {}", streamKey, consumer.getName());
+        while (running.get()) {
+            try {
+                List<MapRecord<String, String, byte[]>> messages = read();
+                if (!messages.isEmpty() && running.get()) {
+                    listener.onMessages(messages);
+                }
+            } catch (Exception e) {
+                if (!running.get()) {
+                    break;
+                }
+                logger.warn("[BatchStreamSubscription] Error reading stream {}, will retry: {}", streamKey, e.getMessage());
+                try {
+                    // Do not spin while Redis is unavailable
+                    Thread.sleep(pollController.getPollTimeout());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        logger.info("[BatchStreamSubscription] Stopped reading stream {} as {}", streamKey, consumer.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, String, byte[]>> read() {
+        StreamOffset<byte[]> offset = StreamOffset.create(streamKey.getBytes(StandardCharsets.UTF_8), ReadOffset.lastConsumed());
+        StreamReadOptions readOptions = StreamReadOptions.empty()
+                .count(pollController.getBatchSize())
+                .block(Duration.ofMillis(pollController.getPollTimeout()));
+        List<ByteRecord> records = streamRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xReadGroup(consumer, readOptions, offset));
+        pollController.onRead(records == null ? 0 : records.size());
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+        List<MapRecord<String, String, byte[]>> messages = new ArrayList<>(records.size());
+        for (ByteRecord record : records) {
+            messages.add(record.deserialize(RedisSerializer.string(), RedisSerializer.string(), RedisSerializer.byteArray()));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,115 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.cqrs.event.EventHandler;
+import com.hibuka.soda.domain.event.DomainEvent;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Consumer group reading the event streams, either shared by every handler or owned by a single handler.
+ * A shared group hands each event to all handlers of its type and keeps idempotency records per event.
+ * A handler's group is named after the shared group and the handler's class, only handles events of the
+ * handler's type and keeps its idempotency records per event and handler, so the groups of different
+ * handlers never see each other's progress.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public final class ConsumerGroup {
+    private final String name;
+    private final EventHandler<?> handler;
+    private final Class<? extends DomainEvent> eventType;
+
+    private ConsumerGroup(String name, EventHandler<?> handler, Class<? extends DomainEvent> eventType) {
+        this.name = name;
+        this.handler = handler;
+        this.eventType = eventType;
+    }
+
+    /**
+     * Creates the group shared by every handler.
+     *
+     * @param name Group name
+     * @return Shared group
+     */
+    public static ConsumerGroup shared(String name) {
+        return new ConsumerGroup(name, null, null);
+    }
+
+    /**
+     * Creates the group of one handler.
+     *
+     * @param sharedName Name of the shared group, used as prefix
+     * @param handler Handler owning the group
+     * @param eventType Event type the handler is registered for
+     * @param index Number of earlier handlers of the same class, to tell several beans of one class apart
+     * @return Handler group
+     */
+    public static ConsumerGroup forHandler(String sharedName, EventHandler<?> handler, Class<? extends DomainEvent> eventType, int index) {
+        String name = sharedName + ":" + handlerNameOf(handler) + (index > 0 ? "#" + index : "");
+        return new ConsumerGroup(name, handler, eventType);
+    }
+
+    /**
+     * Gets the name a handler is known by, its class without any proxy subclass.
+     *
+     * @param handler Event handler
+     * @return Fully qualified class name of the handler
+     */
+    public static String handlerNameOf(EventHandler<?> handler) {
+        return ClassUtils.getUserClass(handler).getName();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the handler owning the group.
+     *
+     * @return Handler, null for the shared group
+     */
+    public EventHandler<?> getHandler() {
+        return handler;
+    }
+
+    /**
+     * Gets the event type the group's handler is registered for.
+     *
+     * @return Event type, null for the shared group
+     */
+    public Class<? extends DomainEvent> getEventType() {
+        return eventType;
+    }
+
+    public boolean isShared() {
+        return handler == null;
+    }
+
+    /**
+     * Checks whether the group handles events of a type. A handler's group skips every other type on the stream.
+     *
+     * @param type Event type resolved from an entry
+     * @return true if the shared group, or if the type is the handler's event type
+     */
+    public boolean handles(Class<? extends DomainEvent> type) {
+        return handler == null || eventType.equals(type);
+    }
+
+    /**
+     * Gets the key under which the group records the processing status of an event.
+     *
+     * @param eventId Event ID, may be null
+     * @return The event ID for the shared group, the event ID and handler name for a handler's group
+     */
+    public String idempotencyKeyOf(String eventId) {
+        if (eventId == null || handler == null) {
+            return eventId;
+        }
+        return eventId + "::" + handlerNameOf(handler);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,67 @@
+package com.hibuka.soda.event.redis.consume;
+
+/**
+ * Decides how many consumers a stream should have for its current lag.
+ * The desired number is the lag divided by the lag one consumer is expected to work off, rounded up and kept
+ * within the bounds. Scaling up goes to the desired number at once so that a spike is met in one step; scaling
+ * down removes one consumer per decision, so that a short lull does not tear down consumers that are needed
+ * again right after.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class ConsumerScalingPolicy {
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final long targetLagPerConsumer;
+
+    /**
+     * Constructor for ConsumerScalingPolicy.
+     *
+     * @param minConsumers Smallest number of consumers
+     * @param maxConsumers Largest number of consumers
+     * @param targetLagPerConsumer Lag in entries one consumer is expected to handle
+     */
+    public ConsumerScalingPolicy(int minConsumers, int maxConsumers, long targetLagPerConsumer) {
+        this.minConsumers = Math.max(1, minConsumers);
+        this.maxConsumers = Math.max(this.minConsumers, maxConsumers);
+        this.targetLagPerConsumer = Math.max(1, targetLagPerConsumer);
+    }
+
+    /**
+     * Gets the number of consumers to start with.
+     *
+     * @param configured Configured number of consumers
+     * @return Configured number kept within the bounds
+     */
+    public int initialConsumers(int configured) {
+        return Math.min(maxConsumers, Math.max(minConsumers, configured));
+    }
+
+    /**
+     * Gets the number of consumers a stream should have next.
+     *
+     * @param current Number of consumers now
+     * @param lag Entries not yet delivered to the group
+     * @return Number of consumers to scale to
+     */
+    public int nextConsumers(int current, long lag) {
+        long desired = Math.min(maxConsumers, Math.max(minConsumers, (lag + targetLagPerConsumer - 1) / targetLagPerConsumer));
+        if (desired > current) {
+            return (int) desired;
+        }
+        if (desired < current) {
+            return Math.max(minConsumers, current - 1);
+        }
+        return current;
+    }
+
+    /**
+     * Gets the largest number of consumers.
+     *
+     * @return Upper bound
+     */
+    public int getMaxConsumers() {
+        return maxConsumers;
+    }
+}
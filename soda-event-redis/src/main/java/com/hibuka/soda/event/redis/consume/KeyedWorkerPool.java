@@ -0,0 +1,156 @@
+package com.hibuka.soda.event.redis.consume;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs stream message handling on a fixed set of worker lanes, separate from the threads that poll Redis.
+ * Each lane is one thread with its own queue, and a task goes to the lane chosen by its key, so tasks with the
+ * same key run one after another in submission order while tasks with different keys run in parallel. The
+ * number of submitted but unfinished tasks is bounded; once the bound is reached, {@link #submit(String, Runnable)}
+ * blocks the poller until a task finishes, which stops it from reading further ahead.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class KeyedWorkerPool {
+    private static final Logger logger = LoggerFactory.getLogger(KeyedWorkerPool.class);
+
+    private final List<Lane> lanes;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final AtomicInteger unkeyed = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    /**
+     * Constructor for KeyedWorkerPool, starting the worker threads.
+     *
+     * @param size Number of worker lanes
+     * @param maxInFlight Maximum number of submitted tasks that have not finished yet
+     * @param threadNamePrefix Prefix of the worker thread names
+     */
+    public KeyedWorkerPool(int size, int maxInFlight, String threadNamePrefix) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        List<Lane> created = new ArrayList<>(Math.max(1, size));
+        for (int i = 0; i < Math.max(1, size); i++) {
+            Lane lane = new Lane(threadNamePrefix + "-" + i);
+            created.add(lane);
+            lane.thread.start();
+        }
+        this.lanes = created;
+        logger.info("[KeyedWorkerPool] Started {} workers, maxInFlight={}", lanes.size(), this.maxInFlight);
+    }
+
+    /**
+     * Queues a task on the lane of its key, waiting while the in-flight bound is reached.
+     *
+     * @param key Ordering key; tasks with equal keys run in submission order, null spreads tasks over all lanes
+     * @param task Task to run
+     * @return Future completed once the task has run, failed if it threw
+     * @throws InterruptedException if interrupted while waiting for an in-flight slot
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) throws InterruptedException {
+        if (!running.get()) {
+            throw new RejectedExecutionException("Keyed worker pool is shut down");
+        }
+        inFlight.acquire();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        laneOf(key).queue.add(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.release();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Gets the number of submitted tasks that have not finished yet.
+     *
+     * @return Tasks queued or running
+     */
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * Gets the number of worker lanes.
+     *
+     * @return Pool size
+     */
+    public int getSize() {
+        return lanes.size();
+    }
+
+    /**
+     * Stops accepting tasks and waits for the queued ones to finish.
+     *
+     * @param timeoutMs Maximum time to wait for queued tasks, in milliseconds
+     */
+    public void shutdown(long timeoutMs) {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+        logger.info("[KeyedWorkerPool] Stopped, {} tasks unfinished", getInFlight());
+    }
+
+    private Lane laneOf(String key) {
+        int hash = key != null ? key.hashCode() : unkeyed.getAndIncrement();
+        return lanes.get((hash & Integer.MAX_VALUE) % lanes.size());
+    }
+
+    /**
+     * One worker thread and the queue it takes tasks from.
+     */
+    private class Lane {
+        private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        private Lane(String name) {
+            this.thread = new Thread(this::runLoop, name);
+            this.thread.setDaemon(true);
+        }
+
+        private void runLoop() {
+            while (running.get() || !queue.isEmpty()) {
+                try {
+                    Runnable task = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        task.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
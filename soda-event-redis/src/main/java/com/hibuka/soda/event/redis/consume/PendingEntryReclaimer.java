@@ -0,0 +1,156 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Takes over stream entries that a consumer of the group received but did not acknowledge in time, typically
+ * because it crashed or skipped an entry another instance was still processing. Each call walks a batch of the
+ * pending entries list with XPENDING, continuing after the last entry seen and starting over at the end, and
+ * claims the entries idle for at least the timeout with XCLAIM. Claimed entries are handed to the listener for
+ * handling again, or, once delivered as often as the delivery limit, for dead-lettering.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class PendingEntryReclaimer {
+    private static final Logger logger = LoggerFactory.getLogger(PendingEntryReclaimer.class);
+
+    private final StringRedisTemplate streamRedisTemplate;
+    private final String groupName;
+    private final String consumerName;
+    private final Duration minIdle;
+    private final int batchSize;
+    private final int maxDeliveries;
+    private final Listener listener;
+    private final RedisStreamMetrics metrics;
+    private final Map<String, RecordId> cursors = new ConcurrentHashMap<>();
+
+    /**
+     * Listener receiving the claimed entries.
+     */
+    public interface Listener {
+        /**
+         * Called for a claimed entry that is to be handled again.
+         *
+         * @param message Claimed entry, now pending for this consumer
+         */
+        void onReclaimed(MapRecord<String, String, byte[]> message);
+
+        /**
+         * Called for a claimed entry that reached the delivery limit.
+         *
+         * @param message Claimed entry, now pending for this consumer
+         * @param deliveryCount Number of times the entry was delivered before this claim
+         */
+        void onDeliveryLimitReached(MapRecord<String, String, byte[]> message, long deliveryCount);
+    }
+
+    /**
+     * Constructor for PendingEntryReclaimer.
+     *
+     * @param streamRedisTemplate String template used for stream operations
+     * @param groupName Consumer group whose pending entries are reclaimed
+     * @param consumerName Consumer that takes over the entries
+     * @param minIdle Time in milliseconds an entry must have been idle to be taken over
+     * @param batchSize Maximum number of pending entries inspected per stream and call
+     * @param maxDeliveries Deliveries after which an entry is no longer handled but dead-lettered
+     * @param listener Listener receiving the claimed entries
+     * @param metrics Metrics to record reclaimed and dead-lettered entries in
+     */
+    public PendingEntryReclaimer(StringRedisTemplate streamRedisTemplate, String groupName, String consumerName, long minIdle,
+                                 int batchSize, int maxDeliveries, Listener listener, RedisStreamMetrics metrics) {
+        this.streamRedisTemplate = streamRedisTemplate;
+        this.groupName = groupName;
+        this.consumerName = consumerName;
+        this.minIdle = Duration.ofMillis(minIdle);
+        this.batchSize = batchSize;
+        this.maxDeliveries = maxDeliveries;
+        this.listener = listener;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Claims the idle entries of the next batch of a stream's pending entries list and hands them to the listener.
+     *
+     * @param streamKey Stream to reclaim from
+     * @return Number of entries claimed
+     */
+    public int reclaim(String streamKey) {
+        byte[] key = streamKey.getBytes(StandardCharsets.UTF_8);
+        RecordId cursor = cursors.get(streamKey);
+        Range<String> range = cursor == null
+                ? Range.unbounded()
+                : Range.of(Range.Bound.exclusive(cursor.getValue()), Range.Bound.unbounded());
+        PendingMessages pending = streamRedisTemplate.execute((RedisCallback<PendingMessages>) connection ->
+                connection.streamCommands().xPending(key, groupName, RedisStreamCommands.XPendingOptions.range(range, (long) batchSize)));
+        if (pending == null || pending.isEmpty()) {
+            cursors.remove(streamKey);
+            return 0;
+        }
+        if (pending.size() < batchSize) {
+            cursors.remove(streamKey);
+        } else {
+            cursors.put(streamKey, pending.get(pending.size() - 1).getId());
+        }
+
+        Map<RecordId, Long> deliveryCounts = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                deliveryCounts.put(message.getId(), message.getTotalDeliveryCount());
+            }
+        }
+        if (deliveryCounts.isEmpty()) {
+            return 0;
+        }
+
+        // XCLAIM checks the idle time again, so entries claimed by another instance in between are skipped
+        RedisStreamCommands.XClaimOptions options = RedisStreamCommands.XClaimOptions.minIdle(minIdle)
+                .ids(deliveryCounts.keySet().toArray(new RecordId[0]));
+        List<ByteRecord> claimed = streamRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xClaim(key, groupName, consumerName, options));
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        List<MapRecord<String, String, byte[]>> messages = new ArrayList<>(claimed.size());
+        for (ByteRecord record : claimed) {
+            messages.add(record.deserialize(RedisSerializer.string(), RedisSerializer.string(), RedisSerializer.byteArray()));
+        }
+        logger.info("[PendingEntryReclaimer] Claimed {} idle entries of stream {}", messages.size(), streamKey);
+        for (MapRecord<String, String, byte[]> message : messages) {
+            long deliveryCount = deliveryCounts.getOrDefault(message.getId(), 0L);
+            try {
+                if (deliveryCount >= maxDeliveries) {
+                    metrics.increment("consume.reclaim-dead-lettered");
+                    listener.onDeliveryLimitReached(message, deliveryCount);
+                } else {
+                    metrics.increment("consume.reclaimed");
+                    listener.onReclaimed(message);
+                }
+            } catch (Exception e) {
+                // The entry stays pending for this consumer and is reclaimed again once idle
+                logger.warn("[PendingEntryReclaimer] Error handling reclaimed entry {} of stream {}: {}", message.getId(), streamKey, e.getMessage());
+            }
+        }
+        return messages.size();
+    }
+}
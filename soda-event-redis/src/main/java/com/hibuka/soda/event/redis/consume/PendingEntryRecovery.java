@@ -0,0 +1,84 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reclaims idle pending entries in every consumer group this instance reads in, with one
+ * {@link PendingEntryReclaimer} per group so that each keeps its own position in the pending entries lists.
+ * The groups and the streams each group reads are looked up on every run, so handler groups and partitions
+ * added or lost since the last run are followed.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class PendingEntryRecovery implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(PendingEntryRecovery.class);
+
+    private final StringRedisTemplate streamRedisTemplate;
+    private final String consumerName;
+    private final long minIdle;
+    private final int batchSize;
+    private final int maxDeliveries;
+    private final Supplier<Collection<ConsumerGroup>> groups;
+    private final Function<ConsumerGroup, Collection<String>> streamKeys;
+    private final Function<ConsumerGroup, PendingEntryReclaimer.Listener> listeners;
+    private final RedisStreamMetrics metrics;
+    private final Map<String, PendingEntryReclaimer> reclaimers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for PendingEntryRecovery.
+     *
+     * @param streamRedisTemplate String template used for stream operations
+     * @param consumerName Consumer that takes over the entries
+     * @param minIdle Time in milliseconds an entry must have been idle to be taken over
+     * @param batchSize Maximum number of pending entries inspected per stream, group and run
+     * @param maxDeliveries Deliveries after which an entry is no longer handled but dead-lettered
+     * @param groups Supplier of the consumer groups currently read in
+     * @param streamKeys Function giving the stream keys a group currently reads on this instance
+     * @param listeners Function creating the listener receiving the entries claimed in a group
+     * @param metrics Metrics to record reclaimed and dead-lettered entries in
+     */
+    public PendingEntryRecovery(StringRedisTemplate streamRedisTemplate, String consumerName, long minIdle, int batchSize,
+                                int maxDeliveries, Supplier<Collection<ConsumerGroup>> groups,
+                                Function<ConsumerGroup, Collection<String>> streamKeys,
+                                Function<ConsumerGroup, PendingEntryReclaimer.Listener> listeners, RedisStreamMetrics metrics) {
+        this.streamRedisTemplate = streamRedisTemplate;
+        this.consumerName = consumerName;
+        this.minIdle = minIdle;
+        this.batchSize = batchSize;
+        this.maxDeliveries = maxDeliveries;
+        this.groups = groups;
+        this.streamKeys = streamKeys;
+        this.listeners = listeners;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Reclaims idle pending entries from every stream currently read, group by group. A stream that fails is
+     * logged and skipped until the next run.
+     */
+    @Override
+    public void run() {
+        for (ConsumerGroup group : groups.get()) {
+            PendingEntryReclaimer reclaimer = reclaimers.computeIfAbsent(group.getName(), name -> new PendingEntryReclaimer(
+                    streamRedisTemplate, name, consumerName, minIdle, batchSize, maxDeliveries, listeners.apply(group), metrics));
+            for (String key : streamKeys.apply(group)) {
+                try {
+                    reclaimer.reclaim(key);
+                } catch (Exception e) {
+                    logger.warn("[PendingEntryRecovery] Error reclaiming pending entries of stream {} in group {}: {}",
+                            key, group, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.event.redis.ClassNameMatcher;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps event types to their retry policy.
+ * A type gets the policy configured for the longest matching class name or package prefix, with the settings
+ * it leaves empty taken from the default policy; types without a match use the default policy.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RetryPolicies {
+    private final RetryPolicy defaultPolicy;
+    private final ClassNameMatcher<RetryPolicy> policies;
+    private final Map<Class<?>, RetryPolicy> policiesByType = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for RetryPolicies.
+     *
+     * @param maxRetries Default maximum number of retries
+     * @param initialDelay Default initial delay in milliseconds
+     * @param exponentialBackoff Whether delays double by default
+     * @param retryProperties Retry configuration holding the default cap, jitter and the per-type policies
+     */
+    public RetryPolicies(int maxRetries, long initialDelay, boolean exponentialBackoff,
+                         EventProperties.RedisProperties.StreamProperties.RetryProperties retryProperties) {
+        this.defaultPolicy = new RetryPolicy(maxRetries, initialDelay, exponentialBackoff, retryProperties.getMaxDelay(), retryProperties.getJitter());
+        Map<String, RetryPolicy> configured = new LinkedHashMap<>();
+        for (Map.Entry<String, EventProperties.RedisProperties.StreamProperties.RetryPolicyProperties> entry : retryProperties.getPolicies().entrySet()) {
+            EventProperties.RedisProperties.StreamProperties.RetryPolicyProperties policy = entry.getValue();
+            configured.put(entry.getKey(), new RetryPolicy(
+                    policy.getMaxRetries() != null ? policy.getMaxRetries() : maxRetries,
+                    policy.getInitialRetryDelay() != null ? policy.getInitialRetryDelay() : initialDelay,
+                    policy.getExponentialBackoff() != null ? policy.getExponentialBackoff() : exponentialBackoff,
+                    policy.getMaxDelay() != null ? policy.getMaxDelay() : retryProperties.getMaxDelay(),
+                    policy.getJitter() != null ? policy.getJitter() : retryProperties.getJitter()));
+        }
+        this.policies = new ClassNameMatcher<>(configured);
+    }
+
+    /**
+     * Gets the retry policy of an event type.
+     *
+     * @param eventType Event class, null if it could not be resolved
+     * @return Policy of the type, the default policy for null
+     */
+    public RetryPolicy policyFor(Class<?> eventType) {
+        if (eventType == null || policies.isEmpty()) {
+            return defaultPolicy;
+        }
+        return policiesByType.computeIfAbsent(eventType, type -> policies.match(type.getName(), defaultPolicy));
+    }
+
+    /**
+     * Gets the default retry policy.
+     *
+     * @return Policy of types without a configured policy
+     */
+    public RetryPolicy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hibuka.soda.event.redis.consume;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and after which delays a failed message is retried.
+ * The delay before retry {@code n} (0-based) is the initial delay, doubled {@code n} times with exponential
+ * backoff, capped at the maximum delay; the jitter fraction of it is then randomized, so that the actual delay
+ * lies between {@code (1 - jitter) * delay} and {@code delay}.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public final class RetryPolicy {
+    private final int maxRetries;
+    private final long initialDelay;
+    private final boolean exponentialBackoff;
+    private final long maxDelay;
+    private final double jitter;
+
+    /**
+     * Constructor for RetryPolicy.
+     *
+     * @param maxRetries Maximum number of retries
+     * @param initialDelay Delay before the first retry in milliseconds
+     * @param exponentialBackoff Whether to double the delay on every retry
+     * @param maxDelay Upper bound of a single delay in milliseconds
+     * @param jitter Randomized fraction of each delay, clamped to 0..1
+     */
+    public RetryPolicy(int maxRetries, long initialDelay, boolean exponentialBackoff, long maxDelay, double jitter) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialDelay = Math.max(0, initialDelay);
+        this.exponentialBackoff = exponentialBackoff;
+        this.maxDelay = Math.max(this.initialDelay, maxDelay);
+        this.jitter = Math.min(1.0, Math.max(0.0, jitter));
+    }
+
+    /**
+     * Gets the maximum number of retries.
+     *
+     * @return Maximum retries, 0 to never retry
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Computes the delay before a retry, jitter included.
+     *
+     * @param retryCount Number of the retry, 0-based
+     * @return Delay in milliseconds
+     */
+    public long delayOf(int retryCount) {
+        long delay = initialDelay;
+        if (exponentialBackoff) {
+            // Doubling past 62 shifts overflows, the cap applies long before that
+            delay = retryCount >= 62 || initialDelay > (maxDelay >> Math.min(retryCount, 62))
+                    ? maxDelay : initialDelay << retryCount;
+        }
+        delay = Math.min(delay, maxDelay);
+        if (jitter > 0 && delay > 0) {
+            delay -= (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+        }
+        return delay;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxRetries=" + maxRetries + ", initialDelay=" + initialDelay + ", exponentialBackoff=" + exponentialBackoff
+                + ", maxDelay=" + maxDelay + ", jitter=" + jitter + "}";
+    }
+}
@@ -0,0 +1,22 @@
+package com.hibuka.soda.event.redis.consume;
+
+import org.springframework.data.redis.connection.stream.MapRecord;
+
+import java.util.List;
+
+/**
+ * Listener receiving every record of one XREADGROUP reply at once.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+@FunctionalInterface
+public interface StreamBatchListener {
+
+    /**
+     * Handles the records of one read, in stream order.
+     *
+     * @param messages Records read for the consumer, never empty
+     */
+    void onMessages(List<MapRecord<String, String, byte[]>> messages);
+}
@@ -0,0 +1,451 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import com.hibuka.soda.event.redis.partition.StreamPartitioner;
+import com.hibuka.soda.event.redis.service.PartitionAssignmentService;
+import com.hibuka.soda.event.redis.service.StreamLagService;
+import com.hibuka.soda.event.redis.service.impl.RedisPartitionAssignmentServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.Subscription;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the consumers this instance runs on its streams. An unpartitioned stream gets a number of
+ * consumers per group, following the group's lag when a scaling policy is given. A partitioned stream is read
+ * partition by partition as leases are acquired, with one consumer per group and partition to keep per-key order.
+ * The consumers themselves are created by a {@link Subscriber}, which decides how entries are read and handled.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class StreamConsumerCoordinator {
+    private static final Logger logger = LoggerFactory.getLogger(StreamConsumerCoordinator.class);
+
+    private final StringRedisTemplate streamRedisTemplate;
+    private final String consumerName;
+    private final int concurrency;
+    private final ConsumerScalingPolicy scalingPolicy;
+    private final StreamLagService lagService;
+    private final StreamPartitioner partitioner;
+    private final String partitionOwnerId;
+    private final long leaseTtl;
+    private final Function<String, List<ConsumerGroup>> groupsOf;
+    private final Supplier<AdaptivePollController> pollControllerFactory;
+    private final Subscriber subscriber;
+    private final RedisStreamMetrics metrics;
+    private final Set<String> consumedStreams = ConcurrentHashMap.newKeySet();
+    private final Map<String, StreamConsumers> streamConsumers = new ConcurrentHashMap<>();
+    private final Map<String, StreamLagService.LagSample> lagSamples = new ConcurrentHashMap<>();
+    private final Map<String, Subscription> partitionSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, AdaptivePollController> pollControllers = new ConcurrentHashMap<>();
+    private final Map<String, PartitionAssignmentService> partitionAssignments = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the consumer of a group on a stream.
+     */
+    public interface Subscriber {
+        /**
+         * Subscribes a consumer of a group to a stream, reading new entries.
+         *
+         * @param group Consumer group
+         * @param consumerName Consumer name
+         * @param streamKey Stream key
+         * @param pollController Read sizing of the consumer, or null to read with the container's options
+         * @return Subscription of the consumer
+         */
+        Subscription subscribe(ConsumerGroup group, String consumerName, String streamKey, AdaptivePollController pollController);
+    }
+
+    /**
+     * Constructor for StreamConsumerCoordinator.
+     *
+     * @param streamRedisTemplate String template used for stream operations and partition leases
+     * @param consumerName Name of this instance's consumers, suffixed by their position when a stream has several
+     * @param concurrency Number of consumers per group on an unpartitioned stream without scaling
+     * @param scalingPolicy Policy adding and removing consumers by lag, or null to keep the configured number
+     * @param lagService Service sampling the lag of a group on a stream
+     * @param partitioner Partitioner giving the partition streams of a stream
+     * @param partitionOwnerId Owner ID of this instance's partition leases
+     * @param leaseTtl Time to live of partition leases in milliseconds
+     * @param groupsOf Function giving the consumer groups that read a stream, by stream key before partitioning
+     * @param pollControllerFactory Factory of the read sizing of each consumer, or null to read with the container's options
+     * @param subscriber Subscriber creating the consumers
+     * @param metrics Metrics to record consumer counts and lag in
+     */
+    public StreamConsumerCoordinator(StringRedisTemplate streamRedisTemplate, String consumerName, int concurrency,
+                                     ConsumerScalingPolicy scalingPolicy, StreamLagService lagService, StreamPartitioner partitioner,
+                                     String partitionOwnerId, long leaseTtl, Function<String, List<ConsumerGroup>> groupsOf,
+                                     Supplier<AdaptivePollController> pollControllerFactory, Subscriber subscriber,
+                                     RedisStreamMetrics metrics) {
+        this.streamRedisTemplate = streamRedisTemplate;
+        this.consumerName = consumerName;
+        this.concurrency = concurrency;
+        this.scalingPolicy = scalingPolicy;
+        this.lagService = lagService;
+        this.partitioner = partitioner;
+        this.partitionOwnerId = partitionOwnerId;
+        this.leaseTtl = leaseTtl;
+        this.groupsOf = groupsOf;
+        this.pollControllerFactory = pollControllerFactory;
+        this.subscriber = subscriber;
+        this.metrics = metrics;
+        metrics.registerGauge("consume.lag", () -> lagSamples.values().stream().mapToLong(StreamLagService.LagSample::getLag).sum());
+        metrics.registerGauge("consume.pending", () -> lagSamples.values().stream().mapToLong(StreamLagService.LagSample::getPending).sum());
+        metrics.registerGauge("consume.consumers", () -> streamConsumers.values().stream()
+                .mapToInt(consumers -> consumers.subscriptions.size()).sum() + partitionSubscriptions.size());
+        if (partitioner.isPartitioned()) {
+            metrics.registerGauge("partition.owned", () -> partitionAssignments.values().stream()
+                    .mapToInt(assignment -> assignment.getOwnedPartitions().size()).sum());
+        }
+    }
+
+    /**
+     * Gets whether a stream is consumed on this instance.
+     *
+     * @param baseKey Stream key before partitioning
+     * @return true once {@link #consume(String)} was called for the stream
+     */
+    public boolean isConsuming(String baseKey) {
+        return consumedStreams.contains(baseKey);
+    }
+
+    /**
+     * Gets the streams consumed on this instance.
+     *
+     * @return Stream keys before partitioning
+     */
+    public Set<String> getConsumedStreams() {
+        return Collections.unmodifiableSet(consumedStreams);
+    }
+
+    /**
+     * Gets the read sizing of every consumer that reads with a poll controller.
+     *
+     * @return Poll controllers
+     */
+    public Collection<AdaptivePollController> getPollControllers() {
+        return pollControllers.values();
+    }
+
+    /**
+     * Gets the largest number of consumers of a group on an unpartitioned stream.
+     *
+     * @return Maximum consumers per group and stream
+     */
+    public int getMaxConsumers() {
+        return scalingPolicy != null ? scalingPolicy.getMaxConsumers() : concurrency;
+    }
+
+    /**
+     * Starts consuming a stream in every group that reads it. A partitioned stream is subscribed partition by
+     * partition as leases are acquired; a single stream gets the initial number of consumers per group.
+     *
+     * @param baseKey Stream key before partitioning
+     */
+    public synchronized void consume(String baseKey) {
+        if (!consumedStreams.add(baseKey)) {
+            return;
+        }
+        if (partitioner.isPartitioned()) {
+            PartitionAssignmentService assignment = new RedisPartitionAssignmentServiceImpl(streamRedisTemplate, baseKey,
+                    partitioner.streamKeys(baseKey), partitionOwnerId, leaseTtl, new PartitionAssignmentService.Listener() {
+                        @Override
+                        public void onAssigned(String partition) {
+                            for (ConsumerGroup group : groupsOf.apply(baseKey)) {
+                                subscribePartition(partition, group);
+                            }
+                        }
+
+                        @Override
+                        public void onRevoked(String partition) {
+                            unsubscribePartition(partition);
+                        }
+                    });
+            partitionAssignments.put(baseKey, assignment);
+            assignment.rebalance();
+            return;
+        }
+
+        for (ConsumerGroup group : groupsOf.apply(baseKey)) {
+            startConsumers(baseKey, group);
+        }
+    }
+
+    /**
+     * Starts the consumers of a group on a stream already consumed, for a handler group added after startup.
+     *
+     * @param baseKey Stream key before partitioning
+     * @param group Consumer group
+     */
+    public synchronized void consume(String baseKey, ConsumerGroup group) {
+        if (!partitioner.isPartitioned()) {
+            startConsumers(baseKey, group);
+            return;
+        }
+        PartitionAssignmentService assignment = partitionAssignments.get(baseKey);
+        if (assignment != null) {
+            for (String partition : assignment.getOwnedPartitions()) {
+                subscribePartition(partition, group);
+            }
+        }
+    }
+
+    /**
+     * Stops every consumer of a group on this instance, for a handler that was unsubscribed. The group itself
+     * is left in Redis, other instances may still read in it.
+     *
+     * @param group Consumer group
+     */
+    public synchronized void stopConsumers(ConsumerGroup group) {
+        streamConsumers.values().removeIf(consumers -> {
+            if (consumers.group != group) {
+                return false;
+            }
+            for (Subscription sub : consumers.subscriptions) {
+                sub.cancel();
+            }
+            lagSamples.remove(subscriptionKey(consumers.baseKey, group));
+            return true;
+        });
+        partitionSubscriptions.entrySet().removeIf(entry -> {
+            if (!entry.getKey().endsWith("|" + group.getName())) {
+                return false;
+            }
+            entry.getValue().cancel();
+            return true;
+        });
+        pollControllers.keySet().removeIf(key -> key.contains("|" + group.getName() + "|"));
+        logger.info("[StreamConsumerCoordinator] Stopped consumers of group {}", group);
+    }
+
+    /**
+     * Gets the stream keys a consumer group currently reads on this instance: the partitions it owns,
+     * or every stream key of the group's streams when unpartitioned.
+     *
+     * @param group Consumer group
+     * @return Stream keys
+     */
+    public Set<String> streamKeysOf(ConsumerGroup group) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String baseKey : consumedStreams) {
+            if (!groupsOf.apply(baseKey).contains(group)) {
+                continue;
+            }
+            if (partitioner.isPartitioned()) {
+                PartitionAssignmentService assignment = partitionAssignments.get(baseKey);
+                if (assignment != null) {
+                    keys.addAll(assignment.getOwnedPartitions());
+                }
+            } else {
+                keys.addAll(partitioner.streamKeys(baseKey));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Samples each group's lag on every unpartitioned stream and adds or removes consumers to match it.
+     * Does nothing without a scaling policy.
+     */
+    public synchronized void scaleConsumers() {
+        if (scalingPolicy == null) {
+            return;
+        }
+        for (Map.Entry<String, StreamConsumers> entry : streamConsumers.entrySet()) {
+            StreamConsumers consumers = entry.getValue();
+            String baseKey = consumers.baseKey;
+            try {
+                StreamLagService.LagSample sample = lagService.sample(baseKey, consumers.group.getName());
+                lagSamples.put(entry.getKey(), sample);
+                int current = consumers.subscriptions.size();
+                int next = scalingPolicy.nextConsumers(current, sample.getLag());
+                if (next == current) {
+                    continue;
+                }
+                logger.info("[StreamConsumerCoordinator] Scaling consumers of stream {} in group {} from {} to {}, lag={}, pending={}",
+                        baseKey, consumers.group, current, next, sample.getLag(), sample.getPending());
+                while (consumers.subscriptions.size() < next) {
+                    addConsumer(consumers);
+                    metrics.increment("consume.scale-ups");
+                }
+                while (consumers.subscriptions.size() > next) {
+                    removeConsumer(consumers);
+                    metrics.increment("consume.scale-downs");
+                }
+            } catch (Exception e) {
+                logger.warn("[StreamConsumerCoordinator] Error scaling consumers of stream {} in group {}: {}", baseKey, consumers.group, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Renews partition leases and rebalances partitions for every consumed stream.
+     */
+    public void rebalancePartitions() {
+        for (PartitionAssignmentService assignment : partitionAssignments.values()) {
+            assignment.rebalance();
+        }
+    }
+
+    /**
+     * Cancels every consumer. Partition leases are kept until {@link #releasePartitions()}.
+     */
+    public synchronized void stop() {
+        for (StreamConsumers consumers : streamConsumers.values()) {
+            for (Subscription sub : consumers.subscriptions) {
+                sub.cancel();
+            }
+        }
+        for (Subscription sub : partitionSubscriptions.values()) {
+            sub.cancel();
+        }
+    }
+
+    /**
+     * Releases the partition leases held by this instance, so that other instances take the partitions over.
+     */
+    public void releasePartitions() {
+        for (PartitionAssignmentService assignment : partitionAssignments.values()) {
+            assignment.releaseAll();
+        }
+    }
+
+    /**
+     * Starts the initial number of consumers of a group on an unpartitioned stream.
+     *
+     * @param baseKey Stream key
+     * @param group Consumer group
+     */
+    private void startConsumers(String baseKey, ConsumerGroup group) {
+        StreamConsumers consumers = streamConsumers.computeIfAbsent(subscriptionKey(baseKey, group),
+                key -> new StreamConsumers(baseKey, group));
+        int initial = scalingPolicy != null ? scalingPolicy.initialConsumers(concurrency) : concurrency;
+        for (int i = consumers.subscriptions.size(); i < initial; i++) {
+            addConsumer(consumers);
+        }
+    }
+
+    /**
+     * Adds the next consumer of a group on a stream, named by its position among the group's consumers.
+     *
+     * @param consumers Current consumers of the group on the stream
+     */
+    private void addConsumer(StreamConsumers consumers) {
+        String currentConsumerName = consumerNameOf(consumers.subscriptions.size());
+        Subscription sub = subscribe(consumers.group, currentConsumerName, consumers.baseKey);
+        consumers.subscriptions.add(sub);
+        logger.info("[StreamConsumerCoordinator] Created consumer subscription: {} on stream {}, group {}",
+                currentConsumerName, consumers.baseKey, consumers.group);
+    }
+
+    /**
+     * Removes the last consumer of a group on a stream. Its name is also removed from the group unless entries
+     * are still pending for it, which are then left to be reclaimed.
+     *
+     * @param consumers Current consumers of the group on the stream
+     */
+    private void removeConsumer(StreamConsumers consumers) {
+        int index = consumers.subscriptions.size() - 1;
+        String removedConsumerName = consumerNameOf(index);
+        consumers.subscriptions.remove(index).cancel();
+        pollControllers.remove(pollControllerKey(consumers.baseKey, consumers.group, removedConsumerName));
+        Consumer consumer = Consumer.from(consumers.group.getName(), removedConsumerName);
+        PendingMessages pending = streamRedisTemplate.opsForStream().pending(consumers.baseKey, consumer, Range.unbounded(), 1L);
+        if (pending == null || pending.isEmpty()) {
+            streamRedisTemplate.opsForStream().deleteConsumer(consumers.baseKey, consumer);
+        }
+        logger.info("[StreamConsumerCoordinator] Removed consumer subscription: {} on stream {}, group {}",
+                removedConsumerName, consumers.baseKey, consumers.group);
+    }
+
+    /**
+     * Gets the name of the consumer at a position. A stream that never has more than one consumer uses the
+     * configured name as is.
+     *
+     * @param index Position of the consumer
+     * @return Consumer name
+     */
+    private String consumerNameOf(int index) {
+        return getMaxConsumers() > 1 ? consumerName + "-" + index : consumerName;
+    }
+
+    /**
+     * Starts consuming a partition stream in a group after its lease has been acquired.
+     *
+     * @param partition Partition stream key
+     * @param group Consumer group
+     */
+    private void subscribePartition(String partition, ConsumerGroup group) {
+        Subscription sub = subscribe(group, consumerName, partition);
+        partitionSubscriptions.put(subscriptionKey(partition, group), sub);
+        logger.info("[StreamConsumerCoordinator] Created consumer subscription: {} on partition {}, group {}", consumerName, partition, group);
+    }
+
+    /**
+     * Stops consuming a partition stream whose lease was lost or released, in every group.
+     *
+     * @param partition Partition stream key
+     */
+    private void unsubscribePartition(String partition) {
+        String prefix = partition + "|";
+        partitionSubscriptions.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+            entry.getValue().cancel();
+            logger.info("[StreamConsumerCoordinator] Cancelled consumer subscription on partition {}, group {}",
+                    partition, entry.getKey().substring(prefix.length()));
+            return true;
+        });
+        pollControllers.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Subscribes a consumer, with its own poll controller when consumers read with one.
+     */
+    private Subscription subscribe(ConsumerGroup group, String consumer, String key) {
+        AdaptivePollController pollController = null;
+        if (pollControllerFactory != null) {
+            pollController = pollControllerFactory.get();
+            pollControllers.put(pollControllerKey(key, group, consumer), pollController);
+        }
+        return subscriber.subscribe(group, consumer, key, pollController);
+    }
+
+    private static String pollControllerKey(String key, ConsumerGroup group, String consumerName) {
+        return key + "|" + group.getName() + "|" + consumerName;
+    }
+
+    private static String subscriptionKey(String key, ConsumerGroup group) {
+        return key + "|" + group.getName();
+    }
+
+    /**
+     * Consumers of one group on one unpartitioned stream.
+     */
+    private static final class StreamConsumers {
+        private final String baseKey;
+        private final ConsumerGroup group;
+        private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+        StreamConsumers(String baseKey, ConsumerGroup group) {
+            this.baseKey = baseKey;
+            this.group = group;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.hibuka.soda.event.redis.outbox;
+
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC implementation of OutboxStore.
+ * Writes go through a JdbcTemplate, so they join the Spring-managed transaction bound to the same DataSource.
+ * Each row keeps the encoded entry fields and a non-negative hash of the stream key. A shard owns a contiguous
+ * range of hashes, so a shard poll is a range scan of the (shard_hash, id) index whatever the number of shards,
+ * and changing the relay's parallelism needs no migration. Row limits use {@link PreparedStatement#setMaxRows(int)}
+ * rather than dialect-specific SQL, so the store works on any database whose table has the columns and index
+ * below; {@link #initializeSchema()} creates them with standard SQL (H2, PostgreSQL with bytea instead of BLOB,
+ * and similar).
+ *
+ * <pre>
+ * id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY
+ * stream_key VARCHAR(512) NOT NULL
+ * shard_hash INT NOT NULL
+ * fields     BLOB NOT NULL
+ * created_at TIMESTAMP NOT NULL
+ * INDEX (shard_hash, id)
+ * </pre>
+ *
+ * Rows are fetched in id order. Ids are assigned at insert time, not at commit time, so entries of two
+ * overlapping transactions can become visible out of id order and the relay may append a later id first.
+ * Order within a stream is therefore only kept for transactions that do not overlap, and is best-effort otherwise.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class JdbcOutboxStore implements OutboxStore {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcOutboxStore.class);
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+    // Shard hashes span [0, 2^31)
+    private static final long HASH_SPACE = Integer.MAX_VALUE + 1L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+    private final String insertSql;
+    private final String fetchSql;
+
+    /**
+     * Constructor for JdbcOutboxStore.
+     *
+     * @param dataSource DataSource of the business transactions
+     * @param tableName Outbox table name
+     */
+    public JdbcOutboxStore(DataSource dataSource, String tableName) {
+        if (!TABLE_NAME.matcher(tableName).matches()) {
+            throw new IllegalArgumentException("Invalid outbox table name: " + tableName);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tableName = tableName;
+        this.insertSql = "INSERT INTO " + tableName + " (stream_key, shard_hash, fields, created_at) VALUES (?, ?, ?, ?)";
+        this.fetchSql = "SELECT id, stream_key, fields FROM " + tableName + " WHERE shard_hash >= ? AND shard_hash < ? ORDER BY id";
+    }
+
+    /**
+     * Creates the outbox table if it does not exist.
+     */
+    public void initializeSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + tableName + " ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "stream_key VARCHAR(512) NOT NULL, "
+                + "shard_hash INT NOT NULL, "
+                + "fields BLOB NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL)");
+        String indexName = tableName.substring(tableName.lastIndexOf('.') + 1) + "_shard_idx";
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + indexName + " ON " + tableName + " (shard_hash, id)");
+        logger.info("[JdbcOutboxStore] Initialized outbox table: {}", tableName);
+    }
+
+    @Override
+    public void append(List<StreamEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(insertSql, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getStreamKey());
+            ps.setInt(2, shardHash(entry.getStreamKey()));
+            ps.setBytes(3, encodeFields(entry.getFields()));
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    @Override
+    public List<OutboxRecord> fetch(int shard, int shardCount, int limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(fetchSql);
+            ps.setMaxRows(limit);
+            ps.setLong(1, lowerHashOf(shard, shardCount));
+            ps.setLong(2, lowerHashOf(shard + 1, shardCount));
+            return ps;
+        }, (rs, rowNum) -> new OutboxRecord(rs.getLong(1), new StreamEntry(rs.getString(2), decodeFields(rs.getBytes(3)))));
+    }
+
+    @Override
+    public void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("DELETE FROM " + tableName + " WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    /**
+     * Hash of a stream key used for sharding, stable across JVMs and never negative.
+     *
+     * @param streamKey Stream key
+     * @return Shard hash
+     */
+    static int shardHash(String streamKey) {
+        return streamKey.hashCode() & Integer.MAX_VALUE;
+    }
+
+    /**
+     * Shard of a stream key: the shard whose hash range holds the key's hash.
+     *
+     * @param streamKey Stream key
+     * @param shardCount Number of shards
+     * @return Shard index, from 0 to shardCount - 1
+     */
+    static int shardOf(String streamKey, int shardCount) {
+        return (int) (shardHash(streamKey) * (long) shardCount / HASH_SPACE);
+    }
+
+    /**
+     * Smallest hash of a shard's range, which ends before the smallest hash of the next shard.
+     *
+     * @param shard Shard index, shardCount for the end of the last range
+     * @param shardCount Number of shards
+     * @return Inclusive lower bound of the shard's hashes
+     */
+    static long lowerHashOf(int shard, int shardCount) {
+        return (shard * HASH_SPACE + shardCount - 1) / shardCount;
+    }
+
+    static byte[] encodeFields(Map<String, byte[]> fields) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeInt(fields.size());
+            for (Map.Entry<String, byte[]> field : fields.entrySet()) {
+                out.writeUTF(field.getKey());
+                out.writeInt(field.getValue().length);
+                out.write(field.getValue());
+            }
+            out.flush();
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Map<String, byte[]> decodeFields(byte[] data) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            int size = in.readInt();
+            Map<String, byte[]> fields = new LinkedHashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                String key = in.readUTF();
+                byte[] value = new byte[in.readInt()];
+                in.readFully(value);
+                fields.put(key, value);
+            }
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
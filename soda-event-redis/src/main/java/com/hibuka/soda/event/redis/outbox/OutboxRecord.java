@@ -0,0 +1,33 @@
+package com.hibuka.soda.event.redis.outbox;
+
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+
+/**
+ * A stream entry stored in the outbox, together with its outbox ID.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class OutboxRecord {
+    private final long id;
+    private final StreamEntry entry;
+
+    /**
+     * Constructor for OutboxRecord.
+     *
+     * @param id Outbox ID, increasing in insertion order
+     * @param entry Stored stream entry
+     */
+    public OutboxRecord(long id, StreamEntry entry) {
+        this.id = id;
+        this.entry = entry;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public StreamEntry getEntry() {
+        return entry;
+    }
+}
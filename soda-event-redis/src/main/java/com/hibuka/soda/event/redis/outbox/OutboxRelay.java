@@ -0,0 +1,168 @@
+package com.hibuka.soda.event.redis.outbox;
+
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import com.hibuka.soda.event.redis.publish.PipelinedStreamWriter;
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+import com.hibuka.soda.event.redis.service.PartitionAssignmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves entries from the outbox to their streams.
+ * The outbox is split into shards by stream key; each shard is drained by one thread, oldest entries first, in
+ * batches appended with a single pipelined round trip and then deleted. A shard is only drained while this
+ * instance holds it, which the relay learns as a {@link PartitionAssignmentService.Listener}, so several instances
+ * can run relays against the same table. Delivery is at least once: a crash between append and delete replays the
+ * batch, which idempotent consumers skip.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class OutboxRelay implements PartitionAssignmentService.Listener {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxStore store;
+    private final PipelinedStreamWriter writer;
+    private final int batchSize;
+    private final long pollInterval;
+    private final RedisStreamMetrics metrics;
+    private final List<String> shardKeys;
+    private final Map<String, Integer> shardsByKey = new ConcurrentHashMap<>();
+    private final Set<Integer> ownedShards = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor for OutboxRelay.
+     *
+     * @param store Outbox store to drain
+     * @param writer Pipelined writer used to append batches
+     * @param batchSize Maximum number of entries per batch
+     * @param parallelism Number of shards, each drained by its own thread
+     * @param pollInterval Delay between polls of an empty shard in milliseconds
+     * @param shardKeyPrefix Prefix of the shard names used for shard assignment
+     * @param metrics Metrics registry to record relay results in
+     */
+    public OutboxRelay(OutboxStore store, PipelinedStreamWriter writer, int batchSize, int parallelism,
+                       long pollInterval, String shardKeyPrefix, RedisStreamMetrics metrics) {
+        this.store = store;
+        this.writer = writer;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollInterval = Math.max(1, pollInterval);
+        this.metrics = metrics;
+        List<String> keys = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            String key = shardKeyPrefix + ":" + i;
+            keys.add(key);
+            shardsByKey.put(key, i);
+        }
+        this.shardKeys = Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * Gets the names of all shards, to be assigned to relay instances.
+     *
+     * @return Shard names in shard order
+     */
+    public List<String> getShardKeys() {
+        return shardKeys;
+    }
+
+    /**
+     * Starts one drain thread per shard.
+     */
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            executor = Executors.newScheduledThreadPool(shardKeys.size(), runnable -> {
+                Thread thread = new Thread(runnable, "soda-outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int shard = 0; shard < shardKeys.size(); shard++) {
+                int current = shard;
+                executor.scheduleWithFixedDelay(() -> drainWhileBacklogged(current), 0, pollInterval, TimeUnit.MILLISECONDS);
+            }
+            logger.info("[OutboxRelay] Started with {} shards, batchSize={}, pollInterval={}ms", shardKeys.size(), batchSize, pollInterval);
+        }
+    }
+
+    /**
+     * Stops the drain threads, letting a batch in progress finish.
+     */
+    public void stop() {
+        if (running.compareAndSet(true, false) && executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            logger.info("[OutboxRelay] Stopped");
+        }
+    }
+
+    @Override
+    public void onAssigned(String shardKey) {
+        Integer shard = shardsByKey.get(shardKey);
+        if (shard != null) {
+            ownedShards.add(shard);
+        }
+    }
+
+    @Override
+    public void onRevoked(String shardKey) {
+        Integer shard = shardsByKey.get(shardKey);
+        if (shard != null) {
+            ownedShards.remove(shard);
+        }
+    }
+
+    /**
+     * Moves one batch of a shard to the streams.
+     *
+     * @param shard Shard index
+     * @return Number of entries relayed
+     */
+    public int drain(int shard) {
+        List<OutboxRecord> records = store.fetch(shard, shardKeys.size(), batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        List<StreamEntry> entries = new ArrayList<>(records.size());
+        List<Long> ids = new ArrayList<>(records.size());
+        for (OutboxRecord record : records) {
+            entries.add(record.getEntry());
+            ids.add(record.getId());
+        }
+        writer.write(entries);
+        store.delete(ids);
+        metrics.add("outbox.relayed", records.size());
+        metrics.add("outbox.relay-nanos", System.nanoTime() - start);
+        logger.debug("[OutboxRelay] Relayed {} entries from shard {}", records.size(), shard);
+        return records.size();
+    }
+
+    private void drainWhileBacklogged(int shard) {
+        try {
+            // Keep going while full batches come back, an idle shard waits for the next poll
+            while (running.get() && ownedShards.contains(shard) && drain(shard) >= batchSize) {
+                metrics.increment("outbox.full-batches");
+            }
+        } catch (Exception e) {
+            metrics.increment("outbox.relay-errors");
+            logger.error("[OutboxRelay] Error relaying shard {}: {}", shard, e.getMessage(), e);
+        }
+    }
+}
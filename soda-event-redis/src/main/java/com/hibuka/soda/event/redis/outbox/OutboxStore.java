@@ -0,0 +1,40 @@
+package com.hibuka.soda.event.redis.outbox;
+
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+
+import java.util.List;
+
+/**
+ * Outbox store interface.
+ * Holds stream entries written inside business transactions until the relay has appended them to their streams.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface OutboxStore {
+
+    /**
+     * Appends entries to the outbox, joining the caller's transaction.
+     *
+     * @param entries Stream entries to store, in publish order
+     */
+    void append(List<StreamEntry> entries);
+
+    /**
+     * Fetches the oldest entries of a shard in insertion order. Entries of one stream always fall into the same shard.
+     * Insertion order follows commit order only for transactions that do not overlap.
+     *
+     * @param shard Shard index, from 0 to shardCount - 1
+     * @param shardCount Number of shards
+     * @param limit Maximum number of entries to fetch
+     * @return Outbox records, oldest first
+     */
+    List<OutboxRecord> fetch(int shard, int shardCount, int limit);
+
+    /**
+     * Deletes relayed entries.
+     *
+     * @param ids IDs of the records to delete
+     */
+    void delete(List<Long> ids);
+}
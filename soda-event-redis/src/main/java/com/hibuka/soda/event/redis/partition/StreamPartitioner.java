@@ -0,0 +1,135 @@
+package com.hibuka.soda.event.redis.partition;
+
+import com.hibuka.soda.domain.event.DomainEvent;
+import com.hibuka.soda.domain.event.PartitionKey;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Maps events to partition streams.
+ * The partition key is read from the member annotated with {@link PartitionKey} (falling back to the event ID)
+ * and hashed with CRC32, which is stable across JVMs and releases. Partition stream keys are Redis Cluster hash
+ * tags, e.g. {@code {events:3}}, so each partition and the keys derived from it (such as its lease) share a slot
+ * while different partitions spread over the cluster.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class StreamPartitioner {
+    private static final Function<Object, Object> NO_KEY = event -> null;
+
+    private final int partitionCount;
+    private final Map<String, List<String>> streamKeysByBase = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Function<Object, Object>> keyAccessors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for StreamPartitioner.
+     *
+     * @param partitionCount Number of partitions, 1 keeps each base stream key as the only stream
+     */
+    public StreamPartitioner(int partitionCount) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be positive: " + partitionCount);
+        }
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * Whether events are spread over more than one stream.
+     *
+     * @return true if partitioned
+     */
+    public boolean isPartitioned() {
+        return partitionCount > 1;
+    }
+
+    /**
+     * Gets the stream keys of all partitions of a base stream, in partition order.
+     *
+     * @param baseStreamKey Stream key before partitioning
+     * @return Stream keys
+     */
+    public List<String> streamKeys(String baseStreamKey) {
+        return streamKeysByBase.computeIfAbsent(baseStreamKey, base -> {
+            if (partitionCount == 1) {
+                return List.of(base);
+            }
+            List<String> keys = new ArrayList<>(partitionCount);
+            for (int i = 0; i < partitionCount; i++) {
+                keys.add("{" + base + ":" + i + "}");
+            }
+            return Collections.unmodifiableList(keys);
+        });
+    }
+
+    /**
+     * Gets the stream key an event is published to.
+     *
+     * @param baseStreamKey Stream key before partitioning
+     * @param event Domain event
+     * @return Stream key of the event's partition
+     */
+    public String streamKeyFor(String baseStreamKey, DomainEvent event) {
+        if (partitionCount == 1) {
+            return baseStreamKey;
+        }
+        return streamKeys(baseStreamKey).get(partitionOf(partitionKeyOf(event)));
+    }
+
+    /**
+     * Gets the partition of a partition key.
+     *
+     * @param partitionKey Partition key, null maps to partition 0
+     * @return Partition index
+     */
+    public int partitionOf(String partitionKey) {
+        if (partitionKey == null) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(partitionKey.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % partitionCount);
+    }
+
+    /**
+     * Gets the partition key of an event.
+     *
+     * @param event Domain event
+     * @return Value of the {@link PartitionKey} member, or the event ID if there is none or it is null
+     */
+    public String partitionKeyOf(DomainEvent event) {
+        Object key = keyAccessors.computeIfAbsent(event.getClass(), StreamPartitioner::resolveKeyAccessor).apply(event);
+        return key != null ? key.toString() : event.getEventId();
+    }
+
+    private static Function<Object, Object> resolveKeyAccessor(Class<?> eventClass) {
+        for (Class<?> type = eventClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(PartitionKey.class)) {
+                    ReflectionUtils.makeAccessible(field);
+                    return event -> ReflectionUtils.getField(field, event);
+                }
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(PartitionKey.class)) {
+                    if (method.getParameterCount() != 0) {
+                        throw new IllegalStateException("@PartitionKey method must not take parameters: " + method);
+                    }
+                    ReflectionUtils.makeAccessible(method);
+                    return event -> ReflectionUtils.invokeMethod(method, event);
+                }
+            }
+        }
+        return NO_KEY;
+    }
+}
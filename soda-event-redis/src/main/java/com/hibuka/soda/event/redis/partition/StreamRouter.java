@@ -0,0 +1,57 @@
+package com.hibuka.soda.event.redis.partition;
+
+import com.hibuka.soda.event.redis.ClassNameMatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps event types to the stream they are published to.
+ * Without routing every type shares the configured stream key. With routing a type goes to
+ * {@code <stream key>:<route>}, where the route is taken from the configured mapping by the longest
+ * matching class name or package prefix, and defaults to the fully qualified class name.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class StreamRouter {
+    private final String streamKey;
+    private final boolean enabled;
+    private final ClassNameMatcher<String> routes;
+    private final Map<Class<?>, String> streamKeysByType = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for StreamRouter.
+     *
+     * @param streamKey Configured stream key
+     * @param enabled Whether types are routed to separate streams
+     * @param routes Route names by class name or package prefix
+     */
+    public StreamRouter(String streamKey, boolean enabled, Map<String, String> routes) {
+        this.streamKey = streamKey;
+        this.enabled = enabled;
+        this.routes = new ClassNameMatcher<>(routes);
+    }
+
+    /**
+     * Whether types are routed to separate streams.
+     *
+     * @return true if routing is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the stream key of an event type, before partitioning.
+     *
+     * @param eventType Event class
+     * @return Stream key of the type's route
+     */
+    public String streamKeyFor(Class<?> eventType) {
+        if (!enabled) {
+            return streamKey;
+        }
+        return streamKeysByType.computeIfAbsent(eventType, type -> streamKey + ":" + routes.match(type.getName(), type.getName()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.hibuka.soda.event.redis.publish;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStreamCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Appends stream entries through the reactive stream commands of the connection factory.
+ * The XADD is written to the connection and the calling thread returns immediately; the
+ * returned future is completed on the driver's I/O thread once Redis replies.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class AsyncStreamWriter {
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final Supplier<RedisStreamCommands.XAddOptions> appendOptions;
+    private volatile ReactiveRedisConnection connection;
+
+    /**
+     * Constructor for AsyncStreamWriter.
+     *
+     * @param connectionFactory Reactive connection factory, typically the Lettuce factory
+     * @param appendOptions Supplier of the XADD options (trim policy) applied to every entry
+     */
+    public AsyncStreamWriter(ReactiveRedisConnectionFactory connectionFactory, Supplier<RedisStreamCommands.XAddOptions> appendOptions) {
+        this.connectionFactory = connectionFactory;
+        this.appendOptions = appendOptions;
+    }
+
+    /**
+     * Appends an entry without blocking the calling thread.
+     *
+     * @param entry Entry to append
+     * @return Future completed with the record ID assigned by Redis
+     */
+    public CompletableFuture<RecordId> write(StreamEntry entry) {
+        try {
+            ReactiveStreamCommands.AddStreamRecord command = toAddCommand(entry, appendOptions.get());
+            return connection().streamCommands()
+                    .xAdd(Mono.just(command))
+                    .next()
+                    .map(ReactiveRedisConnection.CommandResponse::getOutput)
+                    .toFuture();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Closes the reactive connection held by this writer.
+     */
+    public void close() {
+        ReactiveRedisConnection current = connection;
+        connection = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private ReactiveRedisConnection connection() {
+        ReactiveRedisConnection current = connection;
+        if (current == null) {
+            synchronized (this) {
+                current = connection;
+                if (current == null) {
+                    current = connectionFactory.getReactiveConnection();
+                    connection = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static ReactiveStreamCommands.AddStreamRecord toAddCommand(StreamEntry entry, RedisStreamCommands.XAddOptions options) {
+        Map<ByteBuffer, ByteBuffer> raw = new LinkedHashMap<>(entry.getFields().size());
+        for (Map.Entry<String, byte[]> field : entry.getFields().entrySet()) {
+            raw.put(ByteBuffer.wrap(field.getKey().getBytes(StandardCharsets.UTF_8)),
+                    ByteBuffer.wrap(field.getValue()));
+        }
+        ReactiveStreamCommands.AddStreamRecord command = ReactiveStreamCommands.AddStreamRecord.of(
+                StreamRecords.newRecord()
+                        .in(ByteBuffer.wrap(entry.getStreamKey().getBytes(StandardCharsets.UTF_8)))
+                        .ofBuffer(raw));
+        if (options.hasMaxlen()) {
+            command = command.maxlen(options.getMaxlen());
+        }
+        if (options.hasMinId()) {
+            command = command.minId(options.getMinId());
+        }
+        return command.approximateTrimming(options.isApproximateTrimming());
+    }
+}
@@ -0,0 +1,317 @@
+package com.hibuka.soda.event.redis.publish;
+
+import com.hibuka.soda.bus.configuration.EventProperties.RedisProperties.StreamProperties.BatchPublishProperties.OverflowPolicy;
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects stream entries from publishing threads and flushes them in groups through a
+ * {@link PipelinedStreamWriter}. A group is flushed when it reaches the maximum batch size
+ * or when the linger time since its first entry has elapsed, whichever comes first.
+ * Every submitted entry gets its own future completed with the assigned record ID.
+ * The queue is bounded; while it is full, the overflow policy blocks the publisher for a limited time,
+ * runs the write on the publishing thread, drops the oldest queued entry, or spills the entry to a
+ * {@link PublishSpillHandler} whose entries are replayed once the queue has drained. With a spill handler, a group
+ * that cannot be written is spilled as well instead of failing, and entries submitted while the spill is not
+ * empty follow it there until replay has caught up.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class BatchingStreamPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(BatchingStreamPublisher.class);
+
+    private final PipelinedStreamWriter writer;
+    private final int maxBatchSize;
+    private final long lingerMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final PublishSpillHandler spillHandler;
+    private final RedisStreamMetrics metrics;
+    private final BlockingQueue<PendingEntry> queue;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private Thread flusher;
+
+    /**
+     * Constructor for BatchingStreamPublisher with an unbounded queue.
+     *
+     * @param writer Pipelined writer used to flush groups
+     * @param maxBatchSize Maximum number of entries per flush
+     * @param lingerMs Maximum time to wait for a group to fill up, in milliseconds
+     */
+    public BatchingStreamPublisher(PipelinedStreamWriter writer, int maxBatchSize, long lingerMs) {
+        this(writer, maxBatchSize, lingerMs, Integer.MAX_VALUE, OverflowPolicy.BLOCK, 0, null, new RedisStreamMetrics());
+    }
+
+    /**
+     * Constructor for BatchingStreamPublisher.
+     *
+     * @param writer Pipelined writer used to flush groups
+     * @param maxBatchSize Maximum number of entries per flush
+     * @param lingerMs Maximum time to wait for a group to fill up, in milliseconds
+     * @param queueCapacity Maximum number of queued entries
+     * @param overflowPolicy What to do with a submit while the queue is full
+     * @param blockTimeoutMs Maximum time to wait for space under the BLOCK policy, in milliseconds
+     * @param spillHandler Spill storage, required for the SPILL policy and used for failed flushes; may be null
+     * @param metrics Metrics registry to record queue waits and overflows in
+     */
+    public BatchingStreamPublisher(PipelinedStreamWriter writer, int maxBatchSize, long lingerMs, int queueCapacity,
+                                   OverflowPolicy overflowPolicy, long blockTimeoutMs, PublishSpillHandler spillHandler,
+                                   RedisStreamMetrics metrics) {
+        if (overflowPolicy == OverflowPolicy.SPILL && spillHandler == null) {
+            throw new IllegalStateException("SPILL overflow policy requires a PublishSpillHandler");
+        }
+        this.writer = writer;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lingerMs = Math.max(0, lingerMs);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = Math.max(0, blockTimeoutMs);
+        this.spillHandler = spillHandler;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts the background flusher thread.
+     */
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            flusher = new Thread(this::runLoop, "soda-stream-batch-publisher");
+            flusher.setDaemon(true);
+            flusher.start();
+            logger.info("[BatchingStreamPublisher] Started with maxBatchSize={}, lingerMs={}", maxBatchSize, lingerMs);
+        }
+    }
+
+    /**
+     * Stops the flusher thread and flushes everything still queued.
+     */
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            if (flusher != null) {
+                try {
+                    flusher.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<PendingEntry> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            while (!remaining.isEmpty()) {
+                int end = Math.min(maxBatchSize, remaining.size());
+                flush(new ArrayList<>(remaining.subList(0, end)));
+                remaining.subList(0, end).clear();
+            }
+            logger.info("[BatchingStreamPublisher] Stopped");
+        }
+    }
+
+    /**
+     * Queues an entry for the next flush, applying the overflow policy if the queue is full.
+     *
+     * @param entry Entry to append
+     * @return Future completed with the record ID once the entry's group has been flushed; completed with null
+     *         once a spilled entry has been stored, and failed if the entry was rejected or dropped
+     */
+    public CompletableFuture<RecordId> submit(StreamEntry entry) {
+        PendingEntry pending = new PendingEntry(entry);
+        if (!running.get()) {
+            pending.future.completeExceptionally(new IllegalStateException("Batching stream publisher is not running"));
+            return pending.future;
+        }
+        if (spillHandler != null && spillHandler.size() > 0) {
+            // Entries already spilled are older, keep spilling until they have been replayed
+            spill(pending);
+            return pending.future;
+        }
+        if (!queue.offer(pending) && !handleOverflow(pending)) {
+            return pending.future;
+        }
+        if (!running.get() && queue.remove(pending)) {
+            // Raced with stop(): the final drain may already have run
+            pending.future.completeExceptionally(new IllegalStateException("Batching stream publisher is not running"));
+        }
+        return pending.future;
+    }
+
+    /**
+     * Gets the number of entries waiting to be flushed.
+     *
+     * @return Current queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Applies the overflow policy to an entry that did not fit into the queue.
+     *
+     * @param pending Entry to place
+     * @return true if the entry ended up in the queue, false if the policy completed its future
+     */
+    private boolean handleOverflow(PendingEntry pending) {
+        switch (overflowPolicy) {
+            case CALLER_RUNS:
+                metrics.increment("publish.buffer-caller-runs");
+                flush(List.of(pending));
+                return false;
+            case DROP_OLDEST:
+                while (!queue.offer(pending)) {
+                    PendingEntry dropped = queue.poll();
+                    if (dropped != null) {
+                        metrics.increment("publish.buffer-dropped");
+                        dropped.future.completeExceptionally(new RejectedExecutionException("Publish queue full, entry dropped"));
+                    }
+                }
+                return true;
+            case SPILL:
+                spill(pending);
+                return false;
+            case BLOCK:
+            default:
+                long start = System.nanoTime();
+                boolean queued;
+                try {
+                    queued = queue.offer(pending, blockTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+                metrics.increment("publish.buffer-waits");
+                metrics.add("publish.buffer-wait-nanos", System.nanoTime() - start);
+                if (!queued) {
+                    metrics.increment("publish.buffer-rejected");
+                    pending.future.completeExceptionally(new RejectedExecutionException(
+                            "Publish queue full, no space within " + blockTimeoutMs + "ms"));
+                }
+                return queued;
+        }
+    }
+
+    private void spill(PendingEntry pending) {
+        try {
+            spillHandler.spill(pending.entry);
+            metrics.increment("publish.buffer-spilled");
+            pending.future.complete(null);
+        } catch (Exception e) {
+            logger.error("[BatchingStreamPublisher] Error spilling entry: {}", e.getMessage(), e);
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Appends one group of spilled entries, removing them from the spill only once they are written.
+     */
+    private void replaySpilled() throws InterruptedException {
+        try {
+            List<StreamEntry> entries = spillHandler.peek(maxBatchSize);
+            if (entries.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            writer.write(entries);
+            spillHandler.remove(entries.size());
+            metrics.add("publish.spill-replayed", entries.size());
+            metrics.add("publish.spill-replay-nanos", System.nanoTime() - start);
+            logger.debug("[BatchingStreamPublisher] Replayed {} spilled entries", entries.size());
+        } catch (Exception e) {
+            metrics.increment("publish.spill-replay-errors");
+            logger.warn("[BatchingStreamPublisher] Error replaying spilled entries, will retry: {}", e.getMessage());
+            // Redis is likely still unavailable, do not spin on the spill
+            Thread.sleep(100);
+        }
+    }
+
+    private void runLoop() {
+        List<PendingEntry> batch = new ArrayList<>(maxBatchSize);
+        while (running.get()) {
+            try {
+                if (spillHandler != null && queue.isEmpty() && spillHandler.size() > 0) {
+                    replaySpilled();
+                    continue;
+                }
+                PendingEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    if (batch.size() >= maxBatchSize) {
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Flush what was already collected, stop() drains the rest
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<PendingEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<StreamEntry> entries = new ArrayList<>(batch.size());
+        for (PendingEntry pending : batch) {
+            entries.add(pending.entry);
+        }
+        try {
+            List<RecordId> recordIds = writer.write(entries);
+            for (int i = 0; i < batch.size(); i++) {
+                RecordId recordId = i < recordIds.size() ? recordIds.get(i) : null;
+                batch.get(i).future.complete(recordId);
+            }
+            logger.debug("[BatchingStreamPublisher] Flushed {} entries in one pipeline", batch.size());
+        } catch (Exception e) {
+            if (spillHandler != null) {
+                logger.warn("[BatchingStreamPublisher] Error flushing {} entries, spilling them: {}", batch.size(), e.getMessage());
+                for (PendingEntry pending : batch) {
+                    spill(pending);
+                }
+                return;
+            }
+            logger.error("[BatchingStreamPublisher] Error flushing {} entries: {}", batch.size(), e.getMessage(), e);
+            for (PendingEntry pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Queued entry together with the future handed back to the caller.
+     */
+    private static class PendingEntry {
+        private final StreamEntry entry;
+        private final CompletableFuture<RecordId> future = new CompletableFuture<>();
+
+        private PendingEntry(StreamEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
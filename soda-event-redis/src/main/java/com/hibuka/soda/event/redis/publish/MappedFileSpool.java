@@ -0,0 +1,253 @@
+package com.hibuka.soda.event.redis.publish;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only spool of stream entries in a memory-mapped local file.
+ * Entries are appended at the tail and consumed from the head; both offsets live in the file header and are
+ * only updated after the entry bytes are in place, so the spool survives a process restart with every entry
+ * that was spilled but not yet removed. The file is mapped as a whole and never grows: once the tail reaches
+ * the end, the unread part is moved to the front if the consumed part is at least as large, so the move never
+ * overwrites unread entries; otherwise spilling fails until replay has made room. The file is locked while open,
+ * so two processes cannot share it.
+ *
+ * <pre>
+ * header: magic, version, head offset, tail offset, entry count (4 bytes each, padded to 32)
+ * entry:  length, stream key, field count, then name and value of each field
+ * </pre>
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class MappedFileSpool implements PublishSpillHandler, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileSpool.class);
+    private static final int MAGIC = 0x534f4441;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int HEAD_OFFSET = 8;
+    private static final int TAIL_OFFSET = 12;
+    private static final int COUNT_OFFSET = 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int head;
+    private int tail;
+    private volatile int count;
+
+    /**
+     * Constructor for MappedFileSpool, opening or creating the spool file.
+     *
+     * @param file Spool file
+     * @param maxBytes Size of the mapped file in bytes; an existing larger file keeps its size
+     * @throws IOException if the file cannot be opened, is locked by another process or is not a spool file
+     */
+    public MappedFileSpool(Path file, long maxBytes) throws IOException {
+        if (maxBytes <= HEADER_SIZE || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Spool size must be between " + (HEADER_SIZE + 1) + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.lock = tryLock(channel);
+            if (lock == null) {
+                throw new IOException("Spool file is in use by another process: " + file);
+            }
+            this.capacity = (int) Math.max(maxBytes, channel.size());
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            writeHeader(HEADER_SIZE, HEADER_SIZE, 0);
+        } else if (magic != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a spool file: " + file);
+        } else {
+            head = buffer.getInt(HEAD_OFFSET);
+            tail = buffer.getInt(TAIL_OFFSET);
+            count = buffer.getInt(COUNT_OFFSET);
+            if (count > 0) {
+                logger.info("[MappedFileSpool] Recovered {} spooled entries from {}", count, file);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void spill(StreamEntry entry) throws IOException {
+        byte[] streamKey = entry.getStreamKey().getBytes(StandardCharsets.UTF_8);
+        int length = 2 + streamKey.length + 4;
+        List<byte[]> names = new ArrayList<>(entry.getFields().size());
+        for (Map.Entry<String, byte[]> field : entry.getFields().entrySet()) {
+            byte[] name = field.getKey().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            length += 2 + name.length + 4 + field.getValue().length;
+        }
+        ensureCapacity(4 + length);
+
+        int position = tail;
+        buffer.putInt(position, length);
+        position += 4;
+        position = putShortBytes(position, streamKey);
+        buffer.putInt(position, names.size());
+        position += 4;
+        int index = 0;
+        for (byte[] value : entry.getFields().values()) {
+            position = putShortBytes(position, names.get(index++));
+            buffer.putInt(position, value.length);
+            buffer.put(position + 4, value);
+            position += 4 + value.length;
+        }
+        // The header is written last, a crash before this point loses only the entry being written
+        writeHeader(head, position, count + 1);
+    }
+
+    @Override
+    public synchronized List<StreamEntry> peek(int max) {
+        List<StreamEntry> entries = new ArrayList<>(Math.min(max, count));
+        int position = head;
+        while (entries.size() < max && position < tail) {
+            int length = buffer.getInt(position);
+            entries.add(readEntry(position + 4));
+            position += 4 + length;
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized void remove(int removeCount) {
+        int position = head;
+        int removed = 0;
+        while (removed < removeCount && position < tail) {
+            position += 4 + buffer.getInt(position);
+            removed++;
+        }
+        if (position >= tail) {
+            writeHeader(HEADER_SIZE, HEADER_SIZE, 0);
+        } else {
+            writeHeader(position, tail, count - removed);
+        }
+    }
+
+    @Override
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Gets the spool file.
+     *
+     * @return Path of the spool file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Flushes the mapped pages to disk and releases the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            buffer.force();
+            lock.release();
+            channel.close();
+            logger.info("[MappedFileSpool] Closed {} with {} spooled entries", file, count);
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Already locked by this JVM
+            return null;
+        }
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (tail + needed <= capacity) {
+            return;
+        }
+        int unread = tail - head;
+        if (HEADER_SIZE + unread + needed > capacity || head - HEADER_SIZE < unread) {
+            throw new IOException("Spool file is full: " + file);
+        }
+        // Copy forward in chunks; the consumed part is at least as large, so unread bytes are never overwritten
+        byte[] chunk = new byte[Math.min(unread, 64 * 1024)];
+        for (int copied = 0; copied < unread; copied += chunk.length) {
+            int length = Math.min(chunk.length, unread - copied);
+            buffer.get(head + copied, chunk, 0, length);
+            buffer.put(HEADER_SIZE + copied, chunk, 0, length);
+        }
+        writeHeader(HEADER_SIZE, HEADER_SIZE + unread, count);
+        logger.debug("[MappedFileSpool] Compacted {} unread bytes to the front of {}", unread, file);
+    }
+
+    private StreamEntry readEntry(int position) {
+        int keyLength = Short.toUnsignedInt(buffer.getShort(position));
+        String streamKey = readString(position + 2, keyLength);
+        position += 2 + keyLength;
+        int fieldCount = buffer.getInt(position);
+        position += 4;
+        Map<String, byte[]> fields = new LinkedHashMap<>(fieldCount * 2);
+        for (int i = 0; i < fieldCount; i++) {
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position));
+            String name = readString(position + 2, nameLength);
+            position += 2 + nameLength;
+            byte[] value = new byte[buffer.getInt(position)];
+            buffer.get(position + 4, value);
+            position += 4 + value.length;
+            fields.put(name, value);
+        }
+        return new StreamEntry(streamKey, fields);
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int putShortBytes(int position, byte[] bytes) {
+        buffer.putShort(position, (short) bytes.length);
+        buffer.put(position + 2, bytes);
+        return position + 2 + bytes.length;
+    }
+
+    private void writeHeader(int head, int tail, int count) {
+        this.head = head;
+        this.tail = tail;
+        buffer.putInt(HEAD_OFFSET, head);
+        buffer.putInt(TAIL_OFFSET, tail);
+        buffer.putInt(COUNT_OFFSET, count);
+        this.count = count;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hibuka.soda.event.redis.publish;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Overflow storage for the batching publisher's SPILL policy.
+ * Entries that do not fit into the publish queue are handed to the spill handler and replayed, oldest first,
+ * once the queue has drained. Replay reads entries with {@link #peek(int)} and only removes them after they
+ * have been appended, so a failed flush retries the same entries.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface PublishSpillHandler {
+
+    /**
+     * Stores an entry at the tail of the spill.
+     *
+     * @param entry Entry that did not fit into the publish queue
+     * @throws IOException if the entry cannot be stored
+     */
+    void spill(StreamEntry entry) throws IOException;
+
+    /**
+     * Reads entries from the head of the spill without removing them.
+     *
+     * @param max Maximum number of entries to read
+     * @return Oldest spilled entries, empty if there are none
+     * @throws IOException if the entries cannot be read
+     */
+    List<StreamEntry> peek(int max) throws IOException;
+
+    /**
+     * Removes entries from the head of the spill after they have been appended.
+     *
+     * @param count Number of entries to remove, at most the number returned by the last peek
+     * @throws IOException if the entries cannot be removed
+     */
+    void remove(int count) throws IOException;
+
+    /**
+     * Gets the number of spilled entries waiting to be replayed.
+     *
+     * @return Spill depth
+     */
+    long size();
+}
@@ -0,0 +1,34 @@
+package com.hibuka.soda.event.redis.publish;
+
+import java.util.Map;
+
+/**
+ * A stream entry waiting to be appended: the target stream key and its field-value pairs.
+ * Values are raw bytes so that binary codecs can write payloads without text encoding.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class StreamEntry {
+    private final String streamKey;
+    private final Map<String, byte[]> fields;
+
+    /**
+     * Constructor for StreamEntry.
+     *
+     * @param streamKey Stream key the entry is appended to
+     * @param fields Field-value pairs of the entry
+     */
+    public StreamEntry(String streamKey, Map<String, byte[]> fields) {
+        this.streamKey = streamKey;
+        this.fields = fields;
+    }
+
+    public String getStreamKey() {
+        return streamKey;
+    }
+
+    public Map<String, byte[]> getFields() {
+        return fields;
+    }
+}
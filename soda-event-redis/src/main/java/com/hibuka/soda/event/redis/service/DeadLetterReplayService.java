@@ -0,0 +1,223 @@
+package com.hibuka.soda.event.redis.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interface for dead letter replay service.
+ * This service appends dead-lettered entries back to the streams they were read from, without the fields the
+ * dead letter queue and delayed retries added, so they are handled again from their first attempt. Consumer groups
+ * that already handled an entry skip it again through their idempotency records.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface DeadLetterReplayService {
+    /**
+     * Replays the dead letter entries matching a filter, resuming after the checkpoint of the replay ID.
+     * The checkpoint is advanced after every appended batch and kept when the replay completes, so running
+     * the same replay ID again only replays entries dead-lettered since.
+     *
+     * @param replayId ID the progress of the replay is recorded under
+     * @param filter Entries to replay
+     * @return Counts of the replay
+     */
+    ReplayResult replay(String replayId, ReplayFilter filter);
+
+    /**
+     * Counts the dead letter entries a replay would append, without appending them or moving the checkpoint.
+     *
+     * @param replayId ID of the replay whose checkpoint to start after
+     * @param filter Entries to count
+     * @return Counts of the entries that would be replayed
+     */
+    ReplayResult dryRun(String replayId, ReplayFilter filter);
+
+    /**
+     * Removes the checkpoint of a replay, so that it starts again from the oldest dead letter entry.
+     *
+     * @param replayId ID of the replay
+     */
+    void resetCheckpoint(String replayId);
+
+    /**
+     * Selects dead letter entries by event type, dead letter reason and the time they were dead-lettered.
+     * Criteria left unset match every entry.
+     */
+    final class ReplayFilter {
+        private final Set<String> types = new LinkedHashSet<>();
+        private String reason;
+        private long from;
+        private long to;
+
+        /**
+         * Creates a filter matching every entry.
+         *
+         * @return Filter
+         */
+        public static ReplayFilter all() {
+            return new ReplayFilter();
+        }
+
+        /**
+         * Only matches entries of the given event types.
+         *
+         * @param typeNames Fully qualified event class names
+         * @return This filter
+         */
+        public ReplayFilter types(String... typeNames) {
+            Collections.addAll(types, typeNames);
+            return this;
+        }
+
+        /**
+         * Only matches entries whose dead letter reason contains the given text.
+         *
+         * @param reason Text the reason contains
+         * @return This filter
+         */
+        public ReplayFilter reason(String reason) {
+            this.reason = reason;
+            return this;
+        }
+
+        /**
+         * Only matches entries dead-lettered at or after a time.
+         *
+         * @param fromMillis Start of the window in epoch milliseconds
+         * @return This filter
+         */
+        public ReplayFilter from(long fromMillis) {
+            this.from = fromMillis;
+            return this;
+        }
+
+        /**
+         * Only matches entries dead-lettered before a time.
+         *
+         * @param toMillis End of the window in epoch milliseconds, exclusive
+         * @return This filter
+         */
+        public ReplayFilter to(long toMillis) {
+            this.to = toMillis;
+            return this;
+        }
+
+        /**
+         * Gets the start of the time window.
+         *
+         * @return Epoch milliseconds, 0 if the window is open at the start
+         */
+        public long getFrom() {
+            return from;
+        }
+
+        /**
+         * Gets the end of the time window.
+         *
+         * @return Epoch milliseconds, exclusive, 0 if the window is open at the end
+         */
+        public long getTo() {
+            return to;
+        }
+
+        /**
+         * Checks whether an entry matches the type and reason criteria. The time window is applied to the
+         * range of entry IDs that is read, since dead letter entry IDs carry the time they were written.
+         *
+         * @param typeName Event class name of the entry, null if it cannot be resolved
+         * @param deadLetterReason Dead letter reason of the entry, may be null
+         * @return true if the entry matches
+         */
+        public boolean matches(String typeName, String deadLetterReason) {
+            if (!types.isEmpty() && (typeName == null || !types.contains(typeName))) {
+                return false;
+            }
+            return reason == null || (deadLetterReason != null && deadLetterReason.contains(reason));
+        }
+    }
+
+    /**
+     * Counts of one replay or dry run.
+     */
+    final class ReplayResult {
+        private long scanned;
+        private long matched;
+        private long replayed;
+        private String lastId;
+        private final Map<String, Long> matchedByType = new LinkedHashMap<>();
+
+        /**
+         * Records a scanned entry and, if it matched, its type.
+         *
+         * @param id ID of the entry
+         * @param typeName Event class name of the matched entry, null if it did not match
+         * @param matches Whether the entry matched the filter
+         */
+        public void scanned(String id, String typeName, boolean matches) {
+            scanned++;
+            lastId = id;
+            if (matches) {
+                matched++;
+                matchedByType.merge(String.valueOf(typeName), 1L, Long::sum);
+            }
+        }
+
+        /**
+         * Records appended entries.
+         *
+         * @param count Number of entries appended
+         */
+        public void replayed(long count) {
+            replayed += count;
+        }
+
+        /**
+         * Gets the number of dead letter entries read.
+         *
+         * @return Entries read
+         */
+        public long getScanned() {
+            return scanned;
+        }
+
+        /**
+         * Gets the number of entries matching the filter.
+         *
+         * @return Matching entries
+         */
+        public long getMatched() {
+            return matched;
+        }
+
+        /**
+         * Gets the number of entries appended to their original streams, always 0 for dry runs.
+         *
+         * @return Appended entries
+         */
+        public long getReplayed() {
+            return replayed;
+        }
+
+        /**
+         * Gets the ID of the last dead letter entry read.
+         *
+         * @return Entry ID, null if nothing was read
+         */
+        public String getLastId() {
+            return lastId;
+        }
+
+        /**
+         * Gets the number of matching entries per event type.
+         *
+         * @return Matching entries by event class name
+         */
+        public Map<String, Long> getMatchedByType() {
+            return matchedByType;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hibuka.soda.event.redis.service;
+
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+
+import java.util.Map;
+
+/**
+ * Interface for delayed retry service.
+ * This service parks failed stream messages until their retry is due. Due retries are taken with a lease:
+ * they stay parked but invisible until the lease ends, so a retry that is taken and then lost with its
+ * instance is taken again later, and is only removed once completed.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface DelayedRetryService {
+    /**
+     * Parks a message until its retry is due, replacing a parked message with the same ID.
+     *
+     * @param retryId ID of the retry, unique per message and attempt
+     * @param entry Stream key and fields of the message
+     * @param dueAt Time the retry is due, in epoch milliseconds
+     */
+    void schedule(String retryId, StreamEntry entry, long dueAt);
+
+    /**
+     * Takes the retries that are due, hiding them from other takers for the lease time.
+     *
+     * @param max Maximum number of retries to take
+     * @param leaseMillis Lease time in milliseconds
+     * @return Taken messages by retry ID, earliest due first
+     */
+    Map<String, StreamEntry> claimDue(int max, long leaseMillis);
+
+    /**
+     * Removes a retry once it has been handled.
+     *
+     * @param retryId ID of the retry
+     */
+    void complete(String retryId);
+
+    /**
+     * Gets the number of parked retries, due or not.
+     *
+     * @return Parked retries
+     */
+    long size();
+}
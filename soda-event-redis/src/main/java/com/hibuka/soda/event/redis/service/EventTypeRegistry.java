@@ -0,0 +1,29 @@
+package com.hibuka.soda.event.redis.service;
+
+import com.hibuka.soda.domain.event.DomainEvent;
+
+/**
+ * Interface for event type registry service.
+ * This service assigns every DomainEvent class a small integer ID shared by all nodes, so stream
+ * entries can carry the ID instead of the fully qualified class name.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface EventTypeRegistry {
+    /**
+     * Gets the ID of an event class, assigning a new one if the class has never been registered.
+     *
+     * @param eventType Event class
+     * @return Type ID, stable across nodes and restarts
+     */
+    int idOf(Class<? extends DomainEvent> eventType);
+
+    /**
+     * Gets the class name registered under an ID.
+     *
+     * @param id Type ID
+     * @return Fully qualified class name, or null if the ID is unknown
+     */
+    String nameOf(int id);
+}
@@ -1,5 +1,6 @@
 package com.hibuka.soda.event.redis.service;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -50,6 +51,30 @@ public interface IdempotencyService {
      */
     ProcessingStatus getStatus(String eventId);
     
+    /**
+     * Gets the processing status of several events in one round trip.
+     *
+     * @param eventIds Unique event identifiers
+     * @return Processing status by event ID, events without a status are absent
+     */
+    Map<String, ProcessingStatus> getStatuses(Collection<String> eventIds);
+    
+    /**
+     * Marks several events as processing in one round trip, without checking their current status.
+     * Callers read the statuses first with {@link #getStatuses(Collection)} and only pass the events
+     * that are neither processed nor being processed.
+     *
+     * @param eventIds Unique event identifiers
+     */
+    void markAsProcessing(Collection<String> eventIds);
+    
+    /**
+     * Marks several events as successfully processed in one round trip.
+     *
+     * @param eventIds Unique event identifiers
+     */
+    void markAsSuccess(Collection<String> eventIds);
+    
     /**
      * Cleans up expired idempotency status records.
      */
@@ -0,0 +1,52 @@
+package com.hibuka.soda.event.redis.service;
+
+import java.util.Set;
+
+/**
+ * Partition assignment service interface.
+ * Decides which partition streams this instance consumes, so that each partition has a single consumer
+ * at a time and partitions are shared evenly between the live instances.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface PartitionAssignmentService {
+
+    /**
+     * Renews the partitions held by this instance and acquires or releases partitions to reach its fair share.
+     * Called periodically; the listener is notified of every change.
+     */
+    void rebalance();
+
+    /**
+     * Releases every partition held by this instance and leaves the member set.
+     */
+    void releaseAll();
+
+    /**
+     * Gets the stream keys of the partitions currently held by this instance.
+     *
+     * @return Owned partition stream keys
+     */
+    Set<String> getOwnedPartitions();
+
+    /**
+     * Listener notified when partitions are assigned to or revoked from this instance.
+     */
+    interface Listener {
+
+        /**
+         * Called after a partition has been acquired; consumption of the stream should start.
+         *
+         * @param streamKey Partition stream key
+         */
+        void onAssigned(String streamKey);
+
+        /**
+         * Called when a partition is lost or before it is released; consumption of the stream should stop.
+         *
+         * @param streamKey Partition stream key
+         */
+        void onRevoked(String streamKey);
+    }
+}
@@ -0,0 +1,59 @@
+package com.hibuka.soda.event.redis.service;
+
+/**
+ * Interface for stream lag service.
+ * This service measures how far a consumer group is behind on a stream: the entries not yet delivered to any
+ * of its consumers (lag) and the entries delivered but not yet acknowledged (pending).
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface StreamLagService {
+    /**
+     * Samples the lag and pending count of the consumer group on a stream.
+     *
+     * @param streamKey Stream key
+     * @return Sample, zero lag and pending if the stream or group does not exist
+     */
+    LagSample sample(String streamKey);
+
+    /**
+     * Samples the lag and pending count of a given consumer group on a stream.
+     *
+     * @param streamKey Stream key
+     * @param groupName Consumer group to measure
+     * @return Sample, zero lag and pending if the stream or group does not exist
+     */
+    LagSample sample(String streamKey, String groupName);
+
+    /**
+     * Lag and pending count of a consumer group at one point in time.
+     */
+    final class LagSample {
+        private final long lag;
+        private final long pending;
+
+        public LagSample(long lag, long pending) {
+            this.lag = lag;
+            this.pending = pending;
+        }
+
+        /**
+         * Gets the number of entries not yet delivered to the group.
+         *
+         * @return Lag in entries
+         */
+        public long getLag() {
+            return lag;
+        }
+
+        /**
+         * Gets the number of entries delivered to the group but not yet acknowledged.
+         *
+         * @return Pending entries
+         */
+        public long getPending() {
+            return pending;
+        }
+    }
+}
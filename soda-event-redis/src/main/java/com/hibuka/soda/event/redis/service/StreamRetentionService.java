@@ -0,0 +1,30 @@
+package com.hibuka.soda.event.redis.service;
+
+import org.springframework.data.redis.connection.RedisStreamCommands;
+
+/**
+ * Interface for stream retention service.
+ * This service decides how entries are trimmed when they are appended and trims consumed
+ * entries in the background without ever passing the progress of a consumer group.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public interface StreamRetentionService {
+    /**
+     * Gets the XADD options carrying the append-time trim policy.
+     *
+     * @return Options to apply to every appended entry
+     */
+    RedisStreamCommands.XAddOptions appendOptions();
+
+    /**
+     * Trims entries that every consumer group has already received and acknowledged.
+     * Nothing is trimmed while the stream is at or below its configured maximum length, and at most the
+     * entries beyond that length are removed.
+     *
+     * @param streamKey Stream key to trim
+     * @return Number of entries removed
+     */
+    long trim(String streamKey);
+}
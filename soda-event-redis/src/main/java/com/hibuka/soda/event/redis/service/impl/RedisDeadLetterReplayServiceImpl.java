@@ -0,0 +1,215 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import com.hibuka.soda.event.redis.publish.PipelinedStreamWriter;
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+import com.hibuka.soda.event.redis.service.DeadLetterReplayService;
+import com.hibuka.soda.event.redis.service.EventTypeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis implementation of DeadLetterReplayService.
+ * The dead letter stream is read with XRANGE in pages starting after the checkpoint, and the time window of the
+ * filter narrows the range itself since entry IDs carry the time they were dead-lettered. Matching entries are
+ * appended through the pipelined writer in batches, paced to the configured rate, and the checkpoint is moved to
+ * the last entry read after each batch, so at most one batch is appended twice when a replay is interrupted.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisDeadLetterReplayServiceImpl implements DeadLetterReplayService {
+    private static final Logger logger = LoggerFactory.getLogger(RedisDeadLetterReplayServiceImpl.class);
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ORIGINAL_STREAM = "originalStream";
+    private static final String FIELD_REASON = "deadLetterReason";
+    // Fields added by the dead letter queue and delayed retries, dropped so the entry starts from its first attempt
+    private static final Set<String> DEAD_LETTER_FIELDS = Set.of(
+            FIELD_REASON, "deadLetterTimestamp", FIELD_ORIGINAL_STREAM, "originalId", "retryAttempt", "retryOf", "consumerGroup");
+
+    private final StringRedisTemplate streamRedisTemplate;
+    private final PipelinedStreamWriter streamWriter;
+    private final EventTypeRegistry typeRegistry;
+    private final String deadLetterStream;
+    private final EventProperties.RedisProperties.StreamProperties.DeadLetterReplayProperties replayProperties;
+    private final RedisStreamMetrics metrics;
+
+    /**
+     * Constructor for RedisDeadLetterReplayServiceImpl.
+     *
+     * @param streamRedisTemplate String template used for stream operations
+     * @param streamWriter Pipelined writer the entries are appended with
+     * @param typeRegistry Registry resolving compact type IDs to event class names
+     * @param deadLetterStream Name of the dead letter stream
+     * @param replayProperties Replay configuration properties
+     * @param metrics Metrics registry to record replay counts in
+     */
+    public RedisDeadLetterReplayServiceImpl(
+            StringRedisTemplate streamRedisTemplate,
+            PipelinedStreamWriter streamWriter,
+            EventTypeRegistry typeRegistry,
+            String deadLetterStream,
+            EventProperties.RedisProperties.StreamProperties.DeadLetterReplayProperties replayProperties,
+            RedisStreamMetrics metrics) {
+        this.streamRedisTemplate = streamRedisTemplate;
+        this.streamWriter = streamWriter;
+        this.typeRegistry = typeRegistry;
+        this.deadLetterStream = deadLetterStream;
+        this.replayProperties = replayProperties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ReplayResult replay(String replayId, ReplayFilter filter) {
+        return run(replayId, filter, false);
+    }
+
+    @Override
+    public ReplayResult dryRun(String replayId, ReplayFilter filter) {
+        return run(replayId, filter, true);
+    }
+
+    @Override
+    public void resetCheckpoint(String replayId) {
+        streamRedisTemplate.delete(checkpointKey(replayId));
+    }
+
+    private ReplayResult run(String replayId, ReplayFilter filter, boolean dryRun) {
+        ReplayResult result = new ReplayResult();
+        Map<String, String> typeNames = new HashMap<>();
+        List<StreamEntry> batch = new ArrayList<>(replayProperties.getBatchSize());
+        long start = System.nanoTime();
+        String checkpoint = streamRedisTemplate.opsForValue().get(checkpointKey(replayId));
+        Range.Bound<String> lower = lowerBound(checkpoint, filter.getFrom());
+        Range.Bound<String> upper = filter.getTo() > 0 ? Range.Bound.exclusive(filter.getTo() + "-0") : Range.Bound.unbounded();
+        logger.info("[RedisDeadLetterReplayService] {} {} from {} after checkpoint {}",
+                dryRun ? "Counting replay" : "Replaying", replayId, deadLetterStream, checkpoint);
+
+        List<MapRecord<String, String, byte[]>> page;
+        do {
+            page = read(Range.of(lower, upper));
+            for (MapRecord<String, String, byte[]> record : page) {
+                Map<String, byte[]> fields = record.getValue();
+                String typeName = typeNameOf(text(fields.get(FIELD_TYPE)), typeNames);
+                String originalStream = text(fields.get(FIELD_ORIGINAL_STREAM));
+                boolean matches = originalStream != null && filter.matches(typeName, text(fields.get(FIELD_REASON)));
+                result.scanned(record.getId().getValue(), typeName, matches);
+                if (matches && !dryRun) {
+                    batch.add(new StreamEntry(originalStream, originalFields(fields)));
+                    if (batch.size() >= replayProperties.getBatchSize()) {
+                        flush(replayId, batch, result, start);
+                    }
+                }
+            }
+            if (!page.isEmpty()) {
+                lower = Range.Bound.exclusive(result.getLastId());
+                if (!dryRun) {
+                    flush(replayId, batch, result, start);
+                }
+            }
+        } while (page.size() >= replayProperties.getPageSize() && !Thread.currentThread().isInterrupted());
+
+        metrics.add("dead-letter.replay-scanned", result.getScanned());
+        logger.info("[RedisDeadLetterReplayService] {} {}: scanned={}, matched={}, replayed={}, lastId={}",
+                dryRun ? "Counted replay" : "Replayed", replayId, result.getScanned(), result.getMatched(),
+                result.getReplayed(), result.getLastId());
+        return result;
+    }
+
+    /**
+     * Appends a batch, records the checkpoint and waits as long as the rate limit requires.
+     */
+    private void flush(String replayId, List<StreamEntry> batch, ReplayResult result, long start) {
+        if (!batch.isEmpty()) {
+            streamWriter.write(batch);
+            result.replayed(batch.size());
+            metrics.add("dead-letter.replayed", batch.size());
+            batch.clear();
+        }
+        streamRedisTemplate.opsForValue().set(checkpointKey(replayId), result.getLastId());
+        int maxRate = replayProperties.getMaxRatePerSecond();
+        if (maxRate > 0) {
+            long waitNanos = start + result.getReplayed() * TimeUnit.SECONDS.toNanos(1) / maxRate - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    // Stops after the current page, the checkpoint is already recorded
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private List<MapRecord<String, String, byte[]>> read(Range<String> range) {
+        byte[] key = deadLetterStream.getBytes(StandardCharsets.UTF_8);
+        List<ByteRecord> records = streamRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRange(key, range, Limit.limit().count(replayProperties.getPageSize())));
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+        List<MapRecord<String, String, byte[]>> messages = new ArrayList<>(records.size());
+        for (ByteRecord record : records) {
+            messages.add(record.deserialize(RedisSerializer.string(), RedisSerializer.string(), RedisSerializer.byteArray()));
+        }
+        return messages;
+    }
+
+    /**
+     * Starts after the checkpoint, or at the start of the time window if the checkpoint lies before it.
+     */
+    private static Range.Bound<String> lowerBound(String checkpoint, long from) {
+        if (checkpoint != null && (from <= 0 || timestampOf(checkpoint) >= from)) {
+            return Range.Bound.exclusive(checkpoint);
+        }
+        return from > 0 ? Range.Bound.inclusive(from + "-0") : Range.Bound.unbounded();
+    }
+
+    private static long timestampOf(String recordId) {
+        int separator = recordId.indexOf('-');
+        return Long.parseLong(separator < 0 ? recordId : recordId.substring(0, separator));
+    }
+
+    private String typeNameOf(String type, Map<String, String> typeNames) {
+        if (type == null || type.isEmpty() || !Character.isDigit(type.charAt(0))) {
+            return type;
+        }
+        // Compact type IDs written with type registry enabled
+        return typeNames.computeIfAbsent(type, id -> typeRegistry.nameOf(Integer.parseInt(id)));
+    }
+
+    private static Map<String, byte[]> originalFields(Map<String, byte[]> fields) {
+        Map<String, byte[]> original = new LinkedHashMap<>(fields.size());
+        for (Map.Entry<String, byte[]> field : fields.entrySet()) {
+            if (!DEAD_LETTER_FIELDS.contains(field.getKey())) {
+                original.put(field.getKey(), field.getValue());
+            }
+        }
+        return original;
+    }
+
+    private String checkpointKey(String replayId) {
+        return deadLetterStream + ":replay:" + replayId;
+    }
+
+    private static String text(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+}
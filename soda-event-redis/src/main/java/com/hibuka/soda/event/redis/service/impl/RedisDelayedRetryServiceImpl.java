@@ -0,0 +1,150 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+import com.hibuka.soda.event.redis.service.DelayedRetryService;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis implementation of DelayedRetryService.
+ * Retry IDs are kept in a sorted set scored by due time ({@code <key prefix>:retry}) and the messages in a hash
+ * beside it ({@code <key prefix>:retry-entries}). Taking due retries moves their score to the end of the lease in
+ * the same script, so instances polling the same set never take the same retry at once. Messages are stored as
+ * binary: stream key, field count, then name and value of each field, each prefixed with its length.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisDelayedRetryServiceImpl implements DelayedRetryService {
+    private static final byte[] SCHEDULE_SCRIPT = bytes(
+            "redis.call('HSET', KEYS[2], ARGV[1], ARGV[3]) "
+            + "return redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])");
+    private static final byte[] CLAIM_SCRIPT = bytes(
+            "local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[3]) "
+            + "local claimed = {} "
+            + "for _, id in ipairs(ids) do "
+            + "  local entry = redis.call('HGET', KEYS[2], id) "
+            + "  if entry then "
+            + "    redis.call('ZADD', KEYS[1], ARGV[2], id) "
+            + "    table.insert(claimed, id) "
+            + "    table.insert(claimed, entry) "
+            + "  else "
+            + "    redis.call('ZREM', KEYS[1], id) "
+            + "  end "
+            + "end "
+            + "return claimed");
+    private static final byte[] COMPLETE_SCRIPT = bytes(
+            "redis.call('HDEL', KEYS[2], ARGV[1]) "
+            + "return redis.call('ZREM', KEYS[1], ARGV[1])");
+
+    private final StringRedisTemplate redisTemplate;
+    private final byte[] scheduleKey;
+    private final byte[] entriesKey;
+
+    /**
+     * Constructor for RedisDelayedRetryServiceImpl.
+     *
+     * @param redisTemplate Template whose connections run the scripts
+     * @param keyPrefix Prefix of the retry keys, unique per stream and consumer group
+     */
+    public RedisDelayedRetryServiceImpl(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.scheduleKey = bytes(keyPrefix + ":retry");
+        this.entriesKey = bytes(keyPrefix + ":retry-entries");
+    }
+
+    @Override
+    public void schedule(String retryId, StreamEntry entry, long dueAt) {
+        byte[] encoded = encode(entry);
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.scriptingCommands().eval(
+                SCHEDULE_SCRIPT, ReturnType.INTEGER, 2, scheduleKey, entriesKey, bytes(retryId), bytes(String.valueOf(dueAt)), encoded));
+    }
+
+    @Override
+    public Map<String, StreamEntry> claimDue(int max, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        List<byte[]> claimed = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.scriptingCommands().eval(
+                CLAIM_SCRIPT, ReturnType.MULTI, 2, scheduleKey, entriesKey,
+                bytes(String.valueOf(now)), bytes(String.valueOf(now + leaseMillis)), bytes(String.valueOf(max))));
+        if (claimed == null || claimed.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, StreamEntry> entries = new LinkedHashMap<>(claimed.size());
+        for (int i = 0; i + 1 < claimed.size(); i += 2) {
+            entries.put(new String(claimed.get(i), StandardCharsets.UTF_8), decode(claimed.get(i + 1)));
+        }
+        return entries;
+    }
+
+    @Override
+    public void complete(String retryId) {
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.scriptingCommands().eval(
+                COMPLETE_SCRIPT, ReturnType.INTEGER, 2, scheduleKey, entriesKey, bytes(retryId)));
+    }
+
+    @Override
+    public long size() {
+        Long size = redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zCard(scheduleKey));
+        return size == null ? 0 : size;
+    }
+
+    private static byte[] encode(StreamEntry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeBytes(out, bytes(entry.getStreamKey()));
+            out.writeInt(entry.getFields().size());
+            for (Map.Entry<String, byte[]> field : entry.getFields().entrySet()) {
+                writeBytes(out, bytes(field.getKey()));
+                writeBytes(out, field.getValue());
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static StreamEntry decode(byte[] encoded) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+            String streamKey = new String(readBytes(in), StandardCharsets.UTF_8);
+            int fieldCount = in.readInt();
+            Map<String, byte[]> fields = new LinkedHashMap<>(fieldCount * 2);
+            for (int i = 0; i < fieldCount; i++) {
+                fields.put(new String(readBytes(in), StandardCharsets.UTF_8), readBytes(in));
+            }
+            return new StreamEntry(streamKey, fields);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return value;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
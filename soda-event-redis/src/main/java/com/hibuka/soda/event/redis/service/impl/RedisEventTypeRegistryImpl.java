@@ -0,0 +1,134 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.domain.event.DomainEvent;
+import com.hibuka.soda.event.redis.service.EventTypeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis implementation of EventTypeRegistry.
+ * Class names and IDs are stored in two hashes (name to ID and ID to name); IDs come from a counter and
+ * are claimed with HSETNX so concurrent nodes agree on one ID per class. Both directions are cached
+ * locally, so Redis is only consulted the first time a node sees a class or an ID. IDs Redis does not know
+ * are remembered for a short time, so entries carrying one cost one lookup and one warning per interval
+ * instead of one per entry.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisEventTypeRegistryImpl implements EventTypeRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RedisEventTypeRegistryImpl.class);
+    private static final long DEFAULT_UNKNOWN_ID_TTL = 10000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final String idsByNameKey;
+    private final String namesByIdKey;
+    private final String sequenceKey;
+    private final Map<Class<?>, Integer> idsByClass = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> unknownIdsUntil = new ConcurrentHashMap<>();
+    private final long unknownIdTtlNanos;
+    private volatile String[] namesById = new String[64];
+
+    /**
+     * Constructor for RedisEventTypeRegistryImpl.
+     *
+     * @param redisTemplate String template used for the registry hashes
+     * @param keyPrefix Prefix of the registry keys
+     */
+    public RedisEventTypeRegistryImpl(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this(redisTemplate, keyPrefix, DEFAULT_UNKNOWN_ID_TTL);
+    }
+
+    /**
+     * Constructor for RedisEventTypeRegistryImpl.
+     *
+     * @param redisTemplate String template used for the registry hashes
+     * @param keyPrefix Prefix of the registry keys
+     * @param unknownIdTtl Time in milliseconds an ID missing from Redis is not looked up again
+     */
+    public RedisEventTypeRegistryImpl(StringRedisTemplate redisTemplate, String keyPrefix, long unknownIdTtl) {
+        this.unknownIdTtlNanos = TimeUnit.MILLISECONDS.toNanos(unknownIdTtl);
+        this.redisTemplate = redisTemplate;
+        this.idsByNameKey = keyPrefix;
+        this.namesByIdKey = keyPrefix + ":ids";
+        this.sequenceKey = keyPrefix + ":seq";
+    }
+
+    @Override
+    public int idOf(Class<? extends DomainEvent> eventType) {
+        Integer cached = idsByClass.get(eventType);
+        if (cached != null) {
+            return cached;
+        }
+        String name = eventType.getName();
+        Object existing = redisTemplate.opsForHash().get(idsByNameKey, name);
+        int id;
+        if (existing != null) {
+            id = Integer.parseInt(existing.toString());
+        } else {
+            Long candidate = redisTemplate.opsForValue().increment(sequenceKey);
+            if (candidate == null) {
+                throw new IllegalStateException("Failed to allocate event type ID for " + name);
+            }
+            Boolean claimed = redisTemplate.opsForHash().putIfAbsent(idsByNameKey, name, candidate.toString());
+            if (Boolean.TRUE.equals(claimed)) {
+                id = candidate.intValue();
+                logger.info("[RedisEventTypeRegistryImpl] Registered event type {} with ID {}", name, id);
+            } else {
+                // Another node registered the class first, use its ID; the candidate is left unused
+                Object winner = redisTemplate.opsForHash().get(idsByNameKey, name);
+                if (winner == null) {
+                    throw new IllegalStateException("Event type ID of " + name + " vanished while registering it");
+                }
+                id = Integer.parseInt(winner.toString());
+            }
+        }
+        // Written before the ID is ever published, so readers always find the reverse mapping
+        redisTemplate.opsForHash().put(namesByIdKey, String.valueOf(id), name);
+        cacheName(id, name);
+        idsByClass.put(eventType, id);
+        return id;
+    }
+
+    @Override
+    public String nameOf(int id) {
+        String[] names = namesById;
+        if (id >= 0 && id < names.length && names[id] != null) {
+            return names[id];
+        }
+        Long unknownUntil = unknownIdsUntil.get(id);
+        if (unknownUntil != null && System.nanoTime() - unknownUntil < 0) {
+            return null;
+        }
+        Object name = redisTemplate.opsForHash().get(namesByIdKey, String.valueOf(id));
+        if (name == null) {
+            unknownIdsUntil.put(id, System.nanoTime() + unknownIdTtlNanos);
+            logger.warn("[RedisEventTypeRegistryImpl] Unknown event type ID: {}, not looked up again for {}ms",
+                    id, TimeUnit.NANOSECONDS.toMillis(unknownIdTtlNanos));
+            return null;
+        }
+        unknownIdsUntil.remove(id);
+        cacheName(id, name.toString());
+        return name.toString();
+    }
+
+    private synchronized void cacheName(int id, String name) {
+        if (id < 0) {
+            return;
+        }
+        String[] names = namesById;
+        if (id >= names.length) {
+            names = Arrays.copyOf(names, Math.max(id + 1, names.length * 2));
+        } else {
+            names = names.clone();
+        }
+        names[id] = name;
+        namesById = names;
+    }
+}
@@ -5,12 +5,18 @@ import com.hibuka.soda.event.redis.service.IdempotencyService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -18,6 +24,9 @@ import java.util.concurrent.TimeUnit;
 /**
  * Redis implementation of IdempotencyService.
  * Uses Redis Hash structure to store event processing status.
+ * A PROCESSING status only lives as long as the processing timeout, so an event whose consumer crashed is
+ * processed again once its entry is reclaimed instead of being skipped as still processing; SUCCESS and FAILED
+ * statuses live for the configured expiration time.
  *
  * @author kangzeng.ckz
  * @since 2025/12/12
@@ -33,9 +42,10 @@ public class RedisIdempotencyServiceImpl implements IdempotencyService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final HashOperations<String, String, Object> hashOps;
     private final EventProperties.RedisProperties.StreamProperties.IdempotencyProperties idempotencyProperties;
+    private final long processingTimeout;
     
     /**
-     * Constructor for RedisIdempotencyServiceImpl.
+     * Constructor for RedisIdempotencyServiceImpl whose PROCESSING statuses live for the expiration time.
      *
      * @param redisTemplate Redis template for operations
      * @param idempotencyProperties Idempotency configuration properties
@@ -43,9 +53,25 @@ public class RedisIdempotencyServiceImpl implements IdempotencyService {
     public RedisIdempotencyServiceImpl(
             RedisTemplate<String, Object> redisTemplate,
             EventProperties.RedisProperties.StreamProperties.IdempotencyProperties idempotencyProperties) {
+        this(redisTemplate, idempotencyProperties, TimeUnit.SECONDS.toMillis(idempotencyProperties.getExpireTime()));
+    }
+    
+    /**
+     * Constructor for RedisIdempotencyServiceImpl.
+     *
+     * @param redisTemplate Redis template for operations
+     * @param idempotencyProperties Idempotency configuration properties
+     * @param processingTimeout Time in milliseconds after which a PROCESSING status expires, normally the
+     *                          acknowledge timeout after which the entry is reclaimed
+     */
+    public RedisIdempotencyServiceImpl(
+            RedisTemplate<String, Object> redisTemplate,
+            EventProperties.RedisProperties.StreamProperties.IdempotencyProperties idempotencyProperties,
+            long processingTimeout) {
         this.redisTemplate = redisTemplate;
         this.hashOps = redisTemplate.opsForHash();
         this.idempotencyProperties = idempotencyProperties;
+        this.processingTimeout = processingTimeout;
     }
     
     /**
@@ -89,8 +115,8 @@ public class RedisIdempotencyServiceImpl implements IdempotencyService {
             
             // Use hashOps.putAll for batch operation instead of manual transaction
             hashOps.putAll(key, statusMap);
-            // Set expiration separately - this is acceptable since status is already PROCESSING
-            redisTemplate.expire(key, idempotencyProperties.getExpireTime(), TimeUnit.SECONDS);
+            // Expires with the processing timeout, so a crashed consumer does not block the event until expireTime
+            redisTemplate.expire(key, processingTimeout, TimeUnit.MILLISECONDS);
             
             logger.debug("[RedisIdempotencyServiceImpl] Begin processing event: {}", eventId);
             return true;
@@ -121,6 +147,7 @@ public class RedisIdempotencyServiceImpl implements IdempotencyService {
             }
             
             hashOps.putAll(key, statusMap);
+            redisTemplate.expire(key, idempotencyProperties.getExpireTime(), TimeUnit.SECONDS);
             logger.debug("[RedisIdempotencyServiceImpl] Marked event as success: {}", eventId);
         } catch (Exception e) {
             logger.error("[RedisIdempotencyServiceImpl] Error marking event as success {}: {}", 
@@ -148,6 +175,7 @@ public class RedisIdempotencyServiceImpl implements IdempotencyService {
             }
             
             hashOps.putAll(key, statusMap);
+            redisTemplate.expire(key, idempotencyProperties.getExpireTime(), TimeUnit.SECONDS);
             logger.debug("[RedisIdempotencyServiceImpl] Marked event as failed: {}, error: {}", eventId, error);
         } catch (Exception e) {
             logger.error("[RedisIdempotencyServiceImpl] Error marking event as failed {}: {}", 
@@ -177,6 +205,108 @@ public class RedisIdempotencyServiceImpl implements IdempotencyService {
         }
     }
     
+    @Override
+    public Map<String, ProcessingStatus> getStatuses(Collection<String> eventIds) {
+        List<String> ids = distinctIds(eventIds);
+        Map<String, ProcessingStatus> statuses = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return statuses;
+        }
+        
+        try {
+            // One HGET per event, all in a single pipeline
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings({"rawtypes", "unchecked"})
+                public Object execute(RedisOperations operations) {
+                    for (String eventId : ids) {
+                        operations.opsForHash().get(generateKey(eventId), STATUS_FIELD);
+                    }
+                    return null;
+                }
+            }, redisTemplate.getHashValueSerializer());
+            for (int i = 0; i < ids.size() && i < results.size(); i++) {
+                if (results.get(i) != null) {
+                    statuses.put(ids.get(i), ProcessingStatus.valueOf(results.get(i).toString()));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("[RedisIdempotencyServiceImpl] Error getting status for {} events: {}", 
+                    ids.size(), e.getMessage(), e);
+        }
+        return statuses;
+    }
+    
+    @Override
+    public void markAsProcessing(Collection<String> eventIds) {
+        List<String> ids = distinctIds(eventIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        try {
+            String processedAt = String.valueOf(System.currentTimeMillis());
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings({"rawtypes", "unchecked"})
+                public Object execute(RedisOperations operations) {
+                    Map<String, Object> statusMap = new HashMap<>(2);
+                    statusMap.put(STATUS_FIELD, ProcessingStatus.PROCESSING.name());
+                    statusMap.put(PROCESSED_AT_FIELD, processedAt);
+                    for (String eventId : ids) {
+                        operations.opsForHash().putAll(generateKey(eventId), statusMap);
+                        operations.expire(generateKey(eventId), processingTimeout, TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                }
+            });
+            logger.debug("[RedisIdempotencyServiceImpl] Marked {} events as processing", ids.size());
+        } catch (Exception e) {
+            logger.error("[RedisIdempotencyServiceImpl] Error marking {} events as processing: {}", 
+                    ids.size(), e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public void markAsSuccess(Collection<String> eventIds) {
+        List<String> ids = distinctIds(eventIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        try {
+            String processedAt = String.valueOf(System.currentTimeMillis());
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings({"rawtypes", "unchecked"})
+                public Object execute(RedisOperations operations) {
+                    Map<String, Object> statusMap = new HashMap<>(2);
+                    statusMap.put(STATUS_FIELD, ProcessingStatus.SUCCESS.name());
+                    statusMap.put(PROCESSED_AT_FIELD, processedAt);
+                    for (String eventId : ids) {
+                        operations.opsForHash().putAll(generateKey(eventId), statusMap);
+                        operations.expire(generateKey(eventId), idempotencyProperties.getExpireTime(), TimeUnit.SECONDS);
+                    }
+                    return null;
+                }
+            });
+            logger.debug("[RedisIdempotencyServiceImpl] Marked {} events as success", ids.size());
+        } catch (Exception e) {
+            logger.error("[RedisIdempotencyServiceImpl] Error marking {} events as success: {}", 
+                    ids.size(), e.getMessage(), e);
+        }
+    }
+    
+    private static List<String> distinctIds(Collection<String> eventIds) {
+        LinkedHashSet<String> ids = new LinkedHashSet<>(eventIds.size() * 2);
+        for (String eventId : eventIds) {
+            if (StringUtils.hasText(eventId)) {
+                ids.add(eventId);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+    
     @Override
     public void cleanupExpiredStatus() {
         try {
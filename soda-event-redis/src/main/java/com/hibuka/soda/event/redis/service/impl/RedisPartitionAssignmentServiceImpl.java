@@ -0,0 +1,148 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.event.redis.service.PartitionAssignmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis implementation of PartitionAssignmentService based on leases.
+ * Every partition has a lease key ({@code <partition stream key>:lease}) holding the owner ID with a TTL, and every
+ * instance heartbeats into a sorted set of members scored by expiry time. On each rebalance an instance renews its
+ * leases, computes its fair share as ceil(partitions / live members), releases partitions above that share and
+ * acquires free ones below it. A crashed instance's partitions become free once its leases expire.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisPartitionAssignmentServiceImpl implements PartitionAssignmentService {
+    private static final Logger logger = LoggerFactory.getLogger(RedisPartitionAssignmentServiceImpl.class);
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final List<String> partitions;
+    private final String membersKey;
+    private final String ownerId;
+    private final long leaseTtl;
+    private final Listener listener;
+    private final Set<String> owned = Collections.synchronizedSet(new LinkedHashSet<>());
+    private volatile long lastRenewal = System.currentTimeMillis();
+
+    /**
+     * Constructor for RedisPartitionAssignmentServiceImpl.
+     *
+     * @param redisTemplate String template used for leases and membership
+     * @param baseStreamKey Configured stream key, used to name the member set
+     * @param partitions Stream keys of all partitions
+     * @param ownerId ID of this instance, unique among all instances of the consumer group
+     * @param leaseTtl Lease time to live in milliseconds
+     * @param listener Listener notified of assignment changes
+     */
+    public RedisPartitionAssignmentServiceImpl(StringRedisTemplate redisTemplate, String baseStreamKey, List<String> partitions,
+                                               String ownerId, long leaseTtl, Listener listener) {
+        this.redisTemplate = redisTemplate;
+        this.partitions = partitions;
+        this.membersKey = baseStreamKey + ":partition-members";
+        this.ownerId = ownerId;
+        this.leaseTtl = leaseTtl;
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void rebalance() {
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().add(membersKey, ownerId, now + leaseTtl);
+            redisTemplate.opsForZSet().removeRangeByScore(membersKey, Double.NEGATIVE_INFINITY, now);
+            Long liveMembers = redisTemplate.opsForZSet().zCard(membersKey);
+            int members = liveMembers == null || liveMembers < 1 ? 1 : liveMembers.intValue();
+            int fairShare = (partitions.size() + members - 1) / members;
+
+            for (String partition : new ArrayList<>(owned)) {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(leaseKey(partition)), ownerId, String.valueOf(leaseTtl));
+                if (renewed == null || renewed == 0) {
+                    logger.warn("[RedisPartitionAssignmentServiceImpl] Lost lease on partition {}", partition);
+                    revoke(partition);
+                }
+            }
+            lastRenewal = now;
+
+            List<String> held = new ArrayList<>(owned);
+            for (int i = held.size() - 1; i >= fairShare; i--) {
+                release(held.get(i));
+            }
+            for (String partition : partitions) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+                if (!owned.contains(partition)
+                        && Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(partition), ownerId, Duration.ofMillis(leaseTtl)))) {
+                    owned.add(partition);
+                    logger.info("[RedisPartitionAssignmentServiceImpl] Acquired partition {}", partition);
+                    listener.onAssigned(partition);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("[RedisPartitionAssignmentServiceImpl] Error rebalancing partitions: {}", e.getMessage(), e);
+            // Leases we could not renew may have been taken over by now, stop consuming them
+            if (System.currentTimeMillis() - lastRenewal >= leaseTtl) {
+                for (String partition : new ArrayList<>(owned)) {
+                    revoke(partition);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void releaseAll() {
+        for (String partition : new ArrayList<>(owned)) {
+            try {
+                release(partition);
+            } catch (Exception e) {
+                logger.warn("[RedisPartitionAssignmentServiceImpl] Error releasing partition {}: {}", partition, e.getMessage());
+            }
+        }
+        try {
+            redisTemplate.opsForZSet().remove(membersKey, ownerId);
+        } catch (Exception e) {
+            logger.warn("[RedisPartitionAssignmentServiceImpl] Error leaving member set: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Set<String> getOwnedPartitions() {
+        synchronized (owned) {
+            return Set.copyOf(owned);
+        }
+    }
+
+    private void release(String partition) {
+        // Stop polling before the lease is freed, so the next owner does not read alongside this one
+        revoke(partition);
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(partition)), ownerId);
+        logger.info("[RedisPartitionAssignmentServiceImpl] Released partition {}", partition);
+    }
+
+    private void revoke(String partition) {
+        if (owned.remove(partition)) {
+            listener.onRevoked(partition);
+        }
+    }
+
+    private static String leaseKey(String partition) {
+        return partition + ":lease";
+    }
+}
@@ -0,0 +1,73 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.event.redis.service.StreamLagService;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+/**
+ * Redis implementation of StreamLagService based on XINFO GROUPS.
+ * Redis 7 reports the lag of each group directly. Older servers, and Redis 7 when it cannot tell the lag
+ * after entries were deleted, report none; the lag is then counted with XRANGE after the group's last delivered
+ * ID, up to a probe limit, which is enough to tell a backlog from none.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisStreamLagServiceImpl implements StreamLagService {
+    private final StringRedisTemplate streamRedisTemplate;
+    private final String groupName;
+    private final int probeLimit;
+
+    /**
+     * Constructor for RedisStreamLagServiceImpl.
+     *
+     * @param streamRedisTemplate String template used for stream operations
+     * @param groupName Consumer group measured by default
+     * @param probeLimit Maximum number of entries counted when the server does not report the lag
+     */
+    public RedisStreamLagServiceImpl(StringRedisTemplate streamRedisTemplate, String groupName, int probeLimit) {
+        this.streamRedisTemplate = streamRedisTemplate;
+        this.groupName = groupName;
+        this.probeLimit = probeLimit;
+    }
+
+    @Override
+    public LagSample sample(String streamKey) {
+        return sample(streamKey, groupName);
+    }
+
+    @Override
+    public LagSample sample(String streamKey, String groupName) {
+        if (!Boolean.TRUE.equals(streamRedisTemplate.hasKey(streamKey))) {
+            return new LagSample(0, 0);
+        }
+        StreamInfo.XInfoGroups groups = streamRedisTemplate.opsForStream().groups(streamKey);
+        if (groups == null) {
+            return new LagSample(0, 0);
+        }
+        for (StreamInfo.XInfoGroup group : groups) {
+            if (!groupName.equals(group.groupName())) {
+                continue;
+            }
+            long pending = group.pendingCount() == null ? 0 : group.pendingCount();
+            Object lag = group.getRaw().get("lag");
+            if (lag instanceof Number) {
+                return new LagSample(((Number) lag).longValue(), pending);
+            }
+            return new LagSample(countAfter(streamKey, group.lastDeliveredId()), pending);
+        }
+        return new LagSample(0, 0);
+    }
+
+    private long countAfter(String streamKey, String lastDeliveredId) {
+        Range<String> range = lastDeliveredId == null
+                ? Range.unbounded()
+                : Range.of(Range.Bound.exclusive(lastDeliveredId), Range.Bound.unbounded());
+        List<?> entries = streamRedisTemplate.opsForStream().range(streamKey, range, Limit.limit().count(probeLimit));
+        return entries == null ? 0 : entries.size();
+    }
+}
@@ -0,0 +1,187 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import com.hibuka.soda.event.redis.service.StreamRetentionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis implementation of StreamRetentionService.
+ * The background trim point is the smallest of every group's last-delivered ID and oldest pending ID,
+ * so entries that a slow group has not yet read or acknowledged are never removed. The trim is limited to
+ * the entries beyond the configured maximum length, so at least maxlen entries are kept even once every
+ * group has consumed them.
+ *
+ * @author kangzeng.ckz
+ * @since 2026/10/16
+ */
+public class RedisStreamRetentionServiceImpl implements StreamRetentionService {
+    private static final Logger logger = LoggerFactory.getLogger(RedisStreamRetentionServiceImpl.class);
+    // MEMORY USAGE is not typed by the Lettuce driver, so its integer reply is read through a script
+    private static final RedisScript<Long> MEMORY_USAGE_SCRIPT =
+            RedisScript.of("return redis.call('MEMORY', 'USAGE', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate streamRedisTemplate;
+    private final EventProperties.RedisProperties.StreamProperties.RetentionProperties retentionProperties;
+    private final long maxlen;
+    private final RedisStreamMetrics metrics;
+    private final Map<String, Long> lastLengths = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastMemoryUsage = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for RedisStreamRetentionServiceImpl.
+     *
+     * @param streamRedisTemplate String template used for stream operations
+     * @param retentionProperties Retention configuration properties
+     * @param maxlen Configured maximum stream length
+     * @param metrics Metrics registry to record trim results in
+     */
+    public RedisStreamRetentionServiceImpl(
+            StringRedisTemplate streamRedisTemplate,
+            EventProperties.RedisProperties.StreamProperties.RetentionProperties retentionProperties,
+            long maxlen,
+            RedisStreamMetrics metrics) {
+        this.streamRedisTemplate = streamRedisTemplate;
+        this.retentionProperties = retentionProperties;
+        this.maxlen = maxlen;
+        this.metrics = metrics;
+        metrics.registerGauge("retention.stream-length", () -> sum(lastLengths));
+        metrics.registerGauge("retention.memory-bytes", () -> sum(lastMemoryUsage));
+    }
+
+    @Override
+    public RedisStreamCommands.XAddOptions appendOptions() {
+        switch (retentionProperties.getAppendTrimStrategy()) {
+            case MAXLEN:
+                return RedisStreamCommands.XAddOptions.maxlen(maxlen).approximateTrimming(true);
+            case MINID:
+                long minTimestamp = System.currentTimeMillis() - retentionProperties.getMaxAge();
+                return RedisStreamCommands.XAddOptions.none()
+                        .minId(RecordId.of(Math.max(0, minTimestamp), 0))
+                        .approximateTrimming(true);
+            case NONE:
+            default:
+                return RedisStreamCommands.XAddOptions.none();
+        }
+    }
+
+    @Override
+    public long trim(String streamKey) {
+        try {
+            Long length = streamRedisTemplate.opsForStream().size(streamKey);
+            if (length == null) {
+                return 0;
+            }
+            lastLengths.put(streamKey, length);
+            sampleMemoryUsage(streamKey);
+            if (length <= maxlen) {
+                return 0;
+            }
+
+            String trimPoint = findSafeTrimPoint(streamKey);
+            if (trimPoint == null) {
+                logger.debug("[RedisStreamRetentionServiceImpl] No safe trim point for stream: {}", streamKey);
+                return 0;
+            }
+
+            // LIMIT keeps the newest maxlen entries, approximate trimming only ever removes fewer
+            long excess = length - maxlen;
+            Long removed = streamRedisTemplate.execute((RedisCallback<Long>) connection -> (Long) connection.execute(
+                    "XTRIM",
+                    streamKey.getBytes(StandardCharsets.UTF_8),
+                    "MINID".getBytes(StandardCharsets.UTF_8),
+                    "~".getBytes(StandardCharsets.UTF_8),
+                    trimPoint.getBytes(StandardCharsets.UTF_8),
+                    "LIMIT".getBytes(StandardCharsets.UTF_8),
+                    String.valueOf(excess).getBytes(StandardCharsets.UTF_8)));
+            long trimmed = removed == null ? 0 : removed;
+            metrics.increment("retention.trim-runs");
+            metrics.add("retention.trimmed-entries", trimmed);
+            lastLengths.put(streamKey, length - trimmed);
+            if (trimmed > 0) {
+                logger.info("[RedisStreamRetentionServiceImpl] Trimmed {} entries from stream: {}, minId={}", trimmed, streamKey, trimPoint);
+            }
+            return trimmed;
+        } catch (Exception e) {
+            metrics.increment("retention.trim-errors");
+            logger.error("[RedisStreamRetentionServiceImpl] Error trimming stream {}: {}", streamKey, e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Finds the smallest ID still needed by any consumer group.
+     *
+     * @param streamKey Stream key
+     * @return Trim point, or null if the stream has no consumer groups
+     */
+    private String findSafeTrimPoint(String streamKey) {
+        StreamInfo.XInfoGroups groups = streamRedisTemplate.opsForStream().groups(streamKey);
+        if (groups == null || groups.isEmpty()) {
+            return null;
+        }
+        String trimPoint = null;
+        for (StreamInfo.XInfoGroup group : groups) {
+            String candidate = group.lastDeliveredId();
+            if (group.pendingCount() != null && group.pendingCount() > 0) {
+                PendingMessagesSummary summary = streamRedisTemplate.opsForStream().pending(streamKey, group.groupName());
+                if (summary != null && summary.minMessageId() != null) {
+                    candidate = min(candidate, summary.minMessageId());
+                }
+            }
+            trimPoint = trimPoint == null ? candidate : min(trimPoint, candidate);
+        }
+        return trimPoint;
+    }
+
+    private void sampleMemoryUsage(String streamKey) {
+        try {
+            Long usage = streamRedisTemplate.execute(MEMORY_USAGE_SCRIPT, Collections.singletonList(streamKey));
+            if (usage != null) {
+                lastMemoryUsage.put(streamKey, usage);
+            }
+        } catch (Exception e) {
+            // MEMORY USAGE may be disabled on managed Redis offerings
+            logger.debug("[RedisStreamRetentionServiceImpl] Cannot sample memory usage of {}: {}", streamKey, e.getMessage());
+        }
+    }
+
+    private static String min(String left, String right) {
+        return compareIds(left, right) <= 0 ? left : right;
+    }
+
+    /**
+     * Compares two stream IDs of the form millis-sequence.
+     *
+     * @param left First ID
+     * @param right Second ID
+     * @return Negative, zero or positive as the first ID is lower than, equal to or higher than the second
+     */
+    static int compareIds(String left, String right) {
+        RecordId l = RecordId.of(left);
+        RecordId r = RecordId.of(right);
+        int result = Long.compare(l.getTimestamp(), r.getTimestamp());
+        return result != 0 ? result : Long.compare(l.getSequence(), r.getSequence());
+    }
+
+    private static long sum(Map<String, Long> values) {
+        long total = 0;
+        for (Long value : values.values()) {
+            total += value;
+        }
+        return total;
+    }
+}
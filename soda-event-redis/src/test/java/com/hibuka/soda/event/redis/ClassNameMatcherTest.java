@@ -0,0 +1,43 @@
+package com.hibuka.soda.event.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for matching class names against class name and package prefix keys.
+ */
+class ClassNameMatcherTest {
+
+    private final ClassNameMatcher<String> matcher = new ClassNameMatcher<>(Map.of(
+            "com.acme", "acme",
+            "com.acme.order.", "order",
+            "com.acme.order.OrderPlaced", "placed"));
+
+    @Test
+    void testLongestKeyWins() {
+        assertEquals("placed", matcher.match("com.acme.order.OrderPlaced", "none"));
+        assertEquals("order", matcher.match("com.acme.order.OrderShipped", "none"));
+        assertEquals("acme", matcher.match("com.acme.billing.InvoiceSent", "none"));
+    }
+
+    @Test
+    void testKeyMatchesOnlyAtNameBoundary() {
+        assertEquals("none", matcher.match("com.acmecorp.Event", "none"));
+        assertEquals("acme", matcher.match("com.acme.orders.Shipped", "none"));
+        // A key naming an outer class covers its nested classes
+        assertEquals("placed", matcher.match("com.acme.order.OrderPlaced$V2", "none"));
+        assertEquals("order", matcher.match("com.acme.order.OrderPlacedV2", "none"));
+    }
+
+    @Test
+    void testEmptyMatcherReturnsDefault() {
+        ClassNameMatcher<String> empty = new ClassNameMatcher<>(Map.of());
+
+        assertTrue(empty.isEmpty());
+        assertEquals("none", empty.match("com.acme.order.OrderPlaced", "none"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.hibuka.soda.event.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.cqrs.event.EventHandler;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import com.hibuka.soda.event.redis.consume.ConsumerGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for batch consumption: one idempotency claim and one success write for the batch, and one XACK
+ * of the records that may be acknowledged.
+ */
+class RedisStreamBatchConsumeTest {
+
+    private static final String STREAM = "events";
+    private static final String GROUP = "orders";
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisConnection connection;
+    private RecordingHandler handler;
+    private RedisStreamEventBus eventBus;
+
+    public static class ItemAdded extends AbstractDomainEvent {
+        private String itemId;
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public void setItemId(String itemId) {
+            this.itemId = itemId;
+        }
+    }
+
+    static class RecordingHandler implements EventHandler<ItemAdded> {
+        private final List<String> handled = new ArrayList<>();
+
+        @Override
+        public void handle(ItemAdded event) {
+            handled.add(event.getItemId());
+        }
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        connection = mock(RedisConnection.class);
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        doReturn(connection).when(connectionFactory).getConnection();
+        handler = new RecordingHandler();
+
+        EventProperties.RedisProperties.StreamProperties.IdempotencyProperties idempotencyProperties =
+                new EventProperties.RedisProperties.StreamProperties.IdempotencyProperties();
+        idempotencyProperties.setEnabled(true);
+        eventBus = new RedisStreamEventBus.Builder(redisTemplate, event -> { }, connectionFactory, List.of(handler), GROUP,
+                new ObjectMapper().registerModule(new JavaTimeModule()))
+                .idempotencyProperties(idempotencyProperties)
+                .build();
+    }
+
+    private static MapRecord<String, String, byte[]> record(String id, String eventId) {
+        Map<String, byte[]> fields = new HashMap<>();
+        fields.put("type", ItemAdded.class.getName().getBytes(StandardCharsets.UTF_8));
+        fields.put("eventId", eventId.getBytes(StandardCharsets.UTF_8));
+        fields.put("event", ("{\"itemId\":\"" + eventId + "\"}").getBytes(StandardCharsets.UTF_8));
+        return StreamRecords.newRecord().in(STREAM).withId(RecordId.of(id)).ofMap(fields);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testBatchIsClaimedMarkedAndAcknowledgedOnce() throws Exception {
+        // The third event is being processed by another consumer
+        doReturn(Arrays.asList(null, null, "PROCESSING")).when(redisTemplate).executePipelined(any(SessionCallback.class), any());
+
+        eventBus.handleStreamBatch(List.of(record("1-0", "e1"), record("2-0", "e2"), record("3-0", "e3")), ConsumerGroup.shared(GROUP));
+
+        assertEquals(List.of("e1", "e2"), handler.handled);
+        // Only the handled records are acknowledged, in a single XACK
+        verify(connection, times(1)).xAck(any(byte[].class), anyString(), any(RecordId[].class));
+        verify(connection).xAck(any(byte[].class), eq(GROUP), eq(RecordId.of("1-0")), eq(RecordId.of("2-0")));
+
+        // One pipeline claims the batch, one marks it as processed; nothing is written per event or per handler
+        ArgumentCaptor<SessionCallback> writes = ArgumentCaptor.forClass(SessionCallback.class);
+        verify(redisTemplate, times(2)).executePipelined(writes.capture());
+        verify(redisTemplate, never()).expire(anyString(), anyLong(), any(TimeUnit.class));
+        assertWrites(writes.getAllValues().get(0), "PROCESSING");
+        assertWrites(writes.getAllValues().get(1), "SUCCESS");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void assertWrites(SessionCallback callback, String status) {
+        RedisOperations operations = mock(RedisOperations.class);
+        HashOperations hashOps = mock(HashOperations.class);
+        doReturn(hashOps).when(operations).opsForHash();
+        callback.execute(operations);
+
+        verify(hashOps, times(2)).putAll(anyString(), anyMap());
+        verify(hashOps).putAll(eq("soda-events-idempotency:e1"), argThat(fields -> status.equals(((Map) fields).get("status"))));
+        verify(hashOps).putAll(eq("soda-events-idempotency:e2"), argThat(fields -> status.equals(((Map) fields).get("status"))));
+    }
+}
@@ -0,0 +1,51 @@
+package com.hibuka.soda.event.redis;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for binding the event bus metrics to a Micrometer registry.
+ */
+class RedisStreamMeterBinderTest {
+
+    @Test
+    void testExistingAndLaterMetricsAreBound() {
+        RedisStreamMetrics metrics = new RedisStreamMetrics();
+        metrics.add("publish.batches", 2);
+        AtomicInteger depth = new AtomicInteger(5);
+        metrics.registerGauge("publish.batch-queue-depth", depth::get);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new RedisStreamMeterBinder(metrics, Tags.of("topic", "orders")).bindTo(registry);
+        // Recorded for the first time after binding
+        metrics.increment("consume.acks");
+        metrics.increment("publish.batches");
+        depth.set(7);
+
+        FunctionCounter batches = registry.get("soda.event.redis.publish.batches").tag("topic", "orders").functionCounter();
+        assertEquals(3, batches.count());
+        assertEquals(1, registry.get("soda.event.redis.consume.acks").functionCounter().count());
+        Gauge queueDepth = registry.get("soda.event.redis.publish.batch-queue-depth").gauge();
+        assertEquals(7, queueDepth.value());
+    }
+
+    @Test
+    void testReplacedGaugeReadsNewSupplier() {
+        RedisStreamMetrics metrics = new RedisStreamMetrics();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new RedisStreamMeterBinder(metrics, Tags.empty()).bindTo(registry);
+
+        metrics.registerGauge("consume.in-flight", () -> 1);
+        metrics.registerGauge("consume.in-flight", () -> 4);
+
+        assertEquals(1, registry.find("soda.event.redis.consume.in-flight").gauges().size());
+        assertEquals(4, registry.get("soda.event.redis.consume.in-flight").gauge().value());
+    }
+}
@@ -0,0 +1,116 @@
+package com.hibuka.soda.event.redis;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.cqrs.event.EventHandler;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import com.hibuka.soda.event.redis.codec.AvroEventCodec;
+import com.hibuka.soda.event.redis.codec.CborEventCodec;
+import com.hibuka.soda.event.redis.codec.JacksonEventCodec;
+import com.hibuka.soda.event.redis.codec.SmileEventCodec;
+import com.hibuka.soda.event.redis.consume.ConsumerGroup;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test cases for consuming a stream whose entries were written by producers using different codecs.
+ */
+class RedisStreamMixedCodecTest {
+
+    private static final String STREAM = "events";
+    private static final String GROUP = "orders";
+
+    public static class ItemAdded extends AbstractDomainEvent {
+        private String itemId;
+        private List<String> tags;
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public void setItemId(String itemId) {
+            this.itemId = itemId;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    static class RecordingHandler implements EventHandler<ItemAdded> {
+        private final List<ItemAdded> handled = new ArrayList<>();
+
+        @Override
+        public void handle(ItemAdded event) {
+            handled.add(event);
+        }
+    }
+
+    /**
+     * Builds an ObjectMapper with the default typing of the event bus ObjectMapper.
+     */
+    private static ObjectMapper busObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return objectMapper;
+    }
+
+    private static RedisStreamEventBus eventBus(RedisConnectionFactory connectionFactory, String codec, List<RecordingHandler> handlers) {
+        return new RedisStreamEventBus.Builder(mock(RedisTemplate.class), event -> { }, connectionFactory, new ArrayList<>(handlers),
+                GROUP, busObjectMapper())
+                .idempotencyProperties(new EventProperties.RedisProperties.StreamProperties.IdempotencyProperties())
+                .codec(codec)
+                .build();
+    }
+
+    @Test
+    void testEntriesAreDecodedWithTheirOwnCodec() throws Exception {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        doReturn(mock(RedisConnection.class)).when(connectionFactory).getConnection();
+        List<String> codecs = List.of(JacksonEventCodec.JSON, SmileEventCodec.ID, CborEventCodec.ID, AvroEventCodec.ID);
+
+        // One producer per codec appends to the same stream
+        List<MapRecord<String, String, byte[]>> records = new ArrayList<>();
+        for (int i = 0; i < codecs.size(); i++) {
+            ItemAdded event = new ItemAdded();
+            event.setItemId("item-" + i);
+            event.setTags(new ArrayList<>(List.of(codecs.get(i))));
+            Map<String, byte[]> fields = eventBus(connectionFactory, codecs.get(i), List.of()).buildStreamEntry(event, null);
+            assertEquals(codecs.get(i), new String(fields.get("codec"), StandardCharsets.UTF_8));
+            records.add(StreamRecords.newRecord().in(STREAM).withId(RecordId.of((i + 1) + "-0")).ofMap(fields));
+        }
+
+        // The consumer writes JSON itself, and reads every entry with the codec named in it
+        RecordingHandler handler = new RecordingHandler();
+        eventBus(connectionFactory, JacksonEventCodec.JSON, List.of(handler)).handleStreamBatch(records, ConsumerGroup.shared(GROUP));
+
+        assertEquals(codecs.size(), handler.handled.size());
+        for (int i = 0; i < codecs.size(); i++) {
+            assertEquals("item-" + i, handler.handled.get(i).getItemId());
+            assertEquals(List.of(codecs.get(i)), handler.handled.get(i).getTags());
+        }
+    }
+}
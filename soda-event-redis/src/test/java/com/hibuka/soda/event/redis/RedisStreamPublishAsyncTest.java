@@ -0,0 +1,174 @@
+package com.hibuka.soda.event.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.reactivestreams.Publisher;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStreamCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Test cases for publishAsync outside and inside a transaction, and its blocking fallback without a reactive connection factory.
+ */
+class RedisStreamPublishAsyncTest {
+
+    private final List<ReactiveStreamCommands.AddStreamRecord> reactiveAppends = new CopyOnWriteArrayList<>();
+    private EmbeddedDatabase database;
+    private TransactionTemplate transactionTemplate;
+
+    public static class ItemAdded extends AbstractDomainEvent {
+        private String itemId;
+
+        public ItemAdded() {
+        }
+
+        ItemAdded(String itemId) {
+            this.itemId = itemId;
+        }
+
+        public String getItemId() {
+            return itemId;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private static RedisStreamEventBus eventBus(RedisConnectionFactory connectionFactory) {
+        return new RedisStreamEventBus.Builder(mock(RedisTemplate.class), event -> { }, connectionFactory,
+                List.of(), "orders", new ObjectMapper().registerModule(new JavaTimeModule()))
+                .idempotencyProperties(new EventProperties.RedisProperties.StreamProperties.IdempotencyProperties())
+                .build();
+    }
+
+    /**
+     * Connection factory that is also reactive, recording every XADD sent through the reactive stream commands.
+     */
+    @SuppressWarnings("unchecked")
+    private RedisConnectionFactory reactiveConnectionFactory() {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class,
+                withSettings().extraInterfaces(ReactiveRedisConnectionFactory.class));
+        ReactiveRedisConnection connection = mock(ReactiveRedisConnection.class);
+        ReactiveStreamCommands streamCommands = mock(ReactiveStreamCommands.class);
+        doReturn(connection).when((ReactiveRedisConnectionFactory) connectionFactory).getReactiveConnection();
+        doReturn(streamCommands).when(connection).streamCommands();
+        doAnswer(invocation -> Flux.from((Publisher<ReactiveStreamCommands.AddStreamRecord>) invocation.getArgument(0))
+                .map(command -> {
+                    reactiveAppends.add(command);
+                    return new ReactiveRedisConnection.CommandResponse<>(command, RecordId.of("1-" + reactiveAppends.size()));
+                }))
+                .when(streamCommands).xAdd(any(Publisher.class));
+        return connectionFactory;
+    }
+
+    @Test
+    void testPublishAsyncWithoutTransactionAppendsImmediately() throws Exception {
+        RedisStreamEventBus eventBus = eventBus(reactiveConnectionFactory());
+
+        CompletableFuture<RecordId> future = eventBus.publishAsync(new ItemAdded("item-1"));
+
+        assertEquals(RecordId.of("1-1"), future.get(5, TimeUnit.SECONDS));
+        assertEquals(1, reactiveAppends.size());
+        assertEquals("orders", StandardCharsets.UTF_8.decode(reactiveAppends.get(0).getKey().duplicate()).toString());
+    }
+
+    @Test
+    void testPublishAsyncInTransactionAppendsAfterCommit() throws Exception {
+        RedisStreamEventBus eventBus = eventBus(reactiveConnectionFactory());
+
+        CompletableFuture<RecordId> future = transactionTemplate.execute(status -> {
+            CompletableFuture<RecordId> pending = eventBus.publishAsync(new ItemAdded("item-1"));
+            // Nothing is sent while the transaction can still roll back
+            assertFalse(pending.isDone());
+            assertTrue(reactiveAppends.isEmpty());
+            return pending;
+        });
+
+        assertEquals(RecordId.of("1-1"), future.get(5, TimeUnit.SECONDS));
+        assertEquals(1, reactiveAppends.size());
+    }
+
+    @Test
+    void testPublishAsyncInRolledBackTransactionFailsWithoutAppend() {
+        RedisStreamEventBus eventBus = eventBus(reactiveConnectionFactory());
+
+        CompletableFuture<RecordId> future = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return eventBus.publishAsync(new ItemAdded("item-1"));
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertTrue(reactiveAppends.isEmpty());
+    }
+
+    @Test
+    void testPublishAsyncFallsBackToBlockingAppend() throws Exception {
+        // Answers every XADD of the blocking stream commands, whichever connection wrapper forwards it
+        Answer<Object> blockingAppend = invocation -> "xAdd".equals(invocation.getMethod().getName())
+                ? RecordId.of("2-1")
+                : Mockito.RETURNS_DEFAULTS.answer(invocation);
+        RedisStreamCommands streamCommands = mock(RedisStreamCommands.class, blockingAppend);
+        RedisConnection connection = mock(RedisConnection.class, invocation -> "streamCommands".equals(invocation.getMethod().getName())
+                ? streamCommands
+                : blockingAppend.answer(invocation));
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        doReturn(connection).when(connectionFactory).getConnection();
+        RedisStreamEventBus eventBus = eventBus(connectionFactory);
+
+        CompletableFuture<RecordId> future = eventBus.publishAsync(new ItemAdded("item-1"));
+
+        // Completed on the calling thread, since there is no reactive connection to reply on
+        assertTrue(future.isDone());
+        assertEquals(RecordId.of("2-1"), future.get());
+        long appends = Mockito.mockingDetails(connection).getInvocations().stream()
+                .filter(invocation -> "xAdd".equals(invocation.getMethod().getName())).count()
+                + Mockito.mockingDetails(streamCommands).getInvocations().stream()
+                .filter(invocation -> "xAdd".equals(invocation.getMethod().getName())).count();
+        assertEquals(1, appends);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hibuka.soda.event.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test cases for the header fields of wire format version 2 and the eventId fallback for version 1 entries.
+ */
+class RedisStreamWireFormatTest {
+
+    private RedisStreamEventBus eventBus;
+
+    public static class ItemAdded extends AbstractDomainEvent {
+        private String itemId;
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public void setItemId(String itemId) {
+            this.itemId = itemId;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new RedisStreamEventBus.Builder(mock(RedisTemplate.class), event -> { }, mock(RedisConnectionFactory.class),
+                List.of(), "orders", new ObjectMapper().registerModule(new JavaTimeModule()))
+                .idempotencyProperties(new EventProperties.RedisProperties.StreamProperties.IdempotencyProperties())
+                .build();
+    }
+
+    private static MapRecord<String, String, byte[]> record(Map<String, byte[]> fields) {
+        return StreamRecords.newRecord().in("events").withId(RecordId.of("1-0")).ofMap(fields);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testVersion2EntryCarriesHeaders() throws Exception {
+        ItemAdded event = new ItemAdded();
+        event.setItemId("item-1");
+        event.setRequestId("req-1");
+
+        Map<String, byte[]> fields = eventBus.buildStreamEntry(event, null);
+
+        assertEquals(RedisStreamEventBus.WIRE_FORMAT_VERSION, new String(fields.get(RedisStreamEventBus.HEADER_SCHEMA_VERSION), StandardCharsets.UTF_8));
+        assertEquals(event.getEventId(), new String(fields.get(RedisStreamEventBus.HEADER_EVENT_ID), StandardCharsets.UTF_8));
+        assertEquals("req-1", new String(fields.get(RedisStreamEventBus.HEADER_REQUEST_ID), StandardCharsets.UTF_8));
+        assertEquals(event.getEventId(), eventBus.extractEventIdFromMessage(record(fields)));
+    }
+
+    @Test
+    void testHeaderEventIdWinsOverPayload() {
+        Map<String, byte[]> fields = new HashMap<>();
+        fields.put("type", bytes(ItemAdded.class.getName()));
+        fields.put(RedisStreamEventBus.HEADER_EVENT_ID, bytes("header-id"));
+        // Not valid JSON, so reading the payload would fail
+        fields.put("event", bytes("{"));
+
+        assertEquals("header-id", eventBus.extractEventIdFromMessage(record(fields)));
+    }
+
+    @Test
+    void testVersion1EntryFallsBackToPayload() {
+        Map<String, byte[]> fields = new HashMap<>();
+        fields.put("type", bytes(ItemAdded.class.getName()));
+        fields.put("event", bytes("{\"eventId\":\"legacy-1\",\"itemId\":\"item-1\"}"));
+
+        assertEquals("legacy-1", eventBus.extractEventIdFromMessage(record(fields)));
+    }
+
+    @Test
+    void testVersion1EntryWithTypedPayloadFallsBackToEventData() {
+        Map<String, byte[]> fields = new HashMap<>();
+        fields.put("type", bytes(ItemAdded.class.getName()));
+        fields.put("event", bytes("[\"" + ItemAdded.class.getName() + "\",{\"eventId\":\"legacy-2\"}]"));
+
+        assertEquals("legacy-2", eventBus.extractEventIdFromMessage(record(fields)));
+    }
+
+    @Test
+    void testEntryWithoutEventIdHasNone() {
+        Map<String, byte[]> fields = new HashMap<>();
+        fields.put("type", bytes(ItemAdded.class.getName()));
+        fields.put("event", bytes("{\"itemId\":\"item-1\"}"));
+
+        assertNull(eventBus.extractEventIdFromMessage(record(fields)));
+    }
+}
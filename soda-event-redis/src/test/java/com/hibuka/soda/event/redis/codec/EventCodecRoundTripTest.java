@@ -0,0 +1,140 @@
+package com.hibuka.soda.event.redis.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for encoding and decoding events with the Smile, CBOR and Avro codecs, configured from the
+ * default-typing ObjectMapper of the event bus.
+ */
+class EventCodecRoundTripTest {
+
+    public static class OrderPlaced extends AbstractDomainEvent {
+        private String orderId;
+        private int quantity;
+        private List<String> items;
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(String orderId) {
+            this.orderId = orderId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+
+        public void setItems(List<String> items) {
+            this.items = items;
+        }
+    }
+
+    /**
+     * Builds an ObjectMapper configured like the one the auto-configuration creates for the event bus.
+     */
+    static ObjectMapper busObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+        objectMapper.configure(DeserializationFeature.READ_ENUMS_USING_TO_STRING, true);
+        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return objectMapper;
+    }
+
+    private static OrderPlaced event() {
+        OrderPlaced event = new OrderPlaced();
+        event.setOrderId("order-1");
+        event.setQuantity(3);
+        // A mutable list, so the type written for it by default typing can be instantiated again
+        event.setItems(new ArrayList<>(List.of("item-1", "item-2")));
+        event.setRequestId("req-1");
+        // Avro writes timestamps in milliseconds
+        event.setOccurredOn(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+        return event;
+    }
+
+    private static void assertRoundTrip(EventCodec codec) throws Exception {
+        codec.prepare(OrderPlaced.class);
+        OrderPlaced event = event();
+
+        OrderPlaced decoded = codec.decode(codec.encode(event), OrderPlaced.class);
+
+        assertEquals(event.getEventId(), decoded.getEventId());
+        assertEquals(event.getOccurredOn(), decoded.getOccurredOn());
+        assertEquals("req-1", decoded.getRequestId());
+        assertEquals("order-1", decoded.getOrderId());
+        assertEquals(3, decoded.getQuantity());
+        assertEquals(List.of("item-1", "item-2"), decoded.getItems());
+    }
+
+    @Test
+    void testSmileRoundTrip() throws Exception {
+        assertRoundTrip(new SmileEventCodec(busObjectMapper()));
+    }
+
+    @Test
+    void testCborRoundTrip() throws Exception {
+        assertRoundTrip(new CborEventCodec(busObjectMapper()));
+    }
+
+    @Test
+    void testAvroRoundTrip() throws Exception {
+        assertRoundTrip(new AvroEventCodec());
+    }
+
+    @Test
+    void testBinaryCodecsKeepTypeInformation() throws Exception {
+        byte[] json = new JacksonEventCodec(JacksonEventCodec.JSON, busObjectMapper()).encode(event());
+        byte[] smile = new SmileEventCodec(busObjectMapper()).encode(event());
+        byte[] avro = new AvroEventCodec().encode(event());
+
+        // Smile reuses the bus configuration, so the class property is written as for JSON
+        assertTrue(new String(json, StandardCharsets.UTF_8).contains(OrderPlaced.class.getName()));
+        assertTrue(new String(smile, StandardCharsets.UTF_8).contains(OrderPlaced.class.getName()));
+        // The entry's type field identifies the class of an Avro payload
+        assertFalse(new String(avro, StandardCharsets.UTF_8).contains(OrderPlaced.class.getName()));
+    }
+
+    @Test
+    void testRegistryResolvesEveryCodecById() throws Exception {
+        EventCodecRegistry registry = new EventCodecRegistry(busObjectMapper(), List.of());
+        OrderPlaced event = event();
+
+        for (String id : List.of(JacksonEventCodec.JSON, SmileEventCodec.ID, CborEventCodec.ID, AvroEventCodec.ID)) {
+            EventCodec codec = registry.get(id);
+            assertEquals(id, codec.id());
+            assertEquals("order-1", codec.decode(codec.encode(event), OrderPlaced.class).getOrderId());
+        }
+        // Entries written before codec IDs were recorded are read as JSON
+        assertEquals(JacksonEventCodec.JSON, registry.get(null).id());
+    }
+}
@@ -0,0 +1,105 @@
+package com.hibuka.soda.event.redis.codec;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the Jackson codec and its per-class readers and writers.
+ */
+class JacksonEventCodecTest {
+
+    public static class OrderPlaced {
+        public String orderId;
+        public int quantity;
+        public List<String> items;
+    }
+
+    public record OrderIdView(String orderId) {
+    }
+
+    public record OrderItemsView(String orderId, List<String> items) {
+    }
+
+    @Test
+    void testPreparedTypeRoundTrip() throws Exception {
+        JacksonEventCodec codec = new JacksonEventCodec(JacksonEventCodec.JSON, new ObjectMapper());
+        codec.prepare(OrderPlaced.class);
+        OrderPlaced event = new OrderPlaced();
+        event.orderId = "order-1";
+        event.quantity = 3;
+
+        byte[] data = codec.encode(event);
+        OrderPlaced decoded = codec.decode(data, OrderPlaced.class);
+
+        assertEquals("order-1", decoded.orderId);
+        assertEquals(3, decoded.quantity);
+    }
+
+    @Test
+    void testEncodingMatchesObjectMapper() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JacksonEventCodec codec = new JacksonEventCodec(JacksonEventCodec.JSON, objectMapper);
+        OrderPlaced event = new OrderPlaced();
+        event.orderId = "order-2";
+
+        assertEquals(objectMapper.writeValueAsString(event), new String(codec.encode(event), StandardCharsets.UTF_8));
+        assertEquals("order-3", codec.decode("{\"orderId\":\"order-3\"}".getBytes(StandardCharsets.UTF_8), OrderPlaced.class).orderId);
+    }
+
+    /**
+     * Builds an ObjectMapper with the NON_FINAL default typing of the event bus ObjectMapper.
+     */
+    private static ObjectMapper defaultTypingObjectMapper(JsonTypeInfo.As inclusion) {
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL, inclusion);
+        return objectMapper;
+    }
+
+    private static OrderPlaced orderWithItems() {
+        OrderPlaced event = new OrderPlaced();
+        event.orderId = "order-4";
+        event.quantity = 5;
+        event.items = new ArrayList<>(List.of("item-1", "item-2"));
+        return event;
+    }
+
+    @Test
+    void testDecodeViewReadsOnlyDeclaredFields() throws Exception {
+        JacksonEventCodec codec = new JacksonEventCodec(JacksonEventCodec.JSON, defaultTypingObjectMapper(JsonTypeInfo.As.WRAPPER_ARRAY));
+        byte[] data = codec.encode(orderWithItems());
+
+        // The event is written as a [type, value] pair, the view is bound to the value
+        JsonNode written = new ObjectMapper().readTree(data);
+        assertTrue(written.isArray());
+        assertEquals(OrderPlaced.class.getName(), written.get(0).asText());
+
+        OrderItemsView view = codec.decodeView(data, OrderItemsView.class);
+        assertEquals("order-4", view.orderId());
+        // Nested values keep the type information of the event
+        assertEquals(List.of("item-1", "item-2"), view.items());
+        assertEquals("order-4", codec.decodeView(data, OrderIdView.class).orderId());
+        assertEquals(5, codec.decodeView(data, JsonNode.class).get("quantity").asInt());
+    }
+
+    @Test
+    void testDecodeViewWithTypeProperty() throws Exception {
+        // The inclusion the bus ObjectMapper uses: the class is a property of the event object
+        JacksonEventCodec codec = new JacksonEventCodec(JacksonEventCodec.JSON, defaultTypingObjectMapper(JsonTypeInfo.As.PROPERTY));
+        byte[] data = codec.encode(orderWithItems());
+
+        assertEquals(OrderPlaced.class.getName(), new ObjectMapper().readTree(data).get("@class").asText());
+        OrderItemsView view = codec.decodeView(data, OrderItemsView.class);
+        assertEquals("order-4", view.orderId());
+        assertEquals(List.of("item-1", "item-2"), view.items());
+    }
+}
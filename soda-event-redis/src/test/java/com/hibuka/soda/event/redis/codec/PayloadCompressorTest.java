@@ -0,0 +1,48 @@
+package com.hibuka.soda.event.redis.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for payload compressor round trips.
+ */
+class PayloadCompressorTest {
+
+    private static byte[] largePayload() {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 500; i++) {
+            json.append("{\"sku\":\"SKU-").append(i % 20).append("\",\"quantity\":").append(i % 7).append("},");
+        }
+        json.append("{}]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testLz4RoundTrip() {
+        PayloadCompressor compressor = new Lz4PayloadCompressor();
+        byte[] payload = largePayload();
+        byte[] compressed = compressor.compress(payload);
+        assertTrue(compressed.length < payload.length);
+        assertArrayEquals(payload, compressor.decompress(compressed));
+    }
+
+    @Test
+    void testZstdRoundTrip() {
+        PayloadCompressor compressor = new ZstdPayloadCompressor(3);
+        byte[] payload = largePayload();
+        byte[] compressed = compressor.compress(payload);
+        assertTrue(compressed.length < payload.length);
+        assertArrayEquals(payload, compressor.decompress(compressed));
+    }
+
+    @Test
+    void testUnknownCompressorIsRejected() {
+        PayloadCompressorRegistry registry = new PayloadCompressorRegistry(3);
+        assertThrows(IllegalArgumentException.class, () -> registry.get("snappy"));
+    }
+}
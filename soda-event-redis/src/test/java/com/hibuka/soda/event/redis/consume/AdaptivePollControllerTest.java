@@ -0,0 +1,49 @@
+package com.hibuka.soda.event.redis.consume;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for adaptive read sizing.
+ */
+class AdaptivePollControllerTest {
+
+    @Test
+    void testFullReadsGrowBatchUpToBound() {
+        AdaptivePollController controller = new AdaptivePollController(10, 100, 100, 2000, 30, 400);
+        controller.onRead(30);
+        assertEquals(60, controller.getBatchSize());
+        assertEquals(100, controller.getPollTimeout());
+        controller.onRead(60);
+        controller.onRead(100);
+        assertEquals(100, controller.getBatchSize());
+    }
+
+    @Test
+    void testEmptyReadsLengthenTimeoutAndShrinkBatch() {
+        AdaptivePollController controller = new AdaptivePollController(10, 100, 100, 2000, 40, 100);
+        controller.onRead(0);
+        assertEquals(200, controller.getPollTimeout());
+        assertEquals(20, controller.getBatchSize());
+        for (int i = 0; i < 10; i++) {
+            controller.onRead(0);
+        }
+        assertEquals(2000, controller.getPollTimeout());
+        assertEquals(10, controller.getBatchSize());
+
+        // Records arriving make the consumer responsive again without touching the batch size
+        controller.onRead(3);
+        assertEquals(100, controller.getPollTimeout());
+        assertEquals(10, controller.getBatchSize());
+    }
+
+    @Test
+    void testFixedControllerNeverChanges() {
+        AdaptivePollController controller = AdaptivePollController.fixed(50, 1000);
+        controller.onRead(50);
+        controller.onRead(0);
+        assertEquals(50, controller.getBatchSize());
+        assertEquals(1000, controller.getPollTimeout());
+    }
+}
@@ -0,0 +1,57 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.cqrs.event.EventHandler;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for shared and per-handler consumer groups.
+ */
+class ConsumerGroupTest {
+
+    static class OrderPlacedEvent extends AbstractDomainEvent {
+    }
+
+    static class OrderCancelledEvent extends AbstractDomainEvent {
+    }
+
+    static class OrderProjection implements EventHandler<OrderPlacedEvent> {
+        @Override
+        public void handle(OrderPlacedEvent event) {
+        }
+    }
+
+    @Test
+    void testSharedGroupHandlesEveryTypeByEventId() {
+        ConsumerGroup group = ConsumerGroup.shared("soda-event-group");
+        assertTrue(group.isShared());
+        assertEquals("soda-event-group", group.getName());
+        assertTrue(group.handles(OrderCancelledEvent.class));
+        assertEquals("event-1", group.idempotencyKeyOf("event-1"));
+    }
+
+    @Test
+    void testHandlerGroupIsNamedAfterHandlerClass() {
+        OrderProjection handler = new OrderProjection();
+        ConsumerGroup group = ConsumerGroup.forHandler("soda-event-group", handler, OrderPlacedEvent.class, 0);
+        assertFalse(group.isShared());
+        assertEquals("soda-event-group:" + OrderProjection.class.getName(), group.getName());
+        assertEquals("soda-event-group:" + OrderProjection.class.getName() + "#1",
+                ConsumerGroup.forHandler("soda-event-group", handler, OrderPlacedEvent.class, 1).getName());
+    }
+
+    @Test
+    void testHandlerGroupOnlyHandlesItsTypeAndKeysStatusByHandler() {
+        ConsumerGroup group = ConsumerGroup.forHandler("g", new OrderProjection(), OrderPlacedEvent.class, 0);
+        assertTrue(group.handles(OrderPlacedEvent.class));
+        assertFalse(group.handles(OrderCancelledEvent.class));
+        assertFalse(group.handles(null));
+        assertEquals("event-1::" + OrderProjection.class.getName(), group.idempotencyKeyOf("event-1"));
+        assertNull(group.idempotencyKeyOf(null));
+    }
+}
@@ -0,0 +1,35 @@
+package com.hibuka.soda.event.redis.consume;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for lag-based consumer scaling.
+ */
+class ConsumerScalingPolicyTest {
+
+    @Test
+    void testScaleUpGoesToDesiredCountAtOnce() {
+        ConsumerScalingPolicy policy = new ConsumerScalingPolicy(1, 8, 100);
+        assertEquals(5, policy.nextConsumers(1, 450));
+        assertEquals(8, policy.nextConsumers(2, 100_000));
+        assertEquals(3, policy.nextConsumers(3, 300));
+    }
+
+    @Test
+    void testScaleDownRemovesOneConsumerPerDecision() {
+        ConsumerScalingPolicy policy = new ConsumerScalingPolicy(2, 8, 100);
+        assertEquals(7, policy.nextConsumers(8, 0));
+        assertEquals(2, policy.nextConsumers(3, 0));
+        assertEquals(2, policy.nextConsumers(2, 0));
+    }
+
+    @Test
+    void testInitialConsumersStayWithinBounds() {
+        ConsumerScalingPolicy policy = new ConsumerScalingPolicy(2, 4, 100);
+        assertEquals(2, policy.initialConsumers(1));
+        assertEquals(3, policy.initialConsumers(3));
+        assertEquals(4, policy.initialConsumers(10));
+    }
+}
@@ -0,0 +1,104 @@
+package com.hibuka.soda.event.redis.consume;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the keyed worker pool.
+ */
+class KeyedWorkerPoolTest {
+
+    @Test
+    void testTasksWithTheSameKeyRunInOrder() throws Exception {
+        KeyedWorkerPool pool = new KeyedWorkerPool(4, 100, "test-worker");
+        try {
+            Map<String, List<Integer>> runs = new ConcurrentHashMap<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String key = "order-" + (i % 10);
+                int sequence = i;
+                futures.add(pool.submit(key, () -> runs.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(sequence)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+            assertEquals(10, runs.size());
+            for (List<Integer> sequences : runs.values()) {
+                assertEquals(20, sequences.size());
+                for (int i = 1; i < sequences.size(); i++) {
+                    assertTrue(sequences.get(i - 1) < sequences.get(i));
+                }
+            }
+        } finally {
+            pool.shutdown(1000);
+        }
+    }
+
+    @Test
+    void testSlowKeyDoesNotBlockOtherKeys() throws Exception {
+        KeyedWorkerPool pool = new KeyedWorkerPool(2, 100, "test-worker");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Find a key on the other lane than the blocked one
+            String blockedKey = "a";
+            String otherKey = "b";
+            while (((otherKey.hashCode() & Integer.MAX_VALUE) % 2) == ((blockedKey.hashCode() & Integer.MAX_VALUE) % 2)) {
+                otherKey = otherKey + "b";
+            }
+            pool.submit(blockedKey, () -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pool.submit(otherKey, () -> { }).get(1, TimeUnit.SECONDS);
+            assertEquals(1, pool.getInFlight());
+        } finally {
+            release.countDown();
+            pool.shutdown(1000);
+        }
+    }
+
+    @Test
+    void testSubmitWaitsWhileInFlightBoundIsReached() throws Exception {
+        KeyedWorkerPool pool = new KeyedWorkerPool(1, 2, "test-worker");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 2; i++) {
+                pool.submit("k", () -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            CompletableFuture<Void> third = CompletableFuture.runAsync(() -> {
+                try {
+                    pool.submit("k", () -> { });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Thread.sleep(100);
+            assertFalse(third.isDone());
+
+            release.countDown();
+            third.get(1, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdown(1000);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for reclaiming idle pending entries and dead-lettering them at the delivery limit.
+ */
+class PendingEntryReclaimerTest {
+
+    private static final String STREAM = "events";
+
+    /**
+     * Listener recording the entries it receives.
+     */
+    static class RecordingListener implements PendingEntryReclaimer.Listener {
+        private final List<String> reclaimed = new ArrayList<>();
+        private final Map<String, Long> deadLettered = new HashMap<>();
+
+        @Override
+        public void onReclaimed(MapRecord<String, String, byte[]> message) {
+            reclaimed.add(message.getId().getValue());
+        }
+
+        @Override
+        public void onDeliveryLimitReached(MapRecord<String, String, byte[]> message, long deliveryCount) {
+            deadLettered.put(message.getId().getValue(), deliveryCount);
+        }
+    }
+
+    private static PendingMessage pending(String id, long idleMillis, long deliveries) {
+        return new PendingMessage(RecordId.of(id), Consumer.from("group", "crashed-consumer"), Duration.ofMillis(idleMillis), deliveries);
+    }
+
+    private static ByteRecord record(String id) {
+        Map<byte[], byte[]> fields = new HashMap<>();
+        fields.put("type".getBytes(StandardCharsets.UTF_8), "com.example.OrderPlaced".getBytes(StandardCharsets.UTF_8));
+        return StreamRecords.rawBytes(fields).withStreamKey(STREAM.getBytes(StandardCharsets.UTF_8)).withId(RecordId.of(id));
+    }
+
+    @Test
+    void testEntriesBelowMinIdleAreNotClaimed() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        doReturn(new PendingMessages("group", List.of(pending("1-0", 500, 1)))).when(template).execute(any(RedisCallback.class));
+        RecordingListener listener = new RecordingListener();
+        PendingEntryReclaimer reclaimer = new PendingEntryReclaimer(template, "group", "me", 1000, 10, 5, listener, new RedisStreamMetrics());
+
+        assertEquals(0, reclaimer.reclaim(STREAM));
+        assertTrue(listener.reclaimed.isEmpty());
+        // Only XPENDING, nothing idle enough to XCLAIM
+        verify(template, times(1)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void testEntriesAtDeliveryLimitAreDeadLettered() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        PendingMessages pending = new PendingMessages("group", List.of(
+                pending("1-0", 2000, 1), pending("2-0", 2000, 4), pending("3-0", 2000, 5), pending("4-0", 2000, 9)));
+        doReturn(pending, List.of(record("1-0"), record("2-0"), record("3-0"), record("4-0")))
+                .when(template).execute(any(RedisCallback.class));
+        RecordingListener listener = new RecordingListener();
+        RedisStreamMetrics metrics = new RedisStreamMetrics();
+        PendingEntryReclaimer reclaimer = new PendingEntryReclaimer(template, "group", "me", 1000, 10, 5, listener, metrics);
+
+        assertEquals(4, reclaimer.reclaim(STREAM));
+        assertEquals(List.of("1-0", "2-0"), listener.reclaimed);
+        assertEquals(Map.of("3-0", 5L, "4-0", 9L), listener.deadLettered);
+        assertEquals(2, metrics.getCounter("consume.reclaimed"));
+        assertEquals(2, metrics.getCounter("consume.reclaim-dead-lettered"));
+    }
+
+    @Test
+    void testEntriesClaimedElsewhereInBetweenAreSkipped() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        doReturn(new PendingMessages("group", List.of(pending("1-0", 2000, 1))), List.of())
+                .when(template).execute(any(RedisCallback.class));
+        RecordingListener listener = new RecordingListener();
+        PendingEntryReclaimer reclaimer = new PendingEntryReclaimer(template, "group", "me", 1000, 10, 5, listener, new RedisStreamMetrics());
+
+        assertEquals(0, reclaimer.reclaim(STREAM));
+        assertTrue(listener.reclaimed.isEmpty());
+    }
+}
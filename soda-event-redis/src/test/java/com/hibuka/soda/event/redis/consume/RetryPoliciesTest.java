@@ -0,0 +1,53 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.bus.configuration.EventProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for retry delays and per-event-type retry policies.
+ */
+class RetryPoliciesTest {
+
+    @Test
+    void testExponentialDelaysAreCapped() {
+        RetryPolicy policy = new RetryPolicy(10, 100, true, 1000, 0.0);
+        assertEquals(100, policy.delayOf(0));
+        assertEquals(400, policy.delayOf(2));
+        assertEquals(1000, policy.delayOf(4));
+        assertEquals(1000, policy.delayOf(100));
+        assertEquals(100, new RetryPolicy(10, 100, false, 1000, 0.0).delayOf(5));
+    }
+
+    @Test
+    void testJitterStaysWithinFraction() {
+        RetryPolicy policy = new RetryPolicy(3, 1000, false, 1000, 0.25);
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.delayOf(0);
+            assertTrue(delay > 750 && delay <= 1000, "delay " + delay);
+        }
+    }
+
+    @Test
+    void testLongestPrefixPolicyInheritsUnsetSettings() {
+        EventProperties.RedisProperties.StreamProperties.RetryProperties properties =
+                new EventProperties.RedisProperties.StreamProperties.RetryProperties();
+        EventProperties.RedisProperties.StreamProperties.RetryPolicyProperties java =
+                new EventProperties.RedisProperties.StreamProperties.RetryPolicyProperties();
+        java.setMaxRetries(1);
+        EventProperties.RedisProperties.StreamProperties.RetryPolicyProperties util =
+                new EventProperties.RedisProperties.StreamProperties.RetryPolicyProperties();
+        util.setInitialRetryDelay(50L);
+        properties.getPolicies().put("java", java);
+        properties.getPolicies().put("java.util", util);
+        RetryPolicies policies = new RetryPolicies(3, 1000, false, properties);
+
+        assertEquals(1, policies.policyFor(String.class).getMaxRetries());
+        assertEquals(3, policies.policyFor(java.util.List.class).getMaxRetries());
+        assertEquals(50, policies.policyFor(java.util.List.class).delayOf(0));
+        assertEquals(3, policies.policyFor(RetryPoliciesTest.class).getMaxRetries());
+        assertEquals(1000, policies.policyFor(null).delayOf(0));
+    }
+}
@@ -0,0 +1,115 @@
+package com.hibuka.soda.event.redis.consume;
+
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import com.hibuka.soda.event.redis.partition.StreamPartitioner;
+import com.hibuka.soda.event.redis.service.StreamLagService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for starting, scaling and stopping the consumers of unpartitioned streams.
+ */
+class StreamConsumerCoordinatorTest {
+
+    private static final String STREAM = "events";
+
+    private final ConsumerGroup group = ConsumerGroup.shared("group");
+    private final List<String> consumerNames = new ArrayList<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final RedisStreamMetrics metrics = new RedisStreamMetrics();
+    private StringRedisTemplate template;
+    private StreamOperations<String, Object, Object> streamOps;
+    private StreamLagService lagService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        template = mock(StringRedisTemplate.class);
+        streamOps = mock(StreamOperations.class);
+        doReturn(streamOps).when(template).opsForStream();
+        lagService = mock(StreamLagService.class);
+    }
+
+    private StreamConsumerCoordinator coordinator(int concurrency, ConsumerScalingPolicy scalingPolicy) {
+        return new StreamConsumerCoordinator(template, "consumer", concurrency, scalingPolicy, lagService, new StreamPartitioner(1),
+                "owner", 30000, baseKey -> List.of(group), () -> AdaptivePollController.fixed(10, 100),
+                (consumerGroup, consumerName, streamKey, pollController) -> {
+                    Subscription subscription = mock(Subscription.class);
+                    consumerNames.add(consumerName);
+                    subscriptions.add(subscription);
+                    return subscription;
+                }, metrics);
+    }
+
+    private int consumerCount() {
+        return metrics.snapshot().get("consume.consumers").intValue();
+    }
+
+    @Test
+    void testConsumeStartsConfiguredConsumers() {
+        StreamConsumerCoordinator coordinator = coordinator(2, null);
+
+        coordinator.consume(STREAM);
+        coordinator.consume(STREAM);
+
+        assertEquals(List.of("consumer-0", "consumer-1"), consumerNames);
+        assertTrue(coordinator.isConsuming(STREAM));
+        assertEquals(Set.of(STREAM), coordinator.streamKeysOf(group));
+        assertEquals(2, coordinator.getPollControllers().size());
+        assertEquals(2, consumerCount());
+    }
+
+    @Test
+    void testSingleConsumerKeepsConfiguredName() {
+        coordinator(1, null).consume(STREAM);
+
+        assertEquals(List.of("consumer"), consumerNames);
+    }
+
+    @Test
+    void testScalingFollowsLag() {
+        StreamConsumerCoordinator coordinator = coordinator(1, new ConsumerScalingPolicy(1, 4, 100));
+        coordinator.consume(STREAM);
+
+        doReturn(new StreamLagService.LagSample(350, 0)).when(lagService).sample(STREAM, "group");
+        coordinator.scaleConsumers();
+        assertEquals(List.of("consumer-0", "consumer-1", "consumer-2", "consumer-3"), consumerNames);
+        assertEquals(3, metrics.getCounter("consume.scale-ups"));
+
+        doReturn(new StreamLagService.LagSample(0, 0)).when(lagService).sample(STREAM, "group");
+        coordinator.scaleConsumers();
+        assertEquals(3, consumerCount());
+        assertEquals(1, metrics.getCounter("consume.scale-downs"));
+        verify(subscriptions.get(3)).cancel();
+        // Nothing is pending for the removed consumer, so its name is dropped from the group
+        verify(streamOps).deleteConsumer(STREAM, Consumer.from("group", "consumer-3"));
+    }
+
+    @Test
+    void testStopConsumersCancelsGroup() {
+        StreamConsumerCoordinator coordinator = coordinator(2, null);
+        coordinator.consume(STREAM);
+
+        coordinator.stopConsumers(group);
+
+        for (Subscription subscription : subscriptions) {
+            verify(subscription).cancel();
+        }
+        assertEquals(0, consumerCount());
+        assertTrue(coordinator.getPollControllers().isEmpty());
+    }
+}
@@ -0,0 +1,156 @@
+package com.hibuka.soda.event.redis.outbox;
+
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import com.hibuka.soda.event.redis.publish.PipelinedStreamWriter;
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the JDBC outbox store and relay against embedded H2.
+ */
+class JdbcOutboxStoreTest {
+
+    private EmbeddedDatabase database;
+    private JdbcOutboxStore store;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Writer stub that records every appended batch.
+     */
+    static class RecordingWriter extends PipelinedStreamWriter {
+        private final List<List<StreamEntry>> batches = new ArrayList<>();
+
+        RecordingWriter() {
+            super(null);
+        }
+
+        @Override
+        public List<RecordId> write(List<StreamEntry> entries) {
+            batches.add(new ArrayList<>(entries));
+            List<RecordId> ids = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                ids.add(RecordId.autoGenerate());
+            }
+            return ids;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        store = new JdbcOutboxStore(database, "soda_event_outbox");
+        store.initializeSchema();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private static StreamEntry entry(String streamKey, String event) {
+        Map<String, byte[]> fields = new LinkedHashMap<>();
+        fields.put("event", event.getBytes(StandardCharsets.UTF_8));
+        fields.put("type", "com.example.OrderPlaced".getBytes(StandardCharsets.UTF_8));
+        return new StreamEntry(streamKey, fields);
+    }
+
+    private static String event(StreamEntry entry) {
+        return new String(entry.getFields().get("event"), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testCommittedEntriesAreFetchedInOrder() {
+        transactionTemplate.executeWithoutResult(status -> store.append(List.of(entry("events", "e1"), entry("events", "e2"))));
+        transactionTemplate.executeWithoutResult(status -> store.append(List.of(entry("events", "e3"))));
+
+        List<OutboxRecord> records = store.fetch(0, 1, 10);
+        assertEquals(3, records.size());
+        assertEquals("events", records.get(0).getEntry().getStreamKey());
+        assertEquals(List.of("e1", "e2", "e3"), List.of(event(records.get(0).getEntry()),
+                event(records.get(1).getEntry()), event(records.get(2).getEntry())));
+        assertEquals("com.example.OrderPlaced", new String(records.get(0).getEntry().getFields().get("type"), StandardCharsets.UTF_8));
+        assertEquals(2, store.fetch(0, 1, 2).size());
+    }
+
+    @Test
+    void testRolledBackEntriesAreDiscarded() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            store.append(List.of(entry("events", "e1")));
+            throw new IllegalStateException("business failure");
+        }));
+        assertTrue(store.fetch(0, 1, 10).isEmpty());
+    }
+
+    @Test
+    void testStreamsAreShardedConsistently() {
+        List<StreamEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entries.add(entry("stream-" + (i % 5), "e" + i));
+        }
+        store.append(entries);
+
+        int total = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            for (OutboxRecord record : store.fetch(shard, 3, 100)) {
+                assertEquals(shard, JdbcOutboxStore.shardOf(record.getEntry().getStreamKey(), 3));
+                total++;
+            }
+        }
+        assertEquals(20, total);
+    }
+
+    @Test
+    void testShardRangesCoverEveryHash() {
+        for (int shardCount = 1; shardCount <= 7; shardCount++) {
+            assertEquals(0, JdbcOutboxStore.lowerHashOf(0, shardCount));
+            assertEquals(Integer.MAX_VALUE + 1L, JdbcOutboxStore.lowerHashOf(shardCount, shardCount));
+            for (int shard = 0; shard < shardCount; shard++) {
+                long lower = JdbcOutboxStore.lowerHashOf(shard, shardCount);
+                long upper = JdbcOutboxStore.lowerHashOf(shard + 1, shardCount);
+                assertTrue(lower < upper);
+                for (String key : List.of("events", "orders", "stream-1", "stream-2", "stream-3")) {
+                    int hash = JdbcOutboxStore.shardHash(key);
+                    assertEquals(hash >= lower && hash < upper, JdbcOutboxStore.shardOf(key, shardCount) == shard);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRelayDrainsInBatchesAndDeletes() {
+        for (int i = 0; i < 25; i++) {
+            store.append(List.of(entry("events", "e" + i)));
+        }
+        RecordingWriter writer = new RecordingWriter();
+        OutboxRelay relay = new OutboxRelay(store, writer, 10, 1, 100, "events:outbox-relay", new RedisStreamMetrics());
+
+        assertEquals(10, relay.drain(0));
+        assertEquals(10, relay.drain(0));
+        assertEquals(5, relay.drain(0));
+        assertEquals(0, relay.drain(0));
+
+        assertEquals(3, writer.batches.size());
+        assertEquals("e0", event(writer.batches.get(0).get(0)));
+        assertEquals("e24", event(writer.batches.get(2).get(4)));
+        assertTrue(store.fetch(0, 1, 100).isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package com.hibuka.soda.event.redis.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.context.CommandContext;
+import com.hibuka.soda.domain.aggregate.AbstractAggregateRoot;
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import com.hibuka.soda.event.redis.RedisStreamEventBus;
+import com.hibuka.soda.event.spring.RepositoryEventAspect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test cases for events stored in the outbox through the repository event aspect, within the business transaction.
+ */
+class OutboxTransactionTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcOutboxStore store;
+    private TransactionTemplate transactionTemplate;
+    private OrderRepository repository;
+
+    static class OrderPlaced extends AbstractDomainEvent {
+        private String orderId;
+
+        OrderPlaced(String orderId) {
+            this.orderId = orderId;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+    }
+
+    static class Order extends AbstractAggregateRoot {
+        private final String orderId;
+
+        Order(String orderId) {
+            this.orderId = orderId;
+            addPendingEvent(new OrderPlaced(orderId));
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE orders (order_id VARCHAR(64) PRIMARY KEY)");
+        store = new JdbcOutboxStore(database, "soda_event_outbox");
+        store.initializeSchema();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+        EventProperties.RedisProperties.StreamProperties.OutboxProperties outboxProperties =
+                new EventProperties.RedisProperties.StreamProperties.OutboxProperties();
+        outboxProperties.setEnabled(true);
+        RedisStreamEventBus eventBus = new RedisStreamEventBus.Builder(mock(RedisTemplate.class), event -> { },
+                mock(RedisConnectionFactory.class), List.of(), "orders", new ObjectMapper().registerModule(new JavaTimeModule()))
+                .idempotencyProperties(new EventProperties.RedisProperties.StreamProperties.IdempotencyProperties())
+                .outboxProperties(outboxProperties)
+                .outboxStore(store)
+                .build();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new OrderRepository(jdbcTemplate));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new RepositoryEventAspect(eventBus, (ObjectProvider<CommandContext>) mock(ObjectProvider.class)));
+        repository = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testOutboxRowCommitsWithBusinessRow() {
+        transactionTemplate.executeWithoutResult(status -> repository.save(new Order("order-1")));
+
+        assertEquals(1, count("orders"));
+        List<OutboxRecord> records = store.fetch(0, 1, 10);
+        assertEquals(1, records.size());
+        assertEquals(OrderPlaced.class.getName(),
+                new String(records.get(0).getEntry().getFields().get("type"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testOutboxRowRollsBackWithBusinessRow() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            repository.save(new Order("order-2"));
+            throw new IllegalStateException("business failure");
+        }));
+
+        assertEquals(0, count("orders"));
+        assertEquals(0, count("soda_event_outbox"));
+    }
+
+    @Test
+    void testOutboxFailureRollsBackBusinessRow() {
+        jdbcTemplate.execute("DROP TABLE soda_event_outbox");
+
+        assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(status -> repository.save(new Order("order-3"))));
+
+        assertEquals(0, count("orders"));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
+
+/**
+ * Repository matched by the aspect's pointcut, writing the business row in the caller's transaction.
+ */
+class OrderRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    OrderRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void save(OutboxTransactionTest.Order order) {
+        jdbcTemplate.update("INSERT INTO orders (order_id) VALUES (?)", order.getOrderId());
+    }
+}
@@ -0,0 +1,61 @@
+package com.hibuka.soda.event.redis.partition;
+
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import com.hibuka.soda.domain.event.PartitionKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for partition key extraction and stream routing.
+ */
+class StreamPartitionerTest {
+
+    static class OrderPlacedEvent extends AbstractDomainEvent {
+        @PartitionKey
+        private final String orderId;
+
+        OrderPlacedEvent(String orderId) {
+            this.orderId = orderId;
+        }
+    }
+
+    static class UnkeyedEvent extends AbstractDomainEvent {
+    }
+
+    @Test
+    void testSinglePartitionKeepsStreamKey() {
+        StreamPartitioner partitioner = new StreamPartitioner(1);
+        assertFalse(partitioner.isPartitioned());
+        assertEquals(List.of("events"), partitioner.streamKeys("events"));
+        assertEquals("events", partitioner.streamKeyFor("events", new OrderPlacedEvent("order-1")));
+    }
+
+    @Test
+    void testPartitionStreamKeysAreHashTags() {
+        StreamPartitioner partitioner = new StreamPartitioner(3);
+        assertTrue(partitioner.isPartitioned());
+        assertEquals(List.of("{events:0}", "{events:1}", "{events:2}"), partitioner.streamKeys("events"));
+    }
+
+    @Test
+    void testEventsWithSameKeyShareStream() {
+        StreamPartitioner partitioner = new StreamPartitioner(8);
+        assertEquals("order-42", partitioner.partitionKeyOf(new OrderPlacedEvent("order-42")));
+        assertEquals(partitioner.streamKeyFor("events", new OrderPlacedEvent("order-42")),
+                partitioner.streamKeyFor("events", new OrderPlacedEvent("order-42")));
+    }
+
+    @Test
+    void testEventIdIsFallbackKey() {
+        StreamPartitioner partitioner = new StreamPartitioner(8);
+        UnkeyedEvent event = new UnkeyedEvent();
+        assertEquals(event.getEventId(), partitioner.partitionKeyOf(event));
+        OrderPlacedEvent withoutKey = new OrderPlacedEvent(null);
+        assertEquals(withoutKey.getEventId(), partitioner.partitionKeyOf(withoutKey));
+    }
+}
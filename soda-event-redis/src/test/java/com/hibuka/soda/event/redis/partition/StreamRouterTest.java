@@ -0,0 +1,38 @@
+package com.hibuka.soda.event.redis.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for per-event-type stream routing.
+ */
+class StreamRouterTest {
+
+    @Test
+    void testDisabledRoutingSharesStreamKey() {
+        StreamRouter router = new StreamRouter("events", false, Map.of("java.lang", "lang"));
+        assertEquals("events", router.streamKeyFor(String.class));
+    }
+
+    @Test
+    void testTypesRoutedByClassNameByDefault() {
+        StreamRouter router = new StreamRouter("events", true, Map.of());
+        assertEquals("events:java.lang.String", router.streamKeyFor(String.class));
+    }
+
+    @Test
+    void testLongestPrefixWins() {
+        StreamRouter router = new StreamRouter("events", true, Map.of(
+                "java", "jdk",
+                "java.util", "collections",
+                "java.util.Map", "maps"));
+        assertEquals("events:collections", router.streamKeyFor(java.util.List.class));
+        assertEquals("events:maps", router.streamKeyFor(Map.Entry.class));
+        assertEquals("events:jdk", router.streamKeyFor(String.class));
+        assertEquals("events:java.time.Duration", new StreamRouter("events", true, Map.of("jav", "partial"))
+                .streamKeyFor(java.time.Duration.class));
+    }
+}
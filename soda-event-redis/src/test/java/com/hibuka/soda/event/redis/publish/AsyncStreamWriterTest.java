@@ -0,0 +1,124 @@
+package com.hibuka.soda.event.redis.publish;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStreamCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.RecordId;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for AsyncStreamWriter appends through the reactive stream commands.
+ */
+class AsyncStreamWriterTest {
+
+    private final List<ReactiveStreamCommands.AddStreamRecord> commands = new CopyOnWriteArrayList<>();
+    private ReactiveRedisConnectionFactory connectionFactory;
+    private ReactiveRedisConnection connection;
+    private ReactiveStreamCommands streamCommands;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        connectionFactory = mock(ReactiveRedisConnectionFactory.class);
+        connection = mock(ReactiveRedisConnection.class);
+        streamCommands = mock(ReactiveStreamCommands.class);
+        doReturn(connection).when(connectionFactory).getReactiveConnection();
+        doReturn(streamCommands).when(connection).streamCommands();
+        doAnswer(invocation -> Flux.from((Publisher<ReactiveStreamCommands.AddStreamRecord>) invocation.getArgument(0))
+                .map(command -> {
+                    commands.add(command);
+                    return new ReactiveRedisConnection.CommandResponse<>(command, RecordId.of("1-" + commands.size()));
+                }))
+                .when(streamCommands).xAdd(any(Publisher.class));
+    }
+
+    private static StreamEntry entry(String value) {
+        return new StreamEntry("events", Map.of("event", value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String string(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    @Test
+    void testWriteCompletesWithRecordId() throws Exception {
+        AsyncStreamWriter writer = new AsyncStreamWriter(connectionFactory,
+                () -> RedisStreamCommands.XAddOptions.maxlen(1000).approximateTrimming(true));
+
+        RecordId recordId = writer.write(entry("a")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(RecordId.of("1-1"), recordId);
+        ReactiveStreamCommands.AddStreamRecord command = commands.get(0);
+        assertEquals("events", string(command.getKey()));
+        Map<ByteBuffer, ByteBuffer> fields = command.getRecord().getValue();
+        assertEquals(1, fields.size());
+        assertEquals("a", string(fields.get(ByteBuffer.wrap("event".getBytes(StandardCharsets.UTF_8)))));
+        // The trim policy is applied to every append
+        assertEquals(Long.valueOf(1000), command.getMaxlen());
+        assertTrue(command.isApproximateTrimming());
+    }
+
+    @Test
+    void testConnectionIsSharedUntilClosed() throws Exception {
+        AsyncStreamWriter writer = new AsyncStreamWriter(connectionFactory, RedisStreamCommands.XAddOptions::none);
+
+        writer.write(entry("a")).get(5, TimeUnit.SECONDS);
+        writer.write(entry("b")).get(5, TimeUnit.SECONDS);
+        verify(connectionFactory, times(1)).getReactiveConnection();
+
+        writer.close();
+        verify(connection).close();
+        writer.write(entry("c")).get(5, TimeUnit.SECONDS);
+        verify(connectionFactory, times(2)).getReactiveConnection();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRejectedAppendFailsFuture() {
+        doReturn(Flux.error(new IllegalStateException("redis down"))).when(streamCommands).xAdd(any(Publisher.class));
+        AsyncStreamWriter writer = new AsyncStreamWriter(connectionFactory, RedisStreamCommands.XAddOptions::none);
+
+        CompletableFuture<RecordId> future = writer.write(entry("a"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void testConnectionFailureFailsFuture() {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("no connection");
+        }).when(connectionFactory).getReactiveConnection();
+        AsyncStreamWriter writer = new AsyncStreamWriter(connectionFactory, RedisStreamCommands.XAddOptions::none);
+
+        CompletableFuture<RecordId> future = writer.write(entry("a"));
+
+        // Failures are reported through the future, never thrown to the publishing thread
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,240 @@
+package com.hibuka.soda.event.redis.publish;
+
+import com.hibuka.soda.bus.configuration.EventProperties.RedisProperties.StreamProperties.BatchPublishProperties.OverflowPolicy;
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for BatchingStreamPublisher grouping and future completion.
+ */
+class BatchingStreamPublisherTest {
+
+    /**
+     * Writer stub that records the size of every flushed group and assigns sequential record IDs.
+     */
+    static class RecordingWriter extends PipelinedStreamWriter {
+        private final List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        private final List<String> written = new CopyOnWriteArrayList<>();
+        private final CountDownLatch flusherGate = new CountDownLatch(1);
+        private volatile boolean gated = false;
+        private long sequence = 0;
+        private volatile boolean failing = false;
+
+        RecordingWriter() {
+            super(null);
+        }
+
+        @Override
+        public List<RecordId> write(List<StreamEntry> entries) {
+            if (gated && Thread.currentThread().getName().equals("soda-stream-batch-publisher")) {
+                try {
+                    flusherGate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return record(entries);
+        }
+
+        private synchronized List<RecordId> record(List<StreamEntry> entries) {
+            if (failing) {
+                throw new IllegalStateException("redis down");
+            }
+            groupSizes.add(entries.size());
+            for (StreamEntry entry : entries) {
+                written.add(new String(entry.getFields().get("event")));
+            }
+            List<RecordId> ids = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                ids.add(RecordId.of(1000L, sequence++));
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Spill handler keeping entries in memory.
+     */
+    static class MemorySpillHandler implements PublishSpillHandler {
+        private final Deque<StreamEntry> entries = new ArrayDeque<>();
+
+        @Override
+        public synchronized void spill(StreamEntry entry) {
+            entries.addLast(entry);
+        }
+
+        @Override
+        public synchronized List<StreamEntry> peek(int max) {
+            List<StreamEntry> head = new ArrayList<>();
+            for (StreamEntry entry : entries) {
+                if (head.size() >= max) {
+                    break;
+                }
+                head.add(entry);
+            }
+            return head;
+        }
+
+        @Override
+        public synchronized void remove(int count) {
+            for (int i = 0; i < count; i++) {
+                entries.pollFirst();
+            }
+        }
+
+        @Override
+        public synchronized long size() {
+            return entries.size();
+        }
+    }
+
+    private static StreamEntry entry(String event) {
+        return new StreamEntry("stream", Map.of("event", event.getBytes()));
+    }
+
+    /**
+     * Starts a publisher with a queue of two whose flusher is stuck writing e0, then fills the queue with e1 and e2.
+     */
+    private static BatchingStreamPublisher saturated(RecordingWriter writer, OverflowPolicy policy, PublishSpillHandler spillHandler,
+                                                     List<CompletableFuture<RecordId>> futures) throws InterruptedException {
+        writer.gated = true;
+        BatchingStreamPublisher publisher = new BatchingStreamPublisher(writer, 1, 0, 2, policy, 50, spillHandler, new RedisStreamMetrics());
+        publisher.start();
+        futures.add(publisher.submit(entry("e0")));
+        for (int i = 0; i < 100 && publisher.getQueueDepth() > 0; i++) {
+            Thread.sleep(10);
+        }
+        futures.add(publisher.submit(entry("e1")));
+        futures.add(publisher.submit(entry("e2")));
+        assertEquals(2, publisher.getQueueDepth());
+        return publisher;
+    }
+
+    @Test
+    void testBlockPolicyRejectsAfterTimeout() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        List<CompletableFuture<RecordId>> futures = new ArrayList<>();
+        BatchingStreamPublisher publisher = saturated(writer, OverflowPolicy.BLOCK, null, futures);
+        try {
+            CompletableFuture<RecordId> rejected = publisher.submit(entry("e3"));
+            assertTrue(rejected.isCompletedExceptionally());
+            writer.flusherGate.countDown();
+            for (CompletableFuture<RecordId> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(List.of("e0", "e1", "e2"), writer.written);
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void testDropOldestPolicyFailsOldestQueuedEntry() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        List<CompletableFuture<RecordId>> futures = new ArrayList<>();
+        BatchingStreamPublisher publisher = saturated(writer, OverflowPolicy.DROP_OLDEST, null, futures);
+        try {
+            CompletableFuture<RecordId> newest = publisher.submit(entry("e3"));
+            assertTrue(futures.get(1).isCompletedExceptionally());
+            writer.flusherGate.countDown();
+            newest.get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("e0", "e2", "e3"), writer.written);
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void testCallerRunsPolicyWritesOnPublishingThread() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        List<CompletableFuture<RecordId>> futures = new ArrayList<>();
+        BatchingStreamPublisher publisher = saturated(writer, OverflowPolicy.CALLER_RUNS, null, futures);
+        try {
+            CompletableFuture<RecordId> direct = publisher.submit(entry("e3"));
+            assertTrue(direct.isDone());
+            assertEquals(List.of("e3"), writer.written);
+            writer.flusherGate.countDown();
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void testSpillPolicyReplaysInOrder() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        MemorySpillHandler spill = new MemorySpillHandler();
+        List<CompletableFuture<RecordId>> futures = new ArrayList<>();
+        BatchingStreamPublisher publisher = saturated(writer, OverflowPolicy.SPILL, spill, futures);
+        try {
+            assertNull(publisher.submit(entry("e3")).get(1, TimeUnit.SECONDS));
+            assertNull(publisher.submit(entry("e4")).get(1, TimeUnit.SECONDS));
+            assertEquals(2, spill.size());
+            writer.flusherGate.countDown();
+            for (int i = 0; i < 200 && spill.size() > 0; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of("e0", "e1", "e2", "e3", "e4"), writer.written);
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void testEntriesAreGroupedUpToMaxBatchSize() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        BatchingStreamPublisher publisher = new BatchingStreamPublisher(writer, 10, 200);
+        publisher.start();
+        try {
+            List<CompletableFuture<RecordId>> futures = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                futures.add(publisher.submit(new StreamEntry("stream", Map.of("event", ("e" + i).getBytes()))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(RecordId.of(1000L, i), futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(25, writer.groupSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(writer.groupSizes.stream().allMatch(size -> size <= 10));
+            assertTrue(writer.groupSizes.size() < 25, "Entries should share pipelines");
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void testFlushFailureCompletesFuturesExceptionally() {
+        RecordingWriter writer = new RecordingWriter();
+        writer.failing = true;
+        BatchingStreamPublisher publisher = new BatchingStreamPublisher(writer, 10, 0);
+        publisher.start();
+        try {
+            CompletableFuture<RecordId> future = publisher.submit(new StreamEntry("stream", Map.of("event", "e".getBytes())));
+            assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        } finally {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    void testSubmitBeforeStartFails() {
+        BatchingStreamPublisher publisher = new BatchingStreamPublisher(new RecordingWriter(), 10, 0);
+        CompletableFuture<RecordId> future = publisher.submit(new StreamEntry("stream", Map.of("event", "e".getBytes())));
+        assertTrue(future.isCompletedExceptionally());
+    }
+}
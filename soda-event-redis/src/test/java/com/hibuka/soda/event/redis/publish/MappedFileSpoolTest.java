@@ -0,0 +1,104 @@
+package com.hibuka.soda.event.redis.publish;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the memory-mapped publish spool.
+ */
+class MappedFileSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    private static StreamEntry entry(String event) {
+        Map<String, byte[]> fields = new LinkedHashMap<>();
+        fields.put("event", event.getBytes(StandardCharsets.UTF_8));
+        fields.put("type", "com.example.OrderPlaced".getBytes(StandardCharsets.UTF_8));
+        return new StreamEntry("events", fields);
+    }
+
+    private static List<String> events(List<StreamEntry> entries) {
+        List<String> events = new ArrayList<>();
+        for (StreamEntry entry : entries) {
+            events.add(new String(entry.getFields().get("event"), StandardCharsets.UTF_8));
+        }
+        return events;
+    }
+
+    @Test
+    void testEntriesArePeekedAndRemovedInOrder() throws IOException {
+        try (MappedFileSpool spool = new MappedFileSpool(directory.resolve("events.spool"), 4096)) {
+            spool.spill(entry("e1"));
+            spool.spill(entry("e2"));
+            spool.spill(entry("e3"));
+
+            List<StreamEntry> head = spool.peek(2);
+            assertEquals(List.of("e1", "e2"), events(head));
+            assertEquals("events", head.get(0).getStreamKey());
+            assertEquals("com.example.OrderPlaced", new String(head.get(0).getFields().get("type"), StandardCharsets.UTF_8));
+            assertEquals(3, spool.size());
+
+            spool.remove(2);
+            assertEquals(List.of("e3"), events(spool.peek(10)));
+            spool.remove(1);
+            assertEquals(0, spool.size());
+            assertTrue(spool.peek(10).isEmpty());
+        }
+    }
+
+    @Test
+    void testUnremovedEntriesSurviveReopen() throws IOException {
+        Path file = directory.resolve("events.spool");
+        try (MappedFileSpool spool = new MappedFileSpool(file, 4096)) {
+            spool.spill(entry("e1"));
+            spool.spill(entry("e2"));
+            spool.remove(1);
+        }
+        try (MappedFileSpool spool = new MappedFileSpool(file, 4096)) {
+            assertEquals(1, spool.size());
+            assertEquals(List.of("e2"), events(spool.peek(10)));
+        }
+    }
+
+    @Test
+    void testReplayedSpaceIsReusedAndFullSpoolRejects() throws IOException {
+        try (MappedFileSpool spool = new MappedFileSpool(directory.resolve("events.spool"), 1024)) {
+            int spilled = 0;
+            try {
+                while (true) {
+                    spool.spill(entry("e" + spilled));
+                    spilled++;
+                }
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("full"));
+            }
+            assertEquals(spilled, spool.size());
+
+            // Once most entries are replayed, the rest moves to the front and there is room again
+            spool.remove(spilled - 2);
+            spool.spill(entry("next"));
+            assertEquals(List.of("e" + (spilled - 2), "e" + (spilled - 1), "next"), events(spool.peek(10)));
+        }
+    }
+
+    @Test
+    void testLockedFileIsRejected() throws IOException {
+        Path file = directory.resolve("events.spool");
+        try (MappedFileSpool ignored = new MappedFileSpool(file, 4096)) {
+            assertThrows(IOException.class, () -> new MappedFileSpool(file, 4096));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hibuka.soda.event.redis.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for dead letter replay filters and results.
+ */
+class DeadLetterReplayServiceTest {
+
+    @Test
+    void testEmptyFilterMatchesEveryEntry() {
+        DeadLetterReplayService.ReplayFilter filter = DeadLetterReplayService.ReplayFilter.all();
+        assertTrue(filter.matches("com.example.OrderPlaced", "Max retries exceeded"));
+        assertTrue(filter.matches(null, null));
+    }
+
+    @Test
+    void testFilterByTypeAndReason() {
+        DeadLetterReplayService.ReplayFilter filter = DeadLetterReplayService.ReplayFilter.all()
+                .types("com.example.OrderPlaced")
+                .reason("Max retries");
+        assertTrue(filter.matches("com.example.OrderPlaced", "Max retries exceeded"));
+        assertFalse(filter.matches("com.example.OrderCancelled", "Max retries exceeded"));
+        assertFalse(filter.matches("com.example.OrderPlaced", "Delivery limit exceeded after 5 deliveries"));
+        assertFalse(filter.matches(null, "Max retries exceeded"));
+    }
+
+    @Test
+    void testResultCountsMatchesByType() {
+        DeadLetterReplayService.ReplayResult result = new DeadLetterReplayService.ReplayResult();
+        result.scanned("1-0", "com.example.OrderPlaced", true);
+        result.scanned("2-0", "com.example.OrderCancelled", false);
+        result.scanned("3-0", "com.example.OrderPlaced", true);
+        result.replayed(2);
+
+        assertEquals(3, result.getScanned());
+        assertEquals(2, result.getMatched());
+        assertEquals(2, result.getReplayed());
+        assertEquals("3-0", result.getLastId());
+        assertEquals(2L, result.getMatchedByType().get("com.example.OrderPlaced"));
+        assertFalse(result.getMatchedByType().containsKey("com.example.OrderCancelled"));
+    }
+}
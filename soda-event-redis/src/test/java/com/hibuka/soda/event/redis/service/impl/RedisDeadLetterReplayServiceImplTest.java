@@ -0,0 +1,189 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import com.hibuka.soda.event.redis.publish.PipelinedStreamWriter;
+import com.hibuka.soda.event.redis.publish.StreamEntry;
+import com.hibuka.soda.event.redis.service.DeadLetterReplayService;
+import com.hibuka.soda.event.redis.service.EventTypeRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for replaying dead letter entries page by page from a checkpoint.
+ */
+class RedisDeadLetterReplayServiceImplTest {
+
+    private static final String DEAD_LETTER_STREAM = "events:dlq";
+    private static final String CHECKPOINT_KEY = DEAD_LETTER_STREAM + ":replay:nightly";
+
+    private StringRedisTemplate template;
+    private RedisStreamCommands streamCommands;
+    private ValueOperations<String, String> valueOps;
+    private final List<StreamEntry> written = new ArrayList<>();
+    private RedisDeadLetterReplayServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        template = mock(StringRedisTemplate.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        streamCommands = mock(RedisStreamCommands.class);
+        valueOps = mock(ValueOperations.class);
+        doReturn(streamCommands).when(connection).streamCommands();
+        doAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection))
+                .when(template).execute(any(RedisCallback.class));
+        doReturn(valueOps).when(template).opsForValue();
+
+        PipelinedStreamWriter writer = mock(PipelinedStreamWriter.class);
+        // The service clears its batch after writing, so the entries are copied
+        doAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return List.of();
+        }).when(writer).write(anyList());
+
+        EventProperties.RedisProperties.StreamProperties.DeadLetterReplayProperties properties =
+                new EventProperties.RedisProperties.StreamProperties.DeadLetterReplayProperties();
+        properties.setPageSize(2);
+        properties.setBatchSize(10);
+        properties.setMaxRatePerSecond(0);
+        service = new RedisDeadLetterReplayServiceImpl(template, writer, mock(EventTypeRegistry.class), DEAD_LETTER_STREAM,
+                properties, new RedisStreamMetrics());
+    }
+
+    private static ByteRecord deadLetter(String id, String type, String consumerGroup) {
+        Map<byte[], byte[]> fields = new HashMap<>();
+        put(fields, "type", type);
+        put(fields, "event", "{}");
+        put(fields, "deadLetterReason", "Max retries exceeded");
+        put(fields, "deadLetterTimestamp", "1700000000000");
+        put(fields, "originalStream", "events");
+        put(fields, "originalId", "1-0");
+        put(fields, "retryAttempt", "3");
+        if (consumerGroup != null) {
+            put(fields, "consumerGroup", consumerGroup);
+        }
+        return StreamRecords.rawBytes(fields).withStreamKey(DEAD_LETTER_STREAM.getBytes(StandardCharsets.UTF_8)).withId(RecordId.of(id));
+    }
+
+    private static void put(Map<byte[], byte[]> fields, String field, String value) {
+        fields.put(field.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Range<String>> ranges(int calls) {
+        ArgumentCaptor<Range<String>> ranges = ArgumentCaptor.forClass(Range.class);
+        verify(streamCommands, times(calls)).xRange(any(byte[].class), ranges.capture(), any(Limit.class));
+        return ranges.getAllValues();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReplayPagesThroughStreamAndMovesCheckpoint() {
+        doReturn(List.of(deadLetter("1-0", "com.example.OrderPlaced", null), deadLetter("2-0", "com.example.OrderPlaced", null)),
+                List.of(deadLetter("3-0", "com.example.OrderPlaced", null)))
+                .when(streamCommands).xRange(any(byte[].class), any(Range.class), any(Limit.class));
+
+        DeadLetterReplayService.ReplayResult result = service.replay("nightly", DeadLetterReplayService.ReplayFilter.all());
+
+        assertEquals(3, result.getScanned());
+        assertEquals(3, result.getReplayed());
+        assertEquals("3-0", result.getLastId());
+        List<Range<String>> ranges = ranges(2);
+        assertFalse(ranges.get(0).getLowerBound().isBounded());
+        assertEquals("2-0", ranges.get(1).getLowerBound().getValue().orElse(null));
+        assertFalse(ranges.get(1).getLowerBound().isInclusive());
+        verify(valueOps).set(CHECKPOINT_KEY, "2-0");
+        verify(valueOps).set(CHECKPOINT_KEY, "3-0");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReplayResumesAfterCheckpoint() {
+        doReturn("5-0").when(valueOps).get(CHECKPOINT_KEY);
+        doReturn(List.of()).when(streamCommands).xRange(any(byte[].class), any(Range.class), any(Limit.class));
+
+        DeadLetterReplayService.ReplayResult result = service.replay("nightly", DeadLetterReplayService.ReplayFilter.all());
+
+        assertEquals(0, result.getScanned());
+        Range<String> range = ranges(1).get(0);
+        assertEquals("5-0", range.getLowerBound().getValue().orElse(null));
+        assertFalse(range.getLowerBound().isInclusive());
+        verify(valueOps, never()).set(anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDryRunCountsWithoutAppendingOrMovingCheckpoint() {
+        doReturn(List.of(deadLetter("1-0", "com.example.OrderPlaced", null), deadLetter("2-0", "com.example.OrderCancelled", null)),
+                List.of())
+                .when(streamCommands).xRange(any(byte[].class), any(Range.class), any(Limit.class));
+
+        DeadLetterReplayService.ReplayResult result = service.dryRun("nightly",
+                DeadLetterReplayService.ReplayFilter.all().types("com.example.OrderPlaced"));
+
+        assertEquals(2, result.getScanned());
+        assertEquals(1, result.getMatched());
+        assertEquals(0, result.getReplayed());
+        assertTrue(written.isEmpty());
+        verify(valueOps, never()).set(anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReplayedEntryDropsDeadLetterFieldsAndConsumerGroup() {
+        doReturn(List.of(deadLetter("1-0", "com.example.OrderPlaced", "orders.OrderPlacedHandler")))
+                .when(streamCommands).xRange(any(byte[].class), any(Range.class), any(Limit.class));
+
+        service.replay("nightly", DeadLetterReplayService.ReplayFilter.all());
+
+        assertEquals(1, written.size());
+        StreamEntry entry = written.get(0);
+        assertEquals("events", entry.getStreamKey());
+        // Without its consumer group the entry is delivered to every group again, which skip it if already handled
+        assertEquals(Map.of("type", "com.example.OrderPlaced", "event", "{}"), text(entry.getFields()));
+    }
+
+    @Test
+    void testResetCheckpointDeletesKey() {
+        service.resetCheckpoint("nightly");
+
+        verify(template).delete(CHECKPOINT_KEY);
+    }
+
+    private static Map<String, String> text(Map<String, byte[]> fields) {
+        Map<String, String> text = new HashMap<>();
+        fields.forEach((field, value) -> text.put(field, new String(value, StandardCharsets.UTF_8)));
+        return text;
+    }
+}
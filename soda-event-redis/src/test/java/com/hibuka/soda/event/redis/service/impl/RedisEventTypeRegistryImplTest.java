@@ -0,0 +1,114 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.domain.event.AbstractDomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for allocating compact event type IDs, including two nodes registering the same class at once.
+ */
+class RedisEventTypeRegistryImplTest {
+
+    private static final String KEY = "soda-event-types";
+    private static final String NAME = OrderPlaced.class.getName();
+
+    static class OrderPlaced extends AbstractDomainEvent {
+    }
+
+    private StringRedisTemplate template;
+    private HashOperations<String, Object, Object> hashOps;
+    private ValueOperations<String, String> valueOps;
+    private RedisEventTypeRegistryImpl registry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        template = mock(StringRedisTemplate.class);
+        hashOps = mock(HashOperations.class);
+        valueOps = mock(ValueOperations.class);
+        doReturn(hashOps).when(template).opsForHash();
+        doReturn(valueOps).when(template).opsForValue();
+        registry = new RedisEventTypeRegistryImpl(template, KEY);
+    }
+
+    @Test
+    void testRegisteredIdIsReused() {
+        doReturn("5").when(hashOps).get(KEY, NAME);
+
+        assertEquals(5, registry.idOf(OrderPlaced.class));
+        verify(valueOps, never()).increment(anyString());
+        verify(hashOps).put(KEY + ":ids", "5", NAME);
+    }
+
+    @Test
+    void testFirstNodeClaimsCandidate() {
+        doReturn(3L).when(valueOps).increment(KEY + ":seq");
+        doReturn(true).when(hashOps).putIfAbsent(KEY, NAME, "3");
+
+        assertEquals(3, registry.idOf(OrderPlaced.class));
+        verify(hashOps).put(KEY + ":ids", "3", NAME);
+        assertEquals(NAME, registry.nameOf(3));
+    }
+
+    @Test
+    void testLosingNodeUsesWinnersId() {
+        // Not registered when first read, claimed by another node with ID 7 before this node's HSETNX
+        doReturn(null, "7").when(hashOps).get(KEY, NAME);
+        doReturn(8L).when(valueOps).increment(KEY + ":seq");
+        doReturn(false).when(hashOps).putIfAbsent(KEY, NAME, "8");
+
+        assertEquals(7, registry.idOf(OrderPlaced.class));
+        // The reverse mapping of the winner's ID is written again, never the unused candidate's
+        verify(hashOps).put(KEY + ":ids", "7", NAME);
+        verify(hashOps, never()).put(KEY + ":ids", "8", NAME);
+
+        // Cached from now on
+        assertEquals(7, registry.idOf(OrderPlaced.class));
+        verify(hashOps, times(2)).get(KEY, NAME);
+    }
+
+    @Test
+    void testUnknownIdHasNoName() {
+        assertNull(registry.nameOf(42));
+    }
+
+    @Test
+    void testUnknownIdIsNotLookedUpAgainWithinTtl() {
+        assertNull(registry.nameOf(42));
+        assertNull(registry.nameOf(42));
+
+        verify(hashOps, times(1)).get(KEY + ":ids", "42");
+    }
+
+    @Test
+    void testUnknownIdIsLookedUpAgainAfterTtl() {
+        RedisEventTypeRegistryImpl noTtl = new RedisEventTypeRegistryImpl(template, KEY, 0);
+
+        assertNull(noTtl.nameOf(42));
+        // Registered by another node meanwhile
+        doReturn(NAME).when(hashOps).get(KEY + ":ids", "42");
+        assertEquals(NAME, noTtl.nameOf(42));
+        verify(hashOps, times(2)).get(KEY + ":ids", "42");
+    }
+
+        @Test
+    void testNameIsCachedAfterFirstLookup() {
+        doReturn(NAME).when(hashOps).get(KEY + ":ids", "12");
+
+        assertEquals(NAME, registry.nameOf(12));
+        assertEquals(NAME, registry.nameOf(12));
+        verify(hashOps, times(1)).get(KEY + ":ids", "12");
+    }
+}
@@ -0,0 +1,67 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.bus.configuration.EventProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for the lifetime of idempotency statuses.
+ */
+class RedisIdempotencyServiceImplTest {
+
+    private static final String KEY = "soda-events-idempotency:event-1";
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private HashOperations<String, Object, Object> hashOps;
+    private RedisIdempotencyServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        hashOps = mock(HashOperations.class);
+        doReturn(hashOps).when(redisTemplate).opsForHash();
+        service = new RedisIdempotencyServiceImpl(redisTemplate,
+                new EventProperties.RedisProperties.StreamProperties.IdempotencyProperties(), 30000);
+    }
+
+    @Test
+    void testProcessingStatusExpiresWithProcessingTimeout() {
+        assertTrue(service.beginProcessing("event-1"));
+
+        verify(hashOps).putAll(eq(KEY), anyMap());
+        verify(redisTemplate).expire(KEY, 30000, TimeUnit.MILLISECONDS);
+        verify(redisTemplate, never()).expire(KEY, 86400, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testFinalStatusesLiveForExpireTime() {
+        service.markAsSuccess("event-1", new HashMap<>());
+        verify(redisTemplate).expire(KEY, 86400, TimeUnit.SECONDS);
+
+        service.markAsFailed("event-2", "boom");
+        verify(redisTemplate).expire("soda-events-idempotency:event-2", 86400, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testProcessingStatusIsNotTakenOverWhileAlive() {
+        doReturn("PROCESSING").when(hashOps).get(KEY, "status");
+
+        assertFalse(service.beginProcessing("event-1"));
+        verify(redisTemplate, never()).expire(KEY, 30000, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,123 @@
+package com.hibuka.soda.event.redis.service.impl;
+
+import com.hibuka.soda.bus.configuration.EventProperties;
+import com.hibuka.soda.event.redis.RedisStreamMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test cases for the lag-aware background trim point and the maxlen floor.
+ */
+class RedisStreamRetentionServiceImplTest {
+
+    private static final String STREAM = "events";
+
+    private StreamOperations<String, Object, Object> streamOps;
+    private final List<String> trimCommand = new ArrayList<>();
+    private RedisStreamRetentionServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        streamOps = mock(StreamOperations.class);
+        doReturn(streamOps).when(template).opsForStream();
+        // Records the raw XTRIM command and reports 5 removed entries
+        RedisConnection connection = mock(RedisConnection.class, invocation -> {
+            if ("execute".equals(invocation.getMethod().getName())) {
+                trimCommand.add((String) invocation.getRawArguments()[0]);
+                for (byte[] arg : (byte[][]) invocation.getRawArguments()[1]) {
+                    trimCommand.add(new String(arg, StandardCharsets.UTF_8));
+                }
+                return 5L;
+            }
+            return null;
+        });
+        doAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection))
+                .when(template).execute(any(RedisCallback.class));
+
+        service = new RedisStreamRetentionServiceImpl(template,
+                new EventProperties.RedisProperties.StreamProperties.RetentionProperties(), 10, new RedisStreamMetrics());
+    }
+
+    private static List<Object> group(String name, long pending, String lastDeliveredId) {
+        return List.of("name", name, "consumers", 1L, "pending", pending, "last-delivered-id", lastDeliveredId);
+    }
+
+    @SafeVarargs
+    private void groups(List<Object>... groups) {
+        doReturn(StreamInfo.XInfoGroups.fromList(new ArrayList<>(Arrays.asList(groups)))).when(streamOps).groups(STREAM);
+    }
+
+    private void pending(String group, String minId, String maxId) {
+        doReturn(new PendingMessagesSummary(group, 2, Range.closed(minId, maxId), Map.of("consumer", 2L)))
+                .when(streamOps).pending(STREAM, group);
+    }
+
+    @Test
+    void testCompareIdsIsNumeric() {
+        assertTrue(RedisStreamRetentionServiceImpl.compareIds("9-0", "10-0") < 0);
+        assertTrue(RedisStreamRetentionServiceImpl.compareIds("10-2", "10-11") < 0);
+        assertTrue(RedisStreamRetentionServiceImpl.compareIds("11-0", "10-99") > 0);
+        assertEquals(0, RedisStreamRetentionServiceImpl.compareIds("10-1", "10-1"));
+    }
+
+    @Test
+    void testTrimPointIsOldestOfDeliveredAndPendingIds() {
+        doReturn(100L).when(streamOps).size(STREAM);
+        groups(group("fast", 0, "30-0"), group("slow", 2, "25-0"));
+        pending("slow", "15-3", "24-0");
+
+        assertEquals(5, service.trim(STREAM));
+        // The slow group's oldest pending entry bounds the trim, which removes at most the 90 entries beyond maxlen
+        assertEquals(List.of("XTRIM", STREAM, "MINID", "~", "15-3", "LIMIT", "90"), trimCommand);
+    }
+
+    @Test
+    void testTrimPointIsLastDeliveredIdWithoutPendingEntries() {
+        doReturn(12L).when(streamOps).size(STREAM);
+        groups(group("fast", 0, "30-0"), group("slow", 0, "9-5"));
+
+        service.trim(STREAM);
+
+        assertEquals(List.of("XTRIM", STREAM, "MINID", "~", "9-5", "LIMIT", "2"), trimCommand);
+    }
+
+    @Test
+    void testNoGroupsMeansNoTrim() {
+        doReturn(100L).when(streamOps).size(STREAM);
+        groups();
+
+        assertEquals(0, service.trim(STREAM));
+        assertTrue(trimCommand.isEmpty());
+    }
+
+    @Test
+    void testStreamWithinMaxlenIsNotTrimmed() {
+        doReturn(10L).when(streamOps).size(STREAM);
+        groups(group("fast", 0, "30-0"));
+
+        assertEquals(0, service.trim(STREAM));
+        assertTrue(trimCommand.isEmpty());
+    }
+}